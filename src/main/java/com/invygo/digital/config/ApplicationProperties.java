@@ -9,4 +9,228 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Bulk bulk = new Bulk();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final RefreshToken refreshToken = new RefreshToken();
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache();
+
+    private final ScheduleCache scheduleCache = new ScheduleCache();
+
+    private final ScheduleCapacity scheduleCapacity = new ScheduleCapacity();
+
+    private final ByIds byIds = new ByIds();
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public RefreshToken getRefreshToken() {
+        return refreshToken;
+    }
+
+    public UserDetailsCache getUserDetailsCache() {
+        return userDetailsCache;
+    }
+
+    public ScheduleCache getScheduleCache() {
+        return scheduleCache;
+    }
+
+    public ScheduleCapacity getScheduleCapacity() {
+        return scheduleCapacity;
+    }
+
+    public ByIds getByIds() {
+        return byIds;
+    }
+
+    public static class Bulk {
+
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        private int strength = 10;
+
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        private int queueCapacity = 100;
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class RefreshToken {
+
+        private long tokenValidityInSeconds = 86400;
+
+        private long tokenValidityInSecondsForRememberMe = 2592000;
+
+        public long getTokenValidityInSeconds() {
+            return tokenValidityInSeconds;
+        }
+
+        public void setTokenValidityInSeconds(long tokenValidityInSeconds) {
+            this.tokenValidityInSeconds = tokenValidityInSeconds;
+        }
+
+        public long getTokenValidityInSecondsForRememberMe() {
+            return tokenValidityInSecondsForRememberMe;
+        }
+
+        public void setTokenValidityInSecondsForRememberMe(long tokenValidityInSecondsForRememberMe) {
+            this.tokenValidityInSecondsForRememberMe = tokenValidityInSecondsForRememberMe;
+        }
+    }
+
+    public static class UserDetailsCache {
+
+        private long timeToLiveSeconds = 300;
+
+        private int maxEntries = 10000;
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class ScheduleCache {
+
+        private long timeToLiveSeconds = 60;
+
+        private long maxEntries = 10000;
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class ScheduleCapacity {
+
+        private long maxHoursPerDay = 24;
+
+        private long maxHoursPerWeek = 60;
+
+        private int lockStripes = 64;
+
+        public long getMaxHoursPerDay() {
+            return maxHoursPerDay;
+        }
+
+        public void setMaxHoursPerDay(long maxHoursPerDay) {
+            this.maxHoursPerDay = maxHoursPerDay;
+        }
+
+        public long getMaxHoursPerWeek() {
+            return maxHoursPerWeek;
+        }
+
+        public void setMaxHoursPerWeek(long maxHoursPerWeek) {
+            this.maxHoursPerWeek = maxHoursPerWeek;
+        }
+
+        public int getLockStripes() {
+            return lockStripes;
+        }
+
+        public void setLockStripes(int lockStripes) {
+            this.lockStripes = lockStripes;
+        }
+    }
+
+    public static class ByIds {
+
+        private int maxIds = 1000;
+
+        private int chunkSize = 100;
+
+        private int concurrency = 4;
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package com.invygo.digital.config;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.domain.Users;
+import com.invygo.digital.web.codec.JsonArrayStreamingEncoder;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zalando.problem.jackson.ProblemModule;
@@ -39,4 +51,33 @@ public class JacksonConfiguration {
     public ConstraintViolationProblemModule constraintViolationProblemModule() {
         return new ConstraintViolationProblemModule();
     }
+
+    /**
+     * The entities whose responses can be narrowed to some of their fields by the {@link JsonArrayStreamingEncoder}. The
+     * filter is only configured by the encoder for the requests with fields: otherwise it is unknown, and all the properties
+     * are serialized, except the passwords which are only ever read from the requests.
+     * @return the customizer of the object mapper.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldsFilterCustomizer() {
+        return builder ->
+            builder
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .mixIn(RoleAuthority.class, FieldsFilterMixin.class)
+                .mixIn(Roles.class, FieldsFilterMixin.class)
+                .mixIn(Schedule.class, FieldsFilterMixin.class)
+                .mixIn(ScheduleAuthority.class, FieldsFilterMixin.class)
+                .mixIn(ScheduleUser.class, PasswordMixin.class)
+                .mixIn(UserAuthority.class, FieldsFilterMixin.class)
+                .mixIn(Users.class, PasswordMixin.class);
+    }
+
+    @JsonFilter(JsonArrayStreamingEncoder.FIELDS_FILTER)
+    private interface FieldsFilterMixin {}
+
+    @JsonFilter(JsonArrayStreamingEncoder.FIELDS_FILTER)
+    private interface PasswordMixin {
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        String getPassword();
+    }
 }
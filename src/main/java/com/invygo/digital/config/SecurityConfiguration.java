@@ -2,33 +2,48 @@ package com.invygo.digital.config;
 
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
+import com.invygo.digital.management.PasswordHashingMetersService;
+import com.invygo.digital.security.AuthenticationThrottledException;
 import com.invygo.digital.security.AuthoritiesConstants;
+import com.invygo.digital.security.PermissionAuthorizationManager;
+import com.invygo.digital.security.PermissionEngine;
+import com.invygo.digital.security.TimedPasswordEncoder;
 import com.invygo.digital.security.jwt.JWTFilter;
 import com.invygo.digital.security.jwt.TokenProvider;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
 import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
 import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter.Mode;
 import org.springframework.security.web.server.savedrequest.NoOpServerRequestCache;
 import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 import org.zalando.problem.spring.webflux.advice.security.SecurityProblemSupport;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import tech.jhipster.config.JHipsterProperties;
 
 @EnableWebFluxSecurity
@@ -37,27 +52,65 @@ import tech.jhipster.config.JHipsterProperties;
 public class SecurityConfiguration {
     private final JHipsterProperties jHipsterProperties;
 
+    private final ApplicationProperties applicationProperties;
+
     private final ReactiveUserDetailsService userDetailsService;
 
+    private final ReactiveUserDetailsPasswordService userDetailsPasswordService;
+
     private final TokenProvider tokenProvider;
 
     private final SecurityProblemSupport problemSupport;
 
+    private final PasswordHashingMetersService passwordHashingMetersService;
+
+    private final PermissionEngine permissionEngine;
+
     public SecurityConfiguration(
         ReactiveUserDetailsService userDetailsService,
+        ReactiveUserDetailsPasswordService userDetailsPasswordService,
         TokenProvider tokenProvider,
         JHipsterProperties jHipsterProperties,
-        SecurityProblemSupport problemSupport
+        ApplicationProperties applicationProperties,
+        SecurityProblemSupport problemSupport,
+        PasswordHashingMetersService passwordHashingMetersService,
+        PermissionEngine permissionEngine
     ) {
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
         this.tokenProvider = tokenProvider;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
         this.problemSupport = problemSupport;
+        this.passwordHashingMetersService = passwordHashingMetersService;
+        this.permissionEngine = permissionEngine;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(
+            new BCryptPasswordEncoder(applicationProperties.getPasswordHashing().getStrength()),
+            passwordHashingMetersService
+        );
+    }
+
+    /**
+     * Scheduler of the password verifications, on a fixed number of threads with a bounded queue: when the queue is full,
+     * the authentication is rejected at once instead of waiting behind the others.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler() {
+        ApplicationProperties.PasswordHashing passwordHashing = applicationProperties.getPasswordHashing();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            passwordHashing.getThreads(),
+            passwordHashing.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(passwordHashing.getQueueCapacity()),
+            new CustomizableThreadFactory("password-hashing-")
+        );
+        passwordHashingMetersService.monitorQueue(executor.getQueue());
+        return Schedulers.fromExecutorService(executor, "password-hashing");
     }
 
     @Bean
@@ -66,11 +119,30 @@ public class SecurityConfiguration {
             userDetailsService
         );
         authenticationManager.setPasswordEncoder(passwordEncoder());
-        return authenticationManager;
+        authenticationManager.setScheduler(passwordHashingScheduler());
+        // re-hash the password with the configured strength, when it was hashed with a lower one
+        authenticationManager.setUserDetailsPasswordService(userDetailsPasswordService);
+        return authentication ->
+            authenticationManager
+                .authenticate(authentication)
+                .onErrorMap(
+                    RejectedExecutionException.class,
+                    e -> new AuthenticationThrottledException("Too many authentications in progress, try again later", e)
+                );
     }
 
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+        String[] permissionResources = {
+            "/api/roles/**",
+            "/api/role-authorities/**",
+            "/api/user-authorities/**",
+            "/api/schedule-authorities/**"
+        };
+        ReactiveAuthorizationManager<AuthorizationContext> managePermissions = PermissionAuthorizationManager.hasPermission(
+            permissionEngine,
+            AuthoritiesConstants.MANAGE_PERMISSIONS
+        );
         // @formatter:off
         http
             .securityMatcher(new NegatedServerWebExchangeMatcher(new OrServerWebExchangeMatcher(
@@ -96,8 +168,15 @@ public class SecurityConfiguration {
             .and()
             .authorizeExchange()
             .pathMatchers("/api/authenticate").permitAll()
+            .pathMatchers("/api/authenticate/refresh").permitAll()
             .pathMatchers("/api/auth-info").permitAll()
             .pathMatchers("/api/admin/**").hasAuthority(AuthoritiesConstants.ADMIN)
+            // the reads of a list of ids too long for a query parameter are posted, they do not manage any permission
+            .pathMatchers(HttpMethod.POST, "/api/*/by-ids").authenticated()
+            .pathMatchers(HttpMethod.POST, permissionResources).access(managePermissions)
+            .pathMatchers(HttpMethod.PUT, permissionResources).access(managePermissions)
+            .pathMatchers(HttpMethod.PATCH, permissionResources).access(managePermissions)
+            .pathMatchers(HttpMethod.DELETE, permissionResources).access(managePermissions)
             .pathMatchers("/api/**").authenticated()
             .pathMatchers("/api/users/**").hasAuthority(AuthoritiesConstants.ADMIN)
             .pathMatchers("/api/users").hasAuthority(AuthoritiesConstants.USER)
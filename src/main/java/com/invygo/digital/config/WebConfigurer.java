@@ -1,8 +1,10 @@
 package com.invygo.digital.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invygo.digital.web.codec.JsonArrayStreamingEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -59,6 +61,12 @@ public class WebConfigurer implements WebFluxConfigurer {
         return new ReactiveSortHandlerMethodArgumentResolver();
     }
 
+    @Bean
+    @Order(1) // Must be applied after Spring Boot's JacksonCodecCustomizer, which registers the default JSON encoder
+    public CodecCustomizer jsonArrayStreamingCodecCustomizer(ObjectMapper mapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new JsonArrayStreamingEncoder(mapper));
+    }
+
     @Bean
     @Order(-2) // The handler must have precedence over WebFluxResponseStatusExceptionHandler and Spring Boot's ErrorWebExceptionHandler
     public WebExceptionHandler problemExceptionHandler(ObjectMapper mapper, ProblemHandling problemHandling) {
@@ -0,0 +1,53 @@
+package com.invygo.digital.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+
+/**
+ * A schedule with the names of its user, read together in one query so that a roster does not read the users one by one.
+ * Only the login and the names of the user are read, never their email or password.
+ */
+public class ExpandedSchedule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Schedule schedule;
+
+    @JsonIgnoreProperties({ "email", "password" })
+    private ScheduleUser user;
+
+    public ExpandedSchedule() {}
+
+    public ExpandedSchedule(Schedule schedule, ScheduleUser user) {
+        this.schedule = schedule;
+        this.user = user;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(Schedule schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * @return the user of the schedule, or null if there is no schedule user of its user id.
+     */
+    public ScheduleUser getUser() {
+        return user;
+    }
+
+    public void setUser(ScheduleUser user) {
+        this.user = user;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExpandedSchedule{" +
+            "schedule=" + getSchedule() +
+            ", user=" + getUser() +
+            "}";
+    }
+}
@@ -0,0 +1,277 @@
+package com.invygo.digital.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The recurrence of a {@link ShiftTemplate}, a subset of the iCalendar {@code RRULE} (RFC 5545), for example
+ * {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;UNTIL=20221231}.
+ * <p>
+ * The supported parts are {@code FREQ} ({@code DAILY} or {@code WEEKLY}), {@code INTERVAL}, {@code BYDAY} for the weekly
+ * recurrences, and either {@code UNTIL}, an inclusive date, or {@code COUNT}. Without them the recurrence does not end.
+ */
+public final class Recurrence {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+    }
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final List<String> DAY_NAMES = List.of("MO", "TU", "WE", "TH", "FR", "SA", "SU");
+
+    private final Frequency frequency;
+
+    private final int interval;
+
+    private final EnumSet<DayOfWeek> byDay;
+
+    private final LocalDate until;
+
+    private final Integer count;
+
+    private Recurrence(Frequency frequency, int interval, EnumSet<DayOfWeek> byDay, LocalDate until, Integer count) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * @param rule the rule, in any case.
+     * @return the recurrence of the rule.
+     * @throws IllegalArgumentException if the rule is not supported.
+     */
+    public static Recurrence parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("The recurrence is empty");
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        EnumSet<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        LocalDate until = null;
+        Integer count = null;
+        for (String part : rule.trim().toUpperCase(Locale.ROOT).split(";")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid recurrence part: " + part);
+            }
+            String value = part.substring(separator + 1);
+            try {
+                switch (part.substring(0, separator)) {
+                    case "FREQ":
+                        frequency = Frequency.valueOf(value);
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(value);
+                        break;
+                    case "BYDAY":
+                        for (String day : value.split(",")) {
+                            int index = DAY_NAMES.indexOf(day);
+                            if (index < 0) {
+                                throw new IllegalArgumentException("Invalid recurrence day: " + day);
+                            }
+                            byDay.add(DayOfWeek.of(index + 1));
+                        }
+                        break;
+                    case "UNTIL":
+                        // a date-time is cut to its date
+                        until = LocalDate.parse(value.substring(0, Math.min(value.length(), 8)), UNTIL_FORMAT);
+                        break;
+                    case "COUNT":
+                        count = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported recurrence part: " + part);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid recurrence part: " + part, e);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("The recurrence has no FREQ");
+        }
+        if (interval < 1 || (count != null && count < 1)) {
+            throw new IllegalArgumentException("The recurrence INTERVAL and COUNT must be positive");
+        }
+        if (until != null && count != null) {
+            throw new IllegalArgumentException("The recurrence cannot have both UNTIL and COUNT");
+        }
+        if (frequency == Frequency.DAILY && !byDay.isEmpty()) {
+            throw new IllegalArgumentException("BYDAY is only supported by a WEEKLY recurrence");
+        }
+        return new Recurrence(frequency, interval, byDay, until, count);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public Set<DayOfWeek> getByDay() {
+        return EnumSet.copyOf(byDay);
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    /**
+     * The days of the occurrences, computed one at a time as the iterator is read; the occurrences before {@code from} are
+     * skipped arithmetically, not iterated over.
+     *
+     * @param start the day of the first occurrence, which also gives the day of week of a weekly recurrence without
+     *              {@code BYDAY}.
+     * @param from the first day to return an occurrence for.
+     * @return the days of the occurrences on or after {@code from}, in order, without an end if the recurrence has none.
+     */
+    public Iterator<LocalDate> occurrences(LocalDate start, LocalDate from) {
+        return frequency == Frequency.DAILY ? new DailyOccurrences(start, from) : new WeeklyOccurrences(start, from);
+    }
+
+    private boolean ends(LocalDate day, long index) {
+        return (count != null && index >= count) || (until != null && day.isAfter(until));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            List<String> days = new ArrayList<>(byDay.size());
+            byDay.forEach(day -> days.add(DAY_NAMES.get(day.getValue() - 1)));
+            rule.append(";BYDAY=").append(String.join(",", days));
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(UNTIL_FORMAT));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        return rule.toString();
+    }
+
+    /**
+     * The occurrences every {@code interval} days from the start.
+     */
+    private final class DailyOccurrences implements Iterator<LocalDate> {
+
+        private final LocalDate start;
+
+        // the index of the next occurrence since the start
+        private long index;
+
+        private DailyOccurrences(LocalDate start, LocalDate from) {
+            this.start = start;
+            long days = ChronoUnit.DAYS.between(start, from);
+            this.index = days <= 0 ? 0 : (days + interval - 1) / interval;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !ends(start.plusDays(index * interval), index);
+        }
+
+        @Override
+        public LocalDate next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return start.plusDays(index++ * interval);
+        }
+    }
+
+    /**
+     * The occurrences on the days of {@code BYDAY} every {@code interval} weeks from the week of the start, on or after the
+     * start.
+     */
+    private final class WeeklyOccurrences implements Iterator<LocalDate> {
+
+        private final LocalDate start;
+
+        private final LocalDate firstMonday;
+
+        private final DayOfWeek[] days;
+
+        // the next occurrence is on the day of index day of the week of index week since the first one
+        private long week;
+
+        private int day;
+
+        // the index of the next occurrence since the start
+        private long index;
+
+        private WeeklyOccurrences(LocalDate start, LocalDate from) {
+            this.start = start;
+            this.firstMonday = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            this.days = (byDay.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : byDay).toArray(new DayOfWeek[0]);
+            int firstWeekCount = 0;
+            for (DayOfWeek dayOfWeek : days) {
+                if (!firstMonday.with(dayOfWeek).isBefore(start)) {
+                    firstWeekCount++;
+                }
+            }
+            // jump to the first week of the recurrence on or after the week of from
+            LocalDate fromMonday = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            long weeks = Math.max(0, ChronoUnit.WEEKS.between(firstMonday, fromMonday));
+            this.week = (weeks + interval - 1) / interval * interval;
+            this.index = week == 0 ? 0 : firstWeekCount + (week / interval - 1) * days.length;
+            LocalDate first = start.isAfter(from) ? start : from;
+            while (current().isBefore(first)) {
+                if (!current().isBefore(start)) {
+                    index++;
+                }
+                advance();
+            }
+        }
+
+        private LocalDate current() {
+            return firstMonday.plusWeeks(week).with(days[day]);
+        }
+
+        private void advance() {
+            if (++day == days.length) {
+                day = 0;
+                week += interval;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !ends(current(), index);
+        }
+
+        @Override
+        public LocalDate next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LocalDate next = current();
+            index++;
+            advance();
+            return next;
+        }
+    }
+}
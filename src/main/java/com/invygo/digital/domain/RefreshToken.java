@@ -0,0 +1,151 @@
+package com.invygo.digital.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A refresh token, issued with a JWT to renew it without the password of the user.
+ * Only the digest of the token is stored.
+ */
+@Table("refresh_token")
+public class RefreshToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 64)
+    @Column("token_hash")
+    private String tokenHash;
+
+    @NotNull
+    @Size(max = 50)
+    @Column("login")
+    private String login;
+
+    @Size(max = 255)
+    @Column("authorities")
+    private String authorities;
+
+    @NotNull
+    @Column("remember_me")
+    private boolean rememberMe;
+
+    @NotNull
+    @Column("expires_at")
+    private Instant expiresAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public RefreshToken id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenHash() {
+        return this.tokenHash;
+    }
+
+    public RefreshToken tokenHash(String tokenHash) {
+        this.setTokenHash(tokenHash);
+        return this;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public String getLogin() {
+        return this.login;
+    }
+
+    public RefreshToken login(String login) {
+        this.setLogin(login);
+        return this;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getAuthorities() {
+        return this.authorities;
+    }
+
+    public RefreshToken authorities(String authorities) {
+        this.setAuthorities(authorities);
+        return this;
+    }
+
+    public void setAuthorities(String authorities) {
+        this.authorities = authorities;
+    }
+
+    public boolean isRememberMe() {
+        return this.rememberMe;
+    }
+
+    public RefreshToken rememberMe(boolean rememberMe) {
+        this.setRememberMe(rememberMe);
+        return this;
+    }
+
+    public void setRememberMe(boolean rememberMe) {
+        this.rememberMe = rememberMe;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public RefreshToken expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RefreshToken)) {
+            return false;
+        }
+        return id != null && id.equals(((RefreshToken) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RefreshToken{" +
+            "id=" + getId() +
+            ", login='" + getLogin() + "'" +
+            ", authorities='" + getAuthorities() + "'" +
+            ", rememberMe='" + isRememberMe() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
@@ -23,6 +23,9 @@ public class ScheduleAuthority implements Serializable {
     @Column("name")
     private String name;
 
+    @Column("role_id")
+    private Long roleId;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -51,6 +54,19 @@ public class ScheduleAuthority implements Serializable {
         this.name = name;
     }
 
+    public Long getRoleId() {
+        return this.roleId;
+    }
+
+    public ScheduleAuthority roleId(Long roleId) {
+        this.setRoleId(roleId);
+        return this;
+    }
+
+    public void setRoleId(Long roleId) {
+        this.roleId = roleId;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -76,6 +92,7 @@ public class ScheduleAuthority implements Serializable {
         return "ScheduleAuthority{" +
             "id=" + getId() +
             ", name='" + getName() + "'" +
+            ", roleId=" + getRoleId() +
             "}";
     }
 }
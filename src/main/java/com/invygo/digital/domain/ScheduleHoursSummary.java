@@ -0,0 +1,133 @@
+package com.invygo.digital.domain;
+
+import com.invygo.digital.domain.enumeration.SummaryPeriod;
+import java.io.Serializable;
+import java.time.LocalDate;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The total hours of the schedules of a user over a week or a month.
+ * There is one row per user and period, kept up to date as the schedules are written.
+ */
+@Table("schedule_hours_summary")
+public class ScheduleHoursSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull
+    @Column("user_id")
+    private Long userId;
+
+    @NotNull
+    @Column("period_type")
+    private SummaryPeriod period;
+
+    @NotNull
+    @Column("period_start")
+    private LocalDate periodStart;
+
+    @NotNull
+    @Column("hours")
+    private Long hours;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ScheduleHoursSummary id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return this.userId;
+    }
+
+    public ScheduleHoursSummary userId(Long userId) {
+        this.setUserId(userId);
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public SummaryPeriod getPeriod() {
+        return this.period;
+    }
+
+    public ScheduleHoursSummary period(SummaryPeriod period) {
+        this.setPeriod(period);
+        return this;
+    }
+
+    public void setPeriod(SummaryPeriod period) {
+        this.period = period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return this.periodStart;
+    }
+
+    public ScheduleHoursSummary periodStart(LocalDate periodStart) {
+        this.setPeriodStart(periodStart);
+        return this;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Long getHours() {
+        return this.hours;
+    }
+
+    public ScheduleHoursSummary hours(Long hours) {
+        this.setHours(hours);
+        return this;
+    }
+
+    public void setHours(Long hours) {
+        this.hours = hours;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScheduleHoursSummary)) {
+            return false;
+        }
+        return id != null && id.equals(((ScheduleHoursSummary) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleHoursSummary{" +
+            "id=" + getId() +
+            ", userId=" + getUserId() +
+            ", period='" + getPeriod() + "'" +
+            ", periodStart='" + getPeriodStart() + "'" +
+            ", hours=" + getHours() +
+            "}";
+    }
+}
@@ -0,0 +1,173 @@
+package com.invygo.digital.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A recurring shift of a user, expanded into {@link Schedule}s: one occurrence of {@code hours} at {@code startTime} on each
+ * day of its {@link Recurrence} from {@code startDate}.
+ * <p>
+ * The occurrences before {@code materializedUntil} are stored as schedules; the following ones are only computed when the
+ * schedules are read.
+ */
+@Table("shift_template")
+public class ShiftTemplate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("user_id")
+    private Long userId;
+
+    @NotNull(message = "must not be null")
+    @Column("start_date")
+    private LocalDate startDate;
+
+    @NotNull(message = "must not be null")
+    @Column("start_time")
+    private LocalTime startTime;
+
+    @NotNull(message = "must not be null")
+    @Min(value = 1, message = "must be greater than or equal to 1")
+    @Column("hours")
+    private Long hours;
+
+    @NotNull(message = "must not be null")
+    @Size(max = 255, message = "size must be between 0 and 255")
+    @Column("recurrence")
+    private String recurrence;
+
+    @Column("materialized_until")
+    private LocalDate materializedUntil;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ShiftTemplate id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return this.userId;
+    }
+
+    public ShiftTemplate userId(Long userId) {
+        this.setUserId(userId);
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getStartDate() {
+        return this.startDate;
+    }
+
+    public ShiftTemplate startDate(LocalDate startDate) {
+        this.setStartDate(startDate);
+        return this;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalTime getStartTime() {
+        return this.startTime;
+    }
+
+    public ShiftTemplate startTime(LocalTime startTime) {
+        this.setStartTime(startTime);
+        return this;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getHours() {
+        return this.hours;
+    }
+
+    public ShiftTemplate hours(Long hours) {
+        this.setHours(hours);
+        return this;
+    }
+
+    public void setHours(Long hours) {
+        this.hours = hours;
+    }
+
+    public String getRecurrence() {
+        return this.recurrence;
+    }
+
+    public ShiftTemplate recurrence(String recurrence) {
+        this.setRecurrence(recurrence);
+        return this;
+    }
+
+    public void setRecurrence(String recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public LocalDate getMaterializedUntil() {
+        return this.materializedUntil;
+    }
+
+    public ShiftTemplate materializedUntil(LocalDate materializedUntil) {
+        this.setMaterializedUntil(materializedUntil);
+        return this;
+    }
+
+    public void setMaterializedUntil(LocalDate materializedUntil) {
+        this.materializedUntil = materializedUntil;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShiftTemplate)) {
+            return false;
+        }
+        return id != null && id.equals(((ShiftTemplate) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShiftTemplate{" +
+            "id=" + getId() +
+            ", userId=" + getUserId() +
+            ", startDate='" + getStartDate() + "'" +
+            ", startTime='" + getStartTime() + "'" +
+            ", hours=" + getHours() +
+            ", recurrence='" + getRecurrence() + "'" +
+            ", materializedUntil='" + getMaterializedUntil() + "'" +
+            "}";
+    }
+}
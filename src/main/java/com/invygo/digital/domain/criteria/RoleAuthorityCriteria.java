@@ -0,0 +1,117 @@
+package com.invygo.digital.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link com.invygo.digital.domain.RoleAuthority} entity. This class is used
+ * in {@link com.invygo.digital.web.rest.RoleAuthorityResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /role-authorities?userId.equals=1&roleId.in=1,2}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ */
+public class RoleAuthorityCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The properties the entities can be sorted by, and the fields their responses can be narrowed to, as both are rendered into the SQL.
+     */
+    public static final Set<String> PROPERTIES = Set.of("id", "userId", "roleId");
+
+    private LongFilter id;
+
+    private LongFilter userId;
+
+    private LongFilter roleId;
+
+    public RoleAuthorityCriteria() {}
+
+    public RoleAuthorityCriteria(RoleAuthorityCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.userId = other.userId == null ? null : other.userId.copy();
+        this.roleId = other.roleId == null ? null : other.roleId.copy();
+    }
+
+    @Override
+    public RoleAuthorityCriteria copy() {
+        return new RoleAuthorityCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LongFilter getUserId() {
+        return userId;
+    }
+
+    public LongFilter userId() {
+        if (userId == null) {
+            userId = new LongFilter();
+        }
+        return userId;
+    }
+
+    public void setUserId(LongFilter userId) {
+        this.userId = userId;
+    }
+
+    public LongFilter getRoleId() {
+        return roleId;
+    }
+
+    public LongFilter roleId() {
+        if (roleId == null) {
+            roleId = new LongFilter();
+        }
+        return roleId;
+    }
+
+    public void setRoleId(LongFilter roleId) {
+        this.roleId = roleId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RoleAuthorityCriteria that = (RoleAuthorityCriteria) o;
+        return Objects.equals(id, that.id) && Objects.equals(userId, that.userId) && Objects.equals(roleId, that.roleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, userId, roleId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoleAuthorityCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (userId != null ? "userId=" + userId + ", " : "") +
+            (roleId != null ? "roleId=" + roleId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,99 @@
+package com.invygo.digital.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.invygo.digital.domain.Roles} entity. This class is used
+ * in {@link com.invygo.digital.web.rest.RolesResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /roles?roleName.contains=admin}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ */
+public class RolesCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The properties the entities can be sorted by, and the fields their responses can be narrowed to, as both are rendered into the SQL.
+     */
+    public static final Set<String> PROPERTIES = Set.of("id", "roleName");
+
+    private LongFilter id;
+
+    private StringFilter roleName;
+
+    public RolesCriteria() {}
+
+    public RolesCriteria(RolesCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.roleName = other.roleName == null ? null : other.roleName.copy();
+    }
+
+    @Override
+    public RolesCriteria copy() {
+        return new RolesCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getRoleName() {
+        return roleName;
+    }
+
+    public StringFilter roleName() {
+        if (roleName == null) {
+            roleName = new StringFilter();
+        }
+        return roleName;
+    }
+
+    public void setRoleName(StringFilter roleName) {
+        this.roleName = roleName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RolesCriteria that = (RolesCriteria) o;
+        return Objects.equals(id, that.id) && Objects.equals(roleName, that.roleName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, roleName);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RolesCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (roleName != null ? "roleName=" + roleName + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.invygo.digital.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.invygo.digital.domain.ScheduleAuthority} entity. This class is used
+ * in {@link com.invygo.digital.web.rest.ScheduleAuthorityResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /schedule-authorities?roleId.equals=1&name.contains=schedule}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ */
+public class ScheduleAuthorityCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The properties the entities can be sorted by, and the fields their responses can be narrowed to, as both are rendered into the SQL.
+     */
+    public static final Set<String> PROPERTIES = Set.of("id", "name", "roleId");
+
+    private LongFilter id;
+
+    private StringFilter name;
+
+    private LongFilter roleId;
+
+    public ScheduleAuthorityCriteria() {}
+
+    public ScheduleAuthorityCriteria(ScheduleAuthorityCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.roleId = other.roleId == null ? null : other.roleId.copy();
+    }
+
+    @Override
+    public ScheduleAuthorityCriteria copy() {
+        return new ScheduleAuthorityCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getName() {
+        return name;
+    }
+
+    public StringFilter name() {
+        if (name == null) {
+            name = new StringFilter();
+        }
+        return name;
+    }
+
+    public void setName(StringFilter name) {
+        this.name = name;
+    }
+
+    public LongFilter getRoleId() {
+        return roleId;
+    }
+
+    public LongFilter roleId() {
+        if (roleId == null) {
+            roleId = new LongFilter();
+        }
+        return roleId;
+    }
+
+    public void setRoleId(LongFilter roleId) {
+        this.roleId = roleId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ScheduleAuthorityCriteria that = (ScheduleAuthorityCriteria) o;
+        return Objects.equals(id, that.id) && Objects.equals(name, that.name) && Objects.equals(roleId, that.roleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, roleId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleAuthorityCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (name != null ? "name=" + name + ", " : "") +
+            (roleId != null ? "roleId=" + roleId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,142 @@
+package com.invygo.digital.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.ZonedDateTimeFilter;
+
+/**
+ * Criteria class for the {@link com.invygo.digital.domain.Schedule} entity. This class is used
+ * in {@link com.invygo.digital.web.rest.ScheduleResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /schedules?userId.in=1,2&workDate.greaterThanOrEqual=2022-06-01T00:00:00Z&hours.lessThan=8}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ */
+public class ScheduleCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The properties the entities can be sorted by, and the fields their responses can be narrowed to, as both are rendered into the SQL.
+     */
+    public static final Set<String> PROPERTIES = Set.of("id", "userId", "workDate", "hours");
+
+    private LongFilter id;
+
+    private LongFilter userId;
+
+    private ZonedDateTimeFilter workDate;
+
+    private LongFilter hours;
+
+    public ScheduleCriteria() {}
+
+    public ScheduleCriteria(ScheduleCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.userId = other.userId == null ? null : other.userId.copy();
+        this.workDate = other.workDate == null ? null : other.workDate.copy();
+        this.hours = other.hours == null ? null : other.hours.copy();
+    }
+
+    @Override
+    public ScheduleCriteria copy() {
+        return new ScheduleCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LongFilter getUserId() {
+        return userId;
+    }
+
+    public LongFilter userId() {
+        if (userId == null) {
+            userId = new LongFilter();
+        }
+        return userId;
+    }
+
+    public void setUserId(LongFilter userId) {
+        this.userId = userId;
+    }
+
+    public ZonedDateTimeFilter getWorkDate() {
+        return workDate;
+    }
+
+    public ZonedDateTimeFilter workDate() {
+        if (workDate == null) {
+            workDate = new ZonedDateTimeFilter();
+        }
+        return workDate;
+    }
+
+    public void setWorkDate(ZonedDateTimeFilter workDate) {
+        this.workDate = workDate;
+    }
+
+    public LongFilter getHours() {
+        return hours;
+    }
+
+    public LongFilter hours() {
+        if (hours == null) {
+            hours = new LongFilter();
+        }
+        return hours;
+    }
+
+    public void setHours(LongFilter hours) {
+        this.hours = hours;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ScheduleCriteria that = (ScheduleCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(userId, that.userId) &&
+            Objects.equals(workDate, that.workDate) &&
+            Objects.equals(hours, that.hours)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, userId, workDate, hours);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (userId != null ? "userId=" + userId + ", " : "") +
+            (workDate != null ? "workDate=" + workDate + ", " : "") +
+            (hours != null ? "hours=" + hours + ", " : "") +
+            "}";
+    }
+}
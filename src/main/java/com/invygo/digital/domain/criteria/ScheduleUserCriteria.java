@@ -0,0 +1,164 @@
+package com.invygo.digital.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.invygo.digital.domain.ScheduleUser} entity. This class is used
+ * in {@link com.invygo.digital.web.rest.ScheduleUserResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /schedule-users?login.contains=john&id.greaterThan=5}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ * <p>
+ * The password is neither filtered, sorted by nor selectable as a field, so that its hash cannot be probed through the results.
+ */
+public class ScheduleUserCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The properties the entities can be sorted by, and the fields their responses can be narrowed to, as both are rendered into the SQL.
+     */
+    public static final Set<String> PROPERTIES = Set.of("id", "email", "login", "firstname", "lastname");
+
+    private LongFilter id;
+
+    private StringFilter email;
+
+    private StringFilter login;
+
+    private StringFilter firstname;
+
+    private StringFilter lastname;
+
+    public ScheduleUserCriteria() {}
+
+    public ScheduleUserCriteria(ScheduleUserCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.email = other.email == null ? null : other.email.copy();
+        this.login = other.login == null ? null : other.login.copy();
+        this.firstname = other.firstname == null ? null : other.firstname.copy();
+        this.lastname = other.lastname == null ? null : other.lastname.copy();
+    }
+
+    @Override
+    public ScheduleUserCriteria copy() {
+        return new ScheduleUserCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getEmail() {
+        return email;
+    }
+
+    public StringFilter email() {
+        if (email == null) {
+            email = new StringFilter();
+        }
+        return email;
+    }
+
+    public void setEmail(StringFilter email) {
+        this.email = email;
+    }
+
+    public StringFilter getLogin() {
+        return login;
+    }
+
+    public StringFilter login() {
+        if (login == null) {
+            login = new StringFilter();
+        }
+        return login;
+    }
+
+    public void setLogin(StringFilter login) {
+        this.login = login;
+    }
+
+    public StringFilter getFirstname() {
+        return firstname;
+    }
+
+    public StringFilter firstname() {
+        if (firstname == null) {
+            firstname = new StringFilter();
+        }
+        return firstname;
+    }
+
+    public void setFirstname(StringFilter firstname) {
+        this.firstname = firstname;
+    }
+
+    public StringFilter getLastname() {
+        return lastname;
+    }
+
+    public StringFilter lastname() {
+        if (lastname == null) {
+            lastname = new StringFilter();
+        }
+        return lastname;
+    }
+
+    public void setLastname(StringFilter lastname) {
+        this.lastname = lastname;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ScheduleUserCriteria that = (ScheduleUserCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(email, that.email) &&
+            Objects.equals(login, that.login) &&
+            Objects.equals(firstname, that.firstname) &&
+            Objects.equals(lastname, that.lastname)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, email, login, firstname, lastname);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleUserCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (email != null ? "email=" + email + ", " : "") +
+            (login != null ? "login=" + login + ", " : "") +
+            (firstname != null ? "firstname=" + firstname + ", " : "") +
+            (lastname != null ? "lastname=" + lastname + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,144 @@
+package com.invygo.digital.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.invygo.digital.domain.Users} entity. This class is used
+ * in {@link com.invygo.digital.web.rest.UsersResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /users?email.contains=invygo&surname.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ * <p>
+ * The password is neither filtered, sorted by nor selectable as a field, so that its hash cannot be probed through the results.
+ */
+public class UsersCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The properties the entities can be sorted by, and the fields their responses can be narrowed to, as both are rendered into the SQL.
+     */
+    public static final Set<String> PROPERTIES = Set.of("id", "email", "name", "surname");
+
+    private LongFilter id;
+
+    private StringFilter email;
+
+    private StringFilter name;
+
+    private StringFilter surname;
+
+    public UsersCriteria() {}
+
+    public UsersCriteria(UsersCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.email = other.email == null ? null : other.email.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.surname = other.surname == null ? null : other.surname.copy();
+    }
+
+    @Override
+    public UsersCriteria copy() {
+        return new UsersCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getEmail() {
+        return email;
+    }
+
+    public StringFilter email() {
+        if (email == null) {
+            email = new StringFilter();
+        }
+        return email;
+    }
+
+    public void setEmail(StringFilter email) {
+        this.email = email;
+    }
+
+    public StringFilter getName() {
+        return name;
+    }
+
+    public StringFilter name() {
+        if (name == null) {
+            name = new StringFilter();
+        }
+        return name;
+    }
+
+    public void setName(StringFilter name) {
+        this.name = name;
+    }
+
+    public StringFilter getSurname() {
+        return surname;
+    }
+
+    public StringFilter surname() {
+        if (surname == null) {
+            surname = new StringFilter();
+        }
+        return surname;
+    }
+
+    public void setSurname(StringFilter surname) {
+        this.surname = surname;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final UsersCriteria that = (UsersCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(email, that.email) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(surname, that.surname)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, email, name, surname);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UsersCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (email != null ? "email=" + email + ", " : "") +
+            (name != null ? "name=" + name + ", " : "") +
+            (surname != null ? "surname=" + surname + ", " : "") +
+            "}";
+    }
+}
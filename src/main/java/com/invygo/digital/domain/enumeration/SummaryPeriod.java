@@ -0,0 +1,62 @@
+package com.invygo.digital.domain.enumeration;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * The periods the hours of the schedules are summed over.
+ */
+public enum SummaryPeriod {
+    /**
+     * An ISO week, from Monday to Sunday.
+     */
+    WEEK {
+        @Override
+        public LocalDate startOf(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+
+    /**
+     * A calendar month.
+     */
+    MONTH {
+        @Override
+        public LocalDate startOf(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    /**
+     * @param date a date.
+     * @return the first day of the period of the date.
+     */
+    public abstract LocalDate startOf(LocalDate date);
+
+    /**
+     * @param start the first day of a period.
+     * @return the first day of the following period.
+     */
+    public abstract LocalDate next(LocalDate start);
+
+    /**
+     * @param value the name of a period, in any case.
+     * @return the period.
+     * @throws IllegalArgumentException if there is no period of this name.
+     */
+    public static SummaryPeriod fromValue(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,26 @@
+package com.invygo.digital.management;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheMetersService {
+
+    private final MeterRegistry registry;
+
+    public CacheMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Register the hit, miss, load and eviction meters of a cache, tagged with its name.
+     * <p>
+     * The statistics of the cache must be recorded, see {@link com.github.benmanes.caffeine.cache.Caffeine#recordStats()}.
+     * @return the monitored cache.
+     */
+    public <K, V> AsyncCache<K, V> monitor(AsyncCache<K, V> cache, String name) {
+        return CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+}
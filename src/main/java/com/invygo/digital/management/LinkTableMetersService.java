@@ -0,0 +1,43 @@
+package com.invygo.digital.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LinkTableMetersService {
+
+    public static final String LINK_TABLE_METER_NAME = "repository.link-table.statements";
+    public static final String LINK_TABLE_METER_DESCRIPTION =
+        "Indicates how many SQL statements were run to update the links of the entities, by link table and kind of statement.";
+    public static final String LINK_TABLE_METER_BASE_UNIT = "statements";
+    public static final String LINK_TABLE_METER_TABLE_DIMENSION = "table";
+    public static final String LINK_TABLE_METER_STATEMENT_DIMENSION = "statement";
+
+    private final MeterRegistry registry;
+
+    public LinkTableMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private Counter.Builder linkTableCounterForStatementBuilder(String table, String statement) {
+        return Counter
+            .builder(LINK_TABLE_METER_NAME)
+            .baseUnit(LINK_TABLE_METER_BASE_UNIT)
+            .description(LINK_TABLE_METER_DESCRIPTION)
+            .tag(LINK_TABLE_METER_TABLE_DIMENSION, table)
+            .tag(LINK_TABLE_METER_STATEMENT_DIMENSION, statement);
+    }
+
+    public void trackSelect(String table) {
+        linkTableCounterForStatementBuilder(table, "select").register(registry).increment();
+    }
+
+    public void trackInsert(String table) {
+        linkTableCounterForStatementBuilder(table, "insert").register(registry).increment();
+    }
+
+    public void trackDelete(String table) {
+        linkTableCounterForStatementBuilder(table, "delete").register(registry).increment();
+    }
+}
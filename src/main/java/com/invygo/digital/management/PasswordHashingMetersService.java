@@ -0,0 +1,54 @@
+package com.invygo.digital.management;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PasswordHashingMetersService {
+
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password-hashing.duration";
+    public static final String PASSWORD_HASHING_METER_DESCRIPTION = "Indicates the time spent hashing the passwords.";
+    public static final String PASSWORD_HASHING_METER_OPERATION_DIMENSION = "operation";
+
+    public static final String PASSWORD_HASHING_QUEUE_METER_NAME = "security.password-hashing.queue";
+    public static final String PASSWORD_HASHING_QUEUE_METER_DESCRIPTION =
+        "Indicates how many password hashings are waiting for a password hashing thread.";
+    public static final String PASSWORD_HASHING_QUEUE_METER_BASE_UNIT = "tasks";
+
+    private final MeterRegistry registry;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingMetersService(MeterRegistry registry) {
+        this.registry = registry;
+        this.encodeTimer = passwordHashingTimerForOperationBuilder("encode").register(registry);
+        this.matchesTimer = passwordHashingTimerForOperationBuilder("matches").register(registry);
+    }
+
+    private Timer.Builder passwordHashingTimerForOperationBuilder(String operation) {
+        return Timer
+            .builder(PASSWORD_HASHING_METER_NAME)
+            .description(PASSWORD_HASHING_METER_DESCRIPTION)
+            .tag(PASSWORD_HASHING_METER_OPERATION_DIMENSION, operation);
+    }
+
+    public void monitorQueue(Collection<?> queue) {
+        Gauge
+            .builder(PASSWORD_HASHING_QUEUE_METER_NAME, queue, Collection::size)
+            .baseUnit(PASSWORD_HASHING_QUEUE_METER_BASE_UNIT)
+            .description(PASSWORD_HASHING_QUEUE_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    public <T> T timeEncode(Supplier<T> encode) {
+        return this.encodeTimer.record(encode);
+    }
+
+    public <T> T timeMatches(Supplier<T> matches) {
+        return this.matchesTimer.record(matches);
+    }
+}
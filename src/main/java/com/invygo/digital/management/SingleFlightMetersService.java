@@ -0,0 +1,39 @@
+package com.invygo.digital.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SingleFlightMetersService {
+
+    public static final String SINGLE_FLIGHT_METER_NAME = "service.single-flight.calls";
+    public static final String SINGLE_FLIGHT_METER_DESCRIPTION =
+        "Indicates how many reads of the services were executed, and how many joined an identical read already in flight.";
+    public static final String SINGLE_FLIGHT_METER_BASE_UNIT = "calls";
+    public static final String SINGLE_FLIGHT_METER_QUERY_DIMENSION = "query";
+    public static final String SINGLE_FLIGHT_METER_RESULT_DIMENSION = "result";
+
+    private final MeterRegistry registry;
+
+    public SingleFlightMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private Counter.Builder singleFlightCounterForResultBuilder(String query, String result) {
+        return Counter
+            .builder(SINGLE_FLIGHT_METER_NAME)
+            .baseUnit(SINGLE_FLIGHT_METER_BASE_UNIT)
+            .description(SINGLE_FLIGHT_METER_DESCRIPTION)
+            .tag(SINGLE_FLIGHT_METER_QUERY_DIMENSION, query)
+            .tag(SINGLE_FLIGHT_METER_RESULT_DIMENSION, result);
+    }
+
+    public void trackExecuted(String query) {
+        singleFlightCounterForResultBuilder(query, "executed").register(registry).increment();
+    }
+
+    public void trackCoalesced(String query) {
+        singleFlightCounterForResultBuilder(query, "coalesced").register(registry).increment();
+    }
+}
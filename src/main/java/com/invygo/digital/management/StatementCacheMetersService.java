@@ -0,0 +1,39 @@
+package com.invygo.digital.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StatementCacheMetersService {
+
+    public static final String STATEMENT_CACHE_METER_NAME = "repository.statement-cache.requests";
+    public static final String STATEMENT_CACHE_METER_DESCRIPTION =
+        "Indicates how many SQL statements were found in the statement cache, instead of being rendered.";
+    public static final String STATEMENT_CACHE_METER_BASE_UNIT = "requests";
+    public static final String STATEMENT_CACHE_METER_RESULT_DIMENSION = "result";
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public StatementCacheMetersService(MeterRegistry registry) {
+        this.hitCounter = statementCacheCounterForResultBuilder("hit").register(registry);
+        this.missCounter = statementCacheCounterForResultBuilder("miss").register(registry);
+    }
+
+    private Counter.Builder statementCacheCounterForResultBuilder(String result) {
+        return Counter
+            .builder(STATEMENT_CACHE_METER_NAME)
+            .baseUnit(STATEMENT_CACHE_METER_BASE_UNIT)
+            .description(STATEMENT_CACHE_METER_DESCRIPTION)
+            .tag(STATEMENT_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    public void trackHit() {
+        this.hitCounter.increment();
+    }
+
+    public void trackMiss() {
+        this.missCounter.increment();
+    }
+}
@@ -0,0 +1,54 @@
+package com.invygo.digital.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserDetailsCacheMetersService {
+
+    public static final String USER_DETAILS_CACHE_METER_NAME = "security.user-details-cache.requests";
+    public static final String USER_DETAILS_CACHE_METER_DESCRIPTION =
+        "Indicates how many users authenticating were found already resolved in the user details cache.";
+    public static final String USER_DETAILS_CACHE_METER_BASE_UNIT = "requests";
+    public static final String USER_DETAILS_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String USER_DETAILS_CACHE_HIT_RATIO_METER_NAME = "security.user-details-cache.hit-ratio";
+    public static final String USER_DETAILS_CACHE_HIT_RATIO_METER_DESCRIPTION =
+        "Indicates the ratio of the users found in the user details cache, over all the users looked up in it.";
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserDetailsCacheMetersService(MeterRegistry registry) {
+        this.hitCounter = userDetailsCacheCounterForResultBuilder("hit").register(registry);
+        this.missCounter = userDetailsCacheCounterForResultBuilder("miss").register(registry);
+        Gauge
+            .builder(USER_DETAILS_CACHE_HIT_RATIO_METER_NAME, this, UserDetailsCacheMetersService::hitRatio)
+            .description(USER_DETAILS_CACHE_HIT_RATIO_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private Counter.Builder userDetailsCacheCounterForResultBuilder(String result) {
+        return Counter
+            .builder(USER_DETAILS_CACHE_METER_NAME)
+            .baseUnit(USER_DETAILS_CACHE_METER_BASE_UNIT)
+            .description(USER_DETAILS_CACHE_METER_DESCRIPTION)
+            .tag(USER_DETAILS_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private double hitRatio() {
+        double hits = this.hitCounter.count();
+        double requests = hits + this.missCounter.count();
+        return requests == 0 ? 0 : hits / requests;
+    }
+
+    public void trackHit() {
+        this.hitCounter.increment();
+    }
+
+    public void trackMiss() {
+        this.missCounter.increment();
+    }
+}
@@ -0,0 +1,160 @@
+package com.invygo.digital.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.r2dbc.core.DatabaseClient;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * The where clause of a criteria query: a condition for each operation set on the {@link Filter}s of the criteria, on the
+ * columns of the entity, with the values of the operations bound as parameters.
+ * <p>
+ * The SQL only depends on which operations are set, as given by {@link #getShape()}, so the statements of the criteria
+ * queries are rendered once per shape and cached by the {@link EntityManager} like the other ones, whatever the values.
+ */
+public final class CriteriaCondition {
+
+    private final R2dbcConverter converter;
+
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    private final StringJoiner shape = new StringJoiner("&", "?", "").setEmptyValue("");
+
+    public CriteriaCondition(R2dbcConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Adds the conditions of the operations set on a filter of the criteria: {@code equals}, {@code notEquals},
+     * {@code specified}, {@code in} and {@code notIn}, as well as the comparisons of a {@link RangeFilter} and the
+     * {@code contains} and {@code doesNotContain} of a {@link StringFilter}.
+     * @param property the name of the property, which also names the bind markers of its values.
+     * @param column the column of the property.
+     * @param filter the filter of the property, or null if the property is not filtered.
+     * @return this condition.
+     */
+    public CriteriaCondition filter(String property, Column column, Filter<?> filter) {
+        if (filter == null) {
+            return this;
+        }
+        if (filter.getEquals() != null) {
+            add(property, "equals", column, Conditions::isEqual, toColumnValue(filter.getEquals()));
+        }
+        if (filter.getNotEquals() != null) {
+            add(property, "notEquals", column, Conditions::isNotEqual, toColumnValue(filter.getNotEquals()));
+        }
+        if (filter.getSpecified() != null) {
+            conditions.add(filter.getSpecified() ? Conditions.isNull(column).not() : Conditions.isNull(column));
+            shape.add(property + ".specified=" + filter.getSpecified());
+        }
+        if (filter.getIn() != null) {
+            if (filter.getIn().isEmpty()) {
+                // no value can match an empty list, while an empty IN () is not valid SQL
+                conditions.add(Conditions.in(column, SQL.nullLiteral()));
+                shape.add(property + ".in=");
+            } else {
+                add(property, "in", column, (left, right) -> Conditions.in(left, right), toColumnValues(filter.getIn()));
+            }
+        }
+        if (filter.getNotIn() != null && !filter.getNotIn().isEmpty()) {
+            add(property, "notIn", column, (left, right) -> Conditions.notIn(left, right), toColumnValues(filter.getNotIn()));
+        }
+        if (filter instanceof RangeFilter) {
+            RangeFilter<?> range = (RangeFilter<?>) filter;
+            if (range.getGreaterThan() != null) {
+                add(property, "greaterThan", column, Conditions::isGreater, toColumnValue(range.getGreaterThan()));
+            }
+            if (range.getGreaterThanOrEqual() != null) {
+                add(property, "greaterThanOrEqual", column, Conditions::isGreaterOrEqualTo, toColumnValue(range.getGreaterThanOrEqual()));
+            }
+            if (range.getLessThan() != null) {
+                add(property, "lessThan", column, Conditions::isLess, toColumnValue(range.getLessThan()));
+            }
+            if (range.getLessThanOrEqual() != null) {
+                add(property, "lessThanOrEqual", column, Conditions::isLessOrEqualTo, toColumnValue(range.getLessThanOrEqual()));
+            }
+        }
+        if (filter instanceof StringFilter) {
+            StringFilter string = (StringFilter) filter;
+            if (string.getContains() != null) {
+                add(property, "contains", column, Conditions::like, toLikePattern(string.getContains()));
+            }
+            if (string.getDoesNotContain() != null) {
+                add(property, "doesNotContain", column, Conditions::notLike, toLikePattern(string.getDoesNotContain()));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the conjunction of the conditions of the filters, or null if no operation is set.
+     */
+    public Condition getCondition() {
+        return conditions.stream().reduce(Condition::and).orElse(null);
+    }
+
+    /**
+     * @return the operations set on the filters, without their values, for example
+     * {@code ?userId.in&workDate.greaterThan}; empty if no operation is set.
+     */
+    public String getShape() {
+        return shape.toString();
+    }
+
+    /**
+     * Binds the values of the operations to the bind markers of the condition.
+     * @param query the query whose where clause is {@link #getCondition()}.
+     * @return the query with the values bound.
+     */
+    public DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec query) {
+        for (Entry<String, Object> value : values.entrySet()) {
+            query = query.bind(value.getKey(), value.getValue());
+        }
+        return query;
+    }
+
+    private void add(
+        String property,
+        String operation,
+        Column column,
+        BiFunction<Expression, Expression, Condition> comparison,
+        Object value
+    ) {
+        String marker = property + "_" + operation;
+        conditions.add(comparison.apply(column, SQL.bindMarker(":" + marker)));
+        // a collection bound to a marker is expanded into one marker per value by the DatabaseClient
+        values.put(marker, value);
+        shape.add(property + "." + operation);
+    }
+
+    private List<Object> toColumnValues(List<?> values) {
+        List<Object> columnValues = new ArrayList<>(values.size());
+        values.forEach(value -> columnValues.add(toColumnValue(value)));
+        return columnValues;
+    }
+
+    private Object toColumnValue(Object value) {
+        // apply the same conversion as the entity writes, so the bound values compare with the stored ones
+        Class<?> columnType = converter.getTargetType(value.getClass());
+        return columnType == value.getClass() ? value : converter.getConversionService().convert(value, columnType);
+    }
+
+    private static String toLikePattern(String value) {
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
@@ -1,19 +1,39 @@
 package com.invygo.digital.repository;
 
+import com.invygo.digital.management.LinkTableMetersService;
+import com.invygo.digital.management.StatementCacheMetersService;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
@@ -22,9 +42,11 @@ import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -57,16 +79,187 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Identifies the shape of a query: the SQL only depends on the query, on the sort and on whether a page is requested.
+     */
+    private static final class StatementKey {
+
+        final Class<?> entityType;
+        final String queryName;
+        final boolean paged;
+        final Sort sort;
+
+        StatementKey(Class<?> entityType, String queryName, boolean paged, Sort sort) {
+            this.entityType = entityType;
+            this.queryName = queryName;
+            this.paged = paged;
+            this.sort = sort;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey that = (StatementKey) o;
+            return (
+                paged == that.paged && entityType.equals(that.entityType) && queryName.equals(that.queryName) && sort.equals(that.sort)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, queryName, paged, sort);
+        }
+    }
+
+    public static final String LIMIT_PARAMETER = "limit";
+    public static final String OFFSET_PARAMETER = "offset";
+
+    // the sort comes from the clients, so the number of shapes is bounded to keep the cache from growing without limit
+    private static final int MAX_CACHED_STATEMENTS = 1024;
+
+    // the links deleted or inserted by a single statement, which keeps its parameters within the limits of the drivers
+    private static final int LINK_TABLE_CHUNK_SIZE = 500;
+
+    // the alias of the rows of an upsert, through which MySQL reads the values to update the existing rows with
+    private static final String UPSERT_ROW_ALIAS = "new";
+
+    private final Logger log = LoggerFactory.getLogger(EntityManager.class);
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
+    private final StatementCacheMetersService statementCacheMetersService;
+    private final LinkTableMetersService linkTableMetersService;
+    private final Map<StatementKey, String> statementCache = new ConcurrentHashMap<>();
+    // the step between the ids MySQL generates for the rows of a multi-row INSERT, read once it could be read
+    private final Mono<Long> autoIncrementIncrement;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect,
+        StatementCacheMetersService statementCacheMetersService,
+        LinkTableMetersService linkTableMetersService
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.dialect = dialect;
+        this.statementCacheMetersService = statementCacheMetersService;
+        this.linkTableMetersService = linkTableMetersService;
+        this.autoIncrementIncrement =
+            dialect instanceof MySqlDialect
+                ? readAutoIncrementIncrement().cache(increment -> ChronoUnit.FOREVER.getDuration(), e -> Duration.ZERO, () -> Duration.ZERO)
+                : Mono.just(1L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        autoIncrementIncrement.subscribe(null, e -> log.warn("Could not read auto_increment_increment, it will be read again", e));
+    }
+
+    /**
+     * Creates an SQL select statement for the given query and pagination parameters, with the page bound as the
+     * {@value #LIMIT_PARAMETER} and {@value #OFFSET_PARAMETER} parameters.
+     * <p>
+     * The SQL is rendered only once per entity, query, sort and paging, and taken from a cache afterwards. The select must
+     * therefore only depend on these: any other value has to be bound as a parameter, through a bind marker of the condition.
+     * @param queryName the name of the query, unique for the entity type.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param select supplies the select statement without paging and sorting, only called when the SQL is not cached yet.
+     * @return the sql select statement, with the page bound.
+     */
+    public DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Class<?> entityType,
+        Pageable pageable,
+        Supplier<SelectOrdered> select
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        StatementKey key = new StatementKey(entityType, queryName, paged, sort);
+        String sql = statementCache.get(key);
+        if (sql != null) {
+            statementCacheMetersService.trackHit();
+        } else {
+            statementCacheMetersService.trackMiss();
+            sql = createSelectImpl(select.get(), entityType, sort);
+            if (paged) {
+                sql += " LIMIT :" + LIMIT_PARAMETER + " OFFSET :" + OFFSET_PARAMETER;
+            }
+            if (statementCache.size() < MAX_CACHED_STATEMENTS) {
+                statementCache.putIfAbsent(key, sql);
+            }
+        }
+
+        DatabaseClient.GenericExecuteSpec query = r2dbcEntityTemplate.getDatabaseClient().sql(sql);
+        if (paged) {
+            query = query.bind(LIMIT_PARAMETER, pageable.getPageSize()).bind(OFFSET_PARAMETER, pageable.getOffset());
+        }
+        return query;
+    }
+
+    /**
+     * Creates an SQL select statement of the entities matching a criteria, with the values of its filters and the page bound.
+     * <p>
+     * The SQL is cached per shape of the criteria, that is per set of filter operations, as well as per sort and paging. The
+     * page can only be sorted by the given properties, which keeps the sort of the clients from reaching the SQL unchecked.
+     * @param queryName the name of the query, unique for the entity type.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param sortProperties the properties the page may be sorted by.
+     * @param where the condition of the filters of the criteria.
+     * @param select supplies the select statement, possibly joining other tables to the one of the entity, without where clause,
+     * paging and sorting.
+     * @return the sql select statement, with the filters and the page bound.
+     * @throws IllegalArgumentException if the page is sorted by another property.
+     */
+    public DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Class<?> entityType,
+        Pageable pageable,
+        Set<String> sortProperties,
+        CriteriaCondition where,
+        Supplier<? extends SelectWhere> select
+    ) {
+        if (pageable != null) {
+            for (Sort.Order order : pageable.getSort()) {
+                if (!sortProperties.contains(order.getProperty())) {
+                    throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+                }
+            }
+        }
+        DatabaseClient.GenericExecuteSpec query = createQuery(
+            queryName + where.getShape(),
+            entityType,
+            pageable,
+            () -> {
+                Condition condition = where.getCondition();
+                return condition == null ? select.get() : select.get().where(condition);
+            }
+        );
+        return where.bind(query);
+    }
+
+    /**
+     * Names a query which only selects some fields of the entity, so that its SQL is cached apart from the one selecting
+     * all the fields, whatever the order the fields were given in.
+     * @param queryName the name of the query selecting all the fields.
+     * @param fields the selected fields, or null for all of them.
+     * @return the name of the query selecting these fields.
+     */
+    public static String withFields(String queryName, Set<String> fields) {
+        return fields == null ? queryName : queryName + new TreeSet<>(fields);
     }
 
     /**
@@ -172,40 +365,264 @@ public class EntityManager {
     }
 
     /**
-     * Updates the table, which links the entity with the referred entities.
+     * Inserts the given entities with a single multi-row INSERT, and sets their ids from the generated keys.
+     * <p>
+     * MySQL only returns the first generated id of a multi-row INSERT, the following ones are derived from it by steps of
+     * {@code auto_increment_increment}, as Connector/J does. A multi-row {@code INSERT ... VALUES} is a simple insert, whose
+     * number of rows is known beforehand, so InnoDB reserves all its ids at once in every {@code innodb_autoinc_lock_mode},
+     * including the interleaved default of MySQL 8. The other databases must return the ids of all the rows.
+     * @param <S> the type of the persisted entities.
+     * @param entities the entities of the same type to be inserted into the database, without ids.
+     * @return the persisted entities.
+     */
+    public <S> Flux<S> insertAll(List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entities);
+        RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+
+        StringJoiner rows = new StringJoiner(", ");
+        List<Parameter> values = new ArrayList<>();
+        List<SqlIdentifier> columns = writeRows(entities, persistentEntity, rows, values);
+        String sql = "INSERT INTO " + toSql(persistentEntity.getTableName()) + " " + toSql(columns) + " VALUES " + rows;
+
+        String generatedId = r2dbcEntityTemplate.getDataAccessStrategy().renderForGeneratedValues(idProperty.getColumnName());
+        DatabaseClient.GenericExecuteSpec statement = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(sql)
+            .filter(insert -> insert.returnGeneratedValues(generatedId));
+        return autoIncrementIncrement.flatMapMany(increment ->
+            bind(statement, values)
+                .map(row -> row.get(0))
+                .all()
+                .collectList()
+                .flatMapMany(ids -> {
+                    if (!ids.isEmpty()) {
+                        if (ids.size() != entities.size() && !(dialect instanceof MySqlDialect)) {
+                            return Flux.error(
+                                new IllegalStateException("Got " + ids.size() + " generated ids for " + entities.size() + " inserted rows")
+                            );
+                        }
+                        ConversionService conversionService = r2dbcEntityTemplate.getConverter().getConversionService();
+                        for (int i = 0; i < entities.size(); i++) {
+                            Object id = ids.size() == entities.size() ? ids.get(i) : ((Number) ids.get(0)).longValue() + i * increment;
+                            persistentEntity
+                                .getPropertyAccessor(entities.get(i))
+                                .setProperty(idProperty, conversionService.convert(id, idProperty.getType()));
+                        }
+                    }
+                    return Flux.fromIterable(entities);
+                })
+        );
+    }
+
+    private Mono<Long> readAutoIncrementIncrement() {
+        return r2dbcEntityTemplate.getDatabaseClient().sql("SELECT @@auto_increment_increment").map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * Inserts the given entities with a single multi-row statement, or updates the other columns of the rows which already
+     * have the same values in the key columns. The key columns must be covered by a unique constraint.
+     * <p>
+     * MySQL runs an {@code INSERT ... VALUES ... AS new ON DUPLICATE KEY UPDATE}, reading the inserted values through the row
+     * alias ({@code VALUES(col)} is deprecated since MySQL 8.0.20, the alias needs 8.0.19); the other databases a
+     * {@code MERGE ... KEY}.
+     * @param entities the entities of the same type to be inserted or updated, without ids.
+     * @param keyColumns the names of the columns of the unique constraint.
+     * @return the number of affected rows, as reported by the database.
+     */
+    public Mono<Integer> upsertAll(List<?> entities, List<String> keyColumns) {
+        if (entities.isEmpty()) {
+            return Mono.just(0);
+        }
+        RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entities);
+
+        StringJoiner rows = new StringJoiner(", ");
+        List<Parameter> values = new ArrayList<>();
+        List<SqlIdentifier> columns = writeRows(entities, persistentEntity, rows, values);
+        String table = toSql(persistentEntity.getTableName());
+        String sql;
+        if (dialect instanceof MySqlDialect) {
+            StringJoiner assignments = new StringJoiner(", ");
+            for (SqlIdentifier column : columns) {
+                String columnName = toSql(column);
+                if (!keyColumns.contains(column.getReference())) {
+                    assignments.add(columnName + " = " + UPSERT_ROW_ALIAS + "." + columnName);
+                }
+            }
+            sql =
+                "INSERT INTO " +
+                table +
+                " " +
+                toSql(columns) +
+                " VALUES " +
+                rows +
+                " AS " +
+                UPSERT_ROW_ALIAS +
+                " ON DUPLICATE KEY UPDATE " +
+                assignments;
+        } else {
+            StringJoiner keys = new StringJoiner(", ", "(", ")");
+            keyColumns.forEach(column -> keys.add(toSql(SqlIdentifier.unquoted(column))));
+            sql = "MERGE INTO " + table + " " + toSql(columns) + " KEY " + keys + " VALUES " + rows;
+        }
+
+        return bind(r2dbcEntityTemplate.getDatabaseClient().sql(sql), values).fetch().rowsUpdated();
+    }
+
+    /**
+     * Updates the row of the given entity with a single statement, without reading it first. The entity must have an id.
+     * <p>
+     * With {@code partial} set, the {@code null} properties of the entity keep their current value in the database, as every
+     * column is written as {@code column = COALESCE(:value, column)}.
+     * @param entity the entity whose row is updated.
+     * @param partial whether the {@code null} properties are ignored, instead of being written as {@code NULL}.
+     * @return the number of updated rows, that is 0 if there is no row with the id of the entity.
+     */
+    public Mono<Integer> update(Object entity, boolean partial) {
+        RelationalPersistentEntity<?> persistentEntity = r2dbcEntityTemplate
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(entity.getClass());
+        SqlIdentifier idColumn = persistentEntity.getRequiredIdProperty().getColumnName();
+        OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+        Parameter id = row.remove(idColumn);
+        Assert.isTrue(id != null && id.hasValue(), "entity id is null");
+
+        StringJoiner assignments = new StringJoiner(", ");
+        List<Parameter> values = new ArrayList<>(row.size());
+        for (Entry<SqlIdentifier, Parameter> column : row.entrySet()) {
+            String columnName = toSql(column.getKey());
+            String marker = ":p" + values.size();
+            assignments.add(columnName + " = " + (partial ? "COALESCE(" + marker + ", " + columnName + ")" : marker));
+            values.add(column.getValue());
+        }
+        String sql =
+            "UPDATE " +
+            toSql(persistentEntity.getTableName()) +
+            " SET " +
+            assignments +
+            " WHERE " +
+            toSql(idColumn) +
+            " = :id";
+
+        return bind(r2dbcEntityTemplate.getDatabaseClient().sql(sql).bind("id", id), values).fetch().rowsUpdated();
+    }
+
+    /**
+     * Updates the table, which links the entity with the referred entities, to the given links.
+     * <p>
+     * Only the difference with the current links is written: the links which are no longer referred are deleted with a
+     * {@code DELETE ... WHERE reference IN (...)}, and the new ones inserted with a multi-row {@code INSERT}, each statement
+     * covering up to {@value #LINK_TABLE_CHUNK_SIZE} links. Reassigning a large group thus runs a few statements rather than
+     * one per link. The statements run one after the other on the connection of the caller.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
      * @param entityId the id of the entity, for which the links are created.
-     * @param referencedIds the id of the referred entities.
-     * @return the number of inserted rows.
+     * @param referencedIds the id of the referred entities, none of them null.
+     * @return the number of inserted and deleted rows.
      */
     public Mono<Integer> updateLinkTable(LinkTable table, Object entityId, Stream<?> referencedIds) {
-        return deleteFromLinkTable(table, entityId)
-            .then(
-                Flux
-                    .fromStream(referencedIds)
-                    .flatMap((Object referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
-            );
+        Assert.notNull(entityId, "entityId is null");
+        Set<Object> desired = referencedIds.collect(Collectors.toCollection(LinkedHashSet::new));
+        Assert.isTrue(!desired.contains(null), "referencedIds contains null");
+        if (desired.isEmpty()) {
+            return deleteLinks(table, entityId);
+        }
+        String sql =
+            "SELECT " +
+            toSql(SqlIdentifier.unquoted(table.referenceColumn)) +
+            " FROM " +
+            toSql(SqlIdentifier.unquoted(table.tableName)) +
+            " WHERE " +
+            toSql(SqlIdentifier.unquoted(table.idColumn)) +
+            " = :id";
+        // read the current links as the type of the given ones, so that both compare whatever the type of the column
+        Class<?> referenceType = desired.iterator().next().getClass();
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(sql)
+            .bind("id", entityId)
+            .map(row -> (Object) row.get(0, referenceType))
+            .all()
+            .doOnSubscribe(subscription -> linkTableMetersService.trackSelect(table.tableName))
+            .collect(Collectors.toSet())
+            .flatMap(existing -> {
+                List<Object> deleted = existing.stream().filter(id -> !desired.contains(id)).collect(Collectors.toList());
+                List<Object> inserted = desired.stream().filter(id -> !existing.contains(id)).collect(Collectors.toList());
+                return Flux
+                    .fromIterable(chunks(deleted))
+                    .concatMap(chunk -> deleteLinks(table, entityId, chunk))
+                    .concatWith(Flux.fromIterable(chunks(inserted)).concatMap(chunk -> insertLinks(table, entityId, chunk)))
+                    .reduce(0, Integer::sum);
+            });
     }
 
     public Mono<Void> deleteFromLinkTable(LinkTable table, Object entityId) {
         Assert.notNull(entityId, "entityId is null");
+        return deleteLinks(table, entityId).then();
+    }
+
+    private Mono<Integer> deleteLinks(LinkTable table, Object entityId) {
         StatementMapper.DeleteSpec deleteSpec = r2dbcEntityTemplate
             .getDataAccessStrategy()
             .getStatementMapper()
             .createDelete(table.tableName)
             .withCriteria(Criteria.from(Criteria.where(table.idColumn).is(entityId)));
-        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(statementMapper.getMappedObject(deleteSpec))
+            .fetch()
+            .rowsUpdated()
+            .doOnSubscribe(subscription -> linkTableMetersService.trackDelete(table.tableName));
+    }
+
+    private Mono<Integer> deleteLinks(LinkTable table, Object entityId, List<Object> referencedIds) {
+        String sql =
+            "DELETE FROM " +
+            toSql(SqlIdentifier.unquoted(table.tableName)) +
+            " WHERE " +
+            toSql(SqlIdentifier.unquoted(table.idColumn)) +
+            " = :id AND " +
+            toSql(SqlIdentifier.unquoted(table.referenceColumn)) +
+            " IN (:referencedIds)";
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(sql)
+            .bind("id", entityId)
+            .bind("referencedIds", referencedIds)
+            .fetch()
+            .rowsUpdated()
+            .doOnSubscribe(subscription -> linkTableMetersService.trackDelete(table.tableName));
+    }
+
+    private Mono<Integer> insertLinks(LinkTable table, Object entityId, List<Object> referencedIds) {
+        StringJoiner rows = new StringJoiner(", ");
+        List<Parameter> values = new ArrayList<>(2 * referencedIds.size());
+        for (Object referenceId : referencedIds) {
+            rows.add("(:p" + values.size() + ", :p" + (values.size() + 1) + ")");
+            values.add(Parameter.from(entityId));
+            values.add(Parameter.from(referenceId));
+        }
+        String sql =
+            "INSERT INTO " +
+            toSql(SqlIdentifier.unquoted(table.tableName)) +
+            " " +
+            toSql(List.of(SqlIdentifier.unquoted(table.idColumn), SqlIdentifier.unquoted(table.referenceColumn))) +
+            " VALUES " +
+            rows;
+        return bind(r2dbcEntityTemplate.getDatabaseClient().sql(sql), values)
+            .fetch()
+            .rowsUpdated()
+            .doOnSubscribe(subscription -> linkTableMetersService.trackInsert(table.tableName));
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += LINK_TABLE_CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(from + LINK_TABLE_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
     }
 
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
@@ -220,6 +637,55 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    private RelationalPersistentEntity<?> getRequiredPersistentEntity(List<?> entities) {
+        return r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entities.get(0).getClass());
+    }
+
+    /**
+     * Writes the values of the given entities, but their ids, as rows of bind markers named {@code p0}, {@code p1}, ...
+     * @return the columns of the rows, in the order of the values.
+     */
+    private List<SqlIdentifier> writeRows(
+        List<?> entities,
+        RelationalPersistentEntity<?> persistentEntity,
+        StringJoiner rows,
+        List<Parameter> values
+    ) {
+        SqlIdentifier idColumn = persistentEntity.getRequiredIdProperty().getColumnName();
+        List<SqlIdentifier> columns = null;
+        for (Object entity : entities) {
+            OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+            row.remove(idColumn);
+            if (columns == null) {
+                columns = new ArrayList<>(row.keySet());
+            }
+            StringJoiner markers = new StringJoiner(", ", "(", ")");
+            for (SqlIdentifier column : columns) {
+                markers.add(":p" + values.size());
+                values.add(row.get(column));
+            }
+            rows.add(markers.toString());
+        }
+        return columns;
+    }
+
+    private String toSql(List<SqlIdentifier> columns) {
+        StringJoiner columnNames = new StringJoiner(", ", "(", ")");
+        columns.forEach(column -> columnNames.add(toSql(column)));
+        return columnNames.toString();
+    }
+
+    private String toSql(SqlIdentifier identifier) {
+        return r2dbcEntityTemplate.getDataAccessStrategy().toSql(identifier);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec statement, List<Parameter> values) {
+        for (int i = 0; i < values.size(); i++) {
+            statement = statement.bind("p" + i, values.get(i));
+        }
+        return statement;
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
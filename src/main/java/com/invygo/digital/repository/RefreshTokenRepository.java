@@ -0,0 +1,29 @@
+package com.invygo.digital.repository;
+
+import com.invygo.digital.domain.RefreshToken;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, Long> {
+    Mono<RefreshToken> findOneByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE id = :id")
+    Mono<Integer> deleteOneById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE login = :login")
+    Mono<Integer> deleteAllByLogin(String login);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE expires_at < :now")
+    Mono<Integer> deleteAllByExpiresAtBefore(Instant now);
+}
@@ -1,6 +1,9 @@
 package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.criteria.RoleAuthorityCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -26,6 +29,8 @@ public interface RoleAuthorityRepository extends ReactiveCrudRepository<RoleAuth
 
     @Override
     Mono<Void> deleteById(Long id);
+
+    Flux<RoleAuthority> findAllByUserId(Long userId);
 }
 
 interface RoleAuthorityRepositoryInternal {
@@ -36,7 +41,16 @@ interface RoleAuthorityRepositoryInternal {
     Flux<RoleAuthority> findAll();
 
     Mono<RoleAuthority> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<RoleAuthority> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<RoleAuthority> findById(Long id, Set<String> fields);
+
+    Flux<RoleAuthority> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(RoleAuthority entity);
+
+    Mono<Integer> partialUpdate(RoleAuthority entity);
+
+    Flux<RoleAuthority> findByCriteria(RoleAuthorityCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Mono<Long> countByCriteria(RoleAuthorityCriteria criteria);
 }
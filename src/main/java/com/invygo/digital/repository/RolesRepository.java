@@ -1,6 +1,9 @@
 package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.criteria.RolesCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -36,7 +39,16 @@ interface RolesRepositoryInternal {
     Flux<Roles> findAll();
 
     Mono<Roles> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Roles> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Roles> findById(Long id, Set<String> fields);
+
+    Flux<Roles> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(Roles entity);
+
+    Mono<Integer> partialUpdate(Roles entity);
+
+    Flux<Roles> findByCriteria(RolesCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Mono<Long> countByCriteria(RolesCriteria criteria);
 }
@@ -3,15 +3,17 @@ package com.invygo.digital.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.criteria.RolesCriteria;
 import com.invygo.digital.repository.rowmapper.RolesRowMapper;
-import io.r2dbc.spi.Row;
-import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +25,9 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -41,6 +46,7 @@ class RolesRepositoryInternalImpl extends SimpleR2dbcRepository<Roles, Long> imp
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final R2dbcConverter converter;
 
     private final RolesRowMapper rolesMapper;
 
@@ -61,20 +67,71 @@ class RolesRepositoryInternalImpl extends SimpleR2dbcRepository<Roles, Long> imp
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.rolesMapper = rolesMapper;
     }
 
     @Override
     public Flux<Roles> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null).map(rolesMapper.forResult(EntityManager.ENTITY_ALIAS)).all();
     }
 
-    RowsFetchSpec<Roles> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = RolesSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Roles.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    @Override
+    public Flux<Roles> findByCriteria(RolesCriteria criteria, Set<String> fields, Pageable pageable) {
+        return entityManager
+            .createQuery(
+                EntityManager.withFields("findByCriteria", fields),
+                Roles.class,
+                pageable,
+                RolesCriteria.PROPERTIES,
+                buildCondition(criteria),
+                () -> Select.builder().select(RolesSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields)).from(entityTable)
+            )
+            .map(rolesMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(RolesCriteria criteria) {
+        return entityManager
+            .createQuery(
+                "countByCriteria",
+                Roles.class,
+                null,
+                Set.of(),
+                buildCondition(criteria),
+                () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable)
+            )
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private CriteriaCondition buildCondition(RolesCriteria criteria) {
+        return new CriteriaCondition(converter)
+            .filter("id", entityTable.column("id"), criteria.getId())
+            .filter("roleName", entityTable.column("role_name"), criteria.getRoleName());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String queryName, Pageable pageable, Supplier<Condition> whereClause) {
+        return createQuery(queryName, pageable, null, whereClause);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Pageable pageable,
+        Set<String> fields,
+        Supplier<Condition> whereClause
+    ) {
+        return entityManager.createQuery(
+            EntityManager.withFields(queryName, fields),
+            Roles.class,
+            pageable,
+            () -> {
+                List<Expression> columns = RolesSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields);
+                SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+                return whereClause == null ? selectFrom : selectFrom.where(whereClause.get());
+            }
+        );
     }
 
     @Override
@@ -84,13 +141,33 @@ class RolesRepositoryInternalImpl extends SimpleR2dbcRepository<Roles, Long> imp
 
     @Override
     public Mono<Roles> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return findById(id, null);
+    }
+
+    @Override
+    public Mono<Roles> findById(Long id, Set<String> fields) {
+        return createQuery("findById", null, fields, () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")))
+            .bind("id", id)
+            .map(rolesMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .one();
     }
 
-    private Roles process(Row row, RowMetadata metadata) {
-        Roles entity = rolesMapper.apply(row, "e");
-        return entity;
+    @Override
+    public Flux<Roles> findByIds(Collection<Long> ids, Set<String> fields) {
+        return createQuery("findByIds", null, fields, () -> Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids")))
+            .bind("ids", ids)
+            .map(rolesMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Integer> update(Roles entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Integer> partialUpdate(Roles entity) {
+        return entityManager.update(entity, true);
     }
 
     @Override
@@ -1,6 +1,9 @@
 package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.criteria.ScheduleAuthorityCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -26,6 +29,8 @@ public interface ScheduleAuthorityRepository extends ReactiveCrudRepository<Sche
 
     @Override
     Mono<Void> deleteById(Long id);
+
+    Flux<ScheduleAuthority> findAllByRoleId(Long roleId);
 }
 
 interface ScheduleAuthorityRepositoryInternal {
@@ -36,7 +41,16 @@ interface ScheduleAuthorityRepositoryInternal {
     Flux<ScheduleAuthority> findAll();
 
     Mono<ScheduleAuthority> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<ScheduleAuthority> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<ScheduleAuthority> findById(Long id, Set<String> fields);
+
+    Flux<ScheduleAuthority> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(ScheduleAuthority entity);
+
+    Mono<Integer> partialUpdate(ScheduleAuthority entity);
+
+    Flux<ScheduleAuthority> findByCriteria(ScheduleAuthorityCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Mono<Long> countByCriteria(ScheduleAuthorityCriteria criteria);
 }
@@ -3,15 +3,17 @@ package com.invygo.digital.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.criteria.ScheduleAuthorityCriteria;
 import com.invygo.digital.repository.rowmapper.ScheduleAuthorityRowMapper;
-import io.r2dbc.spi.Row;
-import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +25,9 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -43,6 +48,7 @@ class ScheduleAuthorityRepositoryInternalImpl
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final R2dbcConverter converter;
 
     private final ScheduleAuthorityRowMapper scheduleauthorityMapper;
 
@@ -63,20 +69,76 @@ class ScheduleAuthorityRepositoryInternalImpl
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.scheduleauthorityMapper = scheduleauthorityMapper;
     }
 
     @Override
     public Flux<ScheduleAuthority> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null).map(scheduleauthorityMapper.forResult(EntityManager.ENTITY_ALIAS)).all();
     }
 
-    RowsFetchSpec<ScheduleAuthority> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = ScheduleAuthoritySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, ScheduleAuthority.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    @Override
+    public Flux<ScheduleAuthority> findByCriteria(ScheduleAuthorityCriteria criteria, Set<String> fields, Pageable pageable) {
+        return entityManager
+            .createQuery(
+                EntityManager.withFields("findByCriteria", fields),
+                ScheduleAuthority.class,
+                pageable,
+                ScheduleAuthorityCriteria.PROPERTIES,
+                buildCondition(criteria),
+                () ->
+                    Select
+                        .builder()
+                        .select(ScheduleAuthoritySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields))
+                        .from(entityTable)
+            )
+            .map(scheduleauthorityMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(ScheduleAuthorityCriteria criteria) {
+        return entityManager
+            .createQuery(
+                "countByCriteria",
+                ScheduleAuthority.class,
+                null,
+                Set.of(),
+                buildCondition(criteria),
+                () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable)
+            )
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private CriteriaCondition buildCondition(ScheduleAuthorityCriteria criteria) {
+        return new CriteriaCondition(converter)
+            .filter("id", entityTable.column("id"), criteria.getId())
+            .filter("name", entityTable.column("name"), criteria.getName())
+            .filter("roleId", entityTable.column("role_id"), criteria.getRoleId());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String queryName, Pageable pageable, Supplier<Condition> whereClause) {
+        return createQuery(queryName, pageable, null, whereClause);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Pageable pageable,
+        Set<String> fields,
+        Supplier<Condition> whereClause
+    ) {
+        return entityManager.createQuery(
+            EntityManager.withFields(queryName, fields),
+            ScheduleAuthority.class,
+            pageable,
+            () -> {
+                List<Expression> columns = ScheduleAuthoritySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields);
+                SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+                return whereClause == null ? selectFrom : selectFrom.where(whereClause.get());
+            }
+        );
     }
 
     @Override
@@ -86,13 +148,33 @@ class ScheduleAuthorityRepositoryInternalImpl
 
     @Override
     public Mono<ScheduleAuthority> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return findById(id, null);
+    }
+
+    @Override
+    public Mono<ScheduleAuthority> findById(Long id, Set<String> fields) {
+        return createQuery("findById", null, fields, () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")))
+            .bind("id", id)
+            .map(scheduleauthorityMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .one();
     }
 
-    private ScheduleAuthority process(Row row, RowMetadata metadata) {
-        ScheduleAuthority entity = scheduleauthorityMapper.apply(row, "e");
-        return entity;
+    @Override
+    public Flux<ScheduleAuthority> findByIds(Collection<Long> ids, Set<String> fields) {
+        return createQuery("findByIds", null, fields, () -> Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids")))
+            .bind("ids", ids)
+            .map(scheduleauthorityMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Integer> update(ScheduleAuthority entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Integer> partialUpdate(ScheduleAuthority entity) {
+        return entityManager.update(entity, true);
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.invygo.digital.repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Table;
@@ -9,9 +10,25 @@ import org.springframework.data.relational.core.sql.Table;
 public class ScheduleAuthoritySqlHelper {
 
     public static List<Expression> getColumns(Table table, String columnPrefix) {
+        return getColumns(table, columnPrefix, null);
+    }
+
+    /**
+     * The columns of some fields of the entity, and always of its id.
+     * @param table the table of the entity.
+     * @param columnPrefix the prefix of the aliases of the columns.
+     * @param fields the fields to select, or {@code null} for all of them.
+     * @return the columns to select.
+     */
+    public static List<Expression> getColumns(Table table, String columnPrefix, Set<String> fields) {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
-        columns.add(Column.aliased("name", table, columnPrefix + "_name"));
+        if (fields == null || fields.contains("name")) {
+            columns.add(Column.aliased("name", table, columnPrefix + "_name"));
+        }
+        if (fields == null || fields.contains("roleId")) {
+            columns.add(Column.aliased("role_id", table, columnPrefix + "_role_id"));
+        }
 
         return columns;
     }
@@ -0,0 +1,107 @@
+package com.invygo.digital.repository;
+
+import com.invygo.digital.domain.Schedule;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Seek position inside a per-user date range of {@link Schedule}s, which are ordered by {@code (work_date, id)}.
+ * <p>
+ * The cursor is handed to clients as an opaque, URL safe continuation token, so the next page can be read
+ * with an index seek instead of an {@code OFFSET} scan.
+ */
+public final class ScheduleCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final ZonedDateTime workDate;
+
+    private final Long id;
+
+    public ScheduleCursor(ZonedDateTime workDate, Long id) {
+        this.workDate = Objects.requireNonNull(workDate, "workDate is null");
+        this.id = Objects.requireNonNull(id, "id is null");
+    }
+
+    /**
+     * Creates a cursor which points right after the given schedule.
+     * <p>
+     * An occurrence of a shift template which is not stored has no id: as the user has no other schedule at its work date, the
+     * cursor points after all the schedules at its work date.
+     *
+     * @param schedule the last schedule of the current page.
+     * @return the cursor of the next page.
+     */
+    public static ScheduleCursor after(Schedule schedule) {
+        return new ScheduleCursor(schedule.getWorkDate(), schedule.getId() == null ? Long.MAX_VALUE : schedule.getId());
+    }
+
+    /**
+     * Decodes a continuation token created by {@link #toToken()}.
+     * @param token the continuation token.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static ScheduleCursor fromToken(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            Instant workDate = Instant.parse(value.substring(0, separator));
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new ScheduleCursor(ZonedDateTime.ofInstant(workDate, ZoneOffset.UTC), id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque, URL safe continuation token.
+     * @return the continuation token.
+     */
+    public String toToken() {
+        String value = workDate.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ZonedDateTime getWorkDate() {
+        return workDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScheduleCursor)) {
+            return false;
+        }
+        ScheduleCursor that = (ScheduleCursor) o;
+        return workDate.toInstant().equals(that.workDate.toInstant()) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(workDate.toInstant(), id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleCursor{" +
+            "workDate='" + getWorkDate() + "'" +
+            ", id=" + getId() +
+            "}";
+    }
+}
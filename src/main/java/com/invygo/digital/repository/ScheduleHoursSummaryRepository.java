@@ -0,0 +1,51 @@
+package com.invygo.digital.repository;
+
+import com.invygo.digital.domain.ScheduleHoursSummary;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link ScheduleHoursSummary} entity.
+ * <p>
+ * The periods are bound by the names of their {@link com.invygo.digital.domain.enumeration.SummaryPeriod}.
+ */
+@Repository
+public interface ScheduleHoursSummaryRepository
+    extends R2dbcRepository<ScheduleHoursSummary, Long>, ScheduleHoursSummaryRepositoryInternal {
+    @Query(
+        "SELECT * FROM schedule_hours_summary WHERE period_type = :period AND period_start >= :from AND period_start < :to" +
+        " ORDER BY user_id, period_start"
+    )
+    Flux<ScheduleHoursSummary> findAllByPeriodBetween(String period, LocalDate from, LocalDate to);
+
+    @Query(
+        "SELECT * FROM schedule_hours_summary WHERE user_id = :userId AND period_type = :period" +
+        " AND period_start >= :from AND period_start < :to ORDER BY period_start"
+    )
+    Flux<ScheduleHoursSummary> findAllByUserIdAndPeriodBetween(Long userId, String period, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(
+        "UPDATE schedule_hours_summary SET hours = hours + :hours" +
+        " WHERE user_id = :userId AND period_type = :period AND period_start = :periodStart"
+    )
+    Mono<Integer> addHours(Long userId, String period, LocalDate periodStart, long hours);
+
+    @Modifying
+    @Query(
+        "DELETE FROM schedule_hours_summary WHERE user_id IN (:userIds) AND period_type = :period" +
+        " AND period_start >= :from AND period_start < :to"
+    )
+    Mono<Integer> deleteAllByUserIdInAndPeriodBetween(Collection<Long> userIds, String period, LocalDate from, LocalDate to);
+}
+
+interface ScheduleHoursSummaryRepositoryInternal {
+    Mono<Integer> upsertAll(List<ScheduleHoursSummary> entities);
+}
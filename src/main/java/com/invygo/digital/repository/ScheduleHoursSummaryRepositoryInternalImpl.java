@@ -0,0 +1,24 @@
+package com.invygo.digital.repository;
+
+import com.invygo.digital.domain.ScheduleHoursSummary;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive custom repository implementation for the ScheduleHoursSummary entity.
+ */
+class ScheduleHoursSummaryRepositoryInternalImpl implements ScheduleHoursSummaryRepositoryInternal {
+
+    private static final List<String> UNIQUE_KEY_COLUMNS = List.of("user_id", "period_type", "period_start");
+
+    private final EntityManager entityManager;
+
+    public ScheduleHoursSummaryRepositoryInternalImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Mono<Integer> upsertAll(List<ScheduleHoursSummary> entities) {
+        return entityManager.upsertAll(entities, UNIQUE_KEY_COLUMNS);
+    }
+}
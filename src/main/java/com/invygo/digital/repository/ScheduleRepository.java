@@ -1,6 +1,12 @@
 package com.invygo.digital.repository;
 
+import com.invygo.digital.domain.ExpandedSchedule;
 import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.criteria.ScheduleCriteria;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -36,7 +42,28 @@ interface ScheduleRepositoryInternal {
     Flux<Schedule> findAll();
 
     Mono<Schedule> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Schedule> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Schedule> findById(Long id, Set<String> fields);
+
+    Flux<Schedule> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(Schedule entity);
+
+    Mono<Integer> partialUpdate(Schedule entity);
+
+    Flux<Schedule> insertAll(List<Schedule> entities);
+
+    Mono<Integer> upsertAll(List<Schedule> entities);
+
+    Mono<Integer> deleteByUserIdInAndWorkDateBetween(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to);
+
+    Flux<Schedule> findByUserIdAndWorkDateBetween(Long userId, ZonedDateTime from, ZonedDateTime to, ScheduleCursor cursor, int limit);
+
+    Flux<Schedule> findByUserIdInAndWorkDateBetween(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to);
+
+    Flux<Schedule> findByCriteria(ScheduleCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Flux<ExpandedSchedule> findExpandedByCriteria(ScheduleCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(ScheduleCriteria criteria);
 }
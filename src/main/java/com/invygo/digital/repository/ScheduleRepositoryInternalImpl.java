@@ -2,28 +2,42 @@ package com.invygo.digital.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import com.invygo.digital.domain.ExpandedSchedule;
 import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.criteria.ScheduleCriteria;
 import com.invygo.digital.repository.rowmapper.ScheduleRowMapper;
+import com.invygo.digital.repository.rowmapper.ScheduleUserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -42,15 +56,27 @@ class ScheduleRepositoryInternalImpl extends SimpleR2dbcRepository<Schedule, Lon
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final R2dbcConverter converter;
 
     private final ScheduleRowMapper scheduleMapper;
+    private final ScheduleUserRowMapper scheduleUserMapper;
+
+    private static final List<String> UNIQUE_KEY_COLUMNS = List.of("user_id", "work_date");
 
     private static final Table entityTable = Table.aliased("schedule", EntityManager.ENTITY_ALIAS);
 
+    private static final String USER_ALIAS = "u";
+
+    private static final Table userTable = Table.aliased("schedule_user", USER_ALIAS);
+
+    // the names of the user, its password is never read along with the schedules
+    private static final Set<String> USER_FIELDS = Set.of("login", "firstname", "lastname");
+
     public ScheduleRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         ScheduleRowMapper scheduleMapper,
+        ScheduleUserRowMapper scheduleUserMapper,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
     ) {
@@ -62,20 +88,113 @@ class ScheduleRepositoryInternalImpl extends SimpleR2dbcRepository<Schedule, Lon
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.scheduleMapper = scheduleMapper;
+        this.scheduleUserMapper = scheduleUserMapper;
     }
 
     @Override
     public Flux<Schedule> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null).map(scheduleMapper.forResult(EntityManager.ENTITY_ALIAS)).all();
     }
 
-    RowsFetchSpec<Schedule> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = ScheduleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Schedule.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    @Override
+    public Flux<Schedule> findByCriteria(ScheduleCriteria criteria, Set<String> fields, Pageable pageable) {
+        return entityManager
+            .createQuery(
+                EntityManager.withFields("findByCriteria", fields),
+                Schedule.class,
+                pageable,
+                ScheduleCriteria.PROPERTIES,
+                buildCondition(criteria),
+                () ->
+                    Select
+                        .builder()
+                        .select(ScheduleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields))
+                        .from(entityTable)
+            )
+            .map(scheduleMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Flux<ExpandedSchedule> findExpandedByCriteria(ScheduleCriteria criteria, Pageable pageable) {
+        return entityManager
+            .createQuery(
+                "findExpandedByCriteria",
+                Schedule.class,
+                pageable,
+                ScheduleCriteria.PROPERTIES,
+                buildCondition(criteria),
+                () -> {
+                    List<Expression> columns = new ArrayList<>(ScheduleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS));
+                    columns.addAll(ScheduleUserSqlHelper.getColumns(userTable, USER_ALIAS, USER_FIELDS));
+                    return Select
+                        .builder()
+                        .select(columns)
+                        .from(entityTable)
+                        .leftOuterJoin(userTable)
+                        .on(entityTable.column("user_id"))
+                        .equals(userTable.column("id"));
+                }
+            )
+            .map(expandedScheduleMapping())
+            .all();
+    }
+
+    private BiFunction<Row, RowMetadata, ExpandedSchedule> expandedScheduleMapping() {
+        BiFunction<Row, RowMetadata, Schedule> schedule = scheduleMapper.forResult(EntityManager.ENTITY_ALIAS);
+        BiFunction<Row, RowMetadata, ScheduleUser> user = scheduleUserMapper.forResult(USER_ALIAS);
+        return (row, metadata) -> {
+            ScheduleUser scheduleUser = user.apply(row, metadata);
+            // the outer join leaves the columns of the user null when there is no user of the id
+            return new ExpandedSchedule(schedule.apply(row, metadata), scheduleUser.getId() != null ? scheduleUser : null);
+        };
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(ScheduleCriteria criteria) {
+        return entityManager
+            .createQuery(
+                "countByCriteria",
+                Schedule.class,
+                null,
+                Set.of(),
+                buildCondition(criteria),
+                () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable)
+            )
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private CriteriaCondition buildCondition(ScheduleCriteria criteria) {
+        return new CriteriaCondition(converter)
+            .filter("id", entityTable.column("id"), criteria.getId())
+            .filter("userId", entityTable.column("user_id"), criteria.getUserId())
+            .filter("workDate", entityTable.column("work_date"), criteria.getWorkDate())
+            .filter("hours", entityTable.column("hours"), criteria.getHours());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String queryName, Pageable pageable, Supplier<Condition> whereClause) {
+        return createQuery(queryName, pageable, null, whereClause);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Pageable pageable,
+        Set<String> fields,
+        Supplier<Condition> whereClause
+    ) {
+        return entityManager.createQuery(
+            EntityManager.withFields(queryName, fields),
+            Schedule.class,
+            pageable,
+            () -> {
+                List<Expression> columns = ScheduleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields);
+                SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+                return whereClause == null ? selectFrom : selectFrom.where(whereClause.get());
+            }
+        );
     }
 
     @Override
@@ -85,13 +204,113 @@ class ScheduleRepositoryInternalImpl extends SimpleR2dbcRepository<Schedule, Lon
 
     @Override
     public Mono<Schedule> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return findById(id, null);
+    }
+
+    @Override
+    public Mono<Schedule> findById(Long id, Set<String> fields) {
+        return createQuery("findById", null, fields, () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")))
+            .bind("id", id)
+            .map(scheduleMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .one();
     }
 
-    private Schedule process(Row row, RowMetadata metadata) {
-        Schedule entity = scheduleMapper.apply(row, "e");
-        return entity;
+    @Override
+    public Flux<Schedule> findByIds(Collection<Long> ids, Set<String> fields) {
+        return createQuery("findByIds", null, fields, () -> Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids")))
+            .bind("ids", ids)
+            .map(scheduleMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Flux<Schedule> findByUserIdAndWorkDateBetween(
+        Long userId,
+        ZonedDateTime from,
+        ZonedDateTime to,
+        ScheduleCursor cursor,
+        int limit
+    ) {
+        DatabaseClient.GenericExecuteSpec spec = entityManager
+            .createQuery(
+                cursor == null ? "findByUserIdAndWorkDateBetween" : "findByUserIdAndWorkDateBetweenAfterCursor",
+                Schedule.class,
+                PageRequest.of(0, limit),
+                () -> {
+                    Column workDate = entityTable.column("work_date");
+                    Column id = entityTable.column("id");
+                    Condition whereClause = Conditions
+                        .isEqual(entityTable.column("user_id"), SQL.bindMarker(":userId"))
+                        .and(Conditions.isGreaterOrEqualTo(workDate, SQL.bindMarker(":from")))
+                        .and(Conditions.isLess(workDate, SQL.bindMarker(":to")));
+                    if (cursor != null) {
+                        // seek past the last row of the previous page, instead of skipping over an offset
+                        whereClause =
+                            whereClause.and(
+                                Conditions.nest(
+                                    Conditions
+                                        .isGreater(workDate, SQL.bindMarker(":cursorWorkDate"))
+                                        .or(
+                                            Conditions
+                                                .isEqual(workDate, SQL.bindMarker(":cursorWorkDate"))
+                                                .and(Conditions.isGreater(id, SQL.bindMarker(":cursorId")))
+                                        )
+                                )
+                            );
+                    }
+                    List<Expression> columns = ScheduleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+                    return Select
+                        .builder()
+                        .select(columns)
+                        .from(entityTable)
+                        .where(whereClause)
+                        .orderBy(OrderByField.from(workDate).asc(), OrderByField.from(id).asc());
+                }
+            )
+            .bind("userId", userId)
+            .bind("from", toColumnValue(from))
+            .bind("to", toColumnValue(to));
+        if (cursor != null) {
+            spec = spec.bind("cursorWorkDate", toColumnValue(cursor.getWorkDate())).bind("cursorId", cursor.getId());
+        }
+        return spec.map(scheduleMapper.forResult(EntityManager.ENTITY_ALIAS)).all();
+    }
+
+    private LocalDateTime toColumnValue(ZonedDateTime value) {
+        // apply the same conversion as the entity writes, so the bound values compare with the stored ones
+        return converter.getConversionService().convert(value, LocalDateTime.class);
+    }
+
+    @Override
+    public Mono<Integer> update(Schedule entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Integer> partialUpdate(Schedule entity) {
+        return entityManager.update(entity, true);
+    }
+
+    @Override
+    public Flux<Schedule> insertAll(List<Schedule> entities) {
+        return entityManager.insertAll(entities);
+    }
+
+    @Override
+    public Mono<Integer> upsertAll(List<Schedule> entities) {
+        return entityManager.upsertAll(entities, UNIQUE_KEY_COLUMNS);
+    }
+
+    @Override
+    public Mono<Integer> deleteByUserIdInAndWorkDateBetween(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to) {
+        Criteria criteria = where("userId").in(userIds).and("workDate").greaterThanOrEquals(from).and("workDate").lessThan(to);
+        return r2dbcEntityTemplate.delete(Schedule.class).matching(Query.query(criteria)).all();
+    }
+
+    @Override
+    public Flux<Schedule> findByUserIdInAndWorkDateBetween(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to) {
+        Criteria criteria = where("userId").in(userIds).and("workDate").greaterThanOrEquals(from).and("workDate").lessThan(to);
+        return r2dbcEntityTemplate.select(Schedule.class).matching(Query.query(criteria)).all();
     }
 
     @Override
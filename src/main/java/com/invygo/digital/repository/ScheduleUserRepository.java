@@ -1,6 +1,9 @@
 package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.criteria.ScheduleUserCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -36,7 +39,16 @@ interface ScheduleUserRepositoryInternal {
     Flux<ScheduleUser> findAll();
 
     Mono<ScheduleUser> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<ScheduleUser> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<ScheduleUser> findById(Long id, Set<String> fields);
+
+    Flux<ScheduleUser> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(ScheduleUser entity);
+
+    Mono<Integer> partialUpdate(ScheduleUser entity);
+
+    Flux<ScheduleUser> findByCriteria(ScheduleUserCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Mono<Long> countByCriteria(ScheduleUserCriteria criteria);
 }
@@ -3,15 +3,17 @@ package com.invygo.digital.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.criteria.ScheduleUserCriteria;
 import com.invygo.digital.repository.rowmapper.ScheduleUserRowMapper;
-import io.r2dbc.spi.Row;
-import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +25,9 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -41,6 +46,7 @@ class ScheduleUserRepositoryInternalImpl extends SimpleR2dbcRepository<ScheduleU
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final R2dbcConverter converter;
 
     private final ScheduleUserRowMapper scheduleuserMapper;
 
@@ -61,20 +67,78 @@ class ScheduleUserRepositoryInternalImpl extends SimpleR2dbcRepository<ScheduleU
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.scheduleuserMapper = scheduleuserMapper;
     }
 
     @Override
     public Flux<ScheduleUser> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null).map(scheduleuserMapper.forResult(EntityManager.ENTITY_ALIAS)).all();
     }
 
-    RowsFetchSpec<ScheduleUser> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = ScheduleUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, ScheduleUser.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    @Override
+    public Flux<ScheduleUser> findByCriteria(ScheduleUserCriteria criteria, Set<String> fields, Pageable pageable) {
+        return entityManager
+            .createQuery(
+                EntityManager.withFields("findByCriteria", fields),
+                ScheduleUser.class,
+                pageable,
+                ScheduleUserCriteria.PROPERTIES,
+                buildCondition(criteria),
+                () ->
+                    Select
+                        .builder()
+                        .select(ScheduleUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields))
+                        .from(entityTable)
+            )
+            .map(scheduleuserMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(ScheduleUserCriteria criteria) {
+        return entityManager
+            .createQuery(
+                "countByCriteria",
+                ScheduleUser.class,
+                null,
+                Set.of(),
+                buildCondition(criteria),
+                () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable)
+            )
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private CriteriaCondition buildCondition(ScheduleUserCriteria criteria) {
+        return new CriteriaCondition(converter)
+            .filter("id", entityTable.column("id"), criteria.getId())
+            .filter("email", entityTable.column("email"), criteria.getEmail())
+            .filter("login", entityTable.column("login"), criteria.getLogin())
+            .filter("firstname", entityTable.column("firstname"), criteria.getFirstname())
+            .filter("lastname", entityTable.column("lastname"), criteria.getLastname());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String queryName, Pageable pageable, Supplier<Condition> whereClause) {
+        return createQuery(queryName, pageable, null, whereClause);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Pageable pageable,
+        Set<String> fields,
+        Supplier<Condition> whereClause
+    ) {
+        return entityManager.createQuery(
+            EntityManager.withFields(queryName, fields),
+            ScheduleUser.class,
+            pageable,
+            () -> {
+                List<Expression> columns = ScheduleUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields);
+                SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+                return whereClause == null ? selectFrom : selectFrom.where(whereClause.get());
+            }
+        );
     }
 
     @Override
@@ -84,13 +148,33 @@ class ScheduleUserRepositoryInternalImpl extends SimpleR2dbcRepository<ScheduleU
 
     @Override
     public Mono<ScheduleUser> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return findById(id, null);
+    }
+
+    @Override
+    public Mono<ScheduleUser> findById(Long id, Set<String> fields) {
+        return createQuery("findById", null, fields, () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")))
+            .bind("id", id)
+            .map(scheduleuserMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .one();
     }
 
-    private ScheduleUser process(Row row, RowMetadata metadata) {
-        ScheduleUser entity = scheduleuserMapper.apply(row, "e");
-        return entity;
+    @Override
+    public Flux<ScheduleUser> findByIds(Collection<Long> ids, Set<String> fields) {
+        return createQuery("findByIds", null, fields, () -> Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids")))
+            .bind("ids", ids)
+            .map(scheduleuserMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Integer> update(ScheduleUser entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Integer> partialUpdate(ScheduleUser entity) {
+        return entityManager.update(entity, true);
     }
 
     @Override
@@ -0,0 +1,26 @@
+package com.invygo.digital.repository;
+
+import com.invygo.digital.domain.ShiftTemplate;
+import java.time.LocalDate;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link ShiftTemplate} entity.
+ */
+@Repository
+public interface ShiftTemplateRepository extends R2dbcRepository<ShiftTemplate, Long> {
+    @Query("SELECT * FROM shift_template WHERE user_id = :userId ORDER BY id")
+    Flux<ShiftTemplate> findAllByUserId(Long userId);
+
+    @Modifying
+    @Query(
+        "UPDATE shift_template SET materialized_until = :until" +
+        " WHERE id = :id AND (materialized_until IS NULL OR materialized_until < :until)"
+    )
+    Mono<Integer> updateMaterializedUntil(Long id, LocalDate until);
+}
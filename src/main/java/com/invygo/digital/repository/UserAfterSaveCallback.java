@@ -0,0 +1,34 @@
+package com.invygo.digital.repository;
+
+import com.invygo.digital.domain.User;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.AfterSaveCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes a {@link UserModifiedEvent} for each {@link User} saved through the {@link UserRepository}, and deletes the refresh
+ * tokens of the users saved as deactivated.
+ */
+@Component
+public class UserAfterSaveCallback implements AfterSaveCallback<User> {
+
+    private final UserModifiedEventPublisher userModifiedEventPublisher;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    UserAfterSaveCallback(UserModifiedEventPublisher userModifiedEventPublisher, RefreshTokenRepository refreshTokenRepository) {
+        this.userModifiedEventPublisher = userModifiedEventPublisher;
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public Publisher<User> onAfterSave(User user, OutboundRow outboundRow, SqlIdentifier table) {
+        Mono<Integer> deletedRefreshTokens = user.isActivated() || user.getLogin() == null
+            ? Mono.just(0)
+            : refreshTokenRepository.deleteAllByLogin(user.getLogin());
+        return deletedRefreshTokens.then(userModifiedEventPublisher.publish(user.getId())).thenReturn(user);
+    }
+}
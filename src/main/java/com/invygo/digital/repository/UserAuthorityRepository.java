@@ -1,6 +1,9 @@
 package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.domain.criteria.UserAuthorityCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -26,6 +29,8 @@ public interface UserAuthorityRepository extends ReactiveCrudRepository<UserAuth
 
     @Override
     Mono<Void> deleteById(Long id);
+
+    Flux<UserAuthority> findAllByUserId(Long userId);
 }
 
 interface UserAuthorityRepositoryInternal {
@@ -36,7 +41,18 @@ interface UserAuthorityRepositoryInternal {
     Flux<UserAuthority> findAll();
 
     Mono<UserAuthority> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<UserAuthority> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<UserAuthority> findById(Long id, Set<String> fields);
+
+    Flux<UserAuthority> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(UserAuthority entity);
+
+    Mono<Integer> partialUpdate(UserAuthority entity);
+
+    Flux<UserAuthority> findByCriteria(UserAuthorityCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Mono<Long> countByCriteria(UserAuthorityCriteria criteria);
+
+    Mono<Integer> updateRolesOfUser(Long userId, Collection<Long> roleIds);
 }
@@ -3,15 +3,17 @@ package com.invygo.digital.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.domain.criteria.UserAuthorityCriteria;
 import com.invygo.digital.repository.rowmapper.UserAuthorityRowMapper;
-import io.r2dbc.spi.Row;
-import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +25,9 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -41,11 +46,14 @@ class UserAuthorityRepositoryInternalImpl extends SimpleR2dbcRepository<UserAuth
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final R2dbcConverter converter;
 
     private final UserAuthorityRowMapper userauthorityMapper;
 
     private static final Table entityTable = Table.aliased("user_authority", EntityManager.ENTITY_ALIAS);
 
+    private static final EntityManager.LinkTable rolesOfUserLink = new EntityManager.LinkTable("user_authority", "user_id", "role_id");
+
     public UserAuthorityRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -61,20 +69,81 @@ class UserAuthorityRepositoryInternalImpl extends SimpleR2dbcRepository<UserAuth
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.userauthorityMapper = userauthorityMapper;
     }
 
     @Override
     public Flux<UserAuthority> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, null).map(userauthorityMapper.forResult(EntityManager.ENTITY_ALIAS)).all();
+    }
+
+    @Override
+    public Flux<UserAuthority> findByCriteria(UserAuthorityCriteria criteria, Set<String> fields, Pageable pageable) {
+        return entityManager
+            .createQuery(
+                EntityManager.withFields("findByCriteria", fields),
+                UserAuthority.class,
+                pageable,
+                UserAuthorityCriteria.PROPERTIES,
+                buildCondition(criteria),
+                () ->
+                    Select
+                        .builder()
+                        .select(UserAuthoritySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields))
+                        .from(entityTable)
+            )
+            .map(userauthorityMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(UserAuthorityCriteria criteria) {
+        return entityManager
+            .createQuery(
+                "countByCriteria",
+                UserAuthority.class,
+                null,
+                Set.of(),
+                buildCondition(criteria),
+                () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable)
+            )
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    @Override
+    public Mono<Integer> updateRolesOfUser(Long userId, Collection<Long> roleIds) {
+        return entityManager.updateLinkTable(rolesOfUserLink, userId, roleIds.stream());
+    }
+
+    private CriteriaCondition buildCondition(UserAuthorityCriteria criteria) {
+        return new CriteriaCondition(converter)
+            .filter("id", entityTable.column("id"), criteria.getId())
+            .filter("userId", entityTable.column("user_id"), criteria.getUserId())
+            .filter("roleId", entityTable.column("role_id"), criteria.getRoleId());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String queryName, Pageable pageable, Supplier<Condition> whereClause) {
+        return createQuery(queryName, pageable, null, whereClause);
     }
 
-    RowsFetchSpec<UserAuthority> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = UserAuthoritySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, UserAuthority.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    DatabaseClient.GenericExecuteSpec createQuery(
+        String queryName,
+        Pageable pageable,
+        Set<String> fields,
+        Supplier<Condition> whereClause
+    ) {
+        return entityManager.createQuery(
+            EntityManager.withFields(queryName, fields),
+            UserAuthority.class,
+            pageable,
+            () -> {
+                List<Expression> columns = UserAuthoritySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields);
+                SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+                return whereClause == null ? selectFrom : selectFrom.where(whereClause.get());
+            }
+        );
     }
 
     @Override
@@ -84,13 +153,33 @@ class UserAuthorityRepositoryInternalImpl extends SimpleR2dbcRepository<UserAuth
 
     @Override
     public Mono<UserAuthority> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return findById(id, null);
     }
 
-    private UserAuthority process(Row row, RowMetadata metadata) {
-        UserAuthority entity = userauthorityMapper.apply(row, "e");
-        return entity;
+    @Override
+    public Mono<UserAuthority> findById(Long id, Set<String> fields) {
+        return createQuery("findById", null, fields, () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")))
+            .bind("id", id)
+            .map(userauthorityMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .one();
+    }
+
+    @Override
+    public Flux<UserAuthority> findByIds(Collection<Long> ids, Set<String> fields) {
+        return createQuery("findByIds", null, fields, () -> Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids")))
+            .bind("ids", ids)
+            .map(userauthorityMapper.forResult(EntityManager.ENTITY_ALIAS))
+            .all();
+    }
+
+    @Override
+    public Mono<Integer> update(UserAuthority entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Integer> partialUpdate(UserAuthority entity) {
+        return entityManager.update(entity, true);
     }
 
     @Override
@@ -0,0 +1,25 @@
+package com.invygo.digital.repository;
+
+/**
+ * Event published once a user, its password or its authorities, were written through the {@link UserRepository}, and again
+ * once the transaction of the write completed.
+ */
+public class UserModifiedEvent {
+
+    private final Long userId;
+
+    public UserModifiedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * @return the id of the modified user, or {@code null} if all the users were modified.
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isAllUsers() {
+        return userId == null;
+    }
+}
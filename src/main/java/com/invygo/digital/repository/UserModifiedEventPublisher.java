@@ -0,0 +1,51 @@
+package com.invygo.digital.repository;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes the {@link UserModifiedEvent} of a write right away, and again once its transaction completes.
+ * <p>
+ * The listeners evict what they cached of the user. A read racing with the transaction may still see the rows it replaces and
+ * cache them again after the first event, the second one evicts them once the new rows are visible.
+ */
+@Component
+class UserModifiedEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    UserModifiedEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param userId the id of the modified user, or {@code null} if all the users were modified.
+     * @return completes once the event is published, and the second publication registered with the current transaction.
+     */
+    Mono<Void> publish(Long userId) {
+        Runnable publication = () -> eventPublisher.publishEvent(new UserModifiedEvent(userId));
+        return Mono
+            .fromRunnable(publication)
+            .then(
+                TransactionSynchronizationManager
+                    .forCurrentTransaction()
+                    .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                    .doOnNext(synchronizationManager ->
+                        synchronizationManager.registerSynchronization(
+                            new TransactionSynchronization() {
+                                @Override
+                                public Mono<Void> afterCompletion(int status) {
+                                    return Mono.fromRunnable(publication);
+                                }
+                            }
+                        )
+                    )
+                    .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                    .then()
+            );
+    }
+}
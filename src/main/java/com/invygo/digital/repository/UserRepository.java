@@ -2,13 +2,13 @@ package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.Authority;
 import com.invygo.digital.domain.User;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
-import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -17,6 +17,7 @@ import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -44,15 +45,6 @@ public interface UserRepository extends R2dbcRepository<User, Long>, UserReposit
     Flux<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
 
     Mono<Long> count();
-
-    @Query("INSERT INTO jhi_user_authority VALUES(:userId, :authority)")
-    Mono<Void> saveUserAuthority(Long userId, String authority);
-
-    @Query("DELETE FROM jhi_user_authority")
-    Mono<Void> deleteAllUserAuthorities();
-
-    @Query("DELETE FROM jhi_user_authority WHERE user_id = :userId")
-    Mono<Void> deleteUserAuthorities(Long userId);
 }
 
 interface DeleteExtended<T> {
@@ -65,6 +57,14 @@ interface UserRepositoryInternal extends DeleteExtended<User> {
     Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Flux<User> findAllWithAuthorities(Pageable pageable);
+
+    Mono<Void> saveUserAuthority(Long userId, String authority);
+
+    Mono<Void> updatePasswordByLogin(String login, String password);
+
+    Mono<Void> deleteAllUserAuthorities();
+
+    Mono<Void> deleteUserAuthorities(Long userId);
 }
 
 class UserRepositoryInternalImpl implements UserRepositoryInternal {
@@ -72,11 +72,18 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final R2dbcConverter r2dbcConverter;
-
-    public UserRepositoryInternalImpl(DatabaseClient db, R2dbcEntityTemplate r2dbcEntityTemplate, R2dbcConverter r2dbcConverter) {
+    private final UserModifiedEventPublisher userModifiedEventPublisher;
+
+    public UserRepositoryInternalImpl(
+        DatabaseClient db,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcConverter r2dbcConverter,
+        UserModifiedEventPublisher userModifiedEventPublisher
+    ) {
         this.db = db;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.r2dbcConverter = r2dbcConverter;
+        this.userModifiedEventPublisher = userModifiedEventPublisher;
     }
 
     @Override
@@ -91,28 +98,24 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
+        String orderBy = toOrderBy(pageable.getSort());
+        // page the users first, so that only the authorities of the users of the page are joined
+        String users = "SELECT * FROM jhi_user u ORDER BY " + orderBy + (pageable.isPaged() ? " LIMIT :limit OFFSET :offset" : "");
+        DatabaseClient.GenericExecuteSpec spec = db.sql(
+            "SELECT * FROM (" + users + ") u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id ORDER BY " + orderBy
         );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
+        if (pageable.isPaged()) {
+            spec = spec.bind("limit", pageable.getPageSize()).bind("offset", pageable.getOffset());
+        }
 
-        return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
+        return spec
             .map((row, metadata) ->
                 Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
             )
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            // the rows of a user are adjacent, as the users are ordered down to their id
+            .bufferUntilChanged(t -> t.getT1().getId())
+            .map(l -> updateUserWithAuthorities(l.get(0).getT1(), l));
     }
 
     @Override
@@ -121,7 +124,60 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .sql("DELETE FROM jhi_user_authority WHERE user_id = :userId")
             .bind("userId", user.getId())
             .then()
-            .then(r2dbcEntityTemplate.delete(User.class).matching(query(where("id").is(user.getId()))).all().then());
+            .then(db.sql("DELETE FROM refresh_token WHERE login = :login").bind("login", user.getLogin()).then())
+            .then(r2dbcEntityTemplate.delete(User.class).matching(query(where("id").is(user.getId()))).all().then())
+            .then(userModifiedEventPublisher.publish(user.getId()));
+    }
+
+    @Override
+    public Mono<Void> saveUserAuthority(Long userId, String authority) {
+        return db
+            .sql("INSERT INTO jhi_user_authority VALUES(:userId, :authority)")
+            .bind("userId", userId)
+            .bind("authority", authority)
+            .then()
+            .then(deleteRefreshTokens(userId))
+            .then(userModifiedEventPublisher.publish(userId));
+    }
+
+    @Override
+    public Mono<Void> updatePasswordByLogin(String login, String password) {
+        return db
+            .sql("UPDATE jhi_user SET password_hash = :password WHERE login = :login")
+            .bind("password", password)
+            .bind("login", login)
+            .fetch()
+            .rowsUpdated()
+            .then(db.sql("DELETE FROM refresh_token WHERE login = :login").bind("login", login).then())
+            .then(r2dbcEntityTemplate.selectOne(query(where("login").is(login)), User.class))
+            .flatMap(user -> userModifiedEventPublisher.publish(user.getId()));
+    }
+
+    @Override
+    public Mono<Void> deleteAllUserAuthorities() {
+        return db
+            .sql("DELETE FROM jhi_user_authority")
+            .then()
+            .then(db.sql("DELETE FROM refresh_token").then())
+            .then(userModifiedEventPublisher.publish(null));
+    }
+
+    @Override
+    public Mono<Void> deleteUserAuthorities(Long userId) {
+        return db
+            .sql("DELETE FROM jhi_user_authority WHERE user_id = :userId")
+            .bind("userId", userId)
+            .then()
+            .then(deleteRefreshTokens(userId))
+            .then(userModifiedEventPublisher.publish(userId));
+    }
+
+    private Mono<Void> deleteRefreshTokens(Long userId) {
+        // the refresh tokens must not renew the JWTs of a user whose authorities changed
+        return db
+            .sql("DELETE FROM refresh_token WHERE login IN (SELECT login FROM jhi_user WHERE id = :userId)")
+            .bind("userId", userId)
+            .then();
     }
 
     private Mono<User> findOneWithAuthoritiesBy(String fieldName, Object fieldValue) {
@@ -137,6 +193,24 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .map(l -> updateUserWithAuthorities(l.get(0).getT1(), l));
     }
 
+    private String toOrderBy(Sort sort) {
+        RelationalPersistentEntity<?> entity = r2dbcConverter.getMappingContext().getRequiredPersistentEntity(User.class);
+        List<String> orders = new ArrayList<>();
+        boolean orderedById = false;
+        for (Sort.Order order : sort) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Users cannot be sorted by " + order.getProperty());
+            }
+            orders.add("u." + property.getColumnName().getReference() + (order.isAscending() ? " ASC" : " DESC"));
+            orderedById |= property.isIdProperty();
+        }
+        if (!orderedById) {
+            orders.add("u.id ASC");
+        }
+        return String.join(", ", orders);
+    }
+
     private User updateUserWithAuthorities(User user, List<Tuple2<User, Optional<String>>> tuples) {
         user.setAuthorities(
             tuples
@@ -1,6 +1,9 @@
 package com.invygo.digital.repository;
 
 import com.invygo.digital.domain.Users;
+import com.invygo.digital.domain.criteria.UsersCriteria;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -36,7 +39,16 @@ interface UsersRepositoryInternal {
     Flux<Users> findAll();
 
     Mono<Users> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Users> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Users> findById(Long id, Set<String> fields);
+
+    Flux<Users> findByIds(Collection<Long> ids, Set<String> fields);
+
+    Mono<Integer> update(Users entity);
+
+    Mono<Integer> partialUpdate(Users entity);
+
+    Flux<Users> findByCriteria(UsersCriteria criteria, Set<String> fields, Pageable pageable);
+
+    Mono<Long> countByCriteria(UsersCriteria criteria);
 }
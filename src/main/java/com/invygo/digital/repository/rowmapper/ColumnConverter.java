@@ -1,6 +1,8 @@
 package com.invygo.digital.repository.rowmapper;
 
+import io.r2dbc.spi.ColumnMetadata;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
@@ -55,12 +57,50 @@ public class ColumnConverter {
      * @return the value which can be constructed from the input.
      */
     public <T> T fromRow(Row row, String columnName, Class<T> target) {
-        try {
-            // try, directly the driver
-            return row.get(columnName, target);
-        } catch (Exception e) {
-            Object obj = row.get(columnName);
+        Object obj = row.get(columnName);
+        if (obj == null || canConvert(obj.getClass(), target)) {
             return convert(obj, target);
         }
+        // let the driver decode the column to a type we have no conversion for
+        return row.get(columnName, target);
+    }
+
+    /**
+     * Resolve the position of a column in the rows of a result, and how its values are converted to a type, so that the rows
+     * can be read by index.
+     * @param metadata of the rows of the result.
+     * @param columnName the name of the column which to read.
+     * @param target class.
+     * @param <T> the parameter for the intended type.
+     * @return the reader of the column, which reads {@code null} if the result has no such column.
+     */
+    public <T> ColumnReader<T> reader(RowMetadata metadata, String columnName, Class<T> target) {
+        int index = 0;
+        for (ColumnMetadata column : metadata.getColumnMetadatas()) {
+            if (column.getName().equalsIgnoreCase(columnName)) {
+                return reader(index, column.getJavaType(), target);
+            }
+            index++;
+        }
+        return row -> null;
+    }
+
+    private <T> ColumnReader<T> reader(int index, @Nullable Class<?> javaType, Class<T> target) {
+        if (javaType != null && ClassUtils.isAssignable(target, javaType)) {
+            return row -> target.cast(row.get(index));
+        }
+        if (javaType == null || canConvert(javaType, target)) {
+            return row -> convert(row.get(index), target);
+        }
+        return row -> row.get(index, target);
+    }
+
+    private boolean canConvert(Class<?> sourceType, Class<?> target) {
+        return (
+            ClassUtils.isAssignable(target, sourceType) ||
+            conversions.hasCustomReadTarget(sourceType, target) ||
+            (Enum.class.isAssignableFrom(target) && sourceType == String.class) ||
+            conversionService.canConvert(sourceType, target)
+        );
     }
 }
@@ -0,0 +1,18 @@
+package com.invygo.digital.repository.rowmapper;
+
+import io.r2dbc.spi.Row;
+
+/**
+ * Reads the value of one column from the rows of a result, at a position and with a conversion resolved once from its
+ * {@link io.r2dbc.spi.RowMetadata}.
+ * @param <T> the type of the value.
+ */
+@FunctionalInterface
+public interface ColumnReader<T> {
+    /**
+     * Read the value of the column from the row.
+     * @param row of the result the reader was resolved for.
+     * @return the value, or {@code null} if it is {@code null} or the column was not selected.
+     */
+    T read(Row row);
+}
@@ -0,0 +1,32 @@
+package com.invygo.digital.repository.rowmapper;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Row mapping of a single result: the mapping is compiled against the {@link RowMetadata} of the first row, and only compiled again if
+ * the driver hands over another metadata instance.
+ */
+class CompiledRowMapping<T> implements BiFunction<Row, RowMetadata, T> {
+
+    private final Function<RowMetadata, Function<Row, T>> compiler;
+
+    private RowMetadata metadata;
+    private Function<Row, T> mapping;
+
+    CompiledRowMapping(Function<RowMetadata, Function<Row, T>> compiler) {
+        this.compiler = compiler;
+    }
+
+    @Override
+    public T apply(Row row, RowMetadata metadata) {
+        // the rows of a result are emitted one after the other, so there is no need to synchronize here
+        if (metadata != this.metadata) {
+            this.mapping = compiler.apply(metadata);
+            this.metadata = metadata;
+        }
+        return mapping.apply(row);
+    }
+}
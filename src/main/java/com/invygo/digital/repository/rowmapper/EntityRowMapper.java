@@ -0,0 +1,30 @@
+package com.invygo.digital.repository.rowmapper;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Converter between {@link Row} and an entity, which can also be compiled against the {@link RowMetadata} of a result, to read its
+ * rows by column index.
+ * @param <T> the type of the entity.
+ */
+public interface EntityRowMapper<T> extends BiFunction<Row, String, T> {
+    /**
+     * Resolve the columns of the given prefix from the metadata of a result.
+     * @param metadata of the rows the mapping will be applied to.
+     * @param prefix of the columns of the entity.
+     * @return the function extracting the entity from each row of the result.
+     */
+    Function<Row, T> compile(RowMetadata metadata, String prefix);
+
+    /**
+     * Create a row mapping for one result, which is compiled on its first row and reused for all the others.
+     * @param prefix of the columns of the entity.
+     * @return the mapping function to pass to {@link org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec#map(BiFunction)}.
+     */
+    default BiFunction<Row, RowMetadata, T> forResult(String prefix) {
+        return new CompiledRowMapping<>(metadata -> compile(metadata, prefix));
+    }
+}
@@ -2,14 +2,15 @@ package com.invygo.digital.repository.rowmapper;
 
 import com.invygo.digital.domain.RoleAuthority;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link RoleAuthority}, with proper type conversions.
  */
 @Service
-public class RoleAuthorityRowMapper implements BiFunction<Row, String, RoleAuthority> {
+public class RoleAuthorityRowMapper implements EntityRowMapper<RoleAuthority> {
 
     private final ColumnConverter converter;
 
@@ -29,4 +30,22 @@ public class RoleAuthorityRowMapper implements BiFunction<Row, String, RoleAutho
         entity.setRoleId(converter.fromRow(row, prefix + "_role_id", Long.class));
         return entity;
     }
+
+    /**
+     * Resolve the columns of the given prefix once from the {@link RowMetadata} of a result, to read its rows by index.
+     * @return the function extracting the {@link RoleAuthority} from each row of the result.
+     */
+    @Override
+    public Function<Row, RoleAuthority> compile(RowMetadata metadata, String prefix) {
+        ColumnReader<Long> id = converter.reader(metadata, prefix + "_id", Long.class);
+        ColumnReader<Long> userId = converter.reader(metadata, prefix + "_user_id", Long.class);
+        ColumnReader<Long> roleId = converter.reader(metadata, prefix + "_role_id", Long.class);
+        return row -> {
+            RoleAuthority entity = new RoleAuthority();
+            entity.setId(id.read(row));
+            entity.setUserId(userId.read(row));
+            entity.setRoleId(roleId.read(row));
+            return entity;
+        };
+    }
 }
@@ -2,14 +2,15 @@ package com.invygo.digital.repository.rowmapper;
 
 import com.invygo.digital.domain.Roles;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Roles}, with proper type conversions.
  */
 @Service
-public class RolesRowMapper implements BiFunction<Row, String, Roles> {
+public class RolesRowMapper implements EntityRowMapper<Roles> {
 
     private final ColumnConverter converter;
 
@@ -28,4 +29,20 @@ public class RolesRowMapper implements BiFunction<Row, String, Roles> {
         entity.setRoleName(converter.fromRow(row, prefix + "_role_name", String.class));
         return entity;
     }
+
+    /**
+     * Resolve the columns of the given prefix once from the {@link RowMetadata} of a result, to read its rows by index.
+     * @return the function extracting the {@link Roles} from each row of the result.
+     */
+    @Override
+    public Function<Row, Roles> compile(RowMetadata metadata, String prefix) {
+        ColumnReader<Long> id = converter.reader(metadata, prefix + "_id", Long.class);
+        ColumnReader<String> roleName = converter.reader(metadata, prefix + "_role_name", String.class);
+        return row -> {
+            Roles entity = new Roles();
+            entity.setId(id.read(row));
+            entity.setRoleName(roleName.read(row));
+            return entity;
+        };
+    }
 }
@@ -2,14 +2,15 @@ package com.invygo.digital.repository.rowmapper;
 
 import com.invygo.digital.domain.ScheduleAuthority;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link ScheduleAuthority}, with proper type conversions.
  */
 @Service
-public class ScheduleAuthorityRowMapper implements BiFunction<Row, String, ScheduleAuthority> {
+public class ScheduleAuthorityRowMapper implements EntityRowMapper<ScheduleAuthority> {
 
     private final ColumnConverter converter;
 
@@ -26,6 +27,25 @@ public class ScheduleAuthorityRowMapper implements BiFunction<Row, String, Sched
         ScheduleAuthority entity = new ScheduleAuthority();
         entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
         entity.setName(converter.fromRow(row, prefix + "_name", String.class));
+        entity.setRoleId(converter.fromRow(row, prefix + "_role_id", Long.class));
         return entity;
     }
+
+    /**
+     * Resolve the columns of the given prefix once from the {@link RowMetadata} of a result, to read its rows by index.
+     * @return the function extracting the {@link ScheduleAuthority} from each row of the result.
+     */
+    @Override
+    public Function<Row, ScheduleAuthority> compile(RowMetadata metadata, String prefix) {
+        ColumnReader<Long> id = converter.reader(metadata, prefix + "_id", Long.class);
+        ColumnReader<String> name = converter.reader(metadata, prefix + "_name", String.class);
+        ColumnReader<Long> roleId = converter.reader(metadata, prefix + "_role_id", Long.class);
+        return row -> {
+            ScheduleAuthority entity = new ScheduleAuthority();
+            entity.setId(id.read(row));
+            entity.setName(name.read(row));
+            entity.setRoleId(roleId.read(row));
+            return entity;
+        };
+    }
 }
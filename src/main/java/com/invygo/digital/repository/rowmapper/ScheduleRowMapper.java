@@ -2,15 +2,16 @@ package com.invygo.digital.repository.rowmapper;
 
 import com.invygo.digital.domain.Schedule;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.ZonedDateTime;
-import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Schedule}, with proper type conversions.
  */
 @Service
-public class ScheduleRowMapper implements BiFunction<Row, String, Schedule> {
+public class ScheduleRowMapper implements EntityRowMapper<Schedule> {
 
     private final ColumnConverter converter;
 
@@ -31,4 +32,24 @@ public class ScheduleRowMapper implements BiFunction<Row, String, Schedule> {
         entity.setHours(converter.fromRow(row, prefix + "_hours", Long.class));
         return entity;
     }
+
+    /**
+     * Resolve the columns of the given prefix once from the {@link RowMetadata} of a result, to read its rows by index.
+     * @return the function extracting the {@link Schedule} from each row of the result.
+     */
+    @Override
+    public Function<Row, Schedule> compile(RowMetadata metadata, String prefix) {
+        ColumnReader<Long> id = converter.reader(metadata, prefix + "_id", Long.class);
+        ColumnReader<Long> userId = converter.reader(metadata, prefix + "_user_id", Long.class);
+        ColumnReader<ZonedDateTime> workDate = converter.reader(metadata, prefix + "_work_date", ZonedDateTime.class);
+        ColumnReader<Long> hours = converter.reader(metadata, prefix + "_hours", Long.class);
+        return row -> {
+            Schedule entity = new Schedule();
+            entity.setId(id.read(row));
+            entity.setUserId(userId.read(row));
+            entity.setWorkDate(workDate.read(row));
+            entity.setHours(hours.read(row));
+            return entity;
+        };
+    }
 }
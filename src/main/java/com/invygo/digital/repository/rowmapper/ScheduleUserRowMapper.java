@@ -2,14 +2,15 @@ package com.invygo.digital.repository.rowmapper;
 
 import com.invygo.digital.domain.ScheduleUser;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link ScheduleUser}, with proper type conversions.
  */
 @Service
-public class ScheduleUserRowMapper implements BiFunction<Row, String, ScheduleUser> {
+public class ScheduleUserRowMapper implements EntityRowMapper<ScheduleUser> {
 
     private final ColumnConverter converter;
 
@@ -29,7 +30,28 @@ public class ScheduleUserRowMapper implements BiFunction<Row, String, ScheduleUs
         entity.setLogin(converter.fromRow(row, prefix + "_login", String.class));
         entity.setFirstname(converter.fromRow(row, prefix + "_firstname", String.class));
         entity.setLastname(converter.fromRow(row, prefix + "_lastname", String.class));
-        entity.setPassword(converter.fromRow(row, prefix + "_password", String.class));
         return entity;
     }
+
+    /**
+     * Resolve the columns of the given prefix once from the {@link RowMetadata} of a result, to read its rows by index.
+     * @return the function extracting the {@link ScheduleUser} from each row of the result.
+     */
+    @Override
+    public Function<Row, ScheduleUser> compile(RowMetadata metadata, String prefix) {
+        ColumnReader<Long> id = converter.reader(metadata, prefix + "_id", Long.class);
+        ColumnReader<String> email = converter.reader(metadata, prefix + "_email", String.class);
+        ColumnReader<String> login = converter.reader(metadata, prefix + "_login", String.class);
+        ColumnReader<String> firstname = converter.reader(metadata, prefix + "_firstname", String.class);
+        ColumnReader<String> lastname = converter.reader(metadata, prefix + "_lastname", String.class);
+        return row -> {
+            ScheduleUser entity = new ScheduleUser();
+            entity.setId(id.read(row));
+            entity.setEmail(email.read(row));
+            entity.setLogin(login.read(row));
+            entity.setFirstname(firstname.read(row));
+            entity.setLastname(lastname.read(row));
+            return entity;
+        };
+    }
 }
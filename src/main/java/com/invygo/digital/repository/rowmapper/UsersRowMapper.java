@@ -2,14 +2,15 @@ package com.invygo.digital.repository.rowmapper;
 
 import com.invygo.digital.domain.Users;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Users}, with proper type conversions.
  */
 @Service
-public class UsersRowMapper implements BiFunction<Row, String, Users> {
+public class UsersRowMapper implements EntityRowMapper<Users> {
 
     private final ColumnConverter converter;
 
@@ -28,7 +29,26 @@ public class UsersRowMapper implements BiFunction<Row, String, Users> {
         entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
         entity.setName(converter.fromRow(row, prefix + "_name", String.class));
         entity.setSurname(converter.fromRow(row, prefix + "_surname", String.class));
-        entity.setPassword(converter.fromRow(row, prefix + "_password", String.class));
         return entity;
     }
+
+    /**
+     * Resolve the columns of the given prefix once from the {@link RowMetadata} of a result, to read its rows by index.
+     * @return the function extracting the {@link Users} from each row of the result.
+     */
+    @Override
+    public Function<Row, Users> compile(RowMetadata metadata, String prefix) {
+        ColumnReader<Long> id = converter.reader(metadata, prefix + "_id", Long.class);
+        ColumnReader<String> email = converter.reader(metadata, prefix + "_email", String.class);
+        ColumnReader<String> name = converter.reader(metadata, prefix + "_name", String.class);
+        ColumnReader<String> surname = converter.reader(metadata, prefix + "_surname", String.class);
+        return row -> {
+            Users entity = new Users();
+            entity.setId(id.read(row));
+            entity.setEmail(email.read(row));
+            entity.setName(name.read(row));
+            entity.setSurname(surname.read(row));
+            return entity;
+        };
+    }
 }
@@ -0,0 +1,19 @@
+package com.invygo.digital.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * This exception is thrown in case of an authentication rejected because too many passwords are already waiting to be verified.
+ */
+public class AuthenticationThrottledException extends AuthenticationException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AuthenticationThrottledException(String message) {
+        super(message);
+    }
+
+    public AuthenticationThrottledException(String message, Throwable t) {
+        super(message, t);
+    }
+}
@@ -11,5 +11,10 @@ public final class AuthoritiesConstants {
 
     public static final String ANONYMOUS = "ROLE_ANONYMOUS";
 
+    /**
+     * Authority granted to roles through the schedule authorities, checked by the {@link PermissionEngine}.
+     */
+    public static final String MANAGE_PERMISSIONS = "permissions:manage";
+
     private AuthoritiesConstants() {}
 }
@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -17,20 +18,29 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Authenticate a user from the database.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements ReactiveUserDetailsService {
+public class DomainUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
 
     private final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final UserDetailsCache userDetailsCache;
+
+    // the authorities are few and shared by all the users, so each of them is created once
+    private final Map<String, GrantedAuthority> internedAuthorities = new ConcurrentHashMap<>();
+
+    public DomainUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -39,17 +49,40 @@ public class DomainUserDetailsService implements ReactiveUserDetailsService {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
+            Optional<UserDetails> cached = userDetailsCache.getByEmail(login);
+            if (cached.isPresent()) {
+                return Mono.just(cached.get());
+            }
             return userRepository
                 .findOneWithAuthoritiesByEmailIgnoreCase(login)
                 .switchIfEmpty(Mono.error(new UsernameNotFoundException("User with email " + login + " was not found in the database")))
-                .map(user -> createSpringSecurityUser(login, user));
+                .map(user -> createAndCacheSpringSecurityUser(login, user));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        Optional<UserDetails> cached = userDetailsCache.getByLogin(lowercaseLogin);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
         return userRepository
             .findOneWithAuthoritiesByLogin(lowercaseLogin)
             .switchIfEmpty(Mono.error(new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database")))
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user));
+            .map(user -> createAndCacheSpringSecurityUser(lowercaseLogin, user));
+    }
+
+    @Override
+    @Transactional
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        log.debug("Upgrading the password hash of {}", user.getUsername());
+        return userRepository
+            .updatePasswordByLogin(user.getUsername(), newPassword)
+            .thenReturn(org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build());
+    }
+
+    private UserDetails createAndCacheSpringSecurityUser(String lowercaseLogin, User user) {
+        UserDetails details = createSpringSecurityUser(lowercaseLogin, user);
+        userDetailsCache.put(user.getId(), user.getEmail(), details);
+        return org.springframework.security.core.userdetails.User.withUserDetails(details).build();
     }
 
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
@@ -59,7 +92,7 @@ public class DomainUserDetailsService implements ReactiveUserDetailsService {
         List<GrantedAuthority> grantedAuthorities = user
             .getAuthorities()
             .stream()
-            .map(authority -> new SimpleGrantedAuthority(authority.getName()))
+            .map(authority -> internedAuthorities.computeIfAbsent(authority.getName(), SimpleGrantedAuthority::new))
             .collect(Collectors.toList());
         return new org.springframework.security.core.userdetails.User(user.getLogin(), user.getPassword(), grantedAuthorities);
     }
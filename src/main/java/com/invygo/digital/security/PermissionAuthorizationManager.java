@@ -0,0 +1,39 @@
+package com.invygo.digital.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ReactiveAuthorizationManager} granting access to the administrators, and to the users whose roles are granted an
+ * authority in the {@link PermissionEngine}.
+ */
+public class PermissionAuthorizationManager<T> implements ReactiveAuthorizationManager<T> {
+
+    private final PermissionEngine permissionEngine;
+
+    private final int bitIndex;
+
+    private PermissionAuthorizationManager(PermissionEngine permissionEngine, String authority) {
+        this.permissionEngine = permissionEngine;
+        this.bitIndex = permissionEngine.bitIndexOf(authority);
+    }
+
+    public static <T> PermissionAuthorizationManager<T> hasPermission(PermissionEngine permissionEngine, String authority) {
+        return new PermissionAuthorizationManager<>(permissionEngine, authority);
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, T object) {
+        return authentication
+            .filter(Authentication::isAuthenticated)
+            .map(granted -> new AuthorizationDecision(isAdmin(granted) || permissionEngine.hasPermission(granted.getName(), bitIndex)))
+            .defaultIfEmpty(new AuthorizationDecision(false));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(AuthoritiesConstants.ADMIN::equals);
+    }
+}
@@ -0,0 +1,430 @@
+package com.invygo.digital.security;
+
+import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.User;
+import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.repository.RoleAuthorityRepository;
+import com.invygo.digital.repository.RolesRepository;
+import com.invygo.digital.repository.ScheduleAuthorityRepository;
+import com.invygo.digital.repository.UserAuthorityRepository;
+import com.invygo.digital.repository.UserModifiedEvent;
+import com.invygo.digital.repository.UserRepository;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * In-memory permissions of the users, computed from the {@link Roles} granted to them and the {@link ScheduleAuthority} granted
+ * to these roles.
+ * <p>
+ * Each authority name is mapped once to a bit index, each role to the bitset of its authorities, and each user to the union of
+ * the bitsets of its roles, so that checking a permission is a map lookup and a bit test. The users granted the same roles share
+ * the same bitset, which keeps the footprint to one map entry per user.
+ * <p>
+ * The roles of a user are granted through both {@link RoleAuthority} and {@link UserAuthority}. The permissions are loaded once
+ * the application is ready, then refreshed user by user and role by role as the services modify them, and as the users are
+ * renamed or deleted. Every refresh and reload is stamped with a version when its reads start, and a user or role is only
+ * written over by a load which started after the one it was last written by, so that a slow reload does not undo the refreshes
+ * which ran meanwhile.
+ * <p>
+ * The refreshes only follow the writes of this instance. The permissions are loaded again in full every 15 minutes, which is
+ * how long the writes of the other instances may take to be seen.
+ */
+@Component
+public class PermissionEngine {
+
+    private final Logger log = LoggerFactory.getLogger(PermissionEngine.class);
+
+    private static final long[] NO_BITS = new long[0];
+
+    private final UserRepository userRepository;
+
+    private final RolesRepository rolesRepository;
+
+    private final RoleAuthorityRepository roleAuthorityRepository;
+
+    private final UserAuthorityRepository userAuthorityRepository;
+
+    private final ScheduleAuthorityRepository scheduleAuthorityRepository;
+
+    // the bit indexes are never reused, so that the index resolved once by an authorization manager stays valid
+    private final Map<String, Integer> bitIndexes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextBitIndex = new AtomicInteger();
+
+    private final AtomicLong nextVersion = new AtomicLong();
+
+    private final Map<String, RoleSet> users = new ConcurrentHashMap<>();
+
+    // the users by id, the roles and their combinations are only read and written while holding the lock of the engine
+    private final Map<Long, LoadedUser> loadedUsers = new HashMap<>();
+
+    private final Map<Long, long[]> roleBits = new HashMap<>();
+
+    private final Map<Long, Long> roleVersions = new HashMap<>();
+
+    private final Map<RoleIds, RoleSet> roleSets = new HashMap<>();
+
+    public PermissionEngine(
+        UserRepository userRepository,
+        RolesRepository rolesRepository,
+        RoleAuthorityRepository roleAuthorityRepository,
+        UserAuthorityRepository userAuthorityRepository,
+        ScheduleAuthorityRepository scheduleAuthorityRepository
+    ) {
+        this.userRepository = userRepository;
+        this.rolesRepository = rolesRepository;
+        this.roleAuthorityRepository = roleAuthorityRepository;
+        this.userAuthorityRepository = userAuthorityRepository;
+        this.scheduleAuthorityRepository = scheduleAuthorityRepository;
+    }
+
+    /**
+     * @param authority the name of an authority.
+     * @return the bit index of the authority, assigned on its first use.
+     */
+    public int bitIndexOf(String authority) {
+        return bitIndexes.computeIfAbsent(authority, name -> nextBitIndex.getAndIncrement());
+    }
+
+    public boolean hasPermission(String login, String authority) {
+        return hasPermission(login, bitIndexOf(authority));
+    }
+
+    /**
+     * Check whether the roles of a user grant it an authority.
+     * @param login the login of the user.
+     * @param bitIndex the bit index of the authority, see {@link #bitIndexOf(String)}.
+     * @return true if one of the roles of the user is granted the authority.
+     */
+    public boolean hasPermission(String login, int bitIndex) {
+        RoleSet roleSet = users.get(login);
+        if (roleSet == null) {
+            return false;
+        }
+        long[] bits = roleSet.bits;
+        int word = bitIndex >>> 6;
+        return word < bits.length && (bits[word] & (1L << bitIndex)) != 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload().subscribe(null, e -> log.error("Could not load the permissions of the users", e));
+    }
+
+    @Scheduled(cron = "0 */15 * * * ?")
+    public void reloadPeriodically() {
+        reload().block();
+    }
+
+    @EventListener
+    public void onUserModified(UserModifiedEvent event) {
+        Mono<Void> refresh = event.isAllUsers() ? reload() : refreshUser(event.getUserId());
+        refresh.subscribe(null, e -> log.error("Could not refresh the permissions of user {}", event.getUserId(), e));
+    }
+
+    /**
+     * Load the permissions of all the users again.
+     */
+    public Mono<Void> reload() {
+        return Mono.defer(() -> reload(nextVersion.incrementAndGet()));
+    }
+
+    private Mono<Void> reload(long version) {
+        Mono<Set<Long>> roleIds = rolesRepository.findAll().map(Roles::getId).collect(Collectors.toSet());
+        Mono<Map<Long, Collection<String>>> authoritiesByRole = scheduleAuthorityRepository
+            .findAll()
+            .filter(authority -> authority.getRoleId() != null)
+            .collectMultimap(ScheduleAuthority::getRoleId, ScheduleAuthority::getName);
+        Mono<Map<Long, Collection<Long>>> rolesByUser = Flux
+            .concat(
+                roleAuthorityRepository.findAll().map(granted -> Tuples.of(granted.getUserId(), granted.getRoleId())),
+                userAuthorityRepository.findAll().map(granted -> Tuples.of(granted.getUserId(), granted.getRoleId()))
+            )
+            .collectMultimap(Tuple2::getT1, Tuple2::getT2);
+        return Mono
+            .zip(roleIds, authoritiesByRole, rolesByUser)
+            .flatMap(loaded ->
+                userRepository
+                    .findAll()
+                    .filter(user -> loaded.getT3().containsKey(user.getId()))
+                    .collectList()
+                    .doOnNext(users -> replaceAll(version, loaded.getT1(), loaded.getT2(), users, loaded.getT3()))
+            )
+            .then();
+    }
+
+    /**
+     * Load the roles of users again once the current transaction commits, after they were granted or revoked, so that a
+     * write which rolls back grants nothing. The roles are loaded right away when there is no transaction.
+     * @param userIds the ids of the users.
+     */
+    public Mono<Void> refreshUsersOnCommit(Collection<Long> userIds) {
+        return onCommit(Flux.fromIterable(userIds).concatMap(this::refreshUser).then());
+    }
+
+    /**
+     * Load the authorities of roles again once the current transaction commits, after they were modified or the roles were
+     * deleted. The authorities are loaded right away when there is no transaction.
+     * @param roleIds the ids of the roles.
+     */
+    public Mono<Void> refreshRolesOnCommit(Collection<Long> roleIds) {
+        return onCommit(Flux.fromIterable(roleIds).concatMap(this::refreshRole).then());
+    }
+
+    /**
+     * Load the roles of a user again, after they were granted or revoked.
+     * @param userId the id of the user.
+     */
+    public Mono<Void> refreshUser(Long userId) {
+        if (userId == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> refreshUser(userId, nextVersion.incrementAndGet()));
+    }
+
+    private Mono<Void> refreshUser(Long userId, long version) {
+        Mono<List<Long>> roleIds = Flux
+            .concat(
+                roleAuthorityRepository.findAllByUserId(userId).map(RoleAuthority::getRoleId),
+                userAuthorityRepository.findAllByUserId(userId).map(UserAuthority::getRoleId)
+            )
+            .collectList();
+        Mono<Optional<String>> login = userRepository
+            .findById(userId)
+            .map(user -> Optional.ofNullable(user.getLogin()))
+            .defaultIfEmpty(Optional.empty());
+        return Mono
+            .zip(login, roleIds)
+            .doOnNext(loaded -> setUser(version, userId, loaded.getT1().orElse(null), loaded.getT2()))
+            .then();
+    }
+
+    /**
+     * Load the authorities of a role again, after they were modified or the role was deleted.
+     * @param roleId the id of the role.
+     */
+    public Mono<Void> refreshRole(Long roleId) {
+        if (roleId == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> refreshRole(roleId, nextVersion.incrementAndGet()));
+    }
+
+    private Mono<Void> refreshRole(Long roleId, long version) {
+        Mono<List<String>> authorities = scheduleAuthorityRepository.findAllByRoleId(roleId).map(ScheduleAuthority::getName).collectList();
+        return Mono
+            .zip(rolesRepository.existsById(roleId), authorities)
+            .doOnNext(loaded -> setRole(version, roleId, loaded.getT1() ? loaded.getT2() : null))
+            .then();
+    }
+
+    private Mono<Void> onCommit(Mono<Void> refresh) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            // the committed rows are read on a connection of their own, the transaction's is being released
+                            return refresh
+                                .contextWrite(context -> Context.empty())
+                                .onErrorResume(e -> {
+                                    log.error("Could not refresh the permissions after a commit", e);
+                                    return Mono.empty();
+                                });
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .switchIfEmpty(refresh.then(Mono.empty()))
+            .then();
+    }
+
+    private synchronized void replaceAll(
+        long version,
+        Set<Long> roleIds,
+        Map<Long, Collection<String>> authoritiesByRole,
+        List<User> allUsers,
+        Map<Long, Collection<Long>> rolesByUser
+    ) {
+        // the roles and users refreshed since the reads of this reload started are kept as they are
+        roleBits.keySet().removeIf(roleId -> !roleIds.contains(roleId) && !isNewer(roleVersions.get(roleId), version));
+        for (Long roleId : roleIds) {
+            if (!isNewer(roleVersions.get(roleId), version)) {
+                roleBits.put(roleId, toBits(authoritiesByRole.getOrDefault(roleId, List.of())));
+                roleVersions.put(roleId, version);
+            }
+        }
+        roleSets.values().forEach(roleSet -> roleSet.bits = unionOf(roleSet.roleIds));
+        Map<Long, User> usersById = allUsers.stream().collect(Collectors.toMap(User::getId, user -> user));
+        for (Long userId : List.copyOf(loadedUsers.keySet())) {
+            if (!usersById.containsKey(userId)) {
+                setUser(version, userId, null, List.of());
+            }
+        }
+        usersById.forEach((userId, user) -> setUser(version, userId, user.getLogin(), rolesByUser.getOrDefault(userId, List.of())));
+        roleSets.values().retainAll(new HashSet<>(users.values()));
+        log.info("Loaded the permissions of {} users, over {} roles and {} authorities", users.size(), roleBits.size(), bitIndexes.size());
+    }
+
+    /**
+     * Set the roles of a user, unless it was written by a load which started later.
+     * @param login the login of the user, or {@code null} if it was deleted.
+     */
+    private synchronized void setUser(long version, Long userId, String login, Collection<Long> userRoleIds) {
+        LoadedUser previous = loadedUsers.get(userId);
+        if (previous != null && previous.version > version) {
+            return;
+        }
+        if (previous != null && !previous.login.equals(login)) {
+            users.remove(previous.login);
+        }
+        if (login == null) {
+            loadedUsers.remove(userId);
+            return;
+        }
+        loadedUsers.put(userId, new LoadedUser(login, version));
+        RoleIds key = RoleIds.of(userRoleIds);
+        if (key.ids.length == 0) {
+            users.remove(login);
+        } else {
+            users.put(login, roleSetOf(key));
+        }
+    }
+
+    private synchronized void setRole(long version, Long roleId, Collection<String> authorities) {
+        if (isNewer(roleVersions.get(roleId), version)) {
+            return;
+        }
+        roleVersions.put(roleId, version);
+        if (authorities == null) {
+            roleBits.remove(roleId);
+        } else {
+            roleBits.put(roleId, toBits(authorities));
+        }
+        for (RoleSet roleSet : roleSets.values()) {
+            if (Arrays.binarySearch(roleSet.roleIds.ids, roleId) >= 0) {
+                roleSet.bits = unionOf(roleSet.roleIds);
+            }
+        }
+    }
+
+    private static boolean isNewer(Long writtenVersion, long version) {
+        return writtenVersion != null && writtenVersion > version;
+    }
+
+    private RoleSet roleSetOf(RoleIds key) {
+        return roleSets.computeIfAbsent(key, ids -> new RoleSet(ids, unionOf(ids)));
+    }
+
+    private long[] unionOf(RoleIds key) {
+        long[] bits = NO_BITS;
+        for (long roleId : key.ids) {
+            long[] granted = roleBits.getOrDefault(roleId, NO_BITS);
+            if (granted.length > bits.length) {
+                bits = Arrays.copyOf(bits, granted.length);
+            }
+            for (int i = 0; i < granted.length; i++) {
+                bits[i] |= granted[i];
+            }
+        }
+        return bits;
+    }
+
+    private long[] toBits(Collection<String> authorities) {
+        long[] bits = NO_BITS;
+        for (String authority : authorities) {
+            int bitIndex = bitIndexOf(authority);
+            int word = bitIndex >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << bitIndex;
+        }
+        return bits;
+    }
+
+    /**
+     * The sorted and distinct ids of a combination of roles.
+     */
+    private static final class RoleIds {
+
+        private final long[] ids;
+
+        private RoleIds(long[] ids) {
+            this.ids = ids;
+        }
+
+        private static RoleIds of(Collection<Long> roleIds) {
+            return new RoleIds(roleIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RoleIds && Arrays.equals(ids, ((RoleIds) o).ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ids);
+        }
+    }
+
+    /**
+     * The login of a loaded user, and the version of the load which wrote it.
+     */
+    private static final class LoadedUser {
+
+        private final String login;
+        private final long version;
+
+        private LoadedUser(String login, long version) {
+            this.login = login;
+            this.version = version;
+        }
+    }
+
+    /**
+     * The authorities of a combination of roles, shared by all the users granted these roles.
+     */
+    private static final class RoleSet {
+
+        private final RoleIds roleIds;
+        private volatile long[] bits;
+
+        private RoleSet(RoleIds roleIds, long[] bits) {
+            this.roleIds = roleIds;
+            this.bits = bits;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.invygo.digital.security;
+
+import com.invygo.digital.management.PasswordHashingMetersService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} recording the time spent hashing the passwords with another encoder.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final PasswordHashingMetersService passwordHashingMetersService;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, PasswordHashingMetersService passwordHashingMetersService) {
+        this.delegate = delegate;
+        this.passwordHashingMetersService = passwordHashingMetersService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingMetersService.timeEncode(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingMetersService.timeMatches(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,136 @@
+package com.invygo.digital.security;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.management.UserDetailsCacheMetersService;
+import com.invygo.digital.repository.UserModifiedEvent;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of the {@link UserDetails} resolved by {@link DomainUserDetailsService}, keyed by lowercase login and by email.
+ * <p>
+ * The entries expire after {@code application.user-details-cache.time-to-live-seconds}, and are evicted as soon as their user is
+ * written through the {@link com.invygo.digital.repository.UserRepository}, then again once the transaction of the write completed.
+ * A write bumps the generation of its user, which the entries cached at an older generation no longer match, so evicting a user
+ * does not scan the entries of the others.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Logger log = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private static final String LOGIN_KEY_PREFIX = "login:";
+
+    private static final String EMAIL_KEY_PREFIX = "email:";
+
+    private final long timeToLiveInMilliseconds;
+
+    private final int maxEntries;
+
+    private final UserDetailsCacheMetersService userDetailsCacheMetersService;
+
+    private final Map<String, CachedUserDetails> userDetails = new ConcurrentHashMap<>();
+
+    // one counter per modified user, kept while the application runs: the number of users bounds them
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(ApplicationProperties applicationProperties, UserDetailsCacheMetersService userDetailsCacheMetersService) {
+        this.timeToLiveInMilliseconds = 1000 * applicationProperties.getUserDetailsCache().getTimeToLiveSeconds();
+        this.maxEntries = applicationProperties.getUserDetailsCache().getMaxEntries();
+        this.userDetailsCacheMetersService = userDetailsCacheMetersService;
+    }
+
+    public Optional<UserDetails> getByLogin(String login) {
+        return get(loginKey(login));
+    }
+
+    public Optional<UserDetails> getByEmail(String email) {
+        return get(emailKey(email));
+    }
+
+    /**
+     * Cache the details of a user under both its login and its email.
+     * @param userId the id of the user, to evict the details once the user is modified.
+     * @param email the email of the user, if any.
+     * @param details the resolved details of the user.
+     */
+    public void put(Long userId, String email, UserDetails details) {
+        long now = System.currentTimeMillis();
+        CachedUserDetails cached = new CachedUserDetails(details, userId, generation(userId), now + timeToLiveInMilliseconds);
+        cache(loginKey(details.getUsername()), cached, now);
+        if (email != null) {
+            cache(emailKey(email), cached, now);
+        }
+    }
+
+    @EventListener
+    public void onUserModified(UserModifiedEvent event) {
+        if (event.isAllUsers()) {
+            log.debug("Evicting all the cached user details");
+            userDetails.clear();
+        } else {
+            log.debug("Evicting the cached details of user {}", event.getUserId());
+            generations.merge(event.getUserId(), 1L, Long::sum);
+        }
+    }
+
+    private Optional<UserDetails> get(String key) {
+        CachedUserDetails cached = userDetails.get(key);
+        if (cached != null && cached.expiration > System.currentTimeMillis() && cached.generation == generation(cached.userId)) {
+            this.userDetailsCacheMetersService.trackHit();
+            // the callers may erase the credentials of the details they are given, so they get their own copy
+            return Optional.of(User.withUserDetails(cached.details).build());
+        }
+        this.userDetailsCacheMetersService.trackMiss();
+        if (cached != null) {
+            userDetails.remove(key, cached);
+        }
+        return Optional.empty();
+    }
+
+    private void cache(String key, CachedUserDetails cached, long now) {
+        if (userDetails.size() >= maxEntries) {
+            userDetails.values().removeIf(entry -> entry.expiration <= now || entry.generation != generation(entry.userId));
+        }
+        if (userDetails.size() >= maxEntries) {
+            // all the cached users are still valid: make room by dropping any of them, it will simply be loaded again
+            userDetails.keySet().stream().findAny().ifPresent(userDetails::remove);
+        }
+        userDetails.put(key, cached);
+    }
+
+    private long generation(Long userId) {
+        return userId == null ? 0L : generations.getOrDefault(userId, 0L);
+    }
+
+    private static String loginKey(String login) {
+        return LOGIN_KEY_PREFIX + login.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String emailKey(String email) {
+        return EMAIL_KEY_PREFIX + email.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static class CachedUserDetails {
+
+        private final UserDetails details;
+        private final Long userId;
+        private final long generation;
+        private final long expiration;
+
+        private CachedUserDetails(UserDetails details, Long userId, long generation, long expiration) {
+            this.details = details;
+            this.userId = userId;
+            this.generation = generation;
+            this.expiration = expiration;
+        }
+    }
+}
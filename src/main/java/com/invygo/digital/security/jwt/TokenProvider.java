@@ -1,6 +1,7 @@
 package com.invygo.digital.security.jwt;
 
 import com.invygo.digital.management.SecurityMetersService;
+import com.invygo.digital.security.SecurityUtils;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
@@ -9,6 +10,9 @@ import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +34,9 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    // the tokens are issued to the clients, so the number of verified tokens is bounded to keep the cache from growing without limit
+    private static final int MAX_CACHED_TOKENS = 10000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -40,6 +47,15 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    // the same tokens ordered by expiration, so that making room only visits the tokens which are dropped
+    private final NavigableSet<VerifiedToken> verifiedTokensByExpiration = new ConcurrentSkipListSet<>(
+        Comparator.<VerifiedToken>comparingLong(cached -> cached.expiration).thenComparingLong(cached -> cached.sequence)
+    );
+
+    private final AtomicLong nextSequence = new AtomicLong();
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -84,9 +100,47 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Verify the token and create its authentication, in a single parse of the token.
+     * <p>
+     * The authentication is cached until the token expires, so that the following requests presenting the same token are not
+     * verified again.
+     * @param token the JWT presented by the client.
+     * @return the authentication of the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String digest = SecurityUtils.digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.get(digest);
+        long now = System.currentTimeMillis();
+        if (verifiedToken != null && verifiedToken.expiration > now) {
+            this.securityMetersService.trackTokenCacheHit();
+            return Optional.of(verifiedToken.authentication);
+        }
+        this.securityMetersService.trackTokenCacheMiss();
+        if (verifiedToken != null) {
+            remove(verifiedToken);
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        Authentication authentication = getAuthentication(token, claims);
+        if (claims.getExpiration() != null) {
+            cache(new VerifiedToken(digest, authentication, claims.getExpiration().getTime(), nextSequence.getAndIncrement()), now);
+        }
+        return Optional.of(authentication);
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return getAuthentication(token, jwtParser.parseClaimsJws(token).getBody());
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
 
+    private Authentication getAuthentication(String token, Claims claims) {
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
@@ -98,11 +152,9 @@ public class TokenProvider {
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
+    private Claims parseClaims(String authToken) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -123,6 +175,45 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private void cache(VerifiedToken verifiedToken, long now) {
+        // the expired tokens come first and are dropped; when the cache is still full, the valid tokens expiring soonest are
+        // dropped as well, they will simply be verified again
+        Iterator<VerifiedToken> byExpiration = verifiedTokensByExpiration.iterator();
+        while (byExpiration.hasNext()) {
+            VerifiedToken cached = byExpiration.next();
+            if (cached.expiration > now && verifiedTokens.size() < MAX_CACHED_TOKENS) {
+                break;
+            }
+            remove(cached);
+        }
+        VerifiedToken replaced = verifiedTokens.put(verifiedToken.digest, verifiedToken);
+        if (replaced != null) {
+            verifiedTokensByExpiration.remove(replaced);
+        }
+        verifiedTokensByExpiration.add(verifiedToken);
+    }
+
+    private void remove(VerifiedToken verifiedToken) {
+        verifiedTokens.remove(verifiedToken.digest, verifiedToken);
+        verifiedTokensByExpiration.remove(verifiedToken);
+    }
+
+    private static class VerifiedToken {
+
+        private final String digest;
+        private final Authentication authentication;
+        private final long expiration;
+        // tells apart the tokens expiring at the same time
+        private final long sequence;
+
+        private VerifiedToken(String digest, Authentication authentication, long expiration, long sequence) {
+            this.digest = digest;
+            this.authentication = authentication;
+            this.expiration = expiration;
+            this.sequence = sequence;
+        }
     }
 }
@@ -0,0 +1,150 @@
+package com.invygo.digital.service;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Authority;
+import com.invygo.digital.domain.RefreshToken;
+import com.invygo.digital.domain.User;
+import com.invygo.digital.repository.RefreshTokenRepository;
+import com.invygo.digital.repository.UserRepository;
+import com.invygo.digital.security.SecurityUtils;
+import com.invygo.digital.security.jwt.TokenProvider;
+import com.invygo.digital.service.dto.IssuedTokens;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service issuing the JWTs with their refresh tokens.
+ * <p>
+ * A refresh token renews the JWT without verifying the password of the user again: it is looked up by its digest, and
+ * replaced by a new one on each use. The user is loaded again on each renewal, so that the JWT carries its current
+ * authorities, and the replacements keep the expiry of the first token, so that a session renewed forever still ends.
+ * The tokens of a user are deleted when its password or authorities change, or when it is deactivated.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final TokenProvider tokenProvider;
+
+    private final ApplicationProperties applicationProperties;
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        TokenProvider tokenProvider,
+        ApplicationProperties applicationProperties
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Issue a JWT and a refresh token for an authenticated user.
+     *
+     * @param authentication the authentication of the user.
+     * @param rememberMe whether the tokens get the longer, remember-me, validity.
+     * @return the issued tokens.
+     */
+    @Transactional
+    public Mono<IssuedTokens> issue(Authentication authentication, boolean rememberMe) {
+        return issue(authentication, rememberMe, Instant.now().plusSeconds(getTokenValidityInSeconds(rememberMe)));
+    }
+
+    private Mono<IssuedTokens> issue(Authentication authentication, boolean rememberMe, Instant expiresAt) {
+        String refreshToken = generateToken();
+        String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
+        RefreshToken entity = new RefreshToken()
+            .tokenHash(SecurityUtils.digest(refreshToken))
+            .login(authentication.getName())
+            .authorities(authorities)
+            .rememberMe(rememberMe)
+            .expiresAt(expiresAt);
+        return refreshTokenRepository
+            .save(entity)
+            .map(saved -> new IssuedTokens(tokenProvider.createToken(authentication, rememberMe), refreshToken));
+    }
+
+    /**
+     * Renew the JWT of a refresh token, which is used up: a new refresh token, expiring with it, is issued with the JWT.
+     *
+     * @param refreshToken the refresh token issued with the previous JWT.
+     * @return the issued tokens with the current authorities of the user, or a {@link BadCredentialsException} if the refresh
+     * token is unknown, expired or already used, or if its user no longer exists or is not activated.
+     */
+    @Transactional
+    public Mono<IssuedTokens> refresh(String refreshToken) {
+        return refreshTokenRepository
+            .findOneByTokenHash(SecurityUtils.digest(refreshToken))
+            .filter(entity -> entity.getExpiresAt().isAfter(Instant.now()))
+            // only the request which deletes the token may use it, should it be presented twice at once
+            .flatMap(entity -> refreshTokenRepository.deleteOneById(entity.getId()).filter(deleted -> deleted > 0).map(deleted -> entity))
+            .flatMap(entity ->
+                userRepository
+                    .findOneWithAuthoritiesByLogin(entity.getLogin())
+                    .filter(User::isActivated)
+                    .flatMap(user -> issue(createAuthentication(user), entity.isRememberMe(), entity.getExpiresAt()))
+            )
+            .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid refresh token")));
+    }
+
+    /**
+     * Expired refresh tokens should be removed from the database.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void removeExpiredTokens() {
+        removeExpiredTokensReactively().block();
+    }
+
+    @Transactional
+    public Mono<Void> removeExpiredTokensReactively() {
+        return refreshTokenRepository
+            .deleteAllByExpiresAtBefore(Instant.now())
+            .doOnNext(deleted -> log.debug("Deleted {} expired refresh tokens", deleted))
+            .then();
+    }
+
+    private static Authentication createAuthentication(User user) {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(
+            user.getAuthorities().stream().map(Authority::getName).toArray(String[]::new)
+        );
+        return new UsernamePasswordAuthenticationToken(user.getLogin(), null, authorities);
+    }
+
+    private long getTokenValidityInSeconds(boolean rememberMe) {
+        ApplicationProperties.RefreshToken properties = applicationProperties.getRefreshToken();
+        return rememberMe ? properties.getTokenValidityInSecondsForRememberMe() : properties.getTokenValidityInSeconds();
+    }
+
+    private String generateToken() {
+        byte[] token = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+}
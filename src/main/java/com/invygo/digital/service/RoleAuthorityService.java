@@ -1,7 +1,11 @@
 package com.invygo.digital.service;
 
 import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.criteria.RoleAuthorityCriteria;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +25,7 @@ public interface RoleAuthorityService {
      * Updates a roleAuthority.
      *
      * @param roleAuthority the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<RoleAuthority> update(RoleAuthority roleAuthority);
 
@@ -29,10 +33,18 @@ public interface RoleAuthorityService {
      * Partially updates a roleAuthority.
      *
      * @param roleAuthority the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<RoleAuthority> partialUpdate(RoleAuthority roleAuthority);
 
+    /**
+     * Partially updates a roleAuthority, without reading it back.
+     *
+     * @param roleAuthority the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(RoleAuthority roleAuthority);
+
     /**
      * Get all the roleAuthorities.
      *
@@ -40,6 +52,14 @@ public interface RoleAuthorityService {
      */
     Flux<RoleAuthority> findAll();
 
+    /**
+     * Get a page of the roleAuthorities.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<RoleAuthority> findAll(Pageable pageable);
+
     /**
      * Returns the number of roleAuthorities available.
      * @return the number of entities in the database.
@@ -47,6 +67,32 @@ public interface RoleAuthorityService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the roleAuthorities matching a criteria.
+     *
+     * @param criteria the filters on the roleAuthorities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<RoleAuthority> findByCriteria(RoleAuthorityCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the roleAuthorities matching a criteria.
+     *
+     * @param criteria the filters on the roleAuthorities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link RoleAuthorityCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<RoleAuthority> findByCriteria(RoleAuthorityCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Returns the number of roleAuthorities matching a criteria.
+     * @param criteria the filters on the roleAuthorities.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(RoleAuthorityCriteria criteria);
+
     /**
      * Get the "id" roleAuthority.
      *
@@ -55,6 +101,24 @@ public interface RoleAuthorityService {
      */
     Mono<RoleAuthority> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" roleAuthority.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<RoleAuthority> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the roleAuthorities of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<RoleAuthority>> findByIds(List<Long> ids, Set<String> fields);
+
     /**
      * Delete the "id" roleAuthority.
      *
@@ -1,7 +1,11 @@
 package com.invygo.digital.service;
 
 import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.criteria.RolesCriteria;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +25,7 @@ public interface RolesService {
      * Updates a roles.
      *
      * @param roles the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<Roles> update(Roles roles);
 
@@ -29,10 +33,18 @@ public interface RolesService {
      * Partially updates a roles.
      *
      * @param roles the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<Roles> partialUpdate(Roles roles);
 
+    /**
+     * Partially updates a roles, without reading it back.
+     *
+     * @param roles the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(Roles roles);
+
     /**
      * Get all the roles.
      *
@@ -40,6 +52,14 @@ public interface RolesService {
      */
     Flux<Roles> findAll();
 
+    /**
+     * Get a page of the roles.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<Roles> findAll(Pageable pageable);
+
     /**
      * Returns the number of roles available.
      * @return the number of entities in the database.
@@ -47,6 +67,32 @@ public interface RolesService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the roles matching a criteria.
+     *
+     * @param criteria the filters on the roles.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<Roles> findByCriteria(RolesCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the roles matching a criteria.
+     *
+     * @param criteria the filters on the roles.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link RolesCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<Roles> findByCriteria(RolesCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Returns the number of roles matching a criteria.
+     * @param criteria the filters on the roles.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(RolesCriteria criteria);
+
     /**
      * Get the "id" roles.
      *
@@ -55,6 +101,24 @@ public interface RolesService {
      */
     Mono<Roles> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" roles.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<Roles> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the roles of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<Roles>> findByIds(List<Long> ids, Set<String> fields);
+
     /**
      * Delete the "id" roles.
      *
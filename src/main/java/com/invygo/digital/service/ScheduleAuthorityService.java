@@ -1,7 +1,11 @@
 package com.invygo.digital.service;
 
 import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.criteria.ScheduleAuthorityCriteria;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +25,7 @@ public interface ScheduleAuthorityService {
      * Updates a scheduleAuthority.
      *
      * @param scheduleAuthority the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<ScheduleAuthority> update(ScheduleAuthority scheduleAuthority);
 
@@ -29,10 +33,18 @@ public interface ScheduleAuthorityService {
      * Partially updates a scheduleAuthority.
      *
      * @param scheduleAuthority the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<ScheduleAuthority> partialUpdate(ScheduleAuthority scheduleAuthority);
 
+    /**
+     * Partially updates a scheduleAuthority, without reading it back.
+     *
+     * @param scheduleAuthority the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(ScheduleAuthority scheduleAuthority);
+
     /**
      * Get all the scheduleAuthorities.
      *
@@ -40,6 +52,14 @@ public interface ScheduleAuthorityService {
      */
     Flux<ScheduleAuthority> findAll();
 
+    /**
+     * Get a page of the scheduleAuthorities.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<ScheduleAuthority> findAll(Pageable pageable);
+
     /**
      * Returns the number of scheduleAuthorities available.
      * @return the number of entities in the database.
@@ -47,6 +67,32 @@ public interface ScheduleAuthorityService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the scheduleAuthorities matching a criteria.
+     *
+     * @param criteria the filters on the scheduleAuthorities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<ScheduleAuthority> findByCriteria(ScheduleAuthorityCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the scheduleAuthorities matching a criteria.
+     *
+     * @param criteria the filters on the scheduleAuthorities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link ScheduleAuthorityCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<ScheduleAuthority> findByCriteria(ScheduleAuthorityCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Returns the number of scheduleAuthorities matching a criteria.
+     * @param criteria the filters on the scheduleAuthorities.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(ScheduleAuthorityCriteria criteria);
+
     /**
      * Get the "id" scheduleAuthority.
      *
@@ -55,6 +101,24 @@ public interface ScheduleAuthorityService {
      */
     Mono<ScheduleAuthority> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" scheduleAuthority.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<ScheduleAuthority> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the scheduleAuthorities of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<ScheduleAuthority>> findByIds(List<Long> ids, Set<String> fields);
+
     /**
      * Delete the "id" scheduleAuthority.
      *
@@ -0,0 +1,22 @@
+package com.invygo.digital.service;
+
+import java.util.List;
+
+/**
+ * Thrown when a schedule overlaps another shift of its user, or exceeds the daily or weekly hours of its user.
+ */
+public class ScheduleConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> conflicts;
+
+    public ScheduleConflictException(List<String> conflicts) {
+        super("The schedule conflicts with the other shifts of its user: " + String.join(", ", conflicts));
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+}
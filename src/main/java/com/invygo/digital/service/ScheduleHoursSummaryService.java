@@ -0,0 +1,290 @@
+package com.invygo.digital.service;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleHoursSummary;
+import com.invygo.digital.domain.enumeration.SummaryPeriod;
+import com.invygo.digital.repository.ScheduleHoursSummaryRepository;
+import com.invygo.digital.repository.ScheduleRepository;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service maintaining the {@link ScheduleHoursSummary} of the users, the total hours of their schedules per ISO week and
+ * per month.
+ * <p>
+ * The schedules are summed by the date of their work date, as it is stored. The single writes of schedules move their hours
+ * as deltas, and the bulk writes recompute the periods they touch, in the transaction of the write either way, so that the
+ * summaries are read in O(users × periods) instead of summing the schedules. The summaries are rebuilt from the schedules on
+ * demand, and once the application is ready if there are schedules but no summaries yet.
+ */
+@Service
+public class ScheduleHoursSummaryService {
+
+    private static final Comparator<PeriodKey> KEY_ORDER = Comparator
+        .comparing((PeriodKey key) -> key.userId)
+        .thenComparing(key -> key.period)
+        .thenComparing(key -> key.periodStart);
+
+    private final Logger log = LoggerFactory.getLogger(ScheduleHoursSummaryService.class);
+
+    private final ScheduleHoursSummaryRepository scheduleHoursSummaryRepository;
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ScheduleHoursSummaryService(
+        ScheduleHoursSummaryRepository scheduleHoursSummaryRepository,
+        ScheduleRepository scheduleRepository,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.scheduleHoursSummaryRepository = scheduleHoursSummaryRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Get the summaries of the periods overlapping a date range.
+     *
+     * @param period the period the hours are summed over.
+     * @param from the inclusive lower bound of the range.
+     * @param to the exclusive upper bound of the range.
+     * @param userId the id of the user whose summaries to get, or {@code null} for all the users.
+     * @return the summaries with hours, ordered by user and period.
+     */
+    @Transactional(readOnly = true)
+    public Flux<ScheduleHoursSummary> findAll(SummaryPeriod period, LocalDate from, LocalDate to, Long userId) {
+        log.debug("Request to get the {} summaries of user {} between {} and {}", period, userId, from, to);
+        LocalDate start = period.startOf(from);
+        Flux<ScheduleHoursSummary> summaries = userId == null
+            ? scheduleHoursSummaryRepository.findAllByPeriodBetween(period.name(), start, to)
+            : scheduleHoursSummaryRepository.findAllByUserIdAndPeriodBetween(userId, period.name(), start, to);
+        // the deltas leave the periods whose schedules were all removed at zero, they are not reported
+        return summaries.filter(summary -> summary.getHours() != 0);
+    }
+
+    /**
+     * Move the hours of a schedule which was written, from the periods of its previous state to the ones of its current state.
+     *
+     * @param previous the schedule before the write, {@code null} if it was created.
+     * @param current the schedule after the write, {@code null} if it was deleted.
+     */
+    @Transactional
+    public Mono<Void> replace(Schedule previous, Schedule current) {
+        Map<PeriodKey, Long> deltas = new TreeMap<>(KEY_ORDER);
+        add(deltas, previous, -1);
+        add(deltas, current, 1);
+        return addAll(deltas);
+    }
+
+    /**
+     * Add the hours of new schedules to their periods.
+     *
+     * @param schedules the created schedules.
+     */
+    @Transactional
+    public Mono<Void> addAll(Collection<Schedule> schedules) {
+        Map<PeriodKey, Long> deltas = new TreeMap<>(KEY_ORDER);
+        schedules.forEach(schedule -> add(deltas, schedule, 1));
+        return addAll(deltas);
+    }
+
+    /**
+     * Recompute the periods of written schedules from the schedules of their users, when their previous hours are unknown.
+     *
+     * @param schedules the written schedules.
+     */
+    @Transactional
+    public Mono<Void> recomputeAll(Collection<Schedule> schedules) {
+        if (schedules.isEmpty()) {
+            return Mono.empty();
+        }
+        Set<Long> userIds = schedules.stream().map(Schedule::getUserId).collect(Collectors.toSet());
+        LocalDate first = schedules.stream().map(schedule -> schedule.getWorkDate().toLocalDate()).min(Comparator.naturalOrder()).get();
+        LocalDate last = schedules.stream().map(schedule -> schedule.getWorkDate().toLocalDate()).max(Comparator.naturalOrder()).get();
+        return recompute(userIds, first, last);
+    }
+
+    /**
+     * Recompute the periods overlapping a date range from the schedules of some users.
+     *
+     * @param userIds the ids of the users.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     */
+    @Transactional
+    public Mono<Void> recompute(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to) {
+        return recompute(userIds, from.toLocalDate(), to.minusNanos(1).toLocalDate());
+    }
+
+    private Mono<Void> recompute(Collection<Long> userIds, LocalDate first, LocalDate last) {
+        Map<SummaryPeriod, LocalDate[]> ranges = new EnumMap<>(SummaryPeriod.class);
+        LocalDate from = first;
+        LocalDate to = last;
+        for (SummaryPeriod period : SummaryPeriod.values()) {
+            LocalDate[] range = { period.startOf(first), period.next(period.startOf(last)) };
+            ranges.put(period, range);
+            from = range[0].isBefore(from) ? range[0] : from;
+            to = range[1].isAfter(to) ? range[1] : to;
+        }
+        Mono<Void> deleted = Flux
+            .fromIterable(ranges.entrySet())
+            .concatMap(range ->
+                scheduleHoursSummaryRepository.deleteAllByUserIdInAndPeriodBetween(
+                    userIds,
+                    range.getKey().name(),
+                    range.getValue()[0],
+                    range.getValue()[1]
+                )
+            )
+            .then();
+        Mono<Map<PeriodKey, Long>> totals = scheduleRepository
+            .findByUserIdInAndWorkDateBetween(userIds, from.atStartOfDay(ZoneOffset.UTC), to.atStartOfDay(ZoneOffset.UTC))
+            .collect(
+                () -> new TreeMap<>(KEY_ORDER),
+                (Map<PeriodKey, Long> sums, Schedule schedule) -> add(sums, schedule, 1)
+            )
+            .map(sums -> {
+                // only the periods fully read are recomputed, not the ones of the other period type sharing the read
+                sums.keySet().removeIf(key -> !isWithin(key.periodStart, ranges.get(key.period)));
+                return sums;
+            });
+        return deleted.then(totals).flatMap(this::insertAll);
+    }
+
+    /**
+     * Rebuild all the summaries from the schedules, to backfill them. The schedules should not be written meanwhile.
+     *
+     * @return the number of summaries.
+     */
+    @Transactional
+    public Mono<Integer> rebuild() {
+        log.debug("Request to rebuild the summaries of the Schedules");
+        Mono<Map<PeriodKey, Long>> totals = scheduleRepository
+            .findAll()
+            .collect(() -> new TreeMap<>(KEY_ORDER), (Map<PeriodKey, Long> sums, Schedule schedule) -> add(sums, schedule, 1));
+        return totals.flatMap(sums -> scheduleHoursSummaryRepository.deleteAll().then(insertAll(sums)).thenReturn(sums.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Mono
+            .zip(scheduleHoursSummaryRepository.count(), scheduleRepository.count())
+            .filter(counts -> counts.getT1() == 0 && counts.getT2() > 0)
+            .flatMap(counts -> transactionalOperator.transactional(rebuild()))
+            .subscribe(
+                summaries -> log.info("Backfilled {} summaries of the Schedules", summaries),
+                e -> log.error("Could not backfill the summaries of the Schedules", e)
+            );
+    }
+
+    private Mono<Void> addAll(Map<PeriodKey, Long> deltas) {
+        // the rows are locked in the order of their keys, so concurrent writes do not deadlock
+        return Flux
+            .fromIterable(deltas.entrySet())
+            .filter(delta -> delta.getValue() != 0)
+            .concatMap(delta -> addHours(delta.getKey(), delta.getValue()))
+            .then();
+    }
+
+    private Mono<Void> addHours(PeriodKey key, long hours) {
+        Mono<Integer> update = scheduleHoursSummaryRepository.addHours(key.userId, key.period.name(), key.periodStart, hours);
+        return update
+            .flatMap(updated -> {
+                if (updated > 0) {
+                    return Mono.empty();
+                }
+                // the first schedule of the period, unless a concurrent write inserts it first
+                return scheduleHoursSummaryRepository
+                    .save(key.toSummary(hours))
+                    .then()
+                    .onErrorResume(DataIntegrityViolationException.class, e -> update.then());
+            })
+            .then();
+    }
+
+    private Mono<Void> insertAll(Map<PeriodKey, Long> totals) {
+        return Flux
+            .fromIterable(totals.entrySet())
+            .filter(total -> total.getValue() != 0)
+            .map(total -> total.getKey().toSummary(total.getValue()))
+            .buffer(applicationProperties.getBulk().getChunkSize())
+            .concatMap(scheduleHoursSummaryRepository::upsertAll)
+            .then();
+    }
+
+    private static void add(Map<PeriodKey, Long> sums, Schedule schedule, int sign) {
+        if (schedule == null || schedule.getUserId() == null || schedule.getWorkDate() == null || schedule.getHours() == null) {
+            return;
+        }
+        LocalDate workDate = schedule.getWorkDate().toLocalDate();
+        for (SummaryPeriod period : SummaryPeriod.values()) {
+            sums.merge(new PeriodKey(schedule.getUserId(), period, period.startOf(workDate)), sign * schedule.getHours(), Long::sum);
+        }
+    }
+
+    private static boolean isWithin(LocalDate date, LocalDate[] range) {
+        return !date.isBefore(range[0]) && date.isBefore(range[1]);
+    }
+
+    /**
+     * The user and period of a summary.
+     */
+    private static final class PeriodKey {
+
+        private final Long userId;
+        private final SummaryPeriod period;
+        private final LocalDate periodStart;
+
+        private PeriodKey(Long userId, SummaryPeriod period, LocalDate periodStart) {
+            this.userId = userId;
+            this.period = period;
+            this.periodStart = periodStart;
+        }
+
+        private ScheduleHoursSummary toSummary(long hours) {
+            return new ScheduleHoursSummary().userId(userId).period(period).periodStart(periodStart).hours(hours);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PeriodKey)) {
+                return false;
+            }
+            PeriodKey other = (PeriodKey) o;
+            return userId.equals(other.userId) && period == other.period && periodStart.equals(other.periodStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, period, periodStart);
+        }
+    }
+}
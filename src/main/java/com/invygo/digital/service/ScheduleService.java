@@ -1,7 +1,19 @@
 package com.invygo.digital.service;
 
+import com.invygo.digital.domain.ExpandedSchedule;
 import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ShiftTemplate;
+import com.invygo.digital.domain.criteria.ScheduleCriteria;
+import com.invygo.digital.repository.ScheduleCursor;
+import com.invygo.digital.service.dto.BulkItemResult;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import com.invygo.digital.service.dto.ScheduleGrid;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -17,11 +29,29 @@ public interface ScheduleService {
      */
     Mono<Schedule> save(Schedule schedule);
 
+    /**
+     * Save schedules in chunks, each chunk being written by a single INSERT in its own transaction.
+     * Invalid schedules are reported and skipped, they do not fail their chunk.
+     *
+     * @param schedules the entities to save.
+     * @return the outcome of each entity, in the order of the entities.
+     */
+    Flux<BulkItemResult> saveAll(Flux<Schedule> schedules);
+
+    /**
+     * Save schedules in chunks, updating the hours of the schedules which already exist for the same user and work date.
+     * Each chunk is written by a single statement in its own transaction, and the ids of the schedules are ignored.
+     *
+     * @param schedules the entities to insert or update.
+     * @return the outcome of each entity, in the order of the entities.
+     */
+    Flux<BulkItemResult> upsertAll(Flux<Schedule> schedules);
+
     /**
      * Updates a schedule.
      *
      * @param schedule the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<Schedule> update(Schedule schedule);
 
@@ -29,10 +59,18 @@ public interface ScheduleService {
      * Partially updates a schedule.
      *
      * @param schedule the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<Schedule> partialUpdate(Schedule schedule);
 
+    /**
+     * Partially updates a schedule, without reading it back.
+     *
+     * @param schedule the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(Schedule schedule);
+
     /**
      * Get all the schedules.
      *
@@ -40,6 +78,65 @@ public interface ScheduleService {
      */
     Flux<Schedule> findAll();
 
+    /**
+     * Get a page of the schedules.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<Schedule> findAll(Pageable pageable);
+
+    /**
+     * Save the occurrences of a shift template before a day as schedules, from the day after its last materialized
+     * occurrence, in chunks like {@link #saveAll(Flux)}. The template is marked as materialized until that day unless a chunk
+     * failed.
+     *
+     * @param shiftTemplate the template.
+     * @param until the day after the last occurrence to save.
+     * @return the outcome of each occurrence, numbered from 0 in order.
+     */
+    Flux<BulkItemResult> materialize(ShiftTemplate shiftTemplate, LocalDate until);
+
+    /**
+     * Get a page of the schedules of a user whose work date falls in {@code [from, to)}, ordered by work date, with the
+     * occurrences of the shift templates of the user which are not materialized yet, as schedules without id.
+     *
+     * @param userId the id of the user.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     * @param cursor the position after which the page starts, or {@code null} for the first page.
+     * @param limit the maximum number of schedules to return.
+     * @return the list of entities.
+     */
+    Flux<Schedule> findByUserIdAndWorkDateBetween(Long userId, ZonedDateTime from, ZonedDateTime to, ScheduleCursor cursor, int limit);
+
+    /**
+     * Get the users on duty within a window, whose shift of {@code hours} from its work date overlaps {@code [from, to)}.
+     *
+     * @param from the inclusive lower bound of the window.
+     * @param to the exclusive upper bound of the window.
+     * @return the sorted ids of the users.
+     */
+    Mono<long[]> findUserIdsOnDuty(ZonedDateTime from, ZonedDateTime to);
+
+    /**
+     * Get the users on duty at an instant, whose shift of {@code hours} from its work date covers it.
+     *
+     * @param at the instant.
+     * @return the sorted ids of the users.
+     */
+    Mono<long[]> findUserIdsOnDuty(ZonedDateTime at);
+
+    /**
+     * Get the hours of the schedules of some users per day in {@code [from, to)}, from a single read of their schedules.
+     *
+     * @param userIds the ids of the users, the rows of the grid in order, without duplicates.
+     * @param from the first day.
+     * @param to the day after the last day.
+     * @return the grid of the hours.
+     */
+    Mono<ScheduleGrid> findGrid(Collection<Long> userIds, LocalDate from, LocalDate to);
+
     /**
      * Returns the number of schedules available.
      * @return the number of entities in the database.
@@ -47,6 +144,49 @@ public interface ScheduleService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the schedules matching a criteria.
+     *
+     * @param criteria the filters on the schedules.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<Schedule> findByCriteria(ScheduleCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the schedules matching a criteria.
+     *
+     * @param criteria the filters on the schedules.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link ScheduleCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<Schedule> findByCriteria(ScheduleCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Get the schedules matching a criteria with the names of their users, read in the same query.
+     *
+     * @param criteria the filters on the schedules.
+     * @return the list of schedules with their users.
+     */
+    Flux<ExpandedSchedule> findExpandedByCriteria(ScheduleCriteria criteria);
+
+    /**
+     * Get a page of the schedules matching a criteria with the names of their users, read in the same query.
+     *
+     * @param criteria the filters on the schedules.
+     * @param pageable the pagination information, only sorted by {@link ScheduleCriteria#PROPERTIES}.
+     * @return the list of schedules with their users.
+     */
+    Flux<ExpandedSchedule> findExpandedByCriteria(ScheduleCriteria criteria, Pageable pageable);
+
+    /**
+     * Returns the number of schedules matching a criteria.
+     * @param criteria the filters on the schedules.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(ScheduleCriteria criteria);
+
     /**
      * Get the "id" schedule.
      *
@@ -55,6 +195,24 @@ public interface ScheduleService {
      */
     Mono<Schedule> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" schedule.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<Schedule> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the schedules of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<Schedule>> findByIds(List<Long> ids, Set<String> fields);
+
     /**
      * Delete the "id" schedule.
      *
@@ -62,4 +220,14 @@ public interface ScheduleService {
      * @return a Mono to signal the deletion
      */
     Mono<Void> delete(Long id);
+
+    /**
+     * Delete the schedules of the given users whose work date falls in {@code [from, to)}, with a single statement.
+     *
+     * @param userIds the ids of the users.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     * @return the number of deleted entities.
+     */
+    Mono<Integer> deleteByUserIdInAndWorkDateBetween(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to);
 }
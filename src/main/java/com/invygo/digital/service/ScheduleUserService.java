@@ -1,7 +1,11 @@
 package com.invygo.digital.service;
 
 import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.criteria.ScheduleUserCriteria;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +25,7 @@ public interface ScheduleUserService {
      * Updates a scheduleUser.
      *
      * @param scheduleUser the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<ScheduleUser> update(ScheduleUser scheduleUser);
 
@@ -29,10 +33,18 @@ public interface ScheduleUserService {
      * Partially updates a scheduleUser.
      *
      * @param scheduleUser the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<ScheduleUser> partialUpdate(ScheduleUser scheduleUser);
 
+    /**
+     * Partially updates a scheduleUser, without reading it back.
+     *
+     * @param scheduleUser the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(ScheduleUser scheduleUser);
+
     /**
      * Get all the scheduleUsers.
      *
@@ -40,6 +52,14 @@ public interface ScheduleUserService {
      */
     Flux<ScheduleUser> findAll();
 
+    /**
+     * Get a page of the scheduleUsers.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<ScheduleUser> findAll(Pageable pageable);
+
     /**
      * Returns the number of scheduleUsers available.
      * @return the number of entities in the database.
@@ -47,6 +67,32 @@ public interface ScheduleUserService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the scheduleUsers matching a criteria.
+     *
+     * @param criteria the filters on the scheduleUsers.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<ScheduleUser> findByCriteria(ScheduleUserCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the scheduleUsers matching a criteria.
+     *
+     * @param criteria the filters on the scheduleUsers.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link ScheduleUserCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<ScheduleUser> findByCriteria(ScheduleUserCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Returns the number of scheduleUsers matching a criteria.
+     * @param criteria the filters on the scheduleUsers.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(ScheduleUserCriteria criteria);
+
     /**
      * Get the "id" scheduleUser.
      *
@@ -55,6 +101,24 @@ public interface ScheduleUserService {
      */
     Mono<ScheduleUser> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" scheduleUser.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<ScheduleUser> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the scheduleUsers of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<ScheduleUser>> findByIds(List<Long> ids, Set<String> fields);
+
     /**
      * Delete the "id" scheduleUser.
      *
@@ -0,0 +1,83 @@
+package com.invygo.digital.service;
+
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ShiftTemplate;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for managing {@link ShiftTemplate}, and expanding the templates into the {@link Schedule}s of their
+ * occurrences.
+ */
+public interface ShiftTemplateService {
+    /**
+     * Save a new shift template, none of whose occurrences is materialized yet.
+     *
+     * @param shiftTemplate the entity to save.
+     * @return the persisted entity.
+     */
+    Mono<ShiftTemplate> save(ShiftTemplate shiftTemplate);
+
+    /**
+     * Update a shift template, whose changes apply to the occurrences which are not materialized yet.
+     *
+     * @param shiftTemplate the entity to update.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
+     */
+    Mono<ShiftTemplate> update(ShiftTemplate shiftTemplate);
+
+    /**
+     * Get the shift templates, of all the users or of one.
+     *
+     * @param userId the id of the user, or {@code null} for all the users.
+     * @return the list of entities.
+     */
+    Flux<ShiftTemplate> findAll(Long userId);
+
+    /**
+     * Get the "id" shift template.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Mono<ShiftTemplate> findOne(Long id);
+
+    /**
+     * Delete the "id" shift template; its materialized occurrences are kept as schedules.
+     *
+     * @param id the id of the entity.
+     * @return a Mono to signal the deletion
+     */
+    Mono<Void> delete(Long id);
+
+    /**
+     * Get the occurrences of the templates of a user which are not materialized yet, as schedules without id.
+     *
+     * @param userId the id of the user.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     * @return the occurrences, ordered by work date.
+     */
+    Flux<Schedule> findOccurrences(Long userId, ZonedDateTime from, ZonedDateTime to);
+
+    /**
+     * Mark the occurrences of a template before a day as materialized.
+     *
+     * @param id the id of the template.
+     * @param until the day after the last materialized occurrence.
+     * @return a Mono to signal the update.
+     */
+    Mono<Void> markMaterialized(Long id, LocalDate until);
+
+    /**
+     * Expand a template into the schedules of its occurrences.
+     *
+     * @param shiftTemplate the template.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     * @return the occurrences as schedules without id, ordered by work date, computed as they are requested.
+     */
+    Flux<Schedule> expand(ShiftTemplate shiftTemplate, ZonedDateTime from, ZonedDateTime to);
+}
@@ -1,7 +1,12 @@
 package com.invygo.digital.service;
 
 import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.domain.criteria.UserAuthorityCriteria;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +26,7 @@ public interface UserAuthorityService {
      * Updates a userAuthority.
      *
      * @param userAuthority the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<UserAuthority> update(UserAuthority userAuthority);
 
@@ -29,10 +34,18 @@ public interface UserAuthorityService {
      * Partially updates a userAuthority.
      *
      * @param userAuthority the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<UserAuthority> partialUpdate(UserAuthority userAuthority);
 
+    /**
+     * Partially updates a userAuthority, without reading it back.
+     *
+     * @param userAuthority the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(UserAuthority userAuthority);
+
     /**
      * Get all the userAuthorities.
      *
@@ -40,6 +53,14 @@ public interface UserAuthorityService {
      */
     Flux<UserAuthority> findAll();
 
+    /**
+     * Get a page of the userAuthorities.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<UserAuthority> findAll(Pageable pageable);
+
     /**
      * Returns the number of userAuthorities available.
      * @return the number of entities in the database.
@@ -47,6 +68,32 @@ public interface UserAuthorityService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the userAuthorities matching a criteria.
+     *
+     * @param criteria the filters on the userAuthorities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<UserAuthority> findByCriteria(UserAuthorityCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the userAuthorities matching a criteria.
+     *
+     * @param criteria the filters on the userAuthorities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link UserAuthorityCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<UserAuthority> findByCriteria(UserAuthorityCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Returns the number of userAuthorities matching a criteria.
+     * @param criteria the filters on the userAuthorities.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(UserAuthorityCriteria criteria);
+
     /**
      * Get the "id" userAuthority.
      *
@@ -55,6 +102,33 @@ public interface UserAuthorityService {
      */
     Mono<UserAuthority> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" userAuthority.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<UserAuthority> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the userAuthorities of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<UserAuthority>> findByIds(List<Long> ids, Set<String> fields);
+
+    /**
+     * Grant a user exactly the given roles, revoking the others.
+     *
+     * @param userId the id of the user.
+     * @param roleIds the ids of the roles of the user, none of them null.
+     * @return the userAuthorities of the user.
+     */
+    Flux<UserAuthority> updateRolesOfUser(Long userId, Collection<Long> roleIds);
+
     /**
      * Delete the "id" userAuthority.
      *
@@ -1,7 +1,11 @@
 package com.invygo.digital.service;
 
 import com.invygo.digital.domain.Users;
+import com.invygo.digital.domain.criteria.UsersCriteria;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +25,7 @@ public interface UsersService {
      * Updates a users.
      *
      * @param users the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<Users> update(Users users);
 
@@ -29,10 +33,18 @@ public interface UsersService {
      * Partially updates a users.
      *
      * @param users the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty Mono if there is no entity with the same id.
      */
     Mono<Users> partialUpdate(Users users);
 
+    /**
+     * Partially updates a users, without reading it back.
+     *
+     * @param users the entity to update partially.
+     * @return true if the entity was updated, false if there is no entity with the same id.
+     */
+    Mono<Boolean> partialUpdateWithoutResult(Users users);
+
     /**
      * Get all the users.
      *
@@ -40,6 +52,14 @@ public interface UsersService {
      */
     Flux<Users> findAll();
 
+    /**
+     * Get a page of the users.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<Users> findAll(Pageable pageable);
+
     /**
      * Returns the number of users available.
      * @return the number of entities in the database.
@@ -47,6 +67,32 @@ public interface UsersService {
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the users matching a criteria.
+     *
+     * @param criteria the filters on the users.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the list of entities.
+     */
+    Flux<Users> findByCriteria(UsersCriteria criteria, Set<String> fields);
+
+    /**
+     * Get a page of the users matching a criteria.
+     *
+     * @param criteria the filters on the users.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @param pageable the pagination information, only sorted by {@link UsersCriteria#PROPERTIES}.
+     * @return the list of entities.
+     */
+    Flux<Users> findByCriteria(UsersCriteria criteria, Set<String> fields, Pageable pageable);
+
+    /**
+     * Returns the number of users matching a criteria.
+     * @param criteria the filters on the users.
+     * @return the number of matching entities in the database.
+     */
+    Mono<Long> countByCriteria(UsersCriteria criteria);
+
     /**
      * Get the "id" users.
      *
@@ -55,6 +101,24 @@ public interface UsersService {
      */
     Mono<Users> findOne(Long id);
 
+    /**
+     * Get some fields of the "id" users.
+     *
+     * @param id the id of the entity.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entity, without the fields which were not read.
+     */
+    Mono<Users> findOne(Long id, Set<String> fields);
+
+    /**
+     * Get the users of a list of ids.
+     *
+     * @param ids the ids of the entities.
+     * @param fields the fields to read, besides the id, or {@code null} for all of them.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    Mono<EntitiesByIds<Users>> findByIds(List<Long> ids, Set<String> fields);
+
     /**
      * Delete the "id" users.
      *
@@ -0,0 +1,97 @@
+package com.invygo.digital.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The outcome of one row of a bulk write. Rows are numbered from 0 in the order they were sent.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        UPSERTED,
+        INVALID,
+        FAILED,
+    }
+
+    private long index;
+
+    private Status status;
+
+    private Long id;
+
+    private List<String> errors;
+
+    public BulkItemResult() {}
+
+    public BulkItemResult(long index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BulkItemResult created(long index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResult upserted(long index) {
+        return new BulkItemResult(index, Status.UPSERTED, null, null);
+    }
+
+    public static BulkItemResult invalid(long index, List<String> errors) {
+        return new BulkItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BulkItemResult failed(long index, String error) {
+        return new BulkItemResult(index, Status.FAILED, null, List.of(error));
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResult{" +
+            "index=" + getIndex() +
+            ", status=" + getStatus() +
+            ", id=" + getId() +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package com.invygo.digital.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The entities read by a list of ids, in the order of the ids, and the ids no entity was found for.
+ * @param <T> the type of the entities.
+ */
+public class EntitiesByIds<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> entities;
+
+    private List<Long> missingIds;
+
+    public EntitiesByIds() {}
+
+    public EntitiesByIds(List<T> entities, List<Long> missingIds) {
+        this.entities = entities;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<T> entities) {
+        this.entities = entities;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntitiesByIds{" +
+            "entities=" + entities +
+            ", missingIds=" + missingIds +
+            "}";
+    }
+}
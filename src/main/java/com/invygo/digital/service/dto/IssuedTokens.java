@@ -0,0 +1,28 @@
+package com.invygo.digital.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The JWT issued to a client, with the refresh token to renew it once it expires.
+ */
+public class IssuedTokens {
+
+    private final String idToken;
+
+    private final String refreshToken;
+
+    public IssuedTokens(String idToken, String refreshToken) {
+        this.idToken = idToken;
+        this.refreshToken = refreshToken;
+    }
+
+    @JsonProperty("id_token")
+    public String getIdToken() {
+        return idToken;
+    }
+
+    @JsonProperty("refresh_token")
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
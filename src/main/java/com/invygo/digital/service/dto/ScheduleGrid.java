@@ -0,0 +1,85 @@
+package com.invygo.digital.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * The hours of the schedules of some users per day, as a matrix with a row per user and a column per day.
+ * A schedule counts for the day its work date falls on.
+ */
+public class ScheduleGrid implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long[] userIds;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private long[][] hours;
+
+    public ScheduleGrid() {}
+
+    public ScheduleGrid(long[] userIds, LocalDate from, LocalDate to, long[][] hours) {
+        this.userIds = userIds;
+        this.from = from;
+        this.to = to;
+        this.hours = hours;
+    }
+
+    /**
+     * @return the ids of the users, the header of the rows.
+     */
+    public long[] getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(long[] userIds) {
+        this.userIds = userIds;
+    }
+
+    /**
+     * @return the day of the first column, the next columns being the following days.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    /**
+     * @return the day after the last column.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    /**
+     * @return the hours of each user, in the order of the users, on each day.
+     */
+    public long[][] getHours() {
+        return hours;
+    }
+
+    public void setHours(long[][] hours) {
+        this.hours = hours;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleGrid{" +
+            "userIds=" + Arrays.toString(getUserIds()) +
+            ", from=" + getFrom() +
+            ", to=" + getTo() +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.invygo.digital.service.impl;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the entities of a list of ids with {@code WHERE id IN (...)} queries.
+ * <p>
+ * The ids are split into IN-lists of {@code application.by-ids.chunk-size} ids, of which
+ * {@code application.by-ids.concurrency} are read at the same time. The reads must therefore not share a transaction, which
+ * would run them one after the other on its connection.
+ */
+@Component
+class ByIdsReader {
+
+    private final ApplicationProperties.ByIds properties;
+
+    ByIdsReader(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getByIds();
+    }
+
+    /**
+     * Read the entities of the given ids.
+     * @param ids the ids, of which the repeated ones are only read once.
+     * @param read reads the entities of an IN-list of ids, in any order.
+     * @param idOf the id of an entity.
+     * @param <T> the type of the entities.
+     * @return the entities in the order of the ids, and the ids without entity.
+     */
+    <T> Mono<EntitiesByIds<T>> read(List<Long> ids, Function<List<Long>, Flux<T>> read, Function<T, Long> idOf) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int chunkSize = properties.getChunkSize();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            chunks.add(distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size())));
+        }
+        return Flux
+            .fromIterable(chunks)
+            .flatMap(read, properties.getConcurrency())
+            .collectMap(idOf)
+            .map(found -> ordered(distinctIds, found));
+    }
+
+    private static <T> EntitiesByIds<T> ordered(List<Long> ids, Map<Long, T> found) {
+        List<T> entities = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T entity = found.get(id);
+            if (entity != null) {
+                entities.add(entity);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EntitiesByIds<>(entities, missingIds);
+    }
+}
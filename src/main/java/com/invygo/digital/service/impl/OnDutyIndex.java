@@ -0,0 +1,324 @@
+package com.invygo.digital.service.impl;
+
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.repository.ScheduleRepository;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory index of the shifts of the schedules, from their work date and for their hours, answering which users are on duty
+ * at an instant or within a window without reading the schedules.
+ * <p>
+ * The shifts are bucketed by day, each bucket holding the user, start and end of the shifts overlapping its day in primitive
+ * arrays, so a query only scans the buckets of its window. A shift is keyed by its user and start, like the schedules are by
+ * their user and work date. The times are the work dates as they are stored, read as UTC.
+ * <p>
+ * The index is loaded once the application is ready, and the writes of schedules are applied once their transaction commits.
+ * The writes committed while the index loads are applied again to the loaded index.
+ */
+@Component
+class OnDutyIndex {
+
+    private static final long BUCKET_SECONDS = 24 * 60 * 60;
+
+    private static final long SECONDS_PER_HOUR = 60 * 60;
+
+    private final Logger log = LoggerFactory.getLogger(OnDutyIndex.class);
+
+    private final ScheduleRepository scheduleRepository;
+
+    // the buckets and the pending changes are only read and written while holding the lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Bucket> buckets;
+
+    private List<Consumer<Map<Long, Bucket>>> pendingChanges;
+
+    private final AtomicReference<Mono<Void>> initialLoad = new AtomicReference<>();
+
+    OnDutyIndex(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loaded().subscribe(null, e -> log.error("Could not load the shifts of the schedules", e));
+    }
+
+    /**
+     * @param from the inclusive lower bound of the window.
+     * @param to the exclusive upper bound of the window.
+     * @return the sorted ids of the users with a shift overlapping the window, once the index is loaded.
+     */
+    Mono<long[]> findUserIdsOnDuty(ZonedDateTime from, ZonedDateTime to) {
+        return loaded().then(Mono.fromSupplier(() -> findUserIdsOnDuty(toSeconds(from), toSeconds(to))));
+    }
+
+    /**
+     * @param at the instant.
+     * @return the sorted ids of the users with a shift covering the instant, once the index is loaded.
+     */
+    Mono<long[]> findUserIdsOnDuty(ZonedDateTime at) {
+        long second = toSeconds(at);
+        return loaded().then(Mono.fromSupplier(() -> findUserIdsOnDuty(second, second + 1)));
+    }
+
+    /**
+     * Replace the shift of a schedule which is written, once the current transaction commits.
+     * @param previous the schedule before the write, {@code null} if it is created.
+     * @param current the schedule after the write, {@code null} if it is deleted.
+     */
+    Mono<Void> replace(Schedule previous, Schedule current) {
+        return onCommit(loaded -> {
+            remove(loaded, previous);
+            put(loaded, current);
+        });
+    }
+
+    /**
+     * Put the shifts of schedules which are created or upserted, once the current transaction commits.
+     * @param schedules the written schedules.
+     */
+    Mono<Void> putAll(Collection<Schedule> schedules) {
+        List<Schedule> written = List.copyOf(schedules);
+        return onCommit(loaded -> written.forEach(schedule -> put(loaded, schedule)));
+    }
+
+    /**
+     * Remove the shifts of some users starting within a range, once the current transaction commits.
+     * @param userIds the ids of the users.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     */
+    Mono<Void> removeAll(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to) {
+        long[] sortedUserIds = userIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        long start = toSeconds(from);
+        long end = toSeconds(to);
+        return onCommit(loaded -> removeAll(loaded, sortedUserIds, start, end));
+    }
+
+    /**
+     * Load all the shifts again, from the schedules.
+     */
+    Mono<Void> reload() {
+        return Mono
+            .fromRunnable(() -> withWriteLock(() -> pendingChanges = new ArrayList<>()))
+            .thenMany(scheduleRepository.findAll())
+            .collect(HashMap<Long, Bucket>::new, OnDutyIndex::put)
+            .doOnNext(loaded ->
+                withWriteLock(() -> {
+                    pendingChanges.forEach(change -> change.accept(loaded));
+                    pendingChanges = null;
+                    buckets = loaded;
+                })
+            )
+            .doOnError(e -> withWriteLock(() -> pendingChanges = null))
+            .doOnNext(loaded -> log.info("Loaded the shifts of the schedules in {} days", loaded.size()))
+            .then();
+    }
+
+    private Mono<Void> loaded() {
+        if (isLoaded()) {
+            return Mono.empty();
+        }
+        // the queries arriving before the index is loaded wait for the same load, which is retried by the next query if it fails
+        return initialLoad.updateAndGet(load -> load != null ? load : reload().doOnError(e -> initialLoad.set(null)).cache());
+    }
+
+    private boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return buckets != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] findUserIdsOnDuty(long from, long to) {
+        long[] userIds = new long[16];
+        int size = 0;
+        lock.readLock().lock();
+        try {
+            for (long day = Math.floorDiv(from, BUCKET_SECONDS); day <= Math.floorDiv(to - 1, BUCKET_SECONDS); day++) {
+                Bucket bucket = buckets.get(day);
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size; i++) {
+                    if (bucket.starts[i] < to && bucket.ends[i] > from) {
+                        if (size == userIds.length) {
+                            userIds = Arrays.copyOf(userIds, size * 2);
+                        }
+                        userIds[size++] = bucket.userIds[i];
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.stream(userIds, 0, size).sorted().distinct().toArray();
+    }
+
+    private Mono<Void> onCommit(Consumer<Map<Long, Bucket>> change) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(() -> apply(change));
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .switchIfEmpty(Mono.fromRunnable(() -> apply(change)))
+            .then();
+    }
+
+    private void apply(Consumer<Map<Long, Bucket>> change) {
+        withWriteLock(() -> {
+            if (buckets != null) {
+                change.accept(buckets);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable runnable) {
+        lock.writeLock().lock();
+        try {
+            runnable.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void put(Map<Long, Bucket> buckets, Schedule schedule) {
+        if (schedule == null || schedule.getUserId() == null || schedule.getWorkDate() == null || schedule.getHours() == null) {
+            return;
+        }
+        long userId = schedule.getUserId();
+        long start = toSeconds(schedule.getWorkDate());
+        long end = start + schedule.getHours() * SECONDS_PER_HOUR;
+        // the shift may replace one of the same user and start, which may span other days
+        remove(buckets, userId, start);
+        for (long day = Math.floorDiv(start, BUCKET_SECONDS); day <= Math.floorDiv(end - 1, BUCKET_SECONDS); day++) {
+            buckets.computeIfAbsent(day, key -> new Bucket()).add(userId, start, end);
+        }
+    }
+
+    private static void remove(Map<Long, Bucket> buckets, Schedule schedule) {
+        if (schedule != null && schedule.getUserId() != null && schedule.getWorkDate() != null) {
+            remove(buckets, schedule.getUserId(), toSeconds(schedule.getWorkDate()));
+        }
+    }
+
+    private static void remove(Map<Long, Bucket> buckets, long userId, long start) {
+        long firstDay = Math.floorDiv(start, BUCKET_SECONDS);
+        Bucket first = buckets.get(firstDay);
+        int index = first == null ? -1 : first.indexOf(userId, start);
+        if (index < 0) {
+            return;
+        }
+        long end = first.ends[index];
+        for (long day = firstDay; day <= Math.floorDiv(end - 1, BUCKET_SECONDS); day++) {
+            Bucket bucket = buckets.get(day);
+            if (bucket != null && bucket.remove(userId, start) && bucket.size == 0) {
+                buckets.remove(day);
+            }
+        }
+    }
+
+    private static void removeAll(Map<Long, Bucket> buckets, long[] sortedUserIds, long from, long to) {
+        for (long day = Math.floorDiv(from, BUCKET_SECONDS); day <= Math.floorDiv(to - 1, BUCKET_SECONDS); day++) {
+            Bucket bucket = buckets.get(day);
+            // a shift is found in the bucket of the day it starts on, and removed from the buckets of all its days; the bucket is
+            // scanned backwards, as a removal moves its last shift, already scanned, in place of the removed one
+            for (int i = bucket == null ? -1 : bucket.size - 1; i >= 0; i--) {
+                long start = bucket.starts[i];
+                if (
+                    start >= from &&
+                    start < to &&
+                    Math.floorDiv(start, BUCKET_SECONDS) == day &&
+                    Arrays.binarySearch(sortedUserIds, bucket.userIds[i]) >= 0
+                ) {
+                    remove(buckets, bucket.userIds[i], start);
+                }
+            }
+        }
+    }
+
+    private static long toSeconds(ZonedDateTime dateTime) {
+        // the same conversion as the schedules are written with
+        return dateTime.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * The shifts overlapping a day, in parallel arrays.
+     */
+    private static final class Bucket {
+
+        private long[] userIds = new long[4];
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private int size;
+
+        private void add(long userId, long start, long end) {
+            if (size == userIds.length) {
+                userIds = Arrays.copyOf(userIds, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            userIds[size] = userId;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        private int indexOf(long userId, long start) {
+            for (int i = 0; i < size; i++) {
+                if (userIds[i] == userId && starts[i] == start) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean remove(long userId, long start) {
+            int index = indexOf(userId, start);
+            if (index < 0) {
+                return false;
+            }
+            // the last shift takes the place of the removed one
+            size--;
+            userIds[index] = userIds[size];
+            starts[index] = starts[size];
+            ends[index] = ends[size];
+            return true;
+        }
+    }
+}
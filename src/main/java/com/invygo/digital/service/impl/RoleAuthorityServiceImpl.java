@@ -1,12 +1,22 @@
 package com.invygo.digital.service.impl;
 
 import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.criteria.RoleAuthorityCriteria;
 import com.invygo.digital.repository.RoleAuthorityRepository;
+import com.invygo.digital.security.PermissionEngine;
 import com.invygo.digital.service.RoleAuthorityService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,39 +32,69 @@ public class RoleAuthorityServiceImpl implements RoleAuthorityService {
 
     private final RoleAuthorityRepository roleAuthorityRepository;
 
-    public RoleAuthorityServiceImpl(RoleAuthorityRepository roleAuthorityRepository) {
+    private final PermissionEngine permissionEngine;
+
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    public RoleAuthorityServiceImpl(
+        RoleAuthorityRepository roleAuthorityRepository,
+        PermissionEngine permissionEngine,
+        SingleFlight singleFlight,
+        ByIdsReader byIdsReader
+    ) {
         this.roleAuthorityRepository = roleAuthorityRepository;
+        this.permissionEngine = permissionEngine;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
     }
 
     @Override
     public Mono<RoleAuthority> save(RoleAuthority roleAuthority) {
         log.debug("Request to save RoleAuthority : {}", roleAuthority);
-        return roleAuthorityRepository.save(roleAuthority);
+        return roleAuthorityRepository.save(roleAuthority).flatMap(saved -> refreshPermissions(saved.getUserId()).thenReturn(saved));
     }
 
     @Override
     public Mono<RoleAuthority> update(RoleAuthority roleAuthority) {
         log.debug("Request to save RoleAuthority : {}", roleAuthority);
-        return roleAuthorityRepository.save(roleAuthority);
+        return roleAuthorityRepository
+            .findById(roleAuthority.getId())
+            .flatMap(existing ->
+                roleAuthorityRepository
+                    .update(roleAuthority)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated -> refreshPermissions(existing.getUserId(), roleAuthority.getUserId()).thenReturn(roleAuthority))
+            );
     }
 
     @Override
     public Mono<RoleAuthority> partialUpdate(RoleAuthority roleAuthority) {
         log.debug("Request to partially update RoleAuthority : {}", roleAuthority);
-
         return roleAuthorityRepository
             .findById(roleAuthority.getId())
-            .map(existingRoleAuthority -> {
-                if (roleAuthority.getUserId() != null) {
-                    existingRoleAuthority.setUserId(roleAuthority.getUserId());
-                }
-                if (roleAuthority.getRoleId() != null) {
-                    existingRoleAuthority.setRoleId(roleAuthority.getRoleId());
-                }
+            .flatMap(existing ->
+                roleAuthorityRepository
+                    .partialUpdate(roleAuthority)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated -> roleAuthorityRepository.findById(roleAuthority.getId()))
+                    .flatMap(updated -> refreshPermissions(existing.getUserId(), updated.getUserId()).thenReturn(updated))
+            );
+    }
 
-                return existingRoleAuthority;
-            })
-            .flatMap(roleAuthorityRepository::save);
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(RoleAuthority roleAuthority) {
+        log.debug("Request to partially update RoleAuthority without reading it back : {}", roleAuthority);
+        return roleAuthorityRepository
+            .findById(roleAuthority.getId())
+            .flatMap(existing ->
+                roleAuthorityRepository
+                    .partialUpdate(roleAuthority)
+                    .map(updated -> updated > 0)
+                    .flatMap(updated -> refreshPermissions(existing.getUserId(), roleAuthority.getUserId()).thenReturn(updated))
+            )
+            .defaultIfEmpty(false);
     }
 
     @Override
@@ -64,20 +104,99 @@ public class RoleAuthorityServiceImpl implements RoleAuthorityService {
         return roleAuthorityRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RoleAuthority> findAll(Pageable pageable) {
+        log.debug("Request to get a page of RoleAuthorities");
+        return singleFlight.flux(
+            "RoleAuthority.findAll",
+            List.of(pageable),
+            () -> roleAuthorityRepository.findAllBy(pageable),
+            RoleAuthorityServiceImpl::copy
+        );
+    }
+
     public Mono<Long> countAll() {
-        return roleAuthorityRepository.count();
+        return singleFlight.mono("RoleAuthority.countAll", List.of(), roleAuthorityRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RoleAuthority> findByCriteria(RoleAuthorityCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the RoleAuthorities by criteria: {}", criteria);
+        return roleAuthorityRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RoleAuthority> findByCriteria(RoleAuthorityCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the RoleAuthorities by criteria: {}", criteria);
+        return singleFlight.flux(
+            "RoleAuthority.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> roleAuthorityRepository.findByCriteria(criteria, fields, pageable),
+            RoleAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(RoleAuthorityCriteria criteria) {
+        return singleFlight.mono(
+            "RoleAuthority.countByCriteria",
+            List.of(criteria),
+            () -> roleAuthorityRepository.countByCriteria(criteria)
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<RoleAuthority> findOne(Long id) {
         log.debug("Request to get RoleAuthority : {}", id);
-        return roleAuthorityRepository.findById(id);
+        return singleFlight.mono(
+            "RoleAuthority.findOne",
+            List.of(id),
+            () -> roleAuthorityRepository.findById(id),
+            RoleAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<RoleAuthority> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of RoleAuthority : {}", fields, id);
+        return singleFlight.mono(
+            "RoleAuthority.findOne",
+            List.of(id, fields),
+            () -> roleAuthorityRepository.findById(id, fields),
+            RoleAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<RoleAuthority>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get RoleAuthority by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> roleAuthorityRepository.findByIds(chunk, fields), RoleAuthority::getId);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete RoleAuthority : {}", id);
-        return roleAuthorityRepository.deleteById(id);
+        return roleAuthorityRepository
+            .findById(id)
+            .flatMap(existing -> roleAuthorityRepository.deleteById(id).then(refreshPermissions(existing.getUserId())))
+            .then();
+    }
+
+    private Mono<Void> refreshPermissions(Long... userIds) {
+        return permissionEngine.refreshUsersOnCommit(Stream.of(userIds).filter(Objects::nonNull).distinct().collect(Collectors.toList()));
+    }
+
+    private static RoleAuthority copy(RoleAuthority roleAuthority) {
+        return new RoleAuthority().id(roleAuthority.getId()).userId(roleAuthority.getUserId()).roleId(roleAuthority.getRoleId());
     }
 }
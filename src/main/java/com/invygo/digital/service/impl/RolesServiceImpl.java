@@ -1,12 +1,19 @@
 package com.invygo.digital.service.impl;
 
 import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.criteria.RolesCriteria;
 import com.invygo.digital.repository.RolesRepository;
+import com.invygo.digital.security.PermissionEngine;
 import com.invygo.digital.service.RolesService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,36 +29,51 @@ public class RolesServiceImpl implements RolesService {
 
     private final RolesRepository rolesRepository;
 
-    public RolesServiceImpl(RolesRepository rolesRepository) {
+    private final PermissionEngine permissionEngine;
+
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    public RolesServiceImpl(
+        RolesRepository rolesRepository,
+        PermissionEngine permissionEngine,
+        SingleFlight singleFlight,
+        ByIdsReader byIdsReader
+    ) {
         this.rolesRepository = rolesRepository;
+        this.permissionEngine = permissionEngine;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
     }
 
     @Override
     public Mono<Roles> save(Roles roles) {
         log.debug("Request to save Roles : {}", roles);
-        return rolesRepository.save(roles);
+        return rolesRepository
+            .save(roles)
+            .flatMap(saved -> permissionEngine.refreshRolesOnCommit(List.of(saved.getId())).thenReturn(saved));
     }
 
     @Override
     public Mono<Roles> update(Roles roles) {
         log.debug("Request to save Roles : {}", roles);
-        return rolesRepository.save(roles);
+        return rolesRepository.update(roles).filter(updated -> updated > 0).map(updated -> roles);
     }
 
     @Override
     public Mono<Roles> partialUpdate(Roles roles) {
         log.debug("Request to partially update Roles : {}", roles);
-
         return rolesRepository
-            .findById(roles.getId())
-            .map(existingRoles -> {
-                if (roles.getRoleName() != null) {
-                    existingRoles.setRoleName(roles.getRoleName());
-                }
+            .partialUpdate(roles)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> rolesRepository.findById(roles.getId()));
+    }
 
-                return existingRoles;
-            })
-            .flatMap(rolesRepository::save);
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(Roles roles) {
+        log.debug("Request to partially update Roles without reading it back : {}", roles);
+        return rolesRepository.partialUpdate(roles).map(updated -> updated > 0);
     }
 
     @Override
@@ -61,20 +83,73 @@ public class RolesServiceImpl implements RolesService {
         return rolesRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Roles> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Roles");
+        return singleFlight.flux("Roles.findAll", List.of(pageable), () -> rolesRepository.findAllBy(pageable), RolesServiceImpl::copy);
+    }
+
     public Mono<Long> countAll() {
-        return rolesRepository.count();
+        return singleFlight.mono("Roles.countAll", List.of(), rolesRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Roles> findByCriteria(RolesCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the Roles by criteria: {}", criteria);
+        return rolesRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Roles> findByCriteria(RolesCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the Roles by criteria: {}", criteria);
+        return singleFlight.flux(
+            "Roles.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> rolesRepository.findByCriteria(criteria, fields, pageable),
+            RolesServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(RolesCriteria criteria) {
+        return singleFlight.mono("Roles.countByCriteria", List.of(criteria), () -> rolesRepository.countByCriteria(criteria));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<Roles> findOne(Long id) {
         log.debug("Request to get Roles : {}", id);
-        return rolesRepository.findById(id);
+        return singleFlight.mono("Roles.findOne", List.of(id), () -> rolesRepository.findById(id), RolesServiceImpl::copy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Roles> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of Roles : {}", fields, id);
+        return singleFlight.mono("Roles.findOne", List.of(id, fields), () -> rolesRepository.findById(id, fields), RolesServiceImpl::copy);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<Roles>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get Roles by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> rolesRepository.findByIds(chunk, fields), Roles::getId);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Roles : {}", id);
-        return rolesRepository.deleteById(id);
+        return rolesRepository.deleteById(id).then(permissionEngine.refreshRolesOnCommit(List.of(id)));
+    }
+
+    private static Roles copy(Roles roles) {
+        return new Roles().id(roles.getId()).roleName(roles.getRoleName());
     }
 }
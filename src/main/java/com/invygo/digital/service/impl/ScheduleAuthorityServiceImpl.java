@@ -1,12 +1,22 @@
 package com.invygo.digital.service.impl;
 
 import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.criteria.ScheduleAuthorityCriteria;
 import com.invygo.digital.repository.ScheduleAuthorityRepository;
+import com.invygo.digital.security.PermissionEngine;
 import com.invygo.digital.service.ScheduleAuthorityService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,36 +32,73 @@ public class ScheduleAuthorityServiceImpl implements ScheduleAuthorityService {
 
     private final ScheduleAuthorityRepository scheduleAuthorityRepository;
 
-    public ScheduleAuthorityServiceImpl(ScheduleAuthorityRepository scheduleAuthorityRepository) {
+    private final PermissionEngine permissionEngine;
+
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    public ScheduleAuthorityServiceImpl(
+        ScheduleAuthorityRepository scheduleAuthorityRepository,
+        PermissionEngine permissionEngine,
+        SingleFlight singleFlight,
+        ByIdsReader byIdsReader
+    ) {
         this.scheduleAuthorityRepository = scheduleAuthorityRepository;
+        this.permissionEngine = permissionEngine;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
     }
 
     @Override
     public Mono<ScheduleAuthority> save(ScheduleAuthority scheduleAuthority) {
         log.debug("Request to save ScheduleAuthority : {}", scheduleAuthority);
-        return scheduleAuthorityRepository.save(scheduleAuthority);
+        return scheduleAuthorityRepository
+            .save(scheduleAuthority)
+            .flatMap(saved -> refreshPermissions(saved.getRoleId()).thenReturn(saved));
     }
 
     @Override
     public Mono<ScheduleAuthority> update(ScheduleAuthority scheduleAuthority) {
         log.debug("Request to save ScheduleAuthority : {}", scheduleAuthority);
-        return scheduleAuthorityRepository.save(scheduleAuthority);
+        return scheduleAuthorityRepository
+            .findById(scheduleAuthority.getId())
+            .flatMap(existing ->
+                scheduleAuthorityRepository
+                    .update(scheduleAuthority)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated ->
+                        refreshPermissions(existing.getRoleId(), scheduleAuthority.getRoleId()).thenReturn(scheduleAuthority)
+                    )
+            );
     }
 
     @Override
     public Mono<ScheduleAuthority> partialUpdate(ScheduleAuthority scheduleAuthority) {
         log.debug("Request to partially update ScheduleAuthority : {}", scheduleAuthority);
-
         return scheduleAuthorityRepository
             .findById(scheduleAuthority.getId())
-            .map(existingScheduleAuthority -> {
-                if (scheduleAuthority.getName() != null) {
-                    existingScheduleAuthority.setName(scheduleAuthority.getName());
-                }
+            .flatMap(existing ->
+                scheduleAuthorityRepository
+                    .partialUpdate(scheduleAuthority)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated -> scheduleAuthorityRepository.findById(scheduleAuthority.getId()))
+                    .flatMap(updated -> refreshPermissions(existing.getRoleId(), updated.getRoleId()).thenReturn(updated))
+            );
+    }
 
-                return existingScheduleAuthority;
-            })
-            .flatMap(scheduleAuthorityRepository::save);
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(ScheduleAuthority scheduleAuthority) {
+        log.debug("Request to partially update ScheduleAuthority without reading it back : {}", scheduleAuthority);
+        return scheduleAuthorityRepository
+            .findById(scheduleAuthority.getId())
+            .flatMap(existing ->
+                scheduleAuthorityRepository
+                    .partialUpdate(scheduleAuthority)
+                    .map(updated -> updated > 0)
+                    .flatMap(updated -> refreshPermissions(existing.getRoleId(), scheduleAuthority.getRoleId()).thenReturn(updated))
+            )
+            .defaultIfEmpty(false);
     }
 
     @Override
@@ -61,20 +108,102 @@ public class ScheduleAuthorityServiceImpl implements ScheduleAuthorityService {
         return scheduleAuthorityRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ScheduleAuthority> findAll(Pageable pageable) {
+        log.debug("Request to get a page of ScheduleAuthorities");
+        return singleFlight.flux(
+            "ScheduleAuthority.findAll",
+            List.of(pageable),
+            () -> scheduleAuthorityRepository.findAllBy(pageable),
+            ScheduleAuthorityServiceImpl::copy
+        );
+    }
+
     public Mono<Long> countAll() {
-        return scheduleAuthorityRepository.count();
+        return singleFlight.mono("ScheduleAuthority.countAll", List.of(), scheduleAuthorityRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ScheduleAuthority> findByCriteria(ScheduleAuthorityCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the ScheduleAuthorities by criteria: {}", criteria);
+        return scheduleAuthorityRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ScheduleAuthority> findByCriteria(ScheduleAuthorityCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the ScheduleAuthorities by criteria: {}", criteria);
+        return singleFlight.flux(
+            "ScheduleAuthority.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> scheduleAuthorityRepository.findByCriteria(criteria, fields, pageable),
+            ScheduleAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(ScheduleAuthorityCriteria criteria) {
+        return singleFlight.mono(
+            "ScheduleAuthority.countByCriteria",
+            List.of(criteria),
+            () -> scheduleAuthorityRepository.countByCriteria(criteria)
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<ScheduleAuthority> findOne(Long id) {
         log.debug("Request to get ScheduleAuthority : {}", id);
-        return scheduleAuthorityRepository.findById(id);
+        return singleFlight.mono(
+            "ScheduleAuthority.findOne",
+            List.of(id),
+            () -> scheduleAuthorityRepository.findById(id),
+            ScheduleAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<ScheduleAuthority> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of ScheduleAuthority : {}", fields, id);
+        return singleFlight.mono(
+            "ScheduleAuthority.findOne",
+            List.of(id, fields),
+            () -> scheduleAuthorityRepository.findById(id, fields),
+            ScheduleAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<ScheduleAuthority>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get ScheduleAuthority by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> scheduleAuthorityRepository.findByIds(chunk, fields), ScheduleAuthority::getId);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete ScheduleAuthority : {}", id);
-        return scheduleAuthorityRepository.deleteById(id);
+        return scheduleAuthorityRepository
+            .findById(id)
+            .flatMap(existing -> scheduleAuthorityRepository.deleteById(id).then(refreshPermissions(existing.getRoleId())))
+            .then();
+    }
+
+    private Mono<Void> refreshPermissions(Long... roleIds) {
+        return permissionEngine.refreshRolesOnCommit(Stream.of(roleIds).filter(Objects::nonNull).distinct().collect(Collectors.toList()));
+    }
+
+    private static ScheduleAuthority copy(ScheduleAuthority scheduleAuthority) {
+        return new ScheduleAuthority()
+            .id(scheduleAuthority.getId())
+            .name(scheduleAuthority.getName())
+            .roleId(scheduleAuthority.getRoleId());
     }
 }
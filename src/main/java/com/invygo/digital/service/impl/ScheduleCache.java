@@ -0,0 +1,206 @@
+package com.invygo.digital.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.management.CacheMetersService;
+import com.invygo.digital.repository.ScheduleCursor;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through caches of the schedules, by id and by user and date range, in front of the repository.
+ * <p>
+ * The concurrent reads of a missing entry share a single load. The writes evict the schedules they touch right away, and again
+ * once their transaction completes, so that a read racing with the transaction does not keep the rows it replaces. Evicting a
+ * user only records when it happened: the entries of that user loaded before are dropped as they are read, so a write does not
+ * scan the entries of the other users.
+ */
+@Component
+class ScheduleCache {
+
+    static final String BY_ID_CACHE_NAME = "schedules.by-id";
+
+    static final String BY_USER_RANGE_CACHE_NAME = "schedules.by-user-range";
+
+    private final AsyncCache<Long, Stamped<Schedule>> byId;
+
+    private final AsyncCache<RangeKey, Stamped<List<Schedule>>> byUserRange;
+
+    private final AtomicLong stamps = new AtomicLong();
+
+    // the stamp of the last eviction of each modified user, kept while the application runs: the number of users bounds them
+    private final Map<Long, Long> evictions = new ConcurrentHashMap<>();
+
+    ScheduleCache(ApplicationProperties applicationProperties, CacheMetersService cacheMetersService) {
+        this.byId = cacheMetersService.monitor(newCache(applicationProperties.getScheduleCache()), BY_ID_CACHE_NAME);
+        this.byUserRange = cacheMetersService.monitor(newCache(applicationProperties.getScheduleCache()), BY_USER_RANGE_CACHE_NAME);
+    }
+
+    private static <K, V> AsyncCache<K, V> newCache(ApplicationProperties.ScheduleCache properties) {
+        return Caffeine
+            .newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfterWrite(Duration.ofSeconds(properties.getTimeToLiveSeconds()))
+            .recordStats()
+            .buildAsync();
+    }
+
+    Mono<Schedule> findById(Long id, Supplier<Mono<Schedule>> load) {
+        // each reader gets its own copy, through its own dependent future, so that cancelling a read does not cancel the shared load
+        return Mono.fromFuture(() -> get(byId, id, Schedule::getUserId, () -> load.get().toFuture()).thenApply(ScheduleCache::copy));
+    }
+
+    Flux<Schedule> findByUserIdAndWorkDateBetween(
+        Long userId,
+        ZonedDateTime from,
+        ZonedDateTime to,
+        ScheduleCursor cursor,
+        int limit,
+        Supplier<Flux<Schedule>> load
+    ) {
+        RangeKey rangeKey = new RangeKey(userId, from, to, cursor, limit);
+        return Mono
+            .fromFuture(() ->
+                get(byUserRange, rangeKey, schedules -> userId, () -> load.get().collectList().toFuture())
+                    .thenApply(schedules -> schedules.stream().map(ScheduleCache::copy).collect(Collectors.toList()))
+            )
+            .flatMapIterable(schedules -> schedules);
+    }
+
+    /**
+     * Evict a schedule and all the schedules of some users, now and once the current transaction completes.
+     * @param id the id of the schedule, if any.
+     * @param userIds the ids of the users whose schedules were written.
+     */
+    Mono<Void> evict(Long id, Collection<Long> userIds) {
+        Runnable eviction = () -> {
+            if (id != null) {
+                byId.synchronous().invalidate(id);
+            }
+            long stamp = stamps.incrementAndGet();
+            userIds.stream().filter(Objects::nonNull).forEach(userId -> evictions.merge(userId, stamp, Math::max));
+        };
+        return Mono
+            .fromRunnable(eviction)
+            .then(
+                TransactionSynchronizationManager
+                    .forCurrentTransaction()
+                    .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                    .doOnNext(synchronizationManager ->
+                        synchronizationManager.registerSynchronization(
+                            new TransactionSynchronization() {
+                                @Override
+                                public Mono<Void> afterCompletion(int status) {
+                                    return Mono.fromRunnable(eviction);
+                                }
+                            }
+                        )
+                    )
+                    .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                    .then()
+            );
+    }
+
+    /**
+     * Get an entry, loading it when it is missing or when its user was evicted since the load started.
+     */
+    private <K, V> CompletableFuture<V> get(
+        AsyncCache<K, Stamped<V>> cache,
+        K key,
+        Function<V, Long> userOf,
+        Supplier<CompletableFuture<V>> load
+    ) {
+        return cache
+            .get(
+                key,
+                (k, executor) -> {
+                    long stamp = stamps.get();
+                    return load.get().thenApply(value -> value == null ? null : new Stamped<>(value, userOf.apply(value), stamp));
+                }
+            )
+            .thenCompose(stamped -> {
+                if (stamped == null || stamped.userId == null || evictions.getOrDefault(stamped.userId, 0L) <= stamped.stamp) {
+                    return CompletableFuture.completedFuture(stamped == null ? null : stamped.value);
+                }
+                cache.synchronous().asMap().remove(key, stamped);
+                return get(cache, key, userOf, load);
+            });
+    }
+
+    static Schedule copy(Schedule schedule) {
+        return schedule == null
+            ? null
+            : new Schedule().id(schedule.getId()).userId(schedule.getUserId()).workDate(schedule.getWorkDate()).hours(schedule.getHours());
+    }
+
+    private static final class Stamped<V> {
+
+        private final V value;
+        private final Long userId;
+        private final long stamp;
+
+        private Stamped(V value, Long userId, long stamp) {
+            this.value = value;
+            this.userId = userId;
+            this.stamp = stamp;
+        }
+    }
+
+    private static final class RangeKey {
+
+        private final Long userId;
+        private final ZonedDateTime from;
+        private final ZonedDateTime to;
+        private final ScheduleCursor cursor;
+        private final int limit;
+
+        private RangeKey(Long userId, ZonedDateTime from, ZonedDateTime to, ScheduleCursor cursor, int limit) {
+            this.userId = userId;
+            this.from = from;
+            this.to = to;
+            this.cursor = cursor;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RangeKey)) {
+                return false;
+            }
+            RangeKey other = (RangeKey) o;
+            return (
+                limit == other.limit &&
+                Objects.equals(userId, other.userId) &&
+                Objects.equals(from, other.from) &&
+                Objects.equals(to, other.to) &&
+                Objects.equals(cursor, other.cursor)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, from, to, cursor, limit);
+        }
+    }
+}
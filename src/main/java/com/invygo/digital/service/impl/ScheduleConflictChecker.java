@@ -0,0 +1,210 @@
+package com.invygo.digital.service.impl;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.enumeration.SummaryPeriod;
+import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.service.ScheduleConflictException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Checks the schedules against the other shifts of their user before they are written: a shift must not overlap another one,
+ * and the shifts starting on the same day or in the same ISO week must not exceed {@code application.schedule-capacity}.
+ * <p>
+ * The other shifts are read from the schedules of the user around the written ones, with the {@code (user_id, work_date)}
+ * index. The check and the write hold the lock of the user, striped on its id, until their transaction completes, so that the
+ * concurrent writes of the same user are checked one after the other.
+ */
+@Component
+class ScheduleConflictChecker {
+
+    private static final long SECONDS_PER_HOUR = 60 * 60;
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final ApplicationProperties.ScheduleCapacity properties;
+
+    private final StripedLock locks;
+
+    ScheduleConflictChecker(ScheduleRepository scheduleRepository, ApplicationProperties applicationProperties) {
+        this.scheduleRepository = scheduleRepository;
+        this.properties = applicationProperties.getScheduleCapacity();
+        this.locks = new StripedLock(properties.getLockStripes());
+    }
+
+    /**
+     * Check a schedule, then write it.
+     *
+     * @param schedule the schedule as it is written, replacing the schedule of the same id.
+     * @param write the write of the schedule.
+     * @return the result of the write, or a {@link ScheduleConflictException} if the schedule conflicts with the other shifts.
+     */
+    <T> Mono<T> checking(Schedule schedule, Mono<T> write) {
+        return locks.locking(
+            Collections.singletonList(schedule.getUserId()),
+            findConflicts(List.of(schedule), false)
+                .flatMap(conflicts -> conflicts.get(0).isEmpty() ? write : Mono.error(new ScheduleConflictException(conflicts.get(0))))
+        );
+    }
+
+    /**
+     * Check schedules written in bulk, then write them.
+     *
+     * @param schedules the schedules, checked against each other in order as well.
+     * @param replacing whether the schedules replace the ones of the same user and work date.
+     * @param write the write of the schedules, from the conflicts of each schedule, empty if it has none.
+     * @return the result of the write.
+     */
+    <T> Mono<T> checkingAll(List<Schedule> schedules, boolean replacing, Function<List<List<String>>, Mono<T>> write) {
+        Set<Long> userIds = schedules.stream().map(Schedule::getUserId).collect(Collectors.toSet());
+        return locks.locking(userIds, findConflicts(schedules, replacing).flatMap(write));
+    }
+
+    Mono<List<List<String>>> findConflicts(List<Schedule> schedules, boolean replacing) {
+        List<Shift> shifts = new ArrayList<>(schedules.size());
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        // an overlapping shift starts at most the longest shift before this one
+        long longestShift = properties.getMaxHoursPerDay() * SECONDS_PER_HOUR;
+        for (Schedule schedule : schedules) {
+            Shift shift = Shift.of(schedule);
+            shifts.add(shift);
+            if (shift != null) {
+                from = Math.min(from, Math.min(toSeconds(shift.week), shift.start - longestShift));
+                to = Math.max(to, Math.max(toSeconds(shift.week.plusWeeks(1)), shift.end));
+            }
+        }
+        if (from > to) {
+            return Mono.just(shifts.stream().map(shift -> List.<String>of()).collect(Collectors.toList()));
+        }
+        Set<Long> userIds = shifts.stream().filter(Objects::nonNull).map(shift -> shift.userId).collect(Collectors.toSet());
+        return scheduleRepository
+            .findByUserIdInAndWorkDateBetween(userIds, toDateTime(from), toDateTime(to))
+            .collectList()
+            .map(existing -> findConflicts(shifts, existing, replacing));
+    }
+
+    private List<List<String>> findConflicts(List<Shift> shifts, List<Schedule> existing, boolean replacing) {
+        // the shifts which are written replace the ones of the same id, or of the same user and start when replacing
+        Set<Long> replacedIds = new HashSet<>();
+        Map<Long, Set<Long>> replacedStarts = new HashMap<>();
+        for (Shift shift : shifts) {
+            if (shift != null && shift.id != null) {
+                replacedIds.add(shift.id);
+            }
+            if (shift != null && replacing) {
+                replacedStarts.computeIfAbsent(shift.userId, userId -> new HashSet<>()).add(shift.start);
+            }
+        }
+        Map<Long, List<Shift>> shiftsByUser = new HashMap<>();
+        for (Schedule schedule : existing) {
+            Shift shift = Shift.of(schedule);
+            if (
+                shift != null &&
+                !replacedIds.contains(shift.id) &&
+                !replacedStarts.getOrDefault(shift.userId, Set.of()).contains(shift.start)
+            ) {
+                shiftsByUser.computeIfAbsent(shift.userId, userId -> new ArrayList<>()).add(shift);
+            }
+        }
+
+        List<List<String>> conflicts = new ArrayList<>(shifts.size());
+        for (Shift shift : shifts) {
+            if (shift == null) {
+                conflicts.add(List.of());
+                continue;
+            }
+            List<Shift> others = shiftsByUser.computeIfAbsent(shift.userId, userId -> new ArrayList<>());
+            List<String> errors = findConflicts(shift, others);
+            if (errors.isEmpty()) {
+                // the following schedules written with this one are checked against it
+                others.add(shift);
+            }
+            conflicts.add(errors);
+        }
+        return conflicts;
+    }
+
+    private List<String> findConflicts(Shift shift, List<Shift> others) {
+        List<String> errors = new ArrayList<>();
+        if (shift.hours < 1 || shift.hours > properties.getMaxHoursPerDay()) {
+            errors.add("hours: must be between 1 and " + properties.getMaxHoursPerDay());
+            return errors;
+        }
+        long dayHours = shift.hours;
+        long weekHours = shift.hours;
+        for (Shift other : others) {
+            if (other.start < shift.end && other.end > shift.start) {
+                LocalDateTime otherStart = LocalDateTime.ofEpochSecond(other.start, 0, ZoneOffset.UTC);
+                errors.add("workDate: overlaps the shift of the user starting at " + otherStart);
+            }
+            if (other.day.equals(shift.day)) {
+                dayHours += other.hours;
+            }
+            if (other.week.equals(shift.week)) {
+                weekHours += other.hours;
+            }
+        }
+        if (dayHours > properties.getMaxHoursPerDay()) {
+            errors.add("hours: exceeds the " + properties.getMaxHoursPerDay() + " hours of the user on " + shift.day);
+        }
+        if (weekHours > properties.getMaxHoursPerWeek()) {
+            errors.add("hours: exceeds the " + properties.getMaxHoursPerWeek() + " hours of the user in the week of " + shift.week);
+        }
+        return errors;
+    }
+
+    private static long toSeconds(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static ZonedDateTime toDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC).atZone(ZoneOffset.UTC);
+    }
+
+    /**
+     * The shift of a schedule, with its times as they are stored, read as UTC.
+     */
+    private static final class Shift {
+
+        private final Long id;
+        private final long userId;
+        private final long start;
+        private final long end;
+        private final long hours;
+        private final LocalDate day;
+        private final LocalDate week;
+
+        private Shift(Long id, long userId, LocalDateTime start, long hours) {
+            this.id = id;
+            this.userId = userId;
+            this.start = start.toEpochSecond(ZoneOffset.UTC);
+            this.end = this.start + hours * SECONDS_PER_HOUR;
+            this.hours = hours;
+            this.day = start.toLocalDate();
+            this.week = SummaryPeriod.WEEK.startOf(day);
+        }
+
+        private static Shift of(Schedule schedule) {
+            if (schedule == null || schedule.getUserId() == null || schedule.getWorkDate() == null || schedule.getHours() == null) {
+                return null;
+            }
+            return new Shift(schedule.getId(), schedule.getUserId(), schedule.getWorkDate().toLocalDateTime(), schedule.getHours());
+        }
+    }
+}
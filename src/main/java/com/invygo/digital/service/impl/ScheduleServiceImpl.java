@@ -1,15 +1,49 @@
 package com.invygo.digital.service.impl;
 
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.ExpandedSchedule;
 import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.ShiftTemplate;
+import com.invygo.digital.domain.criteria.ScheduleCriteria;
+import com.invygo.digital.repository.ScheduleCursor;
 import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.service.ScheduleHoursSummaryService;
 import com.invygo.digital.service.ScheduleService;
+import com.invygo.digital.service.ShiftTemplateService;
+import com.invygo.digital.service.dto.BulkItemResult;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import com.invygo.digital.service.dto.ScheduleGrid;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Service Implementation for managing {@link Schedule}.
@@ -18,46 +52,229 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class ScheduleServiceImpl implements ScheduleService {
 
+    // the stored schedule comes before the occurrence of a template at the same work date, which it hides
+    private static final Comparator<Schedule> WORK_DATE_ORDER = Comparator
+        .comparing((Schedule schedule) -> schedule.getWorkDate().toLocalDateTime())
+        .thenComparing(schedule -> schedule.getId() == null);
+
     private final Logger log = LoggerFactory.getLogger(ScheduleServiceImpl.class);
 
     private final ScheduleRepository scheduleRepository;
 
-    public ScheduleServiceImpl(ScheduleRepository scheduleRepository) {
+    private final Validator validator;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ScheduleCache scheduleCache;
+
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    private final ScheduleHoursSummaryService scheduleHoursSummaryService;
+
+    private final OnDutyIndex onDutyIndex;
+
+    private final ScheduleConflictChecker scheduleConflictChecker;
+
+    private final ShiftTemplateService shiftTemplateService;
+
+    public ScheduleServiceImpl(
+        ScheduleRepository scheduleRepository,
+        Validator validator,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties,
+        ScheduleCache scheduleCache,
+        SingleFlight singleFlight,
+        ByIdsReader byIdsReader,
+        ScheduleHoursSummaryService scheduleHoursSummaryService,
+        OnDutyIndex onDutyIndex,
+        ScheduleConflictChecker scheduleConflictChecker,
+        ShiftTemplateService shiftTemplateService
+    ) {
         this.scheduleRepository = scheduleRepository;
+        this.validator = validator;
+        this.transactionalOperator = transactionalOperator;
+        this.applicationProperties = applicationProperties;
+        this.scheduleCache = scheduleCache;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
+        this.scheduleHoursSummaryService = scheduleHoursSummaryService;
+        this.onDutyIndex = onDutyIndex;
+        this.scheduleConflictChecker = scheduleConflictChecker;
+        this.shiftTemplateService = shiftTemplateService;
     }
 
     @Override
     public Mono<Schedule> save(Schedule schedule) {
         log.debug("Request to save Schedule : {}", schedule);
-        return scheduleRepository.save(schedule);
+        return writing(schedule.getId(), previous -> schedule, scheduleRepository.save(schedule), (previous, saved) -> saved);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResult> saveAll(Flux<Schedule> schedules) {
+        log.debug("Request to save Schedules in bulk");
+        return writeInChunks(
+            schedules,
+            true,
+            this::insertChunk,
+            (index, schedule) -> BulkItemResult.created(index, schedule.getId())
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResult> upsertAll(Flux<Schedule> schedules) {
+        log.debug("Request to upsert Schedules in bulk");
+        return writeInChunks(
+            schedules,
+            false,
+            this::upsertChunk,
+            (index, schedule) -> BulkItemResult.upserted(index)
+        );
+    }
+
+    private Mono<Void> insertChunk(List<Schedule> schedules) {
+        return scheduleRepository
+            .insertAll(schedules)
+            .then(scheduleHoursSummaryService.addAll(schedules))
+            .then(onDutyIndex.putAll(schedules));
+    }
+
+    private Mono<Void> upsertChunk(List<Schedule> schedules) {
+        return scheduleRepository
+            .upsertAll(schedules)
+            .then(scheduleHoursSummaryService.recomputeAll(schedules))
+            .then(onDutyIndex.putAll(schedules));
+    }
+
+    private Flux<BulkItemResult> writeInChunks(
+        Flux<Schedule> schedules,
+        boolean newSchedules,
+        Function<List<Schedule>, Mono<Void>> write,
+        BiFunction<Long, Schedule, BulkItemResult> written
+    ) {
+        return schedules
+            .index()
+            .buffer(applicationProperties.getBulk().getChunkSize())
+            .concatMap(chunk -> writeChunk(chunk, newSchedules, write, written));
+    }
+
+    private Flux<BulkItemResult> writeChunk(
+        List<Tuple2<Long, Schedule>> chunk,
+        boolean newSchedules,
+        Function<List<Schedule>, Mono<Void>> write,
+        BiFunction<Long, Schedule, BulkItemResult> written
+    ) {
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        List<Schedule> validSchedules = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            List<String> errors = validate(chunk.get(i).getT2(), newSchedules);
+            if (errors.isEmpty()) {
+                validSchedules.add(chunk.get(i).getT2());
+            } else {
+                results[i] = BulkItemResult.invalid(chunk.get(i).getT1(), errors);
+            }
+        }
+        if (validSchedules.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+
+        // the schedules conflicting with the other shifts of their user are invalid, the other ones are written
+        Mono<List<Schedule>> accepted = scheduleConflictChecker.checkingAll(
+            validSchedules,
+            !newSchedules,
+            conflicts -> {
+                List<Schedule> acceptedSchedules = new ArrayList<>(validSchedules.size());
+                for (int i = 0, j = 0; i < chunk.size(); i++) {
+                    if (results[i] == null) {
+                        List<String> errors = conflicts.get(j++);
+                        if (errors.isEmpty()) {
+                            acceptedSchedules.add(chunk.get(i).getT2());
+                        } else {
+                            results[i] = BulkItemResult.invalid(chunk.get(i).getT1(), errors);
+                        }
+                    }
+                }
+                return acceptedSchedules.isEmpty()
+                    ? Mono.just(acceptedSchedules)
+                    : write.apply(acceptedSchedules).thenReturn(acceptedSchedules);
+            }
+        );
+        return transactionalOperator
+            .transactional(accepted)
+            .flatMap(schedules -> scheduleCache.evict(null, schedules.stream().map(Schedule::getUserId).collect(Collectors.toSet())))
+            .then(Mono.fromSupplier(() -> complete(chunk, results, written)))
+            .onErrorResume(e -> {
+                log.warn("Could not write a chunk of {} Schedules", validSchedules.size(), e);
+                return Mono.just(complete(chunk, results, (index, schedule) -> BulkItemResult.failed(index, "Could not write the chunk")));
+            })
+            .flatMapIterable(Arrays::asList);
+    }
+
+    private List<String> validate(Schedule schedule, boolean newSchedule) {
+        List<String> errors = validator
+            .validate(schedule)
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (newSchedule && schedule.getId() != null) {
+            errors.add(0, "id: must be null");
+        }
+        return errors;
+    }
+
+    private static BulkItemResult[] complete(
+        List<Tuple2<Long, Schedule>> chunk,
+        BulkItemResult[] results,
+        BiFunction<Long, Schedule, BulkItemResult> result
+    ) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = result.apply(chunk.get(i).getT1(), chunk.get(i).getT2());
+            }
+        }
+        return results;
     }
 
     @Override
     public Mono<Schedule> update(Schedule schedule) {
         log.debug("Request to save Schedule : {}", schedule);
-        return scheduleRepository.save(schedule);
+        return writing(
+            schedule.getId(),
+            previous -> schedule,
+            scheduleRepository.update(schedule).filter(updated -> updated > 0).map(updated -> schedule),
+            (previous, updated) -> updated
+        );
     }
 
     @Override
     public Mono<Schedule> partialUpdate(Schedule schedule) {
         log.debug("Request to partially update Schedule : {}", schedule);
+        return writing(
+            schedule.getId(),
+            previous -> patched(previous, schedule),
+            scheduleRepository
+                .partialUpdate(schedule)
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> scheduleRepository.findById(schedule.getId())),
+            (previous, updated) -> updated
+        );
+    }
 
-        return scheduleRepository
-            .findById(schedule.getId())
-            .map(existingSchedule -> {
-                if (schedule.getUserId() != null) {
-                    existingSchedule.setUserId(schedule.getUserId());
-                }
-                if (schedule.getWorkDate() != null) {
-                    existingSchedule.setWorkDate(schedule.getWorkDate());
-                }
-                if (schedule.getHours() != null) {
-                    existingSchedule.setHours(schedule.getHours());
-                }
-
-                return existingSchedule;
-            })
-            .flatMap(scheduleRepository::save);
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(Schedule schedule) {
+        log.debug("Request to partially update Schedule without reading it back : {}", schedule);
+        return writing(
+            schedule.getId(),
+            previous -> patched(previous, schedule),
+            scheduleRepository.partialUpdate(schedule).map(updated -> updated > 0),
+            (previous, updated) -> updated ? patched(previous, schedule) : previous
+        );
     }
 
     @Override
@@ -67,20 +284,268 @@ public class ScheduleServiceImpl implements ScheduleService {
         return scheduleRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Schedule> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Schedules");
+        return singleFlight.flux("Schedule.findAll", List.of(pageable), () -> scheduleRepository.findAllBy(pageable), ScheduleCache::copy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Schedule> findByUserIdAndWorkDateBetween(
+        Long userId,
+        ZonedDateTime from,
+        ZonedDateTime to,
+        ScheduleCursor cursor,
+        int limit
+    ) {
+        log.debug("Request to get Schedules of user {} between {} and {} after {}", userId, from, to, cursor);
+        // the cache already joins the concurrent loads of a range
+        Flux<Schedule> stored = scheduleCache.findByUserIdAndWorkDateBetween(
+            userId,
+            from,
+            to,
+            cursor,
+            limit,
+            () -> scheduleRepository.findByUserIdAndWorkDateBetween(userId, from, to, cursor, limit)
+        );
+        // the occurrences of the templates which are not materialized are merged in, after the cursor as well
+        ZonedDateTime occurrencesFrom = cursor == null || cursor.getWorkDate().isBefore(from) ? from : cursor.getWorkDate();
+        Flux<Schedule> occurrences = shiftTemplateService
+            .findOccurrences(userId, occurrencesFrom, to)
+            .filter(occurrence ->
+                cursor == null || occurrence.getWorkDate().toLocalDateTime().isAfter(cursor.getWorkDate().toLocalDateTime())
+            )
+            .take(limit);
+        return Flux
+            .mergeComparing(WORK_DATE_ORDER, stored, occurrences)
+            .distinctUntilChanged(schedule -> schedule.getWorkDate().toLocalDateTime())
+            .take(limit);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResult> materialize(ShiftTemplate shiftTemplate, LocalDate until) {
+        log.debug("Request to materialize the occurrences of ShiftTemplate {} before {}", shiftTemplate.getId(), until);
+        LocalDate from = shiftTemplate.getMaterializedUntil() == null ? shiftTemplate.getStartDate() : shiftTemplate.getMaterializedUntil();
+        if (!from.isBefore(until)) {
+            return Flux.empty();
+        }
+        // the occurrences are expanded as the chunks are written; an occurrence at the work date of a stored schedule conflicts
+        // with it and is reported as invalid, so the materialization can be run again once a chunk failed
+        AtomicBoolean failed = new AtomicBoolean();
+        return saveAll(shiftTemplateService.expand(shiftTemplate, from.atStartOfDay(ZoneOffset.UTC), until.atStartOfDay(ZoneOffset.UTC)))
+            .doOnNext(result -> {
+                if (result.getStatus() == BulkItemResult.Status.FAILED) {
+                    failed.set(true);
+                }
+            })
+            .concatWith(
+                Mono
+                    .defer(() -> failed.get() ? Mono.<Void>empty() : shiftTemplateService.markMaterialized(shiftTemplate.getId(), until))
+                    .then(Mono.empty())
+            );
+    }
+
+    @Override
+    public Mono<long[]> findUserIdsOnDuty(ZonedDateTime from, ZonedDateTime to) {
+        log.debug("Request to get the users on duty between {} and {}", from, to);
+        return onDutyIndex.findUserIdsOnDuty(from, to);
+    }
+
+    @Override
+    public Mono<long[]> findUserIdsOnDuty(ZonedDateTime at) {
+        log.debug("Request to get the users on duty at {}", at);
+        return onDutyIndex.findUserIdsOnDuty(at);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<ScheduleGrid> findGrid(Collection<Long> userIds, LocalDate from, LocalDate to) {
+        log.debug("Request to get the grid of the Schedules of {} users between {} and {}", userIds.size(), from, to);
+        long[] rows = userIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().toArray();
+        Map<Long, Integer> rowOf = new HashMap<>(rows.length * 2);
+        for (int i = 0; i < rows.length; i++) {
+            rowOf.put(rows[i], i);
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        long firstDay = from.toEpochDay();
+        if (rows.length == 0 || days <= 0) {
+            return Mono.just(new ScheduleGrid(rows, from, to, new long[rows.length][Math.max(days, 0)]));
+        }
+        // the schedules are added to the cell of their user and of the day of their work date as it is stored, in one pass
+        return scheduleRepository
+            .findByUserIdInAndWorkDateBetween(rowOf.keySet(), from.atStartOfDay(ZoneOffset.UTC), to.atStartOfDay(ZoneOffset.UTC))
+            .collect(
+                () -> new long[rows.length][days],
+                (hours, schedule) -> {
+                    Integer row = rowOf.get(schedule.getUserId());
+                    long day = schedule.getWorkDate().toLocalDate().toEpochDay() - firstDay;
+                    if (row != null && day >= 0 && day < days && schedule.getHours() != null) {
+                        hours[row][(int) day] += schedule.getHours();
+                    }
+                }
+            )
+            .map(hours -> new ScheduleGrid(rows, from, to, hours));
+    }
+
     public Mono<Long> countAll() {
-        return scheduleRepository.count();
+        return singleFlight.mono("Schedule.countAll", List.of(), scheduleRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Schedule> findByCriteria(ScheduleCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the Schedules by criteria: {}", criteria);
+        return scheduleRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Schedule> findByCriteria(ScheduleCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the Schedules by criteria: {}", criteria);
+        return singleFlight.flux(
+            "Schedule.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> scheduleRepository.findByCriteria(criteria, fields, pageable),
+            ScheduleCache::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ExpandedSchedule> findExpandedByCriteria(ScheduleCriteria criteria) {
+        log.debug("Request to get the expanded Schedules by criteria: {}", criteria);
+        return scheduleRepository.findExpandedByCriteria(criteria, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ExpandedSchedule> findExpandedByCriteria(ScheduleCriteria criteria, Pageable pageable) {
+        log.debug("Request to get a page of the expanded Schedules by criteria: {}", criteria);
+        return singleFlight.flux(
+            "Schedule.findExpandedByCriteria",
+            List.of(criteria, pageable),
+            () -> scheduleRepository.findExpandedByCriteria(criteria, pageable),
+            ScheduleServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(ScheduleCriteria criteria) {
+        return singleFlight.mono("Schedule.countByCriteria", List.of(criteria), () -> scheduleRepository.countByCriteria(criteria));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<Schedule> findOne(Long id) {
         log.debug("Request to get Schedule : {}", id);
-        return scheduleRepository.findById(id);
+        // the cache already joins the concurrent loads of a schedule
+        return scheduleCache.findById(id, () -> scheduleRepository.findById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Schedule> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of Schedule : {}", fields, id);
+        return singleFlight.mono(
+            "Schedule.findOne",
+            List.of(id, fields),
+            () -> scheduleRepository.findById(id, fields),
+            ScheduleCache::copy
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<Schedule>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get Schedule by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> scheduleRepository.findByIds(chunk, fields), Schedule::getId);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Schedule : {}", id);
-        return scheduleRepository.deleteById(id);
+        return writing(id, previous -> null, scheduleRepository.deleteById(id).then(Mono.just(true)), (previous, deleted) -> null).then();
+    }
+
+    @Override
+    public Mono<Integer> deleteByUserIdInAndWorkDateBetween(Collection<Long> userIds, ZonedDateTime from, ZonedDateTime to) {
+        log.debug("Request to delete Schedules of users {} between {} and {}", userIds, from, to);
+        return scheduleRepository
+            .deleteByUserIdInAndWorkDateBetween(userIds, from, to)
+            .flatMap(deleted ->
+                scheduleHoursSummaryService
+                    .recompute(userIds, from, to)
+                    .then(onDutyIndex.removeAll(userIds, from, to))
+                    .then(scheduleCache.evict(null, Set.copyOf(userIds)))
+                    .thenReturn(deleted)
+            );
+    }
+
+    /**
+     * Check a schedule against the other shifts of its user and write it, then move its hours in the summaries and its shift in
+     * the index, and evict the cached schedules it touches.
+     * <p>
+     * The schedule may move to another user, so the schedules of both its previous and its new user are evicted.
+     *
+     * @param id the id of the schedule, {@code null} if it is created.
+     * @param checked the schedule as it is written, from the schedule before the write, {@code null} if it is deleted.
+     * @param write the write of the schedule.
+     * @param current the schedule after the write, from the schedule before the write and the result of the write.
+     */
+    private <T> Mono<T> writing(
+        Long id,
+        Function<Schedule, Schedule> checked,
+        Mono<T> write,
+        BiFunction<Schedule, T, Schedule> current
+    ) {
+        Mono<Optional<Schedule>> previous = (id == null ? Mono.<Schedule>empty() : scheduleRepository.findById(id))
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty());
+        return previous.flatMap(before -> {
+            Schedule target = checked.apply(before.orElse(null));
+            Mono<T> written = write.flatMap(result -> {
+                Schedule after = current.apply(before.orElse(null), result);
+                Set<Long> userIds = Stream
+                    .concat(before.stream(), Stream.ofNullable(after))
+                    .map(Schedule::getUserId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+                return scheduleHoursSummaryService
+                    .replace(before.orElse(null), after)
+                    .then(onDutyIndex.replace(before.orElse(null), after))
+                    .then(scheduleCache.evict(id, userIds))
+                    .thenReturn(result);
+            });
+            return target == null ? written : scheduleConflictChecker.checking(target, written);
+        });
+    }
+
+    /**
+     * @return the schedule after a partial update, which keeps the current value of the properties the patch leaves out.
+     */
+    private static Schedule patched(Schedule previous, Schedule patch) {
+        if (previous == null) {
+            return null;
+        }
+        return new Schedule()
+            .id(previous.getId())
+            .userId(Objects.requireNonNullElse(patch.getUserId(), previous.getUserId()))
+            .workDate(Objects.requireNonNullElse(patch.getWorkDate(), previous.getWorkDate()))
+            .hours(Objects.requireNonNullElse(patch.getHours(), previous.getHours()));
+    }
+
+    private static ExpandedSchedule copy(ExpandedSchedule expandedSchedule) {
+        ScheduleUser user = expandedSchedule.getUser();
+        return new ExpandedSchedule(
+            ScheduleCache.copy(expandedSchedule.getSchedule()),
+            user == null ? null : ScheduleUserServiceImpl.copy(user)
+        );
     }
 }
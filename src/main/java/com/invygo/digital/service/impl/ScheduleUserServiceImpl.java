@@ -1,12 +1,18 @@
 package com.invygo.digital.service.impl;
 
 import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.criteria.ScheduleUserCriteria;
 import com.invygo.digital.repository.ScheduleUserRepository;
 import com.invygo.digital.service.ScheduleUserService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,8 +28,14 @@ public class ScheduleUserServiceImpl implements ScheduleUserService {
 
     private final ScheduleUserRepository scheduleUserRepository;
 
-    public ScheduleUserServiceImpl(ScheduleUserRepository scheduleUserRepository) {
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    public ScheduleUserServiceImpl(ScheduleUserRepository scheduleUserRepository, SingleFlight singleFlight, ByIdsReader byIdsReader) {
         this.scheduleUserRepository = scheduleUserRepository;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
     }
 
     @Override
@@ -35,35 +47,22 @@ public class ScheduleUserServiceImpl implements ScheduleUserService {
     @Override
     public Mono<ScheduleUser> update(ScheduleUser scheduleUser) {
         log.debug("Request to save ScheduleUser : {}", scheduleUser);
-        return scheduleUserRepository.save(scheduleUser);
+        return scheduleUserRepository.update(scheduleUser).filter(updated -> updated > 0).map(updated -> scheduleUser);
     }
 
     @Override
     public Mono<ScheduleUser> partialUpdate(ScheduleUser scheduleUser) {
         log.debug("Request to partially update ScheduleUser : {}", scheduleUser);
-
         return scheduleUserRepository
-            .findById(scheduleUser.getId())
-            .map(existingScheduleUser -> {
-                if (scheduleUser.getEmail() != null) {
-                    existingScheduleUser.setEmail(scheduleUser.getEmail());
-                }
-                if (scheduleUser.getLogin() != null) {
-                    existingScheduleUser.setLogin(scheduleUser.getLogin());
-                }
-                if (scheduleUser.getFirstname() != null) {
-                    existingScheduleUser.setFirstname(scheduleUser.getFirstname());
-                }
-                if (scheduleUser.getLastname() != null) {
-                    existingScheduleUser.setLastname(scheduleUser.getLastname());
-                }
-                if (scheduleUser.getPassword() != null) {
-                    existingScheduleUser.setPassword(scheduleUser.getPassword());
-                }
-
-                return existingScheduleUser;
-            })
-            .flatMap(scheduleUserRepository::save);
+            .partialUpdate(scheduleUser)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> scheduleUserRepository.findById(scheduleUser.getId()));
+    }
+
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(ScheduleUser scheduleUser) {
+        log.debug("Request to partially update ScheduleUser without reading it back : {}", scheduleUser);
+        return scheduleUserRepository.partialUpdate(scheduleUser).map(updated -> updated > 0);
     }
 
     @Override
@@ -73,15 +72,79 @@ public class ScheduleUserServiceImpl implements ScheduleUserService {
         return scheduleUserRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ScheduleUser> findAll(Pageable pageable) {
+        log.debug("Request to get a page of ScheduleUsers");
+        return singleFlight.flux(
+            "ScheduleUser.findAll",
+            List.of(pageable),
+            () -> scheduleUserRepository.findAllBy(pageable),
+            ScheduleUserServiceImpl::copy
+        );
+    }
+
     public Mono<Long> countAll() {
-        return scheduleUserRepository.count();
+        return singleFlight.mono("ScheduleUser.countAll", List.of(), scheduleUserRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ScheduleUser> findByCriteria(ScheduleUserCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the ScheduleUsers by criteria: {}", criteria);
+        return scheduleUserRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ScheduleUser> findByCriteria(ScheduleUserCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the ScheduleUsers by criteria: {}", criteria);
+        return singleFlight.flux(
+            "ScheduleUser.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> scheduleUserRepository.findByCriteria(criteria, fields, pageable),
+            ScheduleUserServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(ScheduleUserCriteria criteria) {
+        return singleFlight.mono("ScheduleUser.countByCriteria", List.of(criteria), () -> scheduleUserRepository.countByCriteria(criteria));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<ScheduleUser> findOne(Long id) {
         log.debug("Request to get ScheduleUser : {}", id);
-        return scheduleUserRepository.findById(id);
+        return singleFlight.mono(
+            "ScheduleUser.findOne",
+            List.of(id),
+            () -> scheduleUserRepository.findById(id),
+            ScheduleUserServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<ScheduleUser> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of ScheduleUser : {}", fields, id);
+        return singleFlight.mono(
+            "ScheduleUser.findOne",
+            List.of(id, fields),
+            () -> scheduleUserRepository.findById(id, fields),
+            ScheduleUserServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<ScheduleUser>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get ScheduleUser by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> scheduleUserRepository.findByIds(chunk, fields), ScheduleUser::getId);
     }
 
     @Override
@@ -89,4 +152,14 @@ public class ScheduleUserServiceImpl implements ScheduleUserService {
         log.debug("Request to delete ScheduleUser : {}", id);
         return scheduleUserRepository.deleteById(id);
     }
+
+    static ScheduleUser copy(ScheduleUser scheduleUser) {
+        return new ScheduleUser()
+            .id(scheduleUser.getId())
+            .email(scheduleUser.getEmail())
+            .login(scheduleUser.getLogin())
+            .firstname(scheduleUser.getFirstname())
+            .lastname(scheduleUser.getLastname())
+            .password(scheduleUser.getPassword());
+    }
 }
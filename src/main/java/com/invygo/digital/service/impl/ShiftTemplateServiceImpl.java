@@ -0,0 +1,117 @@
+package com.invygo.digital.service.impl;
+
+import com.invygo.digital.domain.Recurrence;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ShiftTemplate;
+import com.invygo.digital.repository.ShiftTemplateRepository;
+import com.invygo.digital.service.ShiftTemplateService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for managing {@link ShiftTemplate}, and expanding the templates into the {@link Schedule}s of their
+ * occurrences.
+ * <p>
+ * The occurrences are computed one at a time as they are read, so a template without an end, or read over a long range, is
+ * never expanded in memory. Their work dates are the start dates and times of the occurrences, as the work dates are stored.
+ */
+@Service
+@Transactional
+public class ShiftTemplateServiceImpl implements ShiftTemplateService {
+
+    private static final Comparator<Schedule> WORK_DATE_ORDER = Comparator.comparing(schedule ->
+        schedule.getWorkDate().toLocalDateTime()
+    );
+
+    private final Logger log = LoggerFactory.getLogger(ShiftTemplateServiceImpl.class);
+
+    private final ShiftTemplateRepository shiftTemplateRepository;
+
+    public ShiftTemplateServiceImpl(ShiftTemplateRepository shiftTemplateRepository) {
+        this.shiftTemplateRepository = shiftTemplateRepository;
+    }
+
+    @Override
+    public Mono<ShiftTemplate> save(ShiftTemplate shiftTemplate) {
+        log.debug("Request to save ShiftTemplate : {}", shiftTemplate);
+        return shiftTemplateRepository.save(shiftTemplate.materializedUntil(null));
+    }
+
+    @Override
+    public Mono<ShiftTemplate> update(ShiftTemplate shiftTemplate) {
+        log.debug("Request to update ShiftTemplate : {}", shiftTemplate);
+        return shiftTemplateRepository
+            .findById(shiftTemplate.getId())
+            .flatMap(existing -> shiftTemplateRepository.save(shiftTemplate.materializedUntil(existing.getMaterializedUntil())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<ShiftTemplate> findAll(Long userId) {
+        log.debug("Request to get the ShiftTemplates of user {}", userId);
+        return userId == null ? shiftTemplateRepository.findAll() : shiftTemplateRepository.findAllByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<ShiftTemplate> findOne(Long id) {
+        log.debug("Request to get ShiftTemplate : {}", id);
+        return shiftTemplateRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        log.debug("Request to delete ShiftTemplate : {}", id);
+        return shiftTemplateRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Schedule> findOccurrences(Long userId, ZonedDateTime from, ZonedDateTime to) {
+        return shiftTemplateRepository
+            .findAllByUserId(userId)
+            .map(template -> {
+                LocalDate materializedUntil = template.getMaterializedUntil();
+                return expand(template, materializedUntil == null ? null : materializedUntil.atStartOfDay(ZoneOffset.UTC), from, to);
+            })
+            .reduce((merged, occurrences) -> merged.mergeComparingWith(occurrences, WORK_DATE_ORDER))
+            .flatMapMany(merged -> merged);
+    }
+
+    @Override
+    public Mono<Void> markMaterialized(Long id, LocalDate until) {
+        log.debug("Request to mark the occurrences of ShiftTemplate {} before {} as materialized", id, until);
+        return shiftTemplateRepository.updateMaterializedUntil(id, until).then();
+    }
+
+    @Override
+    public Flux<Schedule> expand(ShiftTemplate shiftTemplate, ZonedDateTime from, ZonedDateTime to) {
+        return expand(shiftTemplate, null, from, to);
+    }
+
+    private Flux<Schedule> expand(ShiftTemplate shiftTemplate, ZonedDateTime notBefore, ZonedDateTime from, ZonedDateTime to) {
+        Recurrence recurrence = Recurrence.parse(shiftTemplate.getRecurrence());
+        // compare the wall clock times, as the work dates are stored
+        LocalDateTime lower = notBefore != null && notBefore.toLocalDateTime().isAfter(from.toLocalDateTime())
+            ? notBefore.toLocalDateTime()
+            : from.toLocalDateTime();
+        LocalDateTime upper = to.toLocalDateTime();
+        return Flux
+            .fromIterable(() -> recurrence.occurrences(shiftTemplate.getStartDate(), lower.toLocalDate()))
+            .map(day -> LocalDateTime.of(day, shiftTemplate.getStartTime()))
+            .takeWhile(start -> start.isBefore(upper))
+            .filter(start -> !start.isBefore(lower))
+            .map(start ->
+                new Schedule().userId(shiftTemplate.getUserId()).workDate(start.atZone(ZoneOffset.UTC)).hours(shiftTemplate.getHours())
+            );
+    }
+}
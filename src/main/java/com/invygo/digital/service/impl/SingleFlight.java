@@ -0,0 +1,154 @@
+package com.invygo.digital.service.impl;
+
+import com.invygo.digital.management.SingleFlightMetersService;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Joins the concurrent identical reads of the services onto a single execution.
+ * <p>
+ * A read is identified by the name of its query and its parameters. While it is in flight, the identical reads subscribe to it
+ * instead of querying the database again, and they all complete with its result. The read is forgotten as soon as it signals,
+ * so the following reads query the database again.
+ * <p>
+ * The shared read belongs to none of its callers: it runs without their Reactor context, so outside the transaction of the
+ * first of them, and on a connection of its own which no caller can close under the others by cancelling or completing.
+ * The caller which started the read gets the values as read. The callers which joined it get their own copies, taken before
+ * any caller is given the values, so that every caller may modify the entities it is given; nothing is copied when no caller
+ * joined.
+ */
+@Component
+class SingleFlight {
+
+    private final Map<Key, Flight<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final SingleFlightMetersService singleFlightMetersService;
+
+    SingleFlight(SingleFlightMetersService singleFlightMetersService) {
+        this.singleFlightMetersService = singleFlightMetersService;
+    }
+
+    /**
+     * Join a read of an immutable value, such as a count.
+     */
+    <T> Mono<T> mono(String query, List<?> parameters, Supplier<Mono<T>> read) {
+        return mono(query, parameters, read, UnaryOperator.identity());
+    }
+
+    /**
+     * Join a read of an entity, copied by {@code copy} for the callers which joined the read.
+     */
+    <T> Mono<T> mono(String query, List<?> parameters, Supplier<Mono<T>> read, UnaryOperator<T> copy) {
+        return shared(query, parameters, read, copy);
+    }
+
+    /**
+     * Join a read of entities, each copied by {@code copy} for the callers which joined the read.
+     */
+    <T> Flux<T> flux(String query, List<?> parameters, Supplier<Flux<T>> read, UnaryOperator<T> copy) {
+        // a caller joining a read in flight must still get all its rows, so the rows are gathered before being replayed
+        return shared(
+            query,
+            parameters,
+            () -> read.get().collectList(),
+            rows -> rows.stream().map(copy).collect(Collectors.toList())
+        )
+            .flatMapIterable(rows -> rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> shared(String query, List<?> parameters, Supplier<Mono<T>> read, UnaryOperator<T> copy) {
+        return Mono.defer(() -> {
+            Key key = new Key(query, parameters);
+            boolean[] started = new boolean[1];
+            // joining happens under the lock of the key, so a caller either joins before the read signals or starts a new one
+            Flight<T> flight = (Flight<T>) inFlight.compute(
+                key,
+                (k, joined) -> {
+                    if (joined != null) {
+                        joined.joiners.incrementAndGet();
+                        return joined;
+                    }
+                    started[0] = true;
+                    return new Flight<>(k, read, copy);
+                }
+            );
+            if (started[0]) {
+                singleFlightMetersService.trackExecuted(query);
+                return flight.result.map(result -> result.value);
+            }
+            singleFlightMetersService.trackCoalesced(query);
+            return flight.result.map(result -> copy.apply(result.snapshot));
+        });
+    }
+
+    private final class Flight<T> {
+
+        private final AtomicInteger joiners = new AtomicInteger();
+
+        private final Mono<Result<T>> result;
+
+        private Flight(Key key, Supplier<Mono<T>> read, UnaryOperator<T> copy) {
+            // the read runs to its end even if all its callers cancel, it is a single query
+            this.result =
+                read
+                    .get()
+                    .map(value -> {
+                        // no caller joins once the value is read, and the ones which did get copies of a snapshot of it
+                        inFlight.remove(key, this);
+                        return new Result<>(value, joiners.get() > 0 ? copy.apply(value) : null);
+                    })
+                    .doFinally(signal -> inFlight.remove(key, this))
+                    .contextWrite(context -> Context.empty())
+                    .cache();
+        }
+    }
+
+    private static final class Result<T> {
+
+        private final T value;
+        private final T snapshot;
+
+        private Result(T value, T snapshot) {
+            this.value = value;
+            this.snapshot = snapshot;
+        }
+    }
+    private static final class Key {
+
+        private final String query;
+        private final List<?> parameters;
+
+        private Key(String query, List<?> parameters) {
+            this.query = query;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return query.equals(other.query) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, parameters);
+        }
+    }
+}
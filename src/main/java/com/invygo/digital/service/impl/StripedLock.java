@@ -0,0 +1,156 @@
+package com.invygo.digital.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Locks striped on a key, acquired without blocking a thread: an acquisition waiting for a stripe resumes once the stripe is
+ * released, in the order the stripe was asked for.
+ */
+final class StripedLock {
+
+    private final Stripe[] stripes;
+
+    StripedLock(int stripes) {
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Run a write holding the stripes of some keys, until the current transaction completes, or until the write terminates if
+     * there is no transaction.
+     * <p>
+     * The stripes are acquired in ascending order, so that the writes holding several stripes do not deadlock.
+     *
+     * @param keys the keys to lock.
+     * @param write the write.
+     * @return the result of the write.
+     */
+    <T> Mono<T> locking(Collection<Long> keys, Mono<T> write) {
+        int[] indexes = keys.stream().filter(Objects::nonNull).mapToInt(this::stripeOf).sorted().distinct().toArray();
+        return Mono.defer(() -> {
+            Held held = new Held(indexes);
+            return Flux
+                .range(0, indexes.length)
+                .concatMap(i -> stripes[indexes[i]].acquire().doOnSuccess(acquired -> held.acquired.incrementAndGet()))
+                .then(releaseOnCompletion(held))
+                .then(write)
+                .doFinally(signal -> {
+                    if (!held.releasedOnCompletion) {
+                        held.release();
+                    }
+                });
+        });
+    }
+
+    private Mono<Void> releaseOnCompletion(Held held) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager -> {
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(held::release);
+                        }
+                    }
+                );
+                held.releasedOnCompletion = true;
+            })
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then();
+    }
+
+    int stripeOf(long key) {
+        return (int) Math.floorMod(Long.hashCode(key) * 0x9E3779B9L, (long) stripes.length);
+    }
+
+    /**
+     * The stripes held by a write.
+     */
+    private final class Held {
+
+        private final int[] indexes;
+        private final AtomicInteger acquired = new AtomicInteger();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean releasedOnCompletion;
+
+        private Held(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                for (int i = acquired.get() - 1; i >= 0; i--) {
+                    stripes[indexes[i]].release();
+                }
+            }
+        }
+    }
+
+    /**
+     * A lock handed over to its waiters in order.
+     */
+    private static final class Stripe {
+
+        private final Queue<MonoSink<Void>> waiters = new ArrayDeque<>();
+
+        private boolean locked;
+
+        private Mono<Void> acquire() {
+            return Mono.create(sink -> {
+                boolean acquired;
+                synchronized (this) {
+                    acquired = !locked;
+                    if (acquired) {
+                        locked = true;
+                    } else {
+                        waiters.add(sink);
+                    }
+                }
+                if (acquired) {
+                    sink.success();
+                } else {
+                    sink.onCancel(() -> cancel(sink));
+                }
+            });
+        }
+
+        private void release() {
+            MonoSink<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    locked = false;
+                }
+            }
+            if (next != null) {
+                next.success();
+            }
+        }
+
+        private void cancel(MonoSink<Void> waiter) {
+            boolean waiting;
+            synchronized (this) {
+                waiting = waiters.remove(waiter);
+            }
+            if (!waiting) {
+                // the stripe was handed over to the cancelled waiter, which passes it on
+                release();
+            }
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package com.invygo.digital.service.impl;
 
 import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.domain.criteria.UserAuthorityCriteria;
 import com.invygo.digital.repository.UserAuthorityRepository;
+import com.invygo.digital.security.PermissionEngine;
 import com.invygo.digital.service.UserAuthorityService;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,39 +33,69 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
 
     private final UserAuthorityRepository userAuthorityRepository;
 
-    public UserAuthorityServiceImpl(UserAuthorityRepository userAuthorityRepository) {
+    private final PermissionEngine permissionEngine;
+
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    public UserAuthorityServiceImpl(
+        UserAuthorityRepository userAuthorityRepository,
+        PermissionEngine permissionEngine,
+        SingleFlight singleFlight,
+        ByIdsReader byIdsReader
+    ) {
         this.userAuthorityRepository = userAuthorityRepository;
+        this.permissionEngine = permissionEngine;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
     }
 
     @Override
     public Mono<UserAuthority> save(UserAuthority userAuthority) {
         log.debug("Request to save UserAuthority : {}", userAuthority);
-        return userAuthorityRepository.save(userAuthority);
+        return userAuthorityRepository.save(userAuthority).flatMap(saved -> refreshPermissions(saved.getUserId()).thenReturn(saved));
     }
 
     @Override
     public Mono<UserAuthority> update(UserAuthority userAuthority) {
         log.debug("Request to save UserAuthority : {}", userAuthority);
-        return userAuthorityRepository.save(userAuthority);
+        return userAuthorityRepository
+            .findById(userAuthority.getId())
+            .flatMap(existing ->
+                userAuthorityRepository
+                    .update(userAuthority)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated -> refreshPermissions(existing.getUserId(), userAuthority.getUserId()).thenReturn(userAuthority))
+            );
     }
 
     @Override
     public Mono<UserAuthority> partialUpdate(UserAuthority userAuthority) {
         log.debug("Request to partially update UserAuthority : {}", userAuthority);
-
         return userAuthorityRepository
             .findById(userAuthority.getId())
-            .map(existingUserAuthority -> {
-                if (userAuthority.getUserId() != null) {
-                    existingUserAuthority.setUserId(userAuthority.getUserId());
-                }
-                if (userAuthority.getRoleId() != null) {
-                    existingUserAuthority.setRoleId(userAuthority.getRoleId());
-                }
+            .flatMap(existing ->
+                userAuthorityRepository
+                    .partialUpdate(userAuthority)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated -> userAuthorityRepository.findById(userAuthority.getId()))
+                    .flatMap(updated -> refreshPermissions(existing.getUserId(), updated.getUserId()).thenReturn(updated))
+            );
+    }
 
-                return existingUserAuthority;
-            })
-            .flatMap(userAuthorityRepository::save);
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(UserAuthority userAuthority) {
+        log.debug("Request to partially update UserAuthority without reading it back : {}", userAuthority);
+        return userAuthorityRepository
+            .findById(userAuthority.getId())
+            .flatMap(existing ->
+                userAuthorityRepository
+                    .partialUpdate(userAuthority)
+                    .map(updated -> updated > 0)
+                    .flatMap(updated -> refreshPermissions(existing.getUserId(), userAuthority.getUserId()).thenReturn(updated))
+            )
+            .defaultIfEmpty(false);
     }
 
     @Override
@@ -64,20 +105,108 @@ public class UserAuthorityServiceImpl implements UserAuthorityService {
         return userAuthorityRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<UserAuthority> findAll(Pageable pageable) {
+        log.debug("Request to get a page of UserAuthorities");
+        return singleFlight.flux(
+            "UserAuthority.findAll",
+            List.of(pageable),
+            () -> userAuthorityRepository.findAllBy(pageable),
+            UserAuthorityServiceImpl::copy
+        );
+    }
+
     public Mono<Long> countAll() {
-        return userAuthorityRepository.count();
+        return singleFlight.mono("UserAuthority.countAll", List.of(), userAuthorityRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<UserAuthority> findByCriteria(UserAuthorityCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the UserAuthorities by criteria: {}", criteria);
+        return userAuthorityRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<UserAuthority> findByCriteria(UserAuthorityCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the UserAuthorities by criteria: {}", criteria);
+        return singleFlight.flux(
+            "UserAuthority.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> userAuthorityRepository.findByCriteria(criteria, fields, pageable),
+            UserAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(UserAuthorityCriteria criteria) {
+        return singleFlight.mono(
+            "UserAuthority.countByCriteria",
+            List.of(criteria),
+            () -> userAuthorityRepository.countByCriteria(criteria)
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<UserAuthority> findOne(Long id) {
         log.debug("Request to get UserAuthority : {}", id);
-        return userAuthorityRepository.findById(id);
+        return singleFlight.mono(
+            "UserAuthority.findOne",
+            List.of(id),
+            () -> userAuthorityRepository.findById(id),
+            UserAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<UserAuthority> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of UserAuthority : {}", fields, id);
+        return singleFlight.mono(
+            "UserAuthority.findOne",
+            List.of(id, fields),
+            () -> userAuthorityRepository.findById(id, fields),
+            UserAuthorityServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<UserAuthority>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get UserAuthority by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> userAuthorityRepository.findByIds(chunk, fields), UserAuthority::getId);
+    }
+
+    @Override
+    public Flux<UserAuthority> updateRolesOfUser(Long userId, Collection<Long> roleIds) {
+        log.debug("Request to update the roles of user {} to {}", userId, roleIds);
+        return userAuthorityRepository
+            .updateRolesOfUser(userId, roleIds)
+            .flatMap(updated -> refreshPermissions(userId))
+            .thenMany(Flux.defer(() -> userAuthorityRepository.findAllByUserId(userId)));
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete UserAuthority : {}", id);
-        return userAuthorityRepository.deleteById(id);
+        return userAuthorityRepository
+            .findById(id)
+            .flatMap(existing -> userAuthorityRepository.deleteById(id).then(refreshPermissions(existing.getUserId())))
+            .then();
+    }
+
+    private Mono<Void> refreshPermissions(Long... userIds) {
+        return permissionEngine.refreshUsersOnCommit(Stream.of(userIds).filter(Objects::nonNull).distinct().collect(Collectors.toList()));
+    }
+
+    private static UserAuthority copy(UserAuthority userAuthority) {
+        return new UserAuthority().id(userAuthority.getId()).userId(userAuthority.getUserId()).roleId(userAuthority.getRoleId());
     }
 }
@@ -1,12 +1,18 @@
 package com.invygo.digital.service.impl;
 
 import com.invygo.digital.domain.Users;
+import com.invygo.digital.domain.criteria.UsersCriteria;
 import com.invygo.digital.repository.UsersRepository;
 import com.invygo.digital.service.UsersService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,8 +28,14 @@ public class UsersServiceImpl implements UsersService {
 
     private final UsersRepository usersRepository;
 
-    public UsersServiceImpl(UsersRepository usersRepository) {
+    private final SingleFlight singleFlight;
+
+    private final ByIdsReader byIdsReader;
+
+    public UsersServiceImpl(UsersRepository usersRepository, SingleFlight singleFlight, ByIdsReader byIdsReader) {
         this.usersRepository = usersRepository;
+        this.singleFlight = singleFlight;
+        this.byIdsReader = byIdsReader;
     }
 
     @Override
@@ -35,32 +47,22 @@ public class UsersServiceImpl implements UsersService {
     @Override
     public Mono<Users> update(Users users) {
         log.debug("Request to save Users : {}", users);
-        return usersRepository.save(users);
+        return usersRepository.update(users).filter(updated -> updated > 0).map(updated -> users);
     }
 
     @Override
     public Mono<Users> partialUpdate(Users users) {
         log.debug("Request to partially update Users : {}", users);
-
         return usersRepository
-            .findById(users.getId())
-            .map(existingUsers -> {
-                if (users.getEmail() != null) {
-                    existingUsers.setEmail(users.getEmail());
-                }
-                if (users.getName() != null) {
-                    existingUsers.setName(users.getName());
-                }
-                if (users.getSurname() != null) {
-                    existingUsers.setSurname(users.getSurname());
-                }
-                if (users.getPassword() != null) {
-                    existingUsers.setPassword(users.getPassword());
-                }
-
-                return existingUsers;
-            })
-            .flatMap(usersRepository::save);
+            .partialUpdate(users)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> usersRepository.findById(users.getId()));
+    }
+
+    @Override
+    public Mono<Boolean> partialUpdateWithoutResult(Users users) {
+        log.debug("Request to partially update Users without reading it back : {}", users);
+        return usersRepository.partialUpdate(users).map(updated -> updated > 0);
     }
 
     @Override
@@ -70,15 +72,64 @@ public class UsersServiceImpl implements UsersService {
         return usersRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Users> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Users");
+        return singleFlight.flux("Users.findAll", List.of(pageable), () -> usersRepository.findAllBy(pageable), UsersServiceImpl::copy);
+    }
+
     public Mono<Long> countAll() {
-        return usersRepository.count();
+        return singleFlight.mono("Users.countAll", List.of(), usersRepository::count);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Users> findByCriteria(UsersCriteria criteria, Set<String> fields) {
+        log.debug("Request to get the Users by criteria: {}", criteria);
+        return usersRepository.findByCriteria(criteria, fields, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Users> findByCriteria(UsersCriteria criteria, Set<String> fields, Pageable pageable) {
+        log.debug("Request to get a page of the Users by criteria: {}", criteria);
+        return singleFlight.flux(
+            "Users.findByCriteria",
+            List.of(criteria, Optional.ofNullable(fields), pageable),
+            () -> usersRepository.findByCriteria(criteria, fields, pageable),
+            UsersServiceImpl::copy
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(UsersCriteria criteria) {
+        return singleFlight.mono("Users.countByCriteria", List.of(criteria), () -> usersRepository.countByCriteria(criteria));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<Users> findOne(Long id) {
         log.debug("Request to get Users : {}", id);
-        return usersRepository.findById(id);
+        return singleFlight.mono("Users.findOne", List.of(id), () -> usersRepository.findById(id), UsersServiceImpl::copy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Users> findOne(Long id, Set<String> fields) {
+        if (fields == null) {
+            return findOne(id);
+        }
+        log.debug("Request to get the fields {} of Users : {}", fields, id);
+        return singleFlight.mono("Users.findOne", List.of(id, fields), () -> usersRepository.findById(id, fields), UsersServiceImpl::copy);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<EntitiesByIds<Users>> findByIds(List<Long> ids, Set<String> fields) {
+        log.debug("Request to get Users by ids : {}", ids);
+        return byIdsReader.read(ids, chunk -> usersRepository.findByIds(chunk, fields), Users::getId);
     }
 
     @Override
@@ -86,4 +137,13 @@ public class UsersServiceImpl implements UsersService {
         log.debug("Request to delete Users : {}", id);
         return usersRepository.deleteById(id);
     }
+
+    private static Users copy(Users users) {
+        return new Users()
+            .id(users.getId())
+            .email(users.getEmail())
+            .name(users.getName())
+            .surname(users.getSurname())
+            .password(users.getPassword());
+    }
 }
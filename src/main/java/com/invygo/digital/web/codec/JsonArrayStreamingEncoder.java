@@ -0,0 +1,148 @@
+package com.invygo.digital.web.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link Jackson2JsonEncoder} which writes a {@link Flux} as a JSON array element by element, instead of
+ * collecting the whole {@link Flux} into a list before the first byte is written.
+ * <p>
+ * The opening bracket is only written with the first element (or on completion), so an error signalled before
+ * any element still produces a regular error response.
+ * <p>
+ * The {@value #FIELDS_PARAMETER} parameter of a request narrows the objects of the response whose class is annotated with
+ * the {@value #FIELDS_FILTER} {@link com.fasterxml.jackson.annotation.JsonFilter} to these fields and their id, as JSON
+ * arrays, streams and single objects alike. The objects of the other classes are written whole.
+ */
+public class JsonArrayStreamingEncoder extends Jackson2JsonEncoder {
+
+    private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_ARRAY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The query parameter listing, separated by commas, the fields the objects of a response are narrowed to.
+     */
+    public static final String FIELDS_PARAMETER = "fields";
+
+    /**
+     * The id of the filter of the classes whose objects can be narrowed to some of their fields.
+     */
+    public static final String FIELDS_FILTER = "fields";
+
+    private static final String FIELDS_HINT = JsonArrayStreamingEncoder.class.getName() + ".FIELDS";
+
+    private static final String ID_FIELD = "id";
+
+    public JsonArrayStreamingEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+        Publisher<?> inputStream,
+        DataBufferFactory bufferFactory,
+        ResolvableType elementType,
+        @Nullable MimeType mimeType,
+        @Nullable Map<String, Object> hints
+    ) {
+        if (inputStream instanceof Mono || isStreamingMediaType(mimeType)) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean first = new AtomicBoolean(true);
+            return Flux
+                .from(inputStream)
+                .map(value -> {
+                    byte[] prefix = first.getAndSet(false) ? ARRAY_START : ARRAY_SEPARATOR;
+                    DataBuffer element = encodeValue(value, bufferFactory, elementType, mimeType, hints);
+                    return bufferFactory.join(List.of(bufferFactory.wrap(prefix), element));
+                })
+                .concatWith(Mono.fromCallable(() -> bufferFactory.wrap(first.get() ? EMPTY_ARRAY : ARRAY_END)));
+        });
+    }
+
+    @Override
+    public Map<String, Object> getEncodeHints(
+        ResolvableType actualType,
+        ResolvableType elementType,
+        @Nullable MediaType mediaType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        Map<String, Object> hints = super.getEncodeHints(actualType, elementType, mediaType, request, response);
+        String fields = request.getQueryParams().getFirst(FIELDS_PARAMETER);
+        if (fields == null) {
+            return hints;
+        }
+        Map<String, Object> fieldsHints = new HashMap<>(hints);
+        fieldsHints.put(FIELDS_HINT, parseFields(fields));
+        return fieldsHints;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ObjectWriter customizeWriter(
+        ObjectWriter writer,
+        @Nullable MimeType mimeType,
+        ResolvableType elementType,
+        @Nullable Map<String, Object> hints
+    ) {
+        Set<String> fields = hints != null ? (Set<String>) hints.get(FIELDS_HINT) : null;
+        if (fields == null) {
+            return writer;
+        }
+        Set<String> written = new LinkedHashSet<>(fields);
+        written.add(ID_FIELD);
+        return writer.with(new SimpleFilterProvider().addFilter(FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(written)));
+    }
+
+    /**
+     * Parse the value of the {@value #FIELDS_PARAMETER} parameter.
+     * @param fields the fields separated by commas.
+     * @return the fields, without the blank ones, in the order they were given.
+     */
+    public static Set<String> parseFields(String fields) {
+        return Arrays
+            .stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private boolean isStreamingMediaType(@Nullable MimeType mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        for (MediaType streamingMediaType : getStreamingMediaTypes()) {
+            if (streamingMediaType.isCompatibleWith(mimeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
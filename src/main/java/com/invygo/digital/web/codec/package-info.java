@@ -0,0 +1,4 @@
+/**
+ * HTTP message codecs used by the Spring WebFlux REST controllers.
+ */
+package com.invygo.digital.web.codec;
@@ -0,0 +1,73 @@
+package com.invygo.digital.web.rest;
+
+import com.invygo.digital.service.RefreshTokenService;
+import com.invygo.digital.service.dto.IssuedTokens;
+import com.invygo.digital.web.rest.vm.LoginVM;
+import com.invygo.digital.web.rest.vm.RefreshTokenVM;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller to authenticate users, and to renew their JWT with a refresh token.
+ */
+@RestController
+@RequestMapping("/api")
+public class AuthenticateController {
+
+    private final Logger log = LoggerFactory.getLogger(AuthenticateController.class);
+
+    private final ReactiveAuthenticationManager authenticationManager;
+
+    private final RefreshTokenService refreshTokenService;
+
+    public AuthenticateController(ReactiveAuthenticationManager authenticationManager, RefreshTokenService refreshTokenService) {
+        this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    /**
+     * {@code POST  /authenticate} : Authenticate a user with their password.
+     *
+     * @param loginVM the credentials of the user.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the JWT and its refresh token,
+     * or with status {@code 401 (Unauthorized)} if the credentials are wrong.
+     */
+    @PostMapping("/authenticate")
+    public Mono<ResponseEntity<IssuedTokens>> authorize(@Valid @RequestBody Mono<LoginVM> loginVM) {
+        return loginVM
+            .doOnNext(login -> log.debug("REST request to authenticate : {}", login))
+            .flatMap(login ->
+                authenticationManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(login.getUsername(), login.getPassword()))
+                    .flatMap(authentication -> refreshTokenService.issue(authentication, login.isRememberMe()))
+            )
+            .map(this::toResponse);
+    }
+
+    /**
+     * {@code POST  /authenticate/refresh} : Renew a JWT with the refresh token issued with it.
+     * The refresh token is used up, and replaced by the one in the response.
+     *
+     * @param refreshTokenVM the refresh token.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the new JWT and its refresh token,
+     * or with status {@code 401 (Unauthorized)} if the refresh token is unknown, expired or already used.
+     */
+    @PostMapping("/authenticate/refresh")
+    public Mono<ResponseEntity<IssuedTokens>> refresh(@Valid @RequestBody Mono<RefreshTokenVM> refreshTokenVM) {
+        log.debug("REST request to renew a JWT");
+        return refreshTokenVM.flatMap(refresh -> refreshTokenService.refresh(refresh.getRefreshToken())).map(this::toResponse);
+    }
+
+    private ResponseEntity<IssuedTokens> toResponse(IssuedTokens tokens) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(tokens.getIdToken());
+        return ResponseEntity.ok().headers(httpHeaders).body(tokens);
+    }
+}
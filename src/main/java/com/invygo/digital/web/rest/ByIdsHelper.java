@@ -0,0 +1,29 @@
+package com.invygo.digital.web.rest;
+
+import com.invygo.digital.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+
+/**
+ * Helpers for the endpoints reading the entities of a list of ids, {@code GET /{entities}?ids=} and
+ * {@code POST /{entities}/by-ids}.
+ */
+final class ByIdsHelper {
+
+    private ByIdsHelper() {}
+
+    /**
+     * Checks the ids of a request, whose number is bounded by {@code application.by-ids.max-ids}.
+     * @param ids the ids of the request.
+     * @param maxIds the maximal number of ids.
+     * @param entityName the name of the entity, for the error.
+     * @throws BadRequestAlertException if there are too many ids, or one is null.
+     */
+    static void checkIds(List<Long> ids, int maxIds, String entityName) {
+        if (ids.size() > maxIds) {
+            throw new BadRequestAlertException("At most " + maxIds + " ids can be read at once", entityName, "toomanyids");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestAlertException("A null id cannot be read", entityName, "idnull");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.invygo.digital.web.rest;
+
+import com.invygo.digital.web.codec.JsonArrayStreamingEncoder;
+import com.invygo.digital.web.rest.errors.BadRequestAlertException;
+import java.util.Set;
+
+/**
+ * Helpers for the {@code fields} parameter of the endpoints reading the entities, which narrows both the columns read from the
+ * database and the properties written by the {@link JsonArrayStreamingEncoder} to the given fields and the id.
+ */
+final class FieldsHelper {
+
+    private FieldsHelper() {}
+
+    /**
+     * Parses the {@code fields} parameter, and checks that the fields are properties of the entity, as they are rendered into
+     * the SQL of the query.
+     * @param fields the value of the {@code fields} parameter, or null if it is absent.
+     * @param properties the properties the entities can be narrowed to.
+     * @param entityName the name of the entity, for the error.
+     * @return the fields to read, or null to read all of them.
+     * @throws BadRequestAlertException if a field is not one of the properties.
+     */
+    static Set<String> checkFields(String fields, Set<String> properties, String entityName) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> parsed = JsonArrayStreamingEncoder.parseFields(fields);
+        for (String field : parsed) {
+            if (!properties.contains(field)) {
+                throw new BadRequestAlertException("Invalid field: " + field, entityName, "fieldinvalid");
+            }
+        }
+        return parsed;
+    }
+}
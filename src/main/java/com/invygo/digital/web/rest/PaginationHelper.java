@@ -0,0 +1,78 @@
+package com.invygo.digital.web.rest;
+
+import com.invygo.digital.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Helpers shared by the {@code getAll*} endpoints, which either return one page of the entities with the
+ * {@code Link}/{@code X-Total-Count} headers, or stream all the entities when no page was asked for.
+ */
+final class PaginationHelper {
+
+    private static final String PAGE_PARAMETER = "page";
+    private static final String SIZE_PARAMETER = "size";
+
+    private PaginationHelper() {}
+
+    /**
+     * Tells whether the client asked for a page, that is whether the {@code page} or the {@code size} parameter is present.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return true if only a page of the entities must be returned.
+     */
+    static boolean isPageRequested(ServerHttpRequest request) {
+        MultiValueMap<String, String> queryParams = request.getQueryParams();
+        return queryParams.containsKey(PAGE_PARAMETER) || queryParams.containsKey(SIZE_PARAMETER);
+    }
+
+    /**
+     * Checks that the page is only sorted by the given properties, as the sort is rendered into the SQL of the query.
+     * @param pageable the pagination information.
+     * @param sortProperties the properties the entities can be sorted by.
+     * @param entityName the name of the entity, for the error.
+     * @throws BadRequestAlertException if the page is sorted by another property.
+     */
+    static void checkSort(Pageable pageable, Set<String> sortProperties, String entityName) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!sortProperties.contains(order.getProperty())) {
+                throw new BadRequestAlertException("Invalid sort property: " + order.getProperty(), entityName, "sortinvalid");
+            }
+        }
+    }
+
+    /**
+     * Reads the total count and the page concurrently, and builds the response with the pagination headers.
+     * @param count the number of entities in the database.
+     * @param page the entities of the requested page.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param <T> the type of the entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page in body.
+     */
+    static <T> Mono<ResponseEntity<Flux<T>>> page(Mono<Long> count, Flux<T> page, Pageable pageable, ServerHttpRequest request) {
+        return count
+            .zipWith(page.collectList())
+            .map(countWithEntities -> {
+                List<T> entities = countWithEntities.getT2();
+                return ResponseEntity
+                    .ok()
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(entities, pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(Flux.fromIterable(entities));
+            });
+    }
+}
@@ -0,0 +1,34 @@
+package com.invygo.digital.web.rest;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Support of the {@code Prefer} request header of <a href="https://www.rfc-editor.org/rfc/rfc7240">RFC 7240</a>, which lets
+ * clients of the {@code PATCH} endpoints skip reading back the updated entity.
+ */
+final class PreferHeader {
+
+    static final String NAME = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RETURN_MINIMAL = "return=minimal";
+
+    private PreferHeader() {}
+
+    /**
+     * Tells whether the client prefers an empty response to the representation of the updated entity.
+     * @param prefer the value of the {@code Prefer} header, or null.
+     * @return true if the {@code return=minimal} preference is present.
+     */
+    static boolean isReturnMinimal(String prefer) {
+        if (!StringUtils.hasText(prefer)) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split(";", 2)[0].replace(" ", "");
+            if (RETURN_MINIMAL.equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
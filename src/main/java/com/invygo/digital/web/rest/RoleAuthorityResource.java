@@ -1,24 +1,29 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
 import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.criteria.RoleAuthorityCriteria;
 import com.invygo.digital.repository.RoleAuthorityRepository;
 import com.invygo.digital.service.RoleAuthorityService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -41,9 +46,16 @@ public class RoleAuthorityResource {
 
     private final RoleAuthorityRepository roleAuthorityRepository;
 
-    public RoleAuthorityResource(RoleAuthorityService roleAuthorityService, RoleAuthorityRepository roleAuthorityRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    public RoleAuthorityResource(
+        RoleAuthorityService roleAuthorityService,
+        RoleAuthorityRepository roleAuthorityRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.roleAuthorityService = roleAuthorityService;
         this.roleAuthorityRepository = roleAuthorityRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -97,23 +109,15 @@ public class RoleAuthorityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return roleAuthorityRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return roleAuthorityService
-                    .update(roleAuthority)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return roleAuthorityService
+            .update(roleAuthority)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -121,7 +125,9 @@ public class RoleAuthorityResource {
      *
      * @param id the id of the roleAuthority to save.
      * @param roleAuthority the roleAuthority to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated roleAuthority is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated roleAuthority,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the roleAuthority is not valid,
      * or with status {@code 404 (Not Found)} if the roleAuthority is not found,
      * or with status {@code 500 (Internal Server Error)} if the roleAuthority couldn't be updated.
@@ -130,7 +136,8 @@ public class RoleAuthorityResource {
     @PatchMapping(value = "/role-authorities/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<RoleAuthority>> partialUpdateRoleAuthority(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody RoleAuthority roleAuthority
+        @NotNull @RequestBody RoleAuthority roleAuthority,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update RoleAuthority partially : {}, {}", id, roleAuthority);
         if (roleAuthority.getId() == null) {
@@ -140,60 +147,145 @@ public class RoleAuthorityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return roleAuthorityRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<RoleAuthority> result = roleAuthorityService.partialUpdate(roleAuthority);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return roleAuthorityService
+                .partialUpdateWithoutResult(roleAuthority)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<RoleAuthority>build()
                     );
-            });
+                });
+        }
+
+        return roleAuthorityService
+            .partialUpdate(roleAuthority)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /role-authorities} : get all the roleAuthorities.
+     * {@code GET  /role-authorities} : get all the roleAuthorities matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * roleAuthorities are streamed as a JSON array without being held in memory. The filters, for example
+     * {@code userId.equals=1&roleId.in=1,2}, are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of roleAuthorities in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of roleAuthorities in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/role-authorities")
-    public Mono<List<RoleAuthority>> getAllRoleAuthorities() {
-        log.debug("REST request to get all RoleAuthorities");
-        return roleAuthorityService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<RoleAuthority>>> getAllRoleAuthorities(
+        @org.springdoc.api.annotations.ParameterObject RoleAuthorityCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, RoleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all RoleAuthorities by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(roleAuthorityService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of RoleAuthorities by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, RoleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            roleAuthorityService.countByCriteria(criteria),
+            roleAuthorityService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /role-authorities} : get all the roleAuthorities as a stream.
+     * {@code GET  /role-authorities} : get all the roleAuthorities matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of roleAuthorities.
      */
     @GetMapping(value = "/role-authorities", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<RoleAuthority> getAllRoleAuthoritiesAsStream() {
-        log.debug("REST request to get all RoleAuthorities as a stream");
-        return roleAuthorityService.findAll();
+    public Flux<RoleAuthority> getAllRoleAuthoritiesAsStream(
+        @org.springdoc.api.annotations.ParameterObject RoleAuthorityCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all RoleAuthorities by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, RoleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return roleAuthorityService.findByCriteria(criteria, selected);
     }
 
     /**
      * {@code GET  /role-authorities/:id} : get the "id" roleAuthority.
      *
      * @param id the id of the roleAuthority to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roleAuthority, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roleAuthority, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/role-authorities/{id}")
-    public Mono<ResponseEntity<RoleAuthority>> getRoleAuthority(@PathVariable Long id) {
+    public Mono<ResponseEntity<RoleAuthority>> getRoleAuthority(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get RoleAuthority : {}", id);
-        Mono<RoleAuthority> roleAuthority = roleAuthorityService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, RoleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<RoleAuthority> roleAuthority = roleAuthorityService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(roleAuthority);
     }
 
+    /**
+     * {@code GET  /role-authorities?ids=:ids} : get the roleAuthorities of a list of ids.
+     * <p>
+     * The roleAuthorities are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} roleAuthorities.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the roleAuthorities in the order of the ids and the ids of no roleAuthority,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/role-authorities", params = "ids")
+    public Mono<EntitiesByIds<RoleAuthority>> getRoleAuthoritiesByIds(
+        @RequestParam List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get RoleAuthority by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /role-authorities/by-ids} : get the roleAuthorities of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} roleAuthorities.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the roleAuthorities in the order of the ids and the ids of no roleAuthority,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/role-authorities/by-ids")
+    public Mono<EntitiesByIds<RoleAuthority>> getRoleAuthoritiesByIdsInBody(
+        @RequestBody List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get RoleAuthority by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<RoleAuthority>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, RoleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return roleAuthorityService.findByIds(ids, selected);
+    }
+
     /**
      * {@code DELETE  /role-authorities/:id} : delete the "id" roleAuthority.
      *
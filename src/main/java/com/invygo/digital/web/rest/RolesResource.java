@@ -1,24 +1,29 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
 import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.criteria.RolesCriteria;
 import com.invygo.digital.repository.RolesRepository;
 import com.invygo.digital.service.RolesService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -42,9 +47,12 @@ public class RolesResource {
 
     private final RolesRepository rolesRepository;
 
-    public RolesResource(RolesService rolesService, RolesRepository rolesRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    public RolesResource(RolesService rolesService, RolesRepository rolesRepository, ApplicationProperties applicationProperties) {
         this.rolesService = rolesService;
         this.rolesRepository = rolesRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -97,23 +105,15 @@ public class RolesResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return rolesRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return rolesService
-                    .update(roles)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return rolesService
+            .update(roles)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -121,7 +121,9 @@ public class RolesResource {
      *
      * @param id the id of the roles to save.
      * @param roles the roles to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated roles is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated roles,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the roles is not valid,
      * or with status {@code 404 (Not Found)} if the roles is not found,
      * or with status {@code 500 (Internal Server Error)} if the roles couldn't be updated.
@@ -130,7 +132,8 @@ public class RolesResource {
     @PatchMapping(value = "/roles/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<Roles>> partialUpdateRoles(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Roles roles
+        @NotNull @RequestBody Roles roles,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update Roles partially : {}, {}", id, roles);
         if (roles.getId() == null) {
@@ -140,60 +143,139 @@ public class RolesResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return rolesRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Roles> result = rolesService.partialUpdate(roles);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return rolesService
+                .partialUpdateWithoutResult(roles)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<Roles>build()
                     );
-            });
+                });
+        }
+
+        return rolesService
+            .partialUpdate(roles)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /roles} : get all the roles.
+     * {@code GET  /roles} : get all the roles matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * roles are streamed as a JSON array without being held in memory. The filters, for example {@code roleName.contains=admin},
+     * are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of roles in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of roles in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/roles")
-    public Mono<List<Roles>> getAllRoles() {
-        log.debug("REST request to get all Roles");
-        return rolesService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<Roles>>> getAllRoles(
+        @org.springdoc.api.annotations.ParameterObject RolesCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, RolesCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all Roles by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(rolesService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of Roles by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, RolesCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            rolesService.countByCriteria(criteria),
+            rolesService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /roles} : get all the roles as a stream.
+     * {@code GET  /roles} : get all the roles matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of roles.
      */
     @GetMapping(value = "/roles", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<Roles> getAllRolesAsStream() {
-        log.debug("REST request to get all Roles as a stream");
-        return rolesService.findAll();
+    public Flux<Roles> getAllRolesAsStream(
+        @org.springdoc.api.annotations.ParameterObject RolesCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all Roles by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, RolesCriteria.PROPERTIES, ENTITY_NAME);
+        return rolesService.findByCriteria(criteria, selected);
     }
 
     /**
      * {@code GET  /roles/:id} : get the "id" roles.
      *
      * @param id the id of the roles to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roles, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roles, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/roles/{id}")
-    public Mono<ResponseEntity<Roles>> getRoles(@PathVariable Long id) {
+    public Mono<ResponseEntity<Roles>> getRoles(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get Roles : {}", id);
-        Mono<Roles> roles = rolesService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, RolesCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<Roles> roles = rolesService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(roles);
     }
 
+    /**
+     * {@code GET  /roles?ids=:ids} : get the roles of a list of ids.
+     * <p>
+     * The roles are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} roles.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the roles in the order of the ids and the ids of no roles,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/roles", params = "ids")
+    public Mono<EntitiesByIds<Roles>> getRolesByIds(@RequestParam List<Long> ids, @RequestParam(required = false) String fields) {
+        log.debug("REST request to get Roles by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /roles/by-ids} : get the roles of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} roles.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the roles in the order of the ids and the ids of no roles,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/roles/by-ids")
+    public Mono<EntitiesByIds<Roles>> getRolesByIdsInBody(@RequestBody List<Long> ids, @RequestParam(required = false) String fields) {
+        log.debug("REST request to get Roles by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<Roles>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, RolesCriteria.PROPERTIES, ENTITY_NAME);
+        return rolesService.findByIds(ids, selected);
+    }
+
     /**
      * {@code DELETE  /roles/:id} : delete the "id" roles.
      *
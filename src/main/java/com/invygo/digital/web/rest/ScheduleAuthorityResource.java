@@ -1,24 +1,29 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
 import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.criteria.ScheduleAuthorityCriteria;
 import com.invygo.digital.repository.ScheduleAuthorityRepository;
 import com.invygo.digital.service.ScheduleAuthorityService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -42,12 +47,16 @@ public class ScheduleAuthorityResource {
 
     private final ScheduleAuthorityRepository scheduleAuthorityRepository;
 
+    private final ApplicationProperties applicationProperties;
+
     public ScheduleAuthorityResource(
         ScheduleAuthorityService scheduleAuthorityService,
-        ScheduleAuthorityRepository scheduleAuthorityRepository
+        ScheduleAuthorityRepository scheduleAuthorityRepository,
+        ApplicationProperties applicationProperties
     ) {
         this.scheduleAuthorityService = scheduleAuthorityService;
         this.scheduleAuthorityRepository = scheduleAuthorityRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -101,23 +110,15 @@ public class ScheduleAuthorityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return scheduleAuthorityRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return scheduleAuthorityService
-                    .update(scheduleAuthority)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return scheduleAuthorityService
+            .update(scheduleAuthority)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -125,7 +126,9 @@ public class ScheduleAuthorityResource {
      *
      * @param id the id of the scheduleAuthority to save.
      * @param scheduleAuthority the scheduleAuthority to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated scheduleAuthority is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated scheduleAuthority,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the scheduleAuthority is not valid,
      * or with status {@code 404 (Not Found)} if the scheduleAuthority is not found,
      * or with status {@code 500 (Internal Server Error)} if the scheduleAuthority couldn't be updated.
@@ -134,7 +137,8 @@ public class ScheduleAuthorityResource {
     @PatchMapping(value = "/schedule-authorities/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<ScheduleAuthority>> partialUpdateScheduleAuthority(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody ScheduleAuthority scheduleAuthority
+        @NotNull @RequestBody ScheduleAuthority scheduleAuthority,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update ScheduleAuthority partially : {}, {}", id, scheduleAuthority);
         if (scheduleAuthority.getId() == null) {
@@ -144,60 +148,148 @@ public class ScheduleAuthorityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return scheduleAuthorityRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<ScheduleAuthority> result = scheduleAuthorityService.partialUpdate(scheduleAuthority);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return scheduleAuthorityService
+                .partialUpdateWithoutResult(scheduleAuthority)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<ScheduleAuthority>build()
                     );
-            });
+                });
+        }
+
+        return scheduleAuthorityService
+            .partialUpdate(scheduleAuthority)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /schedule-authorities} : get all the scheduleAuthorities.
+     * {@code GET  /schedule-authorities} : get all the scheduleAuthorities matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * scheduleAuthorities are streamed as a JSON array without being held in memory. The filters, for example {@code roleId.equals=1},
+     * are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of scheduleAuthorities in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of scheduleAuthorities in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/schedule-authorities")
-    public Mono<List<ScheduleAuthority>> getAllScheduleAuthorities() {
-        log.debug("REST request to get all ScheduleAuthorities");
-        return scheduleAuthorityService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<ScheduleAuthority>>> getAllScheduleAuthorities(
+        @org.springdoc.api.annotations.ParameterObject ScheduleAuthorityCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all ScheduleAuthorities by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(scheduleAuthorityService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of ScheduleAuthorities by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, ScheduleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            scheduleAuthorityService.countByCriteria(criteria),
+            scheduleAuthorityService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /schedule-authorities} : get all the scheduleAuthorities as a stream.
+     * {@code GET  /schedule-authorities} : get all the scheduleAuthorities matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of scheduleAuthorities.
      */
     @GetMapping(value = "/schedule-authorities", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<ScheduleAuthority> getAllScheduleAuthoritiesAsStream() {
-        log.debug("REST request to get all ScheduleAuthorities as a stream");
-        return scheduleAuthorityService.findAll();
+    public Flux<ScheduleAuthority> getAllScheduleAuthoritiesAsStream(
+        @org.springdoc.api.annotations.ParameterObject ScheduleAuthorityCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all ScheduleAuthorities by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return scheduleAuthorityService.findByCriteria(criteria, selected);
     }
 
     /**
      * {@code GET  /schedule-authorities/:id} : get the "id" scheduleAuthority.
      *
      * @param id the id of the scheduleAuthority to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the scheduleAuthority, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the scheduleAuthority, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/schedule-authorities/{id}")
-    public Mono<ResponseEntity<ScheduleAuthority>> getScheduleAuthority(@PathVariable Long id) {
+    public Mono<ResponseEntity<ScheduleAuthority>> getScheduleAuthority(
+        @PathVariable Long id,
+        @RequestParam(required = false) String fields
+    ) {
         log.debug("REST request to get ScheduleAuthority : {}", id);
-        Mono<ScheduleAuthority> scheduleAuthority = scheduleAuthorityService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<ScheduleAuthority> scheduleAuthority = scheduleAuthorityService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(scheduleAuthority);
     }
 
+    /**
+     * {@code GET  /schedule-authorities?ids=:ids} : get the scheduleAuthorities of a list of ids.
+     * <p>
+     * The scheduleAuthorities are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} scheduleAuthorities.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the scheduleAuthorities in the order of the ids and the ids of no scheduleAuthority,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/schedule-authorities", params = "ids")
+    public Mono<EntitiesByIds<ScheduleAuthority>> getScheduleAuthoritiesByIds(
+        @RequestParam List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get ScheduleAuthority by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /schedule-authorities/by-ids} : get the scheduleAuthorities of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} scheduleAuthorities.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the scheduleAuthorities in the order of the ids and the ids of no scheduleAuthority,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/schedule-authorities/by-ids")
+    public Mono<EntitiesByIds<ScheduleAuthority>> getScheduleAuthoritiesByIdsInBody(
+        @RequestBody List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get ScheduleAuthority by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<ScheduleAuthority>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return scheduleAuthorityService.findByIds(ids, selected);
+    }
+
     /**
      * {@code DELETE  /schedule-authorities/:id} : delete the "id" scheduleAuthority.
      *
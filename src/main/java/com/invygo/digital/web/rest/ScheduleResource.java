@@ -1,24 +1,41 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.ExpandedSchedule;
 import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleHoursSummary;
+import com.invygo.digital.domain.criteria.ScheduleCriteria;
+import com.invygo.digital.domain.enumeration.SummaryPeriod;
+import com.invygo.digital.repository.ScheduleCursor;
 import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.service.ScheduleHoursSummaryService;
 import com.invygo.digital.service.ScheduleService;
+import com.invygo.digital.service.dto.BulkItemResult;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import com.invygo.digital.service.dto.ScheduleGrid;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -35,6 +52,20 @@ public class ScheduleResource {
 
     private static final String ENTITY_NAME = "stuffSchedulingSchedule";
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
+    private static final String SUMMARY_COUNT_HEADER = "X-Summary-Count";
+
+    private static final int MAX_RANGE_PAGE_SIZE = 1000;
+
+    private static final int MAX_GRID_USERS = 5000;
+
+    private static final int MAX_GRID_DAYS = 366;
+
+    private static final int MAX_ON_DUTY_DAYS = 366;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +73,20 @@ public class ScheduleResource {
 
     private final ScheduleRepository scheduleRepository;
 
-    public ScheduleResource(ScheduleService scheduleService, ScheduleRepository scheduleRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    private final ScheduleHoursSummaryService scheduleHoursSummaryService;
+
+    public ScheduleResource(
+        ScheduleService scheduleService,
+        ScheduleRepository scheduleRepository,
+        ScheduleHoursSummaryService scheduleHoursSummaryService,
+        ApplicationProperties applicationProperties
+    ) {
         this.scheduleService = scheduleService;
         this.scheduleRepository = scheduleRepository;
+        this.applicationProperties = applicationProperties;
+        this.scheduleHoursSummaryService = scheduleHoursSummaryService;
     }
 
     /**
@@ -74,6 +116,38 @@ public class ScheduleResource {
             });
     }
 
+    /**
+     * {@code POST  /schedules/bulk} : Create new schedules in bulk.
+     * <p>
+     * The body is read as a stream, either a JSON array or newline delimited JSON. The schedules are written in chunks of
+     * {@code application.bulk.chunk-size} rows, each chunk in its own transaction.
+     *
+     * @param schedules the schedules to create.
+     * @return the outcome of each schedule in body, in the order of the schedules: {@code CREATED} with the new id,
+     * {@code INVALID} with the validation errors, or {@code FAILED} if its chunk could not be written.
+     */
+    @PostMapping(value = "/schedules/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<BulkItemResult> createSchedules(@RequestBody Flux<Schedule> schedules) {
+        log.debug("REST request to save Schedules in bulk");
+        return scheduleService.saveAll(schedules);
+    }
+
+    /**
+     * {@code PUT  /schedules/bulk} : Create or update schedules in bulk, keyed on their user and work date.
+     * <p>
+     * The body is read like the one of {@code POST /schedules/bulk}. A schedule which already exists for the same user and
+     * work date gets the new hours, the ids in the body are ignored.
+     *
+     * @param schedules the schedules to create or update.
+     * @return the outcome of each schedule in body, in the order of the schedules: {@code UPSERTED},
+     * {@code INVALID} with the validation errors, or {@code FAILED} if its chunk could not be written.
+     */
+    @PutMapping(value = "/schedules/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<BulkItemResult> upsertSchedules(@RequestBody Flux<Schedule> schedules) {
+        log.debug("REST request to upsert Schedules in bulk");
+        return scheduleService.upsertAll(schedules);
+    }
+
     /**
      * {@code PUT  /schedules/:id} : Updates an existing schedule.
      *
@@ -97,23 +171,15 @@ public class ScheduleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return scheduleRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return scheduleService
-                    .update(schedule)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return scheduleService
+            .update(schedule)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -121,7 +187,9 @@ public class ScheduleResource {
      *
      * @param id the id of the schedule to save.
      * @param schedule the schedule to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated schedule is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated schedule,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the schedule is not valid,
      * or with status {@code 404 (Not Found)} if the schedule is not found,
      * or with status {@code 500 (Internal Server Error)} if the schedule couldn't be updated.
@@ -130,7 +198,8 @@ public class ScheduleResource {
     @PatchMapping(value = "/schedules/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<Schedule>> partialUpdateSchedule(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Schedule schedule
+        @NotNull @RequestBody Schedule schedule,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update Schedule partially : {}, {}", id, schedule);
         if (schedule.getId() == null) {
@@ -140,60 +209,365 @@ public class ScheduleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return scheduleRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Schedule> result = scheduleService.partialUpdate(schedule);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return scheduleService
+                .partialUpdateWithoutResult(schedule)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<Schedule>build()
                     );
-            });
+                });
+        }
+
+        return scheduleService
+            .partialUpdate(schedule)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /schedules} : get all the schedules.
+     * {@code GET  /schedules} : get all the schedules matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * schedules are streamed as a JSON array without being held in memory. The filters, for example
+     * {@code userId.in=1,2&workDate.greaterThanOrEqual=2022-06-01T00:00:00Z&hours.lessThan=8}, are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of schedules in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of schedules in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/schedules")
-    public Mono<List<Schedule>> getAllSchedules() {
-        log.debug("REST request to get all Schedules");
-        return scheduleService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<Schedule>>> getAllSchedules(
+        @org.springdoc.api.annotations.ParameterObject ScheduleCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all Schedules by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(scheduleService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of Schedules by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, ScheduleCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            scheduleService.countByCriteria(criteria),
+            scheduleService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /schedules} : get all the schedules as a stream.
+     * {@code GET  /schedules} : get all the schedules matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of schedules.
      */
     @GetMapping(value = "/schedules", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<Schedule> getAllSchedulesAsStream() {
-        log.debug("REST request to get all Schedules as a stream");
-        return scheduleService.findAll();
+    public Flux<Schedule> getAllSchedulesAsStream(
+        @org.springdoc.api.annotations.ParameterObject ScheduleCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all Schedules by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleCriteria.PROPERTIES, ENTITY_NAME);
+        return scheduleService.findByCriteria(criteria, selected);
+    }
+
+    /**
+     * {@code GET  /schedules/expanded} : get all the schedules matching the criteria, each with the login and the names of its
+     * user.
+     * <p>
+     * The schedules are joined with their users in a single query, instead of a request for the user of each schedule. As for
+     * {@code GET /schedules}, only the requested page is read with a {@code page} or {@code size} parameter, otherwise all the
+     * matching schedules are streamed.
+     *
+     * @param criteria the criteria which the requested schedules should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of schedules with their users in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by a property which is not supported.
+     */
+    @GetMapping("/schedules/expanded")
+    public Mono<ResponseEntity<Flux<ExpandedSchedule>>> getAllExpandedSchedules(
+        @org.springdoc.api.annotations.ParameterObject ScheduleCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all expanded Schedules by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(scheduleService.findExpandedByCriteria(criteria)));
+        }
+        log.debug("REST request to get a page of expanded Schedules by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, ScheduleCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            scheduleService.countByCriteria(criteria),
+            scheduleService.findExpandedByCriteria(criteria, pageable),
+            pageable,
+            request
+        );
+    }
+
+    /**
+     * {@code GET  /schedules/expanded} : get all the schedules matching the criteria with their users as a stream.
+     * @param criteria the criteria which the requested schedules should match.
+     * @return the {@link Flux} of schedules with their users.
+     */
+    @GetMapping(value = "/schedules/expanded", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExpandedSchedule> getAllExpandedSchedulesAsStream(
+        @org.springdoc.api.annotations.ParameterObject ScheduleCriteria criteria
+    ) {
+        log.debug("REST request to get all expanded Schedules by criteria as a stream: {}", criteria);
+        return scheduleService.findExpandedByCriteria(criteria);
+    }
+
+    /**
+     * {@code GET  /schedules?userId=:userId&from=:from&to=:to} : get a page of the schedules of a user within a date range.
+     * <p>
+     * Pages are chained with the opaque {@code cursor} returned in the {@code X-Next-Cursor} header and the {@code next} link,
+     * so every page is an index seek on {@code (user_id, work_date)} no matter how deep the client reads.
+     * <p>
+     * The occurrences of the shift templates of the user which are not materialized yet are merged in, without id.
+     *
+     * @param userId the id of the user whose schedules to retrieve.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     * @param cursor the continuation token of the previous page, absent for the first page.
+     * @param size the maximum number of schedules in the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of schedules in body,
+     * or with status {@code 400 (Bad Request)} if the range, the page size or the cursor is not valid.
+     */
+    @GetMapping(value = "/schedules", params = { "userId", "from", "to" })
+    public Mono<ResponseEntity<List<Schedule>>> getSchedulesByUserIdAndWorkDateBetween(
+        @RequestParam Long userId,
+        @RequestParam ZonedDateTime from,
+        @RequestParam ZonedDateTime to,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get Schedules of user {} between {} and {}", userId, from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The range start must be before its end", ENTITY_NAME, "rangeinvalid");
+        }
+        if (size < 1 || size > MAX_RANGE_PAGE_SIZE) {
+            throw new BadRequestAlertException("The page size must be between 1 and " + MAX_RANGE_PAGE_SIZE, ENTITY_NAME, "sizeinvalid");
+        }
+        ScheduleCursor after;
+        try {
+            after = cursor == null ? null : ScheduleCursor.fromToken(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+
+        // one extra row tells whether there is a next page, without a count query
+        return scheduleService
+            .findByUserIdAndWorkDateBetween(userId, from, to, after, size + 1)
+            .collectList()
+            .map(schedules -> {
+                HttpHeaders headers = new HttpHeaders();
+                if (schedules.size() > size) {
+                    schedules = schedules.subList(0, size);
+                    String next = ScheduleCursor.after(schedules.get(size - 1)).toToken();
+                    String link = UriComponentsBuilder.fromHttpRequest(request).replaceQueryParam("cursor", next).toUriString();
+                    headers.add(NEXT_CURSOR_HEADER, next);
+                    headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+                }
+                return ResponseEntity.ok().headers(headers).body(schedules);
+            });
+    }
+
+    /**
+     * {@code GET  /schedules/on-duty?at=:at} : get the users on duty at an instant, whose shift of {@code hours} from its work
+     * date covers it.
+     * <p>
+     * The shifts are read from an in-memory index, not from the schedules.
+     *
+     * @param at the instant.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sorted ids of the users in body.
+     */
+    @GetMapping(value = "/schedules/on-duty", params = "at")
+    public Mono<ResponseEntity<long[]>> getUsersOnDutyAt(@RequestParam ZonedDateTime at) {
+        log.debug("REST request to get the users on duty at {}", at);
+        return scheduleService.findUserIdsOnDuty(at).map(userIds -> ResponseEntity.ok().body(userIds));
+    }
+
+    /**
+     * {@code GET  /schedules/on-duty?from=:from&to=:to} : get the users on duty within a window, whose shift of {@code hours}
+     * from its work date overlaps it.
+     * <p>
+     * The shifts are read from an in-memory index, not from the schedules.
+     *
+     * @param from the inclusive lower bound of the window.
+     * @param to the exclusive upper bound of the window, at most {@value #MAX_ON_DUTY_DAYS} days after {@code from}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sorted ids of the users in body,
+     * or with status {@code 400 (Bad Request)} if the window is not valid.
+     */
+    @GetMapping(value = "/schedules/on-duty", params = { "from", "to" })
+    public Mono<ResponseEntity<long[]>> getUsersOnDutyBetween(@RequestParam ZonedDateTime from, @RequestParam ZonedDateTime to) {
+        log.debug("REST request to get the users on duty between {} and {}", from, to);
+        if (!from.isBefore(to) || ChronoUnit.DAYS.between(from, to) > MAX_ON_DUTY_DAYS) {
+            throw new BadRequestAlertException(
+                "The range start must be before its end, and the range at most " + MAX_ON_DUTY_DAYS + " days",
+                ENTITY_NAME,
+                "rangeinvalid"
+            );
+        }
+        return scheduleService.findUserIdsOnDuty(from, to).map(userIds -> ResponseEntity.ok().body(userIds));
+    }
+
+    /**
+     * {@code GET  /schedules/grid?from=:from&to=:to&users=:users} : get the hours of the schedules of some users per day, as
+     * a matrix with a row per user and a column per day.
+     * <p>
+     * The grid is filled from a single read of the schedules of the users in the range.
+     *
+     * @param from the first day.
+     * @param to the day after the last day.
+     * @param users the ids of the users, the rows of the grid in order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the grid in body,
+     * or with status {@code 400 (Bad Request)} if the range or the number of users is not valid.
+     */
+    @GetMapping(value = "/schedules/grid", params = { "from", "to", "users" })
+    public Mono<ResponseEntity<ScheduleGrid>> getScheduleGrid(
+        @RequestParam LocalDate from,
+        @RequestParam LocalDate to,
+        @RequestParam List<Long> users
+    ) {
+        log.debug("REST request to get the grid of the Schedules of {} users between {} and {}", users.size(), from, to);
+        if (!from.isBefore(to) || ChronoUnit.DAYS.between(from, to) > MAX_GRID_DAYS) {
+            throw new BadRequestAlertException(
+                "The range start must be before its end, and the range at most " + MAX_GRID_DAYS + " days",
+                ENTITY_NAME,
+                "rangeinvalid"
+            );
+        }
+        if (users.size() > MAX_GRID_USERS) {
+            throw new BadRequestAlertException("At most " + MAX_GRID_USERS + " users can be requested", ENTITY_NAME, "usersinvalid");
+        }
+        return scheduleService.findGrid(users, from, to).map(grid -> ResponseEntity.ok().body(grid));
+    }
+
+    /**
+     * {@code GET  /schedules/summary?groupBy=:groupBy&from=:from&to=:to} : get the total hours of the schedules per user and
+     * per week or month.
+     * <p>
+     * The totals are read from the summaries maintained as the schedules are written, not summed from the schedules.
+     *
+     * @param groupBy the period the hours are summed over, {@code week} for the ISO weeks or {@code month}.
+     * @param from the inclusive lower bound of the range, the period of this date is included.
+     * @param to the exclusive upper bound of the range.
+     * @param userId the id of the user whose totals to get, all the users if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the totals of the periods with hours in body, ordered by
+     * user and period, or with status {@code 400 (Bad Request)} if the period or the range is not valid.
+     */
+    @GetMapping(value = "/schedules/summary", params = { "groupBy", "from", "to" })
+    public Mono<ResponseEntity<Flux<ScheduleHoursSummary>>> getScheduleHoursSummaries(
+        @RequestParam String groupBy,
+        @RequestParam LocalDate from,
+        @RequestParam LocalDate to,
+        @RequestParam(required = false) Long userId
+    ) {
+        log.debug("REST request to get the {} summaries of user {} between {} and {}", groupBy, userId, from, to);
+        SummaryPeriod period;
+        try {
+            period = SummaryPeriod.fromValue(groupBy);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("The period must be week or month", ENTITY_NAME, "groupbyinvalid");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The range start must be before its end", ENTITY_NAME, "rangeinvalid");
+        }
+        return Mono.just(ResponseEntity.ok().body(scheduleHoursSummaryService.findAll(period, from, to, userId)));
+    }
+
+    /**
+     * {@code POST  /admin/schedules/summary/rebuild} : rebuild the totals of hours per user and per week or month from the
+     * schedules, to backfill them.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} and the number of totals in the
+     * {@code X-Summary-Count} header.
+     */
+    @PostMapping("/admin/schedules/summary/rebuild")
+    public Mono<ResponseEntity<Void>> rebuildScheduleHoursSummaries() {
+        log.debug("REST request to rebuild the summaries of the Schedules");
+        return scheduleHoursSummaryService
+            .rebuild()
+            .map(summaries -> ResponseEntity.noContent().header(SUMMARY_COUNT_HEADER, summaries.toString()).build());
     }
 
     /**
      * {@code GET  /schedules/:id} : get the "id" schedule.
      *
      * @param id the id of the schedule to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the schedule, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the schedule, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/schedules/{id}")
-    public Mono<ResponseEntity<Schedule>> getSchedule(@PathVariable Long id) {
+    public Mono<ResponseEntity<Schedule>> getSchedule(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get Schedule : {}", id);
-        Mono<Schedule> schedule = scheduleService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<Schedule> schedule = scheduleService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(schedule);
     }
 
+    /**
+     * {@code GET  /schedules?ids=:ids} : get the schedules of a list of ids.
+     * <p>
+     * The schedules are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} schedules.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the schedules in the order of the ids and the ids of no schedule,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/schedules", params = "ids")
+    public Mono<EntitiesByIds<Schedule>> getSchedulesByIds(@RequestParam List<Long> ids, @RequestParam(required = false) String fields) {
+        log.debug("REST request to get Schedule by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /schedules/by-ids} : get the schedules of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} schedules.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the schedules in the order of the ids and the ids of no schedule,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/schedules/by-ids")
+    public Mono<EntitiesByIds<Schedule>> getSchedulesByIdsInBody(
+        @RequestBody List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get Schedule by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<Schedule>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleCriteria.PROPERTIES, ENTITY_NAME);
+        return scheduleService.findByIds(ids, selected);
+    }
+
     /**
      * {@code DELETE  /schedules/:id} : delete the "id" schedule.
      *
@@ -213,4 +587,31 @@ public class ScheduleResource {
                     .build()
             );
     }
+
+    /**
+     * {@code DELETE  /schedules?userId=:userId&from=:from&to=:to} : delete the schedules of users within a date range.
+     *
+     * @param userId the ids of the users whose schedules to delete.
+     * @param from the inclusive lower bound of the work date.
+     * @param to the exclusive upper bound of the work date.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} and the number of deleted schedules in the
+     * {@code X-Deleted-Count} header, or with status {@code 400 (Bad Request)} if the range is not valid.
+     */
+    @DeleteMapping(value = "/schedules", params = { "userId", "from", "to" })
+    public Mono<ResponseEntity<Void>> deleteSchedulesByUserIdAndWorkDateBetween(
+        @RequestParam List<Long> userId,
+        @RequestParam ZonedDateTime from,
+        @RequestParam ZonedDateTime to
+    ) {
+        log.debug("REST request to delete Schedules of users {} between {} and {}", userId, from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The range start must be before its end", ENTITY_NAME, "rangeinvalid");
+        }
+        if (userId.isEmpty()) {
+            throw new BadRequestAlertException("At least one user is required", ENTITY_NAME, "useridnull");
+        }
+        return scheduleService
+            .deleteByUserIdInAndWorkDateBetween(userId, from, to)
+            .map(deleted -> ResponseEntity.noContent().header(DELETED_COUNT_HEADER, deleted.toString()).build());
+    }
 }
@@ -1,24 +1,29 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
 import com.invygo.digital.domain.ScheduleUser;
+import com.invygo.digital.domain.criteria.ScheduleUserCriteria;
 import com.invygo.digital.repository.ScheduleUserRepository;
 import com.invygo.digital.service.ScheduleUserService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -42,9 +47,16 @@ public class ScheduleUserResource {
 
     private final ScheduleUserRepository scheduleUserRepository;
 
-    public ScheduleUserResource(ScheduleUserService scheduleUserService, ScheduleUserRepository scheduleUserRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    public ScheduleUserResource(
+        ScheduleUserService scheduleUserService,
+        ScheduleUserRepository scheduleUserRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.scheduleUserService = scheduleUserService;
         this.scheduleUserRepository = scheduleUserRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -97,23 +109,15 @@ public class ScheduleUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return scheduleUserRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return scheduleUserService
-                    .update(scheduleUser)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return scheduleUserService
+            .update(scheduleUser)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -121,7 +125,9 @@ public class ScheduleUserResource {
      *
      * @param id the id of the scheduleUser to save.
      * @param scheduleUser the scheduleUser to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated scheduleUser is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated scheduleUser,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the scheduleUser is not valid,
      * or with status {@code 404 (Not Found)} if the scheduleUser is not found,
      * or with status {@code 500 (Internal Server Error)} if the scheduleUser couldn't be updated.
@@ -130,7 +136,8 @@ public class ScheduleUserResource {
     @PatchMapping(value = "/schedule-users/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<ScheduleUser>> partialUpdateScheduleUser(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody ScheduleUser scheduleUser
+        @NotNull @RequestBody ScheduleUser scheduleUser,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update ScheduleUser partially : {}, {}", id, scheduleUser);
         if (scheduleUser.getId() == null) {
@@ -140,60 +147,145 @@ public class ScheduleUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return scheduleUserRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<ScheduleUser> result = scheduleUserService.partialUpdate(scheduleUser);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return scheduleUserService
+                .partialUpdateWithoutResult(scheduleUser)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<ScheduleUser>build()
                     );
-            });
+                });
+        }
+
+        return scheduleUserService
+            .partialUpdate(scheduleUser)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /schedule-users} : get all the scheduleUsers.
+     * {@code GET  /schedule-users} : get all the scheduleUsers matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * scheduleUsers are streamed as a JSON array without being held in memory. The filters, for example {@code login.contains=john},
+     * are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of scheduleUsers in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of scheduleUsers in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/schedule-users")
-    public Mono<List<ScheduleUser>> getAllScheduleUsers() {
-        log.debug("REST request to get all ScheduleUsers");
-        return scheduleUserService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<ScheduleUser>>> getAllScheduleUsers(
+        @org.springdoc.api.annotations.ParameterObject ScheduleUserCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleUserCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all ScheduleUsers by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(scheduleUserService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of ScheduleUsers by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, ScheduleUserCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            scheduleUserService.countByCriteria(criteria),
+            scheduleUserService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /schedule-users} : get all the scheduleUsers as a stream.
+     * {@code GET  /schedule-users} : get all the scheduleUsers matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of scheduleUsers.
      */
     @GetMapping(value = "/schedule-users", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<ScheduleUser> getAllScheduleUsersAsStream() {
-        log.debug("REST request to get all ScheduleUsers as a stream");
-        return scheduleUserService.findAll();
+    public Flux<ScheduleUser> getAllScheduleUsersAsStream(
+        @org.springdoc.api.annotations.ParameterObject ScheduleUserCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all ScheduleUsers by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleUserCriteria.PROPERTIES, ENTITY_NAME);
+        return scheduleUserService.findByCriteria(criteria, selected);
     }
 
     /**
      * {@code GET  /schedule-users/:id} : get the "id" scheduleUser.
      *
      * @param id the id of the scheduleUser to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the scheduleUser, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the scheduleUser, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/schedule-users/{id}")
-    public Mono<ResponseEntity<ScheduleUser>> getScheduleUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<ScheduleUser>> getScheduleUser(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get ScheduleUser : {}", id);
-        Mono<ScheduleUser> scheduleUser = scheduleUserService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleUserCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<ScheduleUser> scheduleUser = scheduleUserService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(scheduleUser);
     }
 
+    /**
+     * {@code GET  /schedule-users?ids=:ids} : get the scheduleUsers of a list of ids.
+     * <p>
+     * The scheduleUsers are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} scheduleUsers.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the scheduleUsers in the order of the ids and the ids of no scheduleUser,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/schedule-users", params = "ids")
+    public Mono<EntitiesByIds<ScheduleUser>> getScheduleUsersByIds(
+        @RequestParam List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get ScheduleUser by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /schedule-users/by-ids} : get the scheduleUsers of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} scheduleUsers.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the scheduleUsers in the order of the ids and the ids of no scheduleUser,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/schedule-users/by-ids")
+    public Mono<EntitiesByIds<ScheduleUser>> getScheduleUsersByIdsInBody(
+        @RequestBody List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get ScheduleUser by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<ScheduleUser>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, ScheduleUserCriteria.PROPERTIES, ENTITY_NAME);
+        return scheduleUserService.findByIds(ids, selected);
+    }
+
     /**
      * {@code DELETE  /schedule-users/:id} : delete the "id" scheduleUser.
      *
@@ -0,0 +1,205 @@
+package com.invygo.digital.web.rest;
+
+import com.invygo.digital.domain.Recurrence;
+import com.invygo.digital.domain.ShiftTemplate;
+import com.invygo.digital.service.ScheduleService;
+import com.invygo.digital.service.ShiftTemplateService;
+import com.invygo.digital.service.dto.BulkItemResult;
+import com.invygo.digital.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for managing {@link com.invygo.digital.domain.ShiftTemplate}.
+ */
+@RestController
+@RequestMapping("/api")
+public class ShiftTemplateResource {
+
+    private final Logger log = LoggerFactory.getLogger(ShiftTemplateResource.class);
+
+    private static final String ENTITY_NAME = "stuffSchedulingShiftTemplate";
+
+    private static final int MAX_MATERIALIZE_DAYS = 366;
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ShiftTemplateService shiftTemplateService;
+
+    private final ScheduleService scheduleService;
+
+    public ShiftTemplateResource(ShiftTemplateService shiftTemplateService, ScheduleService scheduleService) {
+        this.shiftTemplateService = shiftTemplateService;
+        this.scheduleService = scheduleService;
+    }
+
+    /**
+     * {@code POST  /shift-templates} : Create a new shift template.
+     *
+     * @param shiftTemplate the shift template to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shift template,
+     * or with status {@code 400 (Bad Request)} if the shift template has already an ID or its recurrence is not supported.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/shift-templates")
+    public Mono<ResponseEntity<ShiftTemplate>> createShiftTemplate(@Valid @RequestBody ShiftTemplate shiftTemplate)
+        throws URISyntaxException {
+        log.debug("REST request to save ShiftTemplate : {}", shiftTemplate);
+        if (shiftTemplate.getId() != null) {
+            throw new BadRequestAlertException("A new shiftTemplate cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        validateRecurrence(shiftTemplate);
+        return shiftTemplateService
+            .save(shiftTemplate)
+            .map(result -> {
+                try {
+                    return ResponseEntity
+                        .created(new URI("/api/shift-templates/" + result.getId()))
+                        .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                        .body(result);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
+    /**
+     * {@code PUT  /shift-templates/:id} : Updates an existing shift template, for its occurrences which are not materialized
+     * yet.
+     *
+     * @param id the id of the shift template to save.
+     * @param shiftTemplate the shift template to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shift template,
+     * or with status {@code 400 (Bad Request)} if the shift template is not valid.
+     */
+    @PutMapping("/shift-templates/{id}")
+    public Mono<ResponseEntity<ShiftTemplate>> updateShiftTemplate(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody ShiftTemplate shiftTemplate
+    ) {
+        log.debug("REST request to update ShiftTemplate : {}, {}", id, shiftTemplate);
+        if (shiftTemplate.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (!Objects.equals(id, shiftTemplate.getId())) {
+            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
+        }
+        validateRecurrence(shiftTemplate);
+
+        return shiftTemplateService
+            .update(shiftTemplate)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
+    }
+
+    /**
+     * {@code GET  /shift-templates} : get all the shift templates, or the ones of a user.
+     *
+     * @param userId the id of the user whose shift templates to get, all the users if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shift templates in body.
+     */
+    @GetMapping("/shift-templates")
+    public Mono<ResponseEntity<Flux<ShiftTemplate>>> getAllShiftTemplates(@RequestParam(required = false) Long userId) {
+        log.debug("REST request to get the ShiftTemplates of user {}", userId);
+        return Mono.just(ResponseEntity.ok().body(shiftTemplateService.findAll(userId)));
+    }
+
+    /**
+     * {@code GET  /shift-templates/:id} : get the "id" shift template.
+     *
+     * @param id the id of the shift template to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shift template, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/shift-templates/{id}")
+    public Mono<ResponseEntity<ShiftTemplate>> getShiftTemplate(@PathVariable Long id) {
+        log.debug("REST request to get ShiftTemplate : {}", id);
+        return ResponseUtil.wrapOrNotFound(shiftTemplateService.findOne(id));
+    }
+
+    /**
+     * {@code POST  /shift-templates/:id/materialize?until=:until} : save the occurrences of the "id" shift template before a
+     * day as schedules.
+     * <p>
+     * The occurrences are expanded as they are written, in chunks of {@code application.bulk.chunk-size} rows like
+     * {@code POST /schedules/bulk}, so a long horizon is never held in memory. An occurrence at the work date of an existing
+     * schedule of the user is reported as {@code INVALID} and left out. At most {@value #MAX_MATERIALIZE_DAYS} days are
+     * materialized at a time, from the end of the last materialization or the start of the shift template.
+     *
+     * @param id the id of the shift template.
+     * @param until the day after the last occurrence to save.
+     * @return the outcome of each occurrence in body, numbered from 0 in order,
+     * or with status {@code 400 (Bad Request)} if the shift template is not found or {@code until} is too far.
+     */
+    @PostMapping("/shift-templates/{id}/materialize")
+    public Flux<BulkItemResult> materializeShiftTemplate(@PathVariable Long id, @RequestParam LocalDate until) {
+        log.debug("REST request to materialize the occurrences of ShiftTemplate {} before {}", id, until);
+        return shiftTemplateService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .flatMapMany(shiftTemplate -> {
+                LocalDate from = shiftTemplate.getMaterializedUntil() != null
+                    ? shiftTemplate.getMaterializedUntil()
+                    : shiftTemplate.getStartDate();
+                if (ChronoUnit.DAYS.between(from, until) > MAX_MATERIALIZE_DAYS) {
+                    return Flux.error(
+                        new BadRequestAlertException(
+                            "At most " + MAX_MATERIALIZE_DAYS + " days of occurrences can be materialized at a time",
+                            ENTITY_NAME,
+                            "untilinvalid"
+                        )
+                    );
+                }
+                return scheduleService.materialize(shiftTemplate, until);
+            });
+    }
+
+    /**
+     * {@code DELETE  /shift-templates/:id} : delete the "id" shift template, keeping its materialized occurrences.
+     *
+     * @param id the id of the shift template to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/shift-templates/{id}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public Mono<ResponseEntity<Void>> deleteShiftTemplate(@PathVariable Long id) {
+        log.debug("REST request to delete ShiftTemplate : {}", id);
+        return shiftTemplateService
+            .delete(id)
+            .then(
+                Mono.just(
+                    ResponseEntity
+                        .noContent()
+                        .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                        .build()
+                )
+            );
+    }
+
+    private static void validateRecurrence(ShiftTemplate shiftTemplate) {
+        try {
+            Recurrence.parse(shiftTemplate.getRecurrence());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "recurrenceinvalid");
+        }
+    }
+}
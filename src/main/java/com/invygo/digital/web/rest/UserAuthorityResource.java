@@ -1,24 +1,29 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
 import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.domain.criteria.UserAuthorityCriteria;
 import com.invygo.digital.repository.UserAuthorityRepository;
 import com.invygo.digital.service.UserAuthorityService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -42,9 +47,16 @@ public class UserAuthorityResource {
 
     private final UserAuthorityRepository userAuthorityRepository;
 
-    public UserAuthorityResource(UserAuthorityService userAuthorityService, UserAuthorityRepository userAuthorityRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    public UserAuthorityResource(
+        UserAuthorityService userAuthorityService,
+        UserAuthorityRepository userAuthorityRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.userAuthorityService = userAuthorityService;
         this.userAuthorityRepository = userAuthorityRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -98,23 +110,15 @@ public class UserAuthorityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return userAuthorityRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return userAuthorityService
-                    .update(userAuthority)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return userAuthorityService
+            .update(userAuthority)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -122,7 +126,9 @@ public class UserAuthorityResource {
      *
      * @param id the id of the userAuthority to save.
      * @param userAuthority the userAuthority to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated userAuthority is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated userAuthority,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the userAuthority is not valid,
      * or with status {@code 404 (Not Found)} if the userAuthority is not found,
      * or with status {@code 500 (Internal Server Error)} if the userAuthority couldn't be updated.
@@ -131,7 +137,8 @@ public class UserAuthorityResource {
     @PatchMapping(value = "/user-authorities/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<UserAuthority>> partialUpdateUserAuthority(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody UserAuthority userAuthority
+        @NotNull @RequestBody UserAuthority userAuthority,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update UserAuthority partially : {}, {}", id, userAuthority);
         if (userAuthority.getId() == null) {
@@ -141,60 +148,170 @@ public class UserAuthorityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return userAuthorityRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<UserAuthority> result = userAuthorityService.partialUpdate(userAuthority);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return userAuthorityService
+                .partialUpdateWithoutResult(userAuthority)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<UserAuthority>build()
                     );
-            });
+                });
+        }
+
+        return userAuthorityService
+            .partialUpdate(userAuthority)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /user-authorities} : get all the userAuthorities.
+     * {@code GET  /user-authorities} : get all the userAuthorities matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * userAuthorities are streamed as a JSON array without being held in memory. The filters, for example
+     * {@code userId.equals=1&roleId.in=1,2}, are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of userAuthorities in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of userAuthorities in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/user-authorities")
-    public Mono<List<UserAuthority>> getAllUserAuthorities() {
-        log.debug("REST request to get all UserAuthorities");
-        return userAuthorityService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<UserAuthority>>> getAllUserAuthorities(
+        @org.springdoc.api.annotations.ParameterObject UserAuthorityCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, UserAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all UserAuthorities by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(userAuthorityService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of UserAuthorities by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, UserAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            userAuthorityService.countByCriteria(criteria),
+            userAuthorityService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /user-authorities} : get all the userAuthorities as a stream.
+     * {@code GET  /user-authorities} : get all the userAuthorities matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of userAuthorities.
      */
     @GetMapping(value = "/user-authorities", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<UserAuthority> getAllUserAuthoritiesAsStream() {
-        log.debug("REST request to get all UserAuthorities as a stream");
-        return userAuthorityService.findAll();
+    public Flux<UserAuthority> getAllUserAuthoritiesAsStream(
+        @org.springdoc.api.annotations.ParameterObject UserAuthorityCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all UserAuthorities by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, UserAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return userAuthorityService.findByCriteria(criteria, selected);
     }
 
     /**
      * {@code GET  /user-authorities/:id} : get the "id" userAuthority.
      *
      * @param id the id of the userAuthority to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the userAuthority, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the userAuthority, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/user-authorities/{id}")
-    public Mono<ResponseEntity<UserAuthority>> getUserAuthority(@PathVariable Long id) {
+    public Mono<ResponseEntity<UserAuthority>> getUserAuthority(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get UserAuthority : {}", id);
-        Mono<UserAuthority> userAuthority = userAuthorityService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, UserAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<UserAuthority> userAuthority = userAuthorityService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(userAuthority);
     }
 
+    /**
+     * {@code GET  /user-authorities?ids=:ids} : get the userAuthorities of a list of ids.
+     * <p>
+     * The userAuthorities are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} userAuthorities.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the userAuthorities in the order of the ids and the ids of no userAuthority,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/user-authorities", params = "ids")
+    public Mono<EntitiesByIds<UserAuthority>> getUserAuthoritiesByIds(
+        @RequestParam List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get UserAuthority by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /user-authorities/by-ids} : get the userAuthorities of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} userAuthorities.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the userAuthorities in the order of the ids and the ids of no userAuthority,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/user-authorities/by-ids")
+    public Mono<EntitiesByIds<UserAuthority>> getUserAuthoritiesByIdsInBody(
+        @RequestBody List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get UserAuthority by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<UserAuthority>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, UserAuthorityCriteria.PROPERTIES, ENTITY_NAME);
+        return userAuthorityService.findByIds(ids, selected);
+    }
+
+    /**
+     * {@code PUT  /user-authorities/users/:userId} : grant a user exactly the given roles, revoking the others.
+     * <p>
+     * Only the roles which are granted or revoked are written, by a few statements whatever the number of roles.
+     *
+     * @param userId the id of the user.
+     * @param roleIds the ids of at most {@code application.by-ids.max-ids} roles.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the userAuthorities of the user,
+     * or with status {@code 400 (Bad Request)} if there are too many role ids or one is null.
+     */
+    @PutMapping("/user-authorities/users/{userId}")
+    public Mono<ResponseEntity<List<UserAuthority>>> updateRolesOfUser(@PathVariable Long userId, @RequestBody List<Long> roleIds) {
+        log.debug("REST request to update the roles of user {} to {}", userId, roleIds);
+        ByIdsHelper.checkIds(roleIds, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        return userAuthorityService
+            .updateRolesOfUser(userId, roleIds)
+            .collectList()
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, userId.toString()))
+                    .body(result)
+            );
+    }
+
     /**
      * {@code DELETE  /user-authorities/:id} : delete the "id" userAuthority.
      *
@@ -1,24 +1,29 @@
 package com.invygo.digital.web.rest;
 
+import com.invygo.digital.config.ApplicationProperties;
 import com.invygo.digital.domain.Users;
+import com.invygo.digital.domain.criteria.UsersCriteria;
 import com.invygo.digital.repository.UsersRepository;
 import com.invygo.digital.service.UsersService;
+import com.invygo.digital.service.dto.EntitiesByIds;
 import com.invygo.digital.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -42,9 +47,12 @@ public class UsersResource {
 
     private final UsersRepository usersRepository;
 
-    public UsersResource(UsersService usersService, UsersRepository usersRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    public UsersResource(UsersService usersService, UsersRepository usersRepository, ApplicationProperties applicationProperties) {
         this.usersService = usersService;
         this.usersRepository = usersRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -97,23 +105,15 @@ public class UsersResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return usersRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return usersService
-                    .update(users)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return usersService
+            .update(users)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -121,7 +121,9 @@ public class UsersResource {
      *
      * @param id the id of the users to save.
      * @param users the users to update.
+     * @param prefer the {@code Prefer} header, with {@code return=minimal} the updated users is not read back.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated users,
+     * or with status {@code 204 (No Content)} if {@code return=minimal} is preferred,
      * or with status {@code 400 (Bad Request)} if the users is not valid,
      * or with status {@code 404 (Not Found)} if the users is not found,
      * or with status {@code 500 (Internal Server Error)} if the users couldn't be updated.
@@ -130,7 +132,8 @@ public class UsersResource {
     @PatchMapping(value = "/users/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<Users>> partialUpdateUsers(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Users users
+        @NotNull @RequestBody Users users,
+        @RequestHeader(value = PreferHeader.NAME, required = false) String prefer
     ) throws URISyntaxException {
         log.debug("REST request to partial update Users partially : {}, {}", id, users);
         if (users.getId() == null) {
@@ -140,60 +143,139 @@ public class UsersResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return usersRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Users> result = usersService.partialUpdate(users);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return usersService
+                .partialUpdateWithoutResult(users)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                    }
+                    return Mono.just(
                         ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
+                            .noContent()
+                            .header(PreferHeader.PREFERENCE_APPLIED, PreferHeader.RETURN_MINIMAL)
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                            .<Users>build()
                     );
-            });
+                });
+        }
+
+        return usersService
+            .partialUpdate(users)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
-     * {@code GET  /users} : get all the users.
+     * {@code GET  /users} : get all the users matching the criteria.
+     * <p>
+     * With a {@code page} or {@code size} parameter only the requested page is read, otherwise all the matching
+     * users are streamed as a JSON array without being held in memory. The filters, for example {@code email.contains=invygo},
+     * are run by the database.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of users in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of users in body,
+     * or with status {@code 400 (Bad Request)} if the page is sorted by, or the entities narrowed to,
+     * a property which is not supported.
      */
     @GetMapping("/users")
-    public Mono<List<Users>> getAllUsers() {
-        log.debug("REST request to get all Users");
-        return usersService.findAll().collectList();
+    public Mono<ResponseEntity<Flux<Users>>> getAllUsers(
+        @org.springdoc.api.annotations.ParameterObject UsersCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
+        Set<String> selected = FieldsHelper.checkFields(fields, UsersCriteria.PROPERTIES, ENTITY_NAME);
+        if (!PaginationHelper.isPageRequested(request)) {
+            log.debug("REST request to get all Users by criteria: {}", criteria);
+            return Mono.just(ResponseEntity.ok().body(usersService.findByCriteria(criteria, selected)));
+        }
+        log.debug("REST request to get a page of Users by criteria: {}", criteria);
+        PaginationHelper.checkSort(pageable, UsersCriteria.PROPERTIES, ENTITY_NAME);
+        return PaginationHelper.page(
+            usersService.countByCriteria(criteria),
+            usersService.findByCriteria(criteria, selected, pageable),
+            pageable,
+            request
+        );
     }
 
     /**
-     * {@code GET  /users} : get all the users as a stream.
+     * {@code GET  /users} : get all the users matching the criteria as a stream.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
      * @return the {@link Flux} of users.
      */
     @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<Users> getAllUsersAsStream() {
-        log.debug("REST request to get all Users as a stream");
-        return usersService.findAll();
+    public Flux<Users> getAllUsersAsStream(
+        @org.springdoc.api.annotations.ParameterObject UsersCriteria criteria,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get all Users by criteria as a stream: {}", criteria);
+        Set<String> selected = FieldsHelper.checkFields(fields, UsersCriteria.PROPERTIES, ENTITY_NAME);
+        return usersService.findByCriteria(criteria, selected);
     }
 
     /**
      * {@code GET  /users/:id} : get the "id" users.
      *
      * @param id the id of the users to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the users, or with status {@code 404 (Not Found)}.
+     * @param fields the fields, separated by commas, the entity is narrowed to besides its id; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the users, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if it is narrowed to a property which is not supported.
      */
     @GetMapping("/users/{id}")
-    public Mono<ResponseEntity<Users>> getUsers(@PathVariable Long id) {
+    public Mono<ResponseEntity<Users>> getUsers(@PathVariable Long id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get Users : {}", id);
-        Mono<Users> users = usersService.findOne(id);
+        Set<String> selected = FieldsHelper.checkFields(fields, UsersCriteria.PROPERTIES, ENTITY_NAME);
+        Mono<Users> users = usersService.findOne(id, selected);
         return ResponseUtil.wrapOrNotFound(users);
     }
 
+    /**
+     * {@code GET  /users?ids=:ids} : get the users of a list of ids.
+     * <p>
+     * The users are read by a few {@code WHERE id IN (...)} queries, in place of a request per id.
+     *
+     * @param ids the ids, separated by commas, of at most {@code application.by-ids.max-ids} users.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the users in the order of the ids and the ids of no users,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @GetMapping(value = "/users", params = "ids")
+    public Mono<EntitiesByIds<Users>> getUsersByIds(@RequestParam List<Long> ids, @RequestParam(required = false) String fields) {
+        log.debug("REST request to get Users by ids : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    /**
+     * {@code POST  /users/by-ids} : get the users of a list of ids too long for a query parameter.
+     *
+     * @param ids the ids of at most {@code application.by-ids.max-ids} users.
+     * @param fields the fields, separated by commas, the entities are narrowed to besides their id; all of them if absent.
+     * @return the users in the order of the ids and the ids of no users,
+     * or an error with status {@code 400 (Bad Request)} if there are too many ids or a field is not supported.
+     */
+    @PostMapping("/users/by-ids")
+    public Mono<EntitiesByIds<Users>> getUsersByIdsInBody(@RequestBody List<Long> ids, @RequestParam(required = false) String fields) {
+        log.debug("REST request to get Users by the ids in body : {}", ids);
+        return findByIds(ids, fields);
+    }
+
+    private Mono<EntitiesByIds<Users>> findByIds(List<Long> ids, String fields) {
+        ByIdsHelper.checkIds(ids, applicationProperties.getByIds().getMaxIds(), ENTITY_NAME);
+        Set<String> selected = FieldsHelper.checkFields(fields, UsersCriteria.PROPERTIES, ENTITY_NAME);
+        return usersService.findByIds(ids, selected);
+    }
+
     /**
      * {@code DELETE  /users/:id} : delete the "id" users.
      *
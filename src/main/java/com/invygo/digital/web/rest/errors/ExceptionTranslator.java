@@ -1,5 +1,7 @@
 package com.invygo.digital.web.rest.errors;
 
+import com.invygo.digital.security.AuthenticationThrottledException;
+import com.invygo.digital.service.ScheduleConflictException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
@@ -45,6 +47,7 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final String VIOLATIONS_KEY = "violations";
+    private static final String CONFLICTS_KEY = "conflicts";
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
@@ -130,6 +133,28 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handleAuthenticationThrottled(AuthenticationThrottledException ex, ServerWebExchange request) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.SERVICE_UNAVAILABLE)
+            .with(MESSAGE_KEY, ErrorConstants.ERR_AUTHENTICATION_THROTTLED)
+            .build();
+        return create(ex, problem, request);
+    }
+
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handleScheduleConflict(ScheduleConflictException ex, ServerWebExchange request) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.CONFLICT)
+            .withTitle("Schedule conflict")
+            .with(MESSAGE_KEY, ErrorConstants.ERR_SCHEDULE_CONFLICT)
+            .with(CONFLICTS_KEY, ex.getConflicts())
+            .build();
+        return create(ex, problem, request);
+    }
+
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
@@ -0,0 +1,70 @@
+package com.invygo.digital.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecurrenceTest {
+
+    // a Wednesday
+    private static final LocalDate START = LocalDate.of(2022, 6, 1);
+
+    @Test
+    void testWeeklyOccurrencesAreOnTheDaysOfTheWeekFromTheStart() {
+        Recurrence recurrence = Recurrence.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20220613");
+
+        assertThat(take(recurrence.occurrences(START, START), 10))
+            .containsExactly(
+                LocalDate.of(2022, 6, 1),
+                LocalDate.of(2022, 6, 3),
+                LocalDate.of(2022, 6, 6),
+                LocalDate.of(2022, 6, 8),
+                LocalDate.of(2022, 6, 10),
+                LocalDate.of(2022, 6, 13)
+            );
+    }
+
+    @Test
+    void testOccurrencesBeforeFromAreSkippedButCounted() {
+        Recurrence weekly = Recurrence.parse("freq=weekly;interval=2;byday=mo,fr;count=5");
+        Recurrence daily = Recurrence.parse("FREQ=DAILY;INTERVAL=3;COUNT=4");
+
+        // the occurrences are on 06-03, 06-13, 06-17, 06-27 and 07-01
+        assertThat(take(weekly.occurrences(START, LocalDate.of(2022, 6, 14)), 10))
+            .containsExactly(LocalDate.of(2022, 6, 17), LocalDate.of(2022, 6, 27), LocalDate.of(2022, 7, 1));
+        // the occurrences are on 06-01, 06-04, 06-07 and 06-10
+        assertThat(take(daily.occurrences(START, LocalDate.of(2022, 6, 5)), 10))
+            .containsExactly(LocalDate.of(2022, 6, 7), LocalDate.of(2022, 6, 10));
+    }
+
+    @Test
+    void testRecurrencesWithoutEndAreReadLazily() {
+        Recurrence recurrence = Recurrence.parse("FREQ=WEEKLY");
+
+        assertThat(take(recurrence.occurrences(START, LocalDate.of(3022, 6, 1)), 2))
+            .containsExactly(LocalDate.of(3022, 6, 5), LocalDate.of(3022, 6, 12));
+        assertThat(recurrence).hasToString("FREQ=WEEKLY");
+    }
+
+    @Test
+    void testUnsupportedRulesAreRejected() {
+        assertThatThrownBy(() -> Recurrence.parse("FREQ=MONTHLY")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Recurrence.parse("FREQ=DAILY;BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Recurrence.parse("FREQ=WEEKLY;COUNT=2;UNTIL=20220601")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Recurrence.parse("FREQ=WEEKLY;INTERVAL=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Recurrence.parse("BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<LocalDate> take(Iterator<LocalDate> occurrences, int max) {
+        List<LocalDate> days = new ArrayList<>();
+        while (occurrences.hasNext() && days.size() < max) {
+            days.add(occurrences.next());
+        }
+        return days;
+    }
+}
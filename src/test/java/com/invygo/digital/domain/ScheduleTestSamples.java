@@ -0,0 +1,25 @@
+package com.invygo.digital.domain;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Factories of the {@link Schedule}s the unit tests read and write.
+ */
+public final class ScheduleTestSamples {
+
+    private ScheduleTestSamples() {}
+
+    /**
+     * @return a schedule without id, as it is before it is saved.
+     */
+    public static Schedule schedule(Long userId, ZonedDateTime workDate, Long hours) {
+        return new Schedule().userId(userId).workDate(workDate).hours(hours);
+    }
+
+    /**
+     * @return a saved schedule.
+     */
+    public static Schedule schedule(Long id, Long userId, ZonedDateTime workDate, Long hours) {
+        return schedule(userId, workDate, hours).id(id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.invygo.digital.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.invygo.digital.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ShiftTemplateTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ShiftTemplate.class);
+        ShiftTemplate shiftTemplate1 = new ShiftTemplate();
+        shiftTemplate1.setId(1L);
+        ShiftTemplate shiftTemplate2 = new ShiftTemplate();
+        shiftTemplate2.setId(shiftTemplate1.getId());
+        assertThat(shiftTemplate1).isEqualTo(shiftTemplate2);
+        shiftTemplate2.setId(2L);
+        assertThat(shiftTemplate1).isNotEqualTo(shiftTemplate2);
+        shiftTemplate1.setId(null);
+        assertThat(shiftTemplate1).isNotEqualTo(shiftTemplate2);
+    }
+}
@@ -0,0 +1,42 @@
+package com.invygo.digital.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LinkTableMetersServiceTests {
+
+    private static final String LINK_TABLE_METER_EXPECTED_NAME = "repository.link-table.statements";
+
+    private MeterRegistry meterRegistry;
+
+    private LinkTableMetersService linkTableMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        linkTableMetersService = new LinkTableMetersService(meterRegistry);
+    }
+
+    @Test
+    void testTrackMethodsShouldIncrementTheCountersOfTheirTable() {
+        linkTableMetersService.trackSelect("role_authority");
+        linkTableMetersService.trackDelete("role_authority");
+        linkTableMetersService.trackInsert("role_authority");
+        linkTableMetersService.trackInsert("role_authority");
+        linkTableMetersService.trackInsert("user_authority");
+
+        assertThat(statements("role_authority", "select")).isEqualTo(1);
+        assertThat(statements("role_authority", "delete")).isEqualTo(1);
+        assertThat(statements("role_authority", "insert")).isEqualTo(2);
+        assertThat(statements("user_authority", "insert")).isEqualTo(1);
+    }
+
+    private double statements(String table, String statement) {
+        return meterRegistry.get(LINK_TABLE_METER_EXPECTED_NAME).tag("table", table).tag("statement", statement).counter().count();
+    }
+}
@@ -0,0 +1,55 @@
+package com.invygo.digital.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PasswordHashingMetersServiceTests {
+
+    private static final String PASSWORD_HASHING_METER_EXPECTED_NAME = "security.password-hashing.duration";
+    private static final String PASSWORD_HASHING_QUEUE_METER_EXPECTED_NAME = "security.password-hashing.queue";
+
+    private MeterRegistry meterRegistry;
+
+    private PasswordHashingMetersService passwordHashingMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        passwordHashingMetersService = new PasswordHashingMetersService(meterRegistry);
+    }
+
+    @Test
+    void testTimeMethodsShouldBeBoundToCorrectTimers() {
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_NAME).tag("operation", "encode").timer().count()).isZero();
+
+        assertThat(passwordHashingMetersService.timeEncode(() -> "hash")).isEqualTo("hash");
+
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_NAME).tag("operation", "encode").timer().count()).isEqualTo(1);
+
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_NAME).tag("operation", "matches").timer().count()).isZero();
+
+        assertThat(passwordHashingMetersService.timeMatches(() -> true)).isTrue();
+
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_NAME).tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testQueueGaugeFollowsTheQueue() {
+        List<Runnable> queue = new ArrayList<>();
+        passwordHashingMetersService.monitorQueue(queue);
+
+        assertThat(meterRegistry.get(PASSWORD_HASHING_QUEUE_METER_EXPECTED_NAME).gauge().value()).isZero();
+
+        queue.add(() -> {});
+        queue.add(() -> {});
+
+        assertThat(meterRegistry.get(PASSWORD_HASHING_QUEUE_METER_EXPECTED_NAME).gauge().value()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,47 @@
+package com.invygo.digital.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserDetailsCacheMetersServiceTests {
+
+    private static final String USER_DETAILS_CACHE_METER_EXPECTED_NAME = "security.user-details-cache.requests";
+    private static final String USER_DETAILS_CACHE_HIT_RATIO_METER_EXPECTED_NAME = "security.user-details-cache.hit-ratio";
+
+    private MeterRegistry meterRegistry;
+
+    private UserDetailsCacheMetersService userDetailsCacheMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        userDetailsCacheMetersService = new UserDetailsCacheMetersService(meterRegistry);
+    }
+
+    @Test
+    void testTrackMethodsShouldIncrementCorrectCounters() {
+        userDetailsCacheMetersService.trackHit();
+        userDetailsCacheMetersService.trackMiss();
+        userDetailsCacheMetersService.trackMiss();
+
+        assertThat(meterRegistry.get(USER_DETAILS_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(USER_DETAILS_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testHitRatioGaugeFollowsTheCounters() {
+        assertThat(meterRegistry.get(USER_DETAILS_CACHE_HIT_RATIO_METER_EXPECTED_NAME).gauge().value()).isZero();
+
+        userDetailsCacheMetersService.trackMiss();
+        userDetailsCacheMetersService.trackHit();
+        userDetailsCacheMetersService.trackHit();
+        userDetailsCacheMetersService.trackHit();
+
+        assertThat(meterRegistry.get(USER_DETAILS_CACHE_HIT_RATIO_METER_EXPECTED_NAME).gauge().value()).isEqualTo(0.75);
+    }
+}
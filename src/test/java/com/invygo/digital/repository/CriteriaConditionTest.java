@@ -0,0 +1,120 @@
+package com.invygo.digital.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.config.DatabaseConfiguration.ZonedDateTimeWriteConverter;
+import com.invygo.digital.domain.criteria.ScheduleCriteria;
+import com.invygo.digital.domain.criteria.UsersCriteria;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+class CriteriaConditionTest {
+
+    private static final Table TABLE = Table.aliased("schedule", EntityManager.ENTITY_ALIAS);
+
+    private static final ZonedDateTime WORK_DATE = ZonedDateTime.of(2022, 6, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    private R2dbcConverter converter;
+
+    private DatabaseClient.GenericExecuteSpec query;
+
+    @BeforeEach
+    public void setup() {
+        DefaultConversionService conversionService = new DefaultConversionService();
+        conversionService.addConverter(ZonedDateTimeWriteConverter.INSTANCE);
+        converter = mock(R2dbcConverter.class);
+        when(converter.getConversionService()).thenReturn(conversionService);
+        when(converter.getTargetType(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0) == ZonedDateTime.class ? LocalDateTime.class : invocation.getArgument(0));
+        query = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(query.bind(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    void testFiltersAreRenderedWithBindMarkers() {
+        ScheduleCriteria criteria = new ScheduleCriteria();
+        criteria.userId().setIn(List.of(1L, 2L));
+        criteria.workDate().setGreaterThanOrEqual(WORK_DATE);
+        criteria.hours().setLessThan(8L);
+
+        CriteriaCondition condition = condition(criteria);
+
+        assertThat(render(condition))
+            .isEqualTo(
+                "SELECT * FROM schedule e WHERE e.user_id IN (:userId_in) AND e.work_date >= :workDate_greaterThanOrEqual" +
+                " AND e.hours < :hours_lessThan"
+            );
+        assertThat(condition.getShape()).isEqualTo("?userId.in&workDate.greaterThanOrEqual&hours.lessThan");
+
+        condition.bind(query);
+
+        verify(query).bind("userId_in", List.of(1L, 2L));
+        verify(query).bind("workDate_greaterThanOrEqual", ZonedDateTimeWriteConverter.INSTANCE.convert(WORK_DATE));
+        verify(query).bind("hours_lessThan", 8L);
+    }
+
+    @Test
+    void testShapeDoesNotDependOnTheValues() {
+        ScheduleCriteria some = new ScheduleCriteria();
+        some.userId().setIn(List.of(1L));
+        some.hours().setEquals(8L);
+        ScheduleCriteria others = new ScheduleCriteria();
+        others.userId().setIn(List.of(2L, 3L, 4L));
+        others.hours().setEquals(4L);
+
+        assertThat(condition(some).getShape()).isEqualTo(condition(others).getShape());
+        assertThat(condition(new ScheduleCriteria()).getShape()).isEmpty();
+        assertThat(condition(new ScheduleCriteria()).getCondition()).isNull();
+    }
+
+    @Test
+    void testEmptyInMatchesNothingWithoutBinding() {
+        ScheduleCriteria criteria = new ScheduleCriteria();
+        criteria.userId().setIn(List.of());
+        criteria.hours().setSpecified(true);
+
+        CriteriaCondition condition = condition(criteria);
+        condition.bind(query);
+
+        assertThat(render(condition)).isEqualTo("SELECT * FROM schedule e WHERE e.user_id IN (NULL) AND e.hours IS NOT NULL");
+        verifyNoInteractions(query);
+    }
+
+    @Test
+    void testContainsEscapesTheLikeWildcards() {
+        UsersCriteria criteria = new UsersCriteria();
+        criteria.email().setContains("a_b%");
+
+        new CriteriaCondition(converter).filter("email", TABLE.column("email"), criteria.getEmail()).bind(query);
+
+        verify(query).bind("email_contains", "%a\\_b\\%%");
+    }
+
+    private CriteriaCondition condition(ScheduleCriteria criteria) {
+        return new CriteriaCondition(converter)
+            .filter("userId", TABLE.column("user_id"), criteria.getUserId())
+            .filter("workDate", TABLE.column("work_date"), criteria.getWorkDate())
+            .filter("hours", TABLE.column("hours"), criteria.getHours());
+    }
+
+    private static String render(CriteriaCondition condition) {
+        return SqlRenderer.toString(Select.builder().select(Expressions.asterisk()).from(TABLE).where(condition.getCondition()).build());
+    }
+}
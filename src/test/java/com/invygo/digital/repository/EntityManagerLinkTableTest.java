@@ -0,0 +1,176 @@
+package com.invygo.digital.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.invygo.digital.management.LinkTableMetersService;
+import com.invygo.digital.management.StatementCacheMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Checks the rows of a link table updated by {@link EntityManager#updateLinkTable}, on an H2 database of its own.
+ */
+class EntityManagerLinkTableTest {
+
+    private static final String TABLE = "user_authority";
+
+    private static final EntityManager.LinkTable LINK_TABLE = new EntityManager.LinkTable(TABLE, "user_id", "role_id");
+
+    private static final long USER_ID = 7L;
+
+    private static final long OTHER_USER_ID = 8L;
+
+    private MeterRegistry meterRegistry;
+
+    private DatabaseClient db;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setup() {
+        ConnectionFactory connectionFactory = H2ConnectionFactory.inMemory("link-table-" + UUID.randomUUID());
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(connectionFactory);
+        R2dbcDialect dialect = DialectResolver.getDialect(connectionFactory);
+        meterRegistry = new SimpleMeterRegistry();
+        entityManager =
+            new EntityManager(
+                SqlRenderer.create(new RenderContextFactory(dialect).createRenderContext()),
+                new UpdateMapper(dialect, template.getConverter()),
+                template,
+                dialect,
+                new StatementCacheMetersService(meterRegistry),
+                new LinkTableMetersService(meterRegistry)
+            );
+        db = template.getDatabaseClient();
+        db
+            .sql("CREATE TABLE user_authority (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, role_id BIGINT NOT NULL)")
+            .then()
+            .block();
+        db.sql("INSERT INTO user_authority (user_id, role_id) VALUES (" + OTHER_USER_ID + ", 1)").then().block();
+    }
+
+    @Test
+    void testAddingLinksInsertsThemInOneStatement() {
+        Integer updated = update(1L, 2L, 3L);
+
+        assertThat(updated).isEqualTo(3);
+        assertThat(roleIds(USER_ID)).containsExactly(1L, 2L, 3L);
+        assertThat(roleIds(OTHER_USER_ID)).containsExactly(1L);
+        assertThat(statements("insert")).isEqualTo(1);
+        assertThat(statements("delete")).isZero();
+    }
+
+    @Test
+    void testRemovingLinksDeletesOnlyThem() {
+        update(1L, 2L, 3L);
+
+        Integer updated = update(2L);
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(roleIds(USER_ID)).containsExactly(2L);
+        assertThat(roleIds(OTHER_USER_ID)).containsExactly(1L);
+        assertThat(statements("delete")).isEqualTo(1);
+    }
+
+    @Test
+    void testReplacingLinksWritesOnlyTheDifference() {
+        update(1L, 2L);
+        List<Long> keptRowIds = rowIds(2L);
+
+        Integer updated = update(2L, 3L, 4L, 3L);
+
+        assertThat(updated).isEqualTo(3);
+        assertThat(roleIds(USER_ID)).containsExactly(2L, 3L, 4L);
+        assertThat(rowIds(2L)).isEqualTo(keptRowIds);
+        assertThat(statements("select")).isEqualTo(2);
+        assertThat(statements("insert")).isEqualTo(2);
+        assertThat(statements("delete")).isEqualTo(1);
+    }
+
+    @Test
+    void testLinksAreWrittenInChunks() {
+        update(LongStream.rangeClosed(1, 1200).boxed().toArray(Long[]::new));
+
+        assertThat(roleIds(USER_ID)).hasSize(1200);
+        assertThat(statements("insert")).isEqualTo(3);
+
+        Integer updated = update(LongStream.rangeClosed(601, 1800).boxed().toArray(Long[]::new));
+
+        assertThat(updated).isEqualTo(1200);
+        assertThat(roleIds(USER_ID)).isEqualTo(LongStream.rangeClosed(601, 1800).boxed().collect(Collectors.toList()));
+        assertThat(statements("delete")).isEqualTo(2);
+        assertThat(statements("insert")).isEqualTo(5);
+    }
+
+    @Test
+    void testNoLinksDeletesThemAll() {
+        update(1L, 2L);
+
+        Integer updated = update();
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(roleIds(USER_ID)).isEmpty();
+        assertThat(roleIds(OTHER_USER_ID)).containsExactly(1L);
+    }
+
+    @Test
+    void testNullIdsAreRejected() {
+        update(1L);
+
+        assertThatThrownBy(() -> update(2L, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(roleIds(USER_ID)).containsExactly(1L);
+    }
+
+    private Integer update(Long... roleIds) {
+        return entityManager.updateLinkTable(LINK_TABLE, USER_ID, Stream.of(roleIds)).block();
+    }
+
+    private List<Long> roleIds(long userId) {
+        return db
+            .sql("SELECT role_id FROM user_authority WHERE user_id = :userId ORDER BY role_id")
+            .bind("userId", userId)
+            .map(row -> row.get(0, Long.class))
+            .all()
+            .collectList()
+            .block();
+    }
+
+    private List<Long> rowIds(long roleId) {
+        return db
+            .sql("SELECT id FROM user_authority WHERE user_id = :userId AND role_id = :roleId")
+            .bind("userId", USER_ID)
+            .bind("roleId", roleId)
+            .map(row -> row.get(0, Long.class))
+            .all()
+            .collectList()
+            .block();
+    }
+
+    private double statements(String statement) {
+        return meterRegistry
+            .find(LinkTableMetersService.LINK_TABLE_METER_NAME)
+            .tag(LinkTableMetersService.LINK_TABLE_METER_TABLE_DIMENSION, TABLE)
+            .tag(LinkTableMetersService.LINK_TABLE_METER_STATEMENT_DIMENSION, statement)
+            .counters()
+            .stream()
+            .mapToDouble(counter -> counter.count())
+            .sum();
+    }
+}
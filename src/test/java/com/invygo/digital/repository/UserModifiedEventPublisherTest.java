@@ -0,0 +1,63 @@
+package com.invygo.digital.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionContextManager;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class UserModifiedEventPublisherTest {
+
+    private List<Object> events;
+
+    private UserModifiedEventPublisher userModifiedEventPublisher;
+
+    @BeforeEach
+    public void setup() {
+        events = new CopyOnWriteArrayList<>();
+        userModifiedEventPublisher = new UserModifiedEventPublisher(events::add);
+    }
+
+    @Test
+    void testEventIsPublishedOnceWithoutTransaction() {
+        userModifiedEventPublisher.publish(1L).block();
+
+        assertThat(events).singleElement().extracting("userId").isEqualTo(1L);
+    }
+
+    @Test
+    void testEventIsPublishedAgainOnceTheTransactionCompleted() {
+        List<Integer> publishedBeforeCompletion = new CopyOnWriteArrayList<>();
+
+        TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                synchronizationManager.initSynchronization();
+                return userModifiedEventPublisher
+                    .publish(1L)
+                    .doOnSuccess(published -> publishedBeforeCompletion.add(events.size()))
+                    .then(
+                        Mono.defer(() -> {
+                            List<TransactionSynchronization> synchronizations = synchronizationManager.getSynchronizations();
+                            synchronizationManager.clearSynchronization();
+                            return Flux
+                                .fromIterable(synchronizations)
+                                .concatMap(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED))
+                                .then();
+                        })
+                    );
+            })
+            .contextWrite(TransactionContextManager.createTransactionContext())
+            .contextWrite(TransactionContextManager.getOrCreateContextHolder())
+            .block();
+
+        assertThat(publishedBeforeCompletion).containsExactly(1);
+        assertThat(events).hasSize(2).extracting("userId").containsOnly(1L);
+    }
+}
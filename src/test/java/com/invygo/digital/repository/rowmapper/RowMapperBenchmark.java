@@ -0,0 +1,60 @@
+package com.invygo.digital.repository.rowmapper;
+
+import com.invygo.digital.domain.Schedule;
+import io.r2dbc.spi.Row;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the row mapping by column name with the mapping compiled from the metadata of the result.
+ * This is not run with the tests: start it with its {@link #main(String[])} method, on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private TestRow row;
+
+    private ScheduleRowMapper scheduleRowMapper;
+
+    private Function<Row, Schedule> compiledMapping;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RowMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        TestRow.Metadata metadata = ScheduleRowMapperTest.scheduleMetadata();
+        row = metadata.row(1L, 2, ScheduleRowMapperTest.WORK_DATE, 8L);
+        scheduleRowMapper = new ScheduleRowMapper(ScheduleRowMapperTest.columnConverter());
+        compiledMapping = scheduleRowMapper.compile(metadata, "e");
+    }
+
+    @Benchmark
+    public Schedule mapByColumnName() {
+        return scheduleRowMapper.apply(row, "e");
+    }
+
+    @Benchmark
+    public Schedule mapByColumnIndex() {
+        return compiledMapping.apply(row);
+    }
+}
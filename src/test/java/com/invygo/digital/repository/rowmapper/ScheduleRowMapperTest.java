@@ -0,0 +1,112 @@
+package com.invygo.digital.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.invygo.digital.config.DatabaseConfiguration;
+import com.invygo.digital.domain.Schedule;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+class ScheduleRowMapperTest {
+
+    static final LocalDateTime WORK_DATE = LocalDateTime.of(2022, 4, 18, 8, 0);
+
+    private TestRow.Metadata metadata;
+
+    private ScheduleRowMapper scheduleRowMapper;
+
+    static ColumnConverter columnConverter() {
+        R2dbcCustomConversions conversions = new DatabaseConfiguration().r2dbcCustomConversions(H2Dialect.INSTANCE);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        return new ColumnConverter(conversions, new MappingR2dbcConverter(mappingContext, conversions));
+    }
+
+    static TestRow.Metadata scheduleMetadata() {
+        Map<String, Class<?>> columns = new LinkedHashMap<>();
+        // the database upper cases the aliases of the columns
+        columns.put("E_ID", Long.class);
+        columns.put("E_USER_ID", Integer.class);
+        columns.put("E_WORK_DATE", LocalDateTime.class);
+        columns.put("E_HOURS", Long.class);
+        return TestRow.metadata(columns);
+    }
+
+    @BeforeEach
+    public void setup() {
+        metadata = scheduleMetadata();
+        scheduleRowMapper = new ScheduleRowMapper(columnConverter());
+    }
+
+    @Test
+    void compiledMappingReadsTheSameEntityAsTheRowMapper() {
+        TestRow row = metadata.row(1L, 2, WORK_DATE, 8L);
+
+        Schedule schedule = scheduleRowMapper.compile(metadata, "e").apply(row);
+
+        assertThat(schedule).usingRecursiveComparison().isEqualTo(scheduleRowMapper.apply(row, "e"));
+        assertThat(schedule.getId()).isEqualTo(1L);
+        assertThat(schedule.getUserId()).isEqualTo(2L);
+        assertThat(schedule.getWorkDate()).isEqualTo(ZonedDateTime.of(WORK_DATE, ZoneOffset.UTC));
+        assertThat(schedule.getHours()).isEqualTo(8L);
+    }
+
+    @Test
+    void compiledMappingReadsNullValues() {
+        Schedule schedule = scheduleRowMapper.compile(metadata, "e").apply(metadata.row(1L, null, null, null));
+
+        assertThat(schedule.getId()).isEqualTo(1L);
+        assertThat(schedule.getUserId()).isNull();
+        assertThat(schedule.getWorkDate()).isNull();
+        assertThat(schedule.getHours()).isNull();
+    }
+
+    @Test
+    void compiledMappingLeavesColumnsWhichAreNotSelectedUnset() {
+        TestRow.Metadata idOnly = TestRow.metadata(Map.of("e_id", Long.class));
+
+        Schedule schedule = scheduleRowMapper.compile(idOnly, "e").apply(idOnly.row(1L));
+
+        assertThat(schedule.getId()).isEqualTo(1L);
+        assertThat(schedule.getWorkDate()).isNull();
+    }
+
+    @Test
+    void resultMappingIsCompiledOncePerMetadata() {
+        int[] compilations = new int[1];
+        EntityRowMapper<Schedule> countingMapper = new EntityRowMapper<>() {
+            @Override
+            public Function<Row, Schedule> compile(RowMetadata rowMetadata, String prefix) {
+                compilations[0]++;
+                return scheduleRowMapper.compile(rowMetadata, prefix);
+            }
+
+            @Override
+            public Schedule apply(Row row, String prefix) {
+                return scheduleRowMapper.apply(row, prefix);
+            }
+        };
+        BiFunction<Row, RowMetadata, Schedule> mapping = countingMapper.forResult("e");
+
+        mapping.apply(metadata.row(1L, 2, WORK_DATE, 8L), metadata);
+        mapping.apply(metadata.row(2L, 2, WORK_DATE, 4L), metadata);
+        assertThat(compilations[0]).isEqualTo(1);
+
+        TestRow.Metadata otherMetadata = scheduleMetadata();
+        assertThat(mapping.apply(otherMetadata.row(3L, 2, WORK_DATE, 2L), otherMetadata).getId()).isEqualTo(3L);
+        assertThat(compilations[0]).isEqualTo(2);
+    }
+}
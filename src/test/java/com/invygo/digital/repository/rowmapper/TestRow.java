@@ -0,0 +1,110 @@
+package com.invygo.digital.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory {@link Row} which decodes its values like a driver does: only to the type they are stored with.
+ */
+class TestRow implements Row {
+
+    private final Metadata metadata;
+    private final Object[] values;
+
+    private TestRow(Metadata metadata, Object[] values) {
+        this.metadata = metadata;
+        this.values = values;
+    }
+
+    static Metadata metadata(Map<String, Class<?>> columns) {
+        return new Metadata(columns);
+    }
+
+    RowMetadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        Object value = values[index];
+        if (value != null && !type.isInstance(value)) {
+            throw new IllegalArgumentException("Cannot decode value of type " + value.getClass().getName() + " to " + type.getName());
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return get(metadata.indexOf(name), type);
+    }
+
+    static class Metadata implements RowMetadata {
+
+        private final List<ColumnMetadata> columns = new ArrayList<>();
+
+        private Metadata(Map<String, Class<?>> columns) {
+            new LinkedHashMap<>(columns).forEach((name, javaType) -> this.columns.add(new Column(name, javaType)));
+        }
+
+        TestRow row(Object... values) {
+            return new TestRow(this, values);
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Column " + name + " does not exist");
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public Iterable<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public List<String> getColumnNames() {
+            List<String> names = new ArrayList<>();
+            columns.forEach(column -> names.add(column.getName()));
+            return names;
+        }
+    }
+
+    private static class Column implements ColumnMetadata {
+
+        private final String name;
+        private final Class<?> javaType;
+
+        private Column(String name, Class<?> javaType) {
+            this.name = name;
+            this.javaType = javaType;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.invygo.digital.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.domain.RoleAuthority;
+import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.ScheduleAuthority;
+import com.invygo.digital.domain.User;
+import com.invygo.digital.domain.UserAuthority;
+import com.invygo.digital.repository.RoleAuthorityRepository;
+import com.invygo.digital.repository.RolesRepository;
+import com.invygo.digital.repository.ScheduleAuthorityRepository;
+import com.invygo.digital.repository.UserAuthorityRepository;
+import com.invygo.digital.repository.UserModifiedEvent;
+import com.invygo.digital.repository.UserRepository;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.reactive.TransactionContextManager;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class PermissionEngineTest {
+
+    private static final String READ = "schedule:read";
+    private static final String WRITE = "schedule:write";
+
+    private UserRepository userRepository;
+    private RolesRepository rolesRepository;
+    private RoleAuthorityRepository roleAuthorityRepository;
+    private UserAuthorityRepository userAuthorityRepository;
+    private ScheduleAuthorityRepository scheduleAuthorityRepository;
+
+    private PermissionEngine permissionEngine;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        rolesRepository = mock(RolesRepository.class);
+        roleAuthorityRepository = mock(RoleAuthorityRepository.class);
+        userAuthorityRepository = mock(UserAuthorityRepository.class);
+        scheduleAuthorityRepository = mock(ScheduleAuthorityRepository.class);
+        permissionEngine =
+            new PermissionEngine(
+                userRepository,
+                rolesRepository,
+                roleAuthorityRepository,
+                userAuthorityRepository,
+                scheduleAuthorityRepository
+            );
+
+        when(rolesRepository.findAll()).thenReturn(Flux.just(new Roles().id(1L), new Roles().id(2L)));
+        when(scheduleAuthorityRepository.findAll())
+            .thenReturn(
+                Flux.just(
+                    new ScheduleAuthority().name(READ).roleId(1L),
+                    new ScheduleAuthority().name(READ).roleId(2L),
+                    new ScheduleAuthority().name(WRITE).roleId(2L),
+                    new ScheduleAuthority().name("unassigned")
+                )
+            );
+        when(roleAuthorityRepository.findAll()).thenReturn(Flux.just(new RoleAuthority().userId(1L).roleId(1L)));
+        when(userAuthorityRepository.findAll()).thenReturn(Flux.just(new UserAuthority().userId(2L).roleId(2L)));
+        when(userRepository.findAll()).thenReturn(Flux.just(user(1L, "reader"), user(2L, "writer"), user(3L, "nobody")));
+    }
+
+    @Test
+    void testReloadGrantsTheAuthoritiesOfTheRolesOfEachUser() {
+        permissionEngine.reload().block();
+
+        assertThat(permissionEngine.hasPermission("reader", READ)).isTrue();
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isFalse();
+        assertThat(permissionEngine.hasPermission("writer", READ)).isTrue();
+        assertThat(permissionEngine.hasPermission("writer", WRITE)).isTrue();
+        assertThat(permissionEngine.hasPermission("nobody", READ)).isFalse();
+        assertThat(permissionEngine.hasPermission("unknown", READ)).isFalse();
+    }
+
+    @Test
+    void testRefreshUserAppliesTheGrantedRoles() {
+        permissionEngine.reload().block();
+        when(userRepository.findById(1L)).thenReturn(Mono.just(user(1L, "reader")));
+        when(roleAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.just(new RoleAuthority().userId(1L).roleId(1L)));
+        when(userAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.just(new UserAuthority().userId(1L).roleId(2L)));
+
+        permissionEngine.refreshUser(1L).block();
+
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isTrue();
+
+        when(roleAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.empty());
+        when(userAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.empty());
+
+        permissionEngine.refreshUser(1L).block();
+
+        assertThat(permissionEngine.hasPermission("reader", READ)).isFalse();
+    }
+
+    @Test
+    void testRefreshUsersOnCommitAppliesTheGrantedRolesOnlyOnceTheTransactionCommits() {
+        permissionEngine.reload().block();
+        when(userRepository.findById(1L)).thenReturn(Mono.just(user(1L, "reader")));
+        when(roleAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.just(new RoleAuthority().userId(1L).roleId(1L)));
+        when(userAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.just(new UserAuthority().userId(1L).roleId(2L)));
+        List<Boolean> grantedBeforeCommit = new CopyOnWriteArrayList<>();
+
+        inTransaction(
+            permissionEngine
+                .refreshUsersOnCommit(List.of(1L))
+                .doOnSuccess(refreshed -> grantedBeforeCommit.add(permissionEngine.hasPermission("reader", WRITE))),
+            false
+        );
+
+        assertThat(grantedBeforeCommit).containsExactly(false);
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isFalse();
+
+        inTransaction(permissionEngine.refreshUsersOnCommit(List.of(1L)), true);
+
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isTrue();
+    }
+
+    @Test
+    void testRefreshRolesOnCommitAppliesTheAuthoritiesRightAwayWithoutTransaction() {
+        permissionEngine.reload().block();
+        when(rolesRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(scheduleAuthorityRepository.findAllByRoleId(1L))
+            .thenReturn(Flux.just(new ScheduleAuthority().name(READ).roleId(1L), new ScheduleAuthority().name(WRITE).roleId(1L)));
+
+        permissionEngine.refreshRolesOnCommit(List.of(1L)).block();
+
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isTrue();
+    }
+
+    @Test
+    void testRenamedAndDeletedUsersLoseThePermissionsOfTheirFormerLogin() {
+        permissionEngine.reload().block();
+        when(userRepository.findById(1L)).thenReturn(Mono.just(user(1L, "renamed")));
+        when(roleAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.just(new RoleAuthority().userId(1L).roleId(1L)));
+        when(userAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.empty());
+
+        permissionEngine.onUserModified(new UserModifiedEvent(1L));
+
+        assertThat(permissionEngine.hasPermission("reader", READ)).isFalse();
+        assertThat(permissionEngine.hasPermission("renamed", READ)).isTrue();
+
+        when(userRepository.findById(2L)).thenReturn(Mono.empty());
+        when(roleAuthorityRepository.findAllByUserId(2L)).thenReturn(Flux.empty());
+        when(userAuthorityRepository.findAllByUserId(2L)).thenReturn(Flux.just(new UserAuthority().userId(2L).roleId(2L)));
+
+        permissionEngine.onUserModified(new UserModifiedEvent(2L));
+
+        assertThat(permissionEngine.hasPermission("writer", READ)).isFalse();
+    }
+
+    @Test
+    void testReloadDoesNotUndoTheRefreshesWhichRanMeanwhile() {
+        permissionEngine.reload().block();
+        Sinks.Many<User> users = Sinks.many().unicast().onBackpressureBuffer();
+        when(userRepository.findAll()).thenReturn(users.asFlux());
+        Mono<Void> reload = permissionEngine.reload().cache();
+        reload.subscribe();
+
+        when(userRepository.findById(1L)).thenReturn(Mono.just(user(1L, "reader")));
+        when(roleAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.empty());
+        when(userAuthorityRepository.findAllByUserId(1L)).thenReturn(Flux.just(new UserAuthority().userId(1L).roleId(2L)));
+        permissionEngine.refreshUser(1L).block();
+
+        users.tryEmitNext(user(1L, "reader"));
+        users.tryEmitNext(user(2L, "writer"));
+        users.tryEmitComplete();
+        reload.block();
+
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isTrue();
+        assertThat(permissionEngine.hasPermission("writer", WRITE)).isTrue();
+    }
+
+    @Test
+    void testRefreshRoleUpdatesAllTheUsersOfTheRole() {
+        permissionEngine.reload().block();
+        when(rolesRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(scheduleAuthorityRepository.findAllByRoleId(1L)).thenReturn(Flux.just(new ScheduleAuthority().name(WRITE).roleId(1L)));
+
+        permissionEngine.refreshRole(1L).block();
+
+        assertThat(permissionEngine.hasPermission("reader", READ)).isFalse();
+        assertThat(permissionEngine.hasPermission("reader", WRITE)).isTrue();
+
+        when(rolesRepository.existsById(2L)).thenReturn(Mono.just(false));
+        when(scheduleAuthorityRepository.findAllByRoleId(2L)).thenReturn(Flux.just(new ScheduleAuthority().name(WRITE).roleId(2L)));
+
+        permissionEngine.refreshRole(2L).block();
+
+        assertThat(permissionEngine.hasPermission("writer", WRITE)).isFalse();
+    }
+
+    @Test
+    void testBitIndexesAreStable() {
+        int bitIndex = permissionEngine.bitIndexOf(WRITE);
+
+        permissionEngine.reload().block();
+
+        assertThat(permissionEngine.bitIndexOf(WRITE)).isEqualTo(bitIndex);
+        assertThat(permissionEngine.hasPermission("writer", bitIndex)).isTrue();
+    }
+
+    @Test
+    void testAuthorizationManagerGrantsTheUsersWithThePermissionAndTheAdministrators() {
+        permissionEngine.reload().block();
+        PermissionAuthorizationManager<Object> manager = PermissionAuthorizationManager.hasPermission(permissionEngine, WRITE);
+
+        assertThat(check(manager, "writer", AuthoritiesConstants.USER)).isTrue();
+        assertThat(check(manager, "reader", AuthoritiesConstants.USER)).isFalse();
+        assertThat(check(manager, "admin", AuthoritiesConstants.ADMIN)).isTrue();
+    }
+
+    private static boolean check(PermissionAuthorizationManager<Object> manager, String login, String authority) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            login,
+            "",
+            List.of(new SimpleGrantedAuthority(authority))
+        );
+        return manager.check(Mono.just(authentication), new Object()).map(AuthorizationDecision::isGranted).block();
+    }
+
+    private static void inTransaction(Mono<Void> write, boolean committed) {
+        TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                synchronizationManager.initSynchronization();
+                return write.then(
+                    Mono.defer(() -> {
+                        List<TransactionSynchronization> synchronizations = synchronizationManager.getSynchronizations();
+                        synchronizationManager.clearSynchronization();
+                        return committed
+                            ? Flux.fromIterable(synchronizations).concatMap(TransactionSynchronization::afterCommit).then()
+                            : Mono.<Void>empty();
+                    })
+                );
+            })
+            .contextWrite(TransactionContextManager.createTransactionContext())
+            .contextWrite(TransactionContextManager.getOrCreateContextHolder())
+            .block();
+    }
+
+    private static User user(Long id, String login) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin(login);
+        return user;
+    }
+}
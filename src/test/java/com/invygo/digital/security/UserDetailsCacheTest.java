@@ -0,0 +1,104 @@
+package com.invygo.digital.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.management.UserDetailsCacheMetersService;
+import com.invygo.digital.repository.UserModifiedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+class UserDetailsCacheTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        userDetailsCache = new UserDetailsCache(applicationProperties, new UserDetailsCacheMetersService(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testCachedByLoginAndEmail() {
+        userDetailsCache.put(1L, "John@Example.com", userDetails("john"));
+
+        assertThat(userDetailsCache.getByLogin("JOHN")).hasValueSatisfying(details -> assertThat(details.getUsername()).isEqualTo("john"));
+        assertThat(userDetailsCache.getByEmail("john@example.com")).isPresent();
+        assertThat(userDetailsCache.getByLogin("jane")).isEmpty();
+    }
+
+    @Test
+    void testReturnsACopyOfTheCachedDetails() {
+        userDetailsCache.put(1L, null, userDetails("john"));
+
+        ((User) userDetailsCache.getByLogin("john").orElseThrow()).eraseCredentials();
+
+        assertThat(userDetailsCache.getByLogin("john").orElseThrow().getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    void testEvictedWhenTheUserIsModified() {
+        userDetailsCache.put(1L, "john@example.com", userDetails("john"));
+        userDetailsCache.put(2L, "jane@example.com", userDetails("jane"));
+
+        userDetailsCache.onUserModified(new UserModifiedEvent(1L));
+
+        assertThat(userDetailsCache.getByLogin("john")).isEmpty();
+        assertThat(userDetailsCache.getByEmail("john@example.com")).isEmpty();
+        assertThat(userDetailsCache.getByLogin("jane")).isPresent();
+
+        userDetailsCache.onUserModified(new UserModifiedEvent(null));
+
+        assertThat(userDetailsCache.getByLogin("jane")).isEmpty();
+    }
+
+    @Test
+    void testCachedAgainOnceTheUserIsModified() {
+        userDetailsCache.put(1L, "john@example.com", userDetails("john"));
+        userDetailsCache.onUserModified(new UserModifiedEvent(1L));
+
+        userDetailsCache.put(1L, "john@example.com", userDetails("john"));
+
+        assertThat(userDetailsCache.getByLogin("john")).isPresent();
+        assertThat(userDetailsCache.getByEmail("john@example.com")).isPresent();
+
+        userDetailsCache.onUserModified(new UserModifiedEvent(1L));
+
+        assertThat(userDetailsCache.getByLogin("john")).isEmpty();
+    }
+
+    @Test
+    void testExpiredEntriesAreNotReturned() {
+        applicationProperties.getUserDetailsCache().setTimeToLiveSeconds(0);
+        userDetailsCache = new UserDetailsCache(applicationProperties, new UserDetailsCacheMetersService(new SimpleMeterRegistry()));
+
+        userDetailsCache.put(1L, null, userDetails("john"));
+
+        assertThat(userDetailsCache.getByLogin("john")).isEmpty();
+    }
+
+    @Test
+    void testBoundedToMaxEntries() {
+        applicationProperties.getUserDetailsCache().setMaxEntries(2);
+        userDetailsCache = new UserDetailsCache(applicationProperties, new UserDetailsCacheMetersService(new SimpleMeterRegistry()));
+
+        userDetailsCache.put(1L, null, userDetails("john"));
+        userDetailsCache.put(2L, null, userDetails("jane"));
+        userDetailsCache.put(3L, null, userDetails("jack"));
+
+        long cached = List.of("john", "jane", "jack").stream().filter(login -> userDetailsCache.getByLogin(login).isPresent()).count();
+        assertThat(cached).isEqualTo(2);
+        assertThat(userDetailsCache.getByLogin("jack")).isPresent();
+    }
+
+    private static UserDetails userDetails(String login) {
+        return new User(login, "hash", List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.invygo.digital.security.jwt;
+
+import com.invygo.digital.management.SecurityMetersService;
+import com.invygo.digital.security.AuthoritiesConstants;
+import com.invygo.digital.security.SecurityUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares the work done on the server to issue a JWT after a login, which verifies the password, and after a refresh, which
+ * digests the refresh token. The database round trips, one lookup in both cases, are left out.
+ *
+ * This is not run with the tests: start it with its {@link #main(String[])} method, on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenIssuanceBenchmark {
+
+    private static final String PASSWORD = "password";
+
+    private static final String REFRESH_TOKEN = "0123456789abcdef0123456789abcdef0123456789a";
+
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private String passwordHash;
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenIssuanceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        tokenProvider = new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+        authentication =
+            new UsernamePasswordAuthenticationToken("user", null, List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER)));
+    }
+
+    @Benchmark
+    public String login() {
+        if (!passwordEncoder.matches(PASSWORD, passwordHash)) {
+            throw new IllegalStateException("The password does not match");
+        }
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String refresh() {
+        return SecurityUtils.digest(REFRESH_TOKEN) + tokenProvider.createToken(authentication, false);
+    }
+}
@@ -28,6 +28,7 @@ class TokenProviderSecurityMetersTests {
 
     private static final long ONE_MINUTE = 60000;
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
+    private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache.requests";
 
     private MeterRegistry meterRegistry;
 
@@ -107,6 +108,19 @@ class TokenProviderSecurityMetersTests {
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
     }
 
+    @Test
+    void testTokenCacheHitAndMissCount() {
+        String validToken = createValidToken();
+
+        tokenProvider.authenticate(validToken);
+        tokenProvider.authenticate(validToken);
+        tokenProvider.authenticate(createExpiredToken());
+
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "expired").counter().count()).isEqualTo(1);
+    }
+
     private String createValidToken() {
         Authentication authentication = createAuthentication();
 
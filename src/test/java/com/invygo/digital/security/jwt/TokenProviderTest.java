@@ -88,6 +88,59 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testAuthenticateReturnsTheAuthenticationOfTheToken() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> authentication = tokenProvider.authenticate(token);
+
+        assertThat(authentication).isPresent();
+        assertThat(authentication.get().getName()).isEqualTo("anonymous");
+        assertThat(authentication.get().getCredentials()).isEqualTo(token);
+        assertThat(authentication.get().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    @Test
+    void testAuthenticateReusesTheAuthenticationOfAVerifiedToken() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Authentication authentication = tokenProvider.authenticate(token).orElseThrow();
+
+        assertThat(tokenProvider.authenticate(token)).containsSame(authentication);
+    }
+
+    @Test
+    void testAuthenticateDropsTheTokenExpiringSoonestWhenTheCacheIsFull() {
+        String expiringSoonest = tokenProvider.createToken(createAuthentication(), false);
+        Authentication authentication = tokenProvider.authenticate(expiringSoonest).orElseThrow();
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 2 * ONE_MINUTE);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            tokens.add(tokenProvider.createToken(new UsernamePasswordAuthenticationToken("user-" + i, "user-" + i), false));
+        }
+        List<Authentication> authentications = new ArrayList<>();
+        tokens.forEach(token -> authentications.add(tokenProvider.authenticate(token).orElseThrow()));
+
+        assertThat(tokenProvider.authenticate(expiringSoonest).orElseThrow()).isNotSameAs(authentication);
+        assertThat(tokenProvider.authenticate(tokens.get(tokens.size() - 1))).containsSame(authentications.get(tokens.size() - 1));
+    }
+
+    @Test
+    void testAuthenticateReturnsEmptyWhenJWTisExpired() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+    }
+
+    @Test
+    void testAuthenticateReturnsEmptyWhenJWThasInvalidSignature() {
+        assertThat(tokenProvider.authenticate(createTokenWithDifferentSignature())).isEmpty();
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
@@ -0,0 +1,190 @@
+package com.invygo.digital.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Authority;
+import com.invygo.digital.domain.RefreshToken;
+import com.invygo.digital.domain.User;
+import com.invygo.digital.management.SecurityMetersService;
+import com.invygo.digital.repository.RefreshTokenRepository;
+import com.invygo.digital.repository.UserRepository;
+import com.invygo.digital.security.AuthoritiesConstants;
+import com.invygo.digital.security.SecurityUtils;
+import com.invygo.digital.security.jwt.TokenProvider;
+import com.invygo.digital.service.dto.IssuedTokens;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttributeSourceAdvisor;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import reactor.core.publisher.Mono;
+import tech.jhipster.config.JHipsterProperties;
+
+class RefreshTokenServiceTest {
+
+    private static final String LOGIN = "user";
+
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private UserRepository userRepository;
+
+    private TokenProvider tokenProvider;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        tokenProvider = new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        userRepository = mock(UserRepository.class);
+
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, userRepository, tokenProvider, new ApplicationProperties());
+    }
+
+    @Test
+    void issueStoresOnlyTheDigestOfTheRefreshToken() {
+        IssuedTokens tokens = refreshTokenService.issue(createAuthentication(), false).block();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(SecurityUtils.digest(tokens.getRefreshToken()));
+        assertThat(saved.getValue().getLogin()).isEqualTo(LOGIN);
+        assertThat(saved.getValue().getAuthorities()).isEqualTo(AuthoritiesConstants.USER);
+        assertThat(saved.getValue().getExpiresAt()).isAfter(Instant.now());
+        assertThat(tokenProvider.validateToken(tokens.getIdToken())).isTrue();
+    }
+
+    @Test
+    void refreshRotatesTheRefreshTokenWithTheCurrentAuthoritiesAndTheSameExpiry() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        RefreshToken stored = new RefreshToken()
+            .id(1L)
+            .tokenHash(SecurityUtils.digest("refresh"))
+            .login(LOGIN)
+            .authorities(AuthoritiesConstants.USER)
+            .expiresAt(expiresAt);
+        when(refreshTokenRepository.findOneByTokenHash(SecurityUtils.digest("refresh"))).thenReturn(Mono.just(stored));
+        when(refreshTokenRepository.deleteOneById(1L)).thenReturn(Mono.just(1));
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenReturn(Mono.just(createUser(true, AuthoritiesConstants.ADMIN)));
+
+        IssuedTokens tokens = refreshTokenService.refresh("refresh").block();
+
+        assertThat(tokens.getRefreshToken()).isNotEqualTo("refresh");
+        Authentication authentication = tokenProvider.getAuthentication(tokens.getIdToken());
+        assertThat(authentication.getName()).isEqualTo(LOGIN);
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ADMIN);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(expiresAt);
+        assertThat(saved.getValue().getAuthorities()).isEqualTo(AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    void refreshRejectsADeactivatedUser() {
+        RefreshToken stored = new RefreshToken().id(1L).login(LOGIN).expiresAt(Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findOneByTokenHash(anyString())).thenReturn(Mono.just(stored));
+        when(refreshTokenRepository.deleteOneById(1L)).thenReturn(Mono.just(1));
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenReturn(Mono.just(createUser(false, AuthoritiesConstants.USER)));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("refresh").block()).isInstanceOf(BadCredentialsException.class);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void refreshRejectsAMissingUser() {
+        RefreshToken stored = new RefreshToken().id(1L).login(LOGIN).expiresAt(Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findOneByTokenHash(anyString())).thenReturn(Mono.just(stored));
+        when(refreshTokenRepository.deleteOneById(1L)).thenReturn(Mono.just(1));
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("refresh").block()).isInstanceOf(BadCredentialsException.class);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void refreshRejectsATokenUsedConcurrently() {
+        RefreshToken stored = new RefreshToken().id(1L).login(LOGIN).expiresAt(Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findOneByTokenHash(anyString())).thenReturn(Mono.just(stored));
+        when(refreshTokenRepository.deleteOneById(1L)).thenReturn(Mono.just(0));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("refresh").block()).isInstanceOf(BadCredentialsException.class);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void refreshRejectsAnExpiredToken() {
+        RefreshToken stored = new RefreshToken().id(1L).login(LOGIN).expiresAt(Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findOneByTokenHash(anyString())).thenReturn(Mono.just(stored));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("refresh").block()).isInstanceOf(BadCredentialsException.class);
+        verify(refreshTokenRepository, never()).deleteOneById(anyLong());
+    }
+
+    @Test
+    void refreshRejectsAnUnknownToken() {
+        when(refreshTokenRepository.findOneByTokenHash(anyString())).thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("refresh").block()).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void removeExpiredTokensRunsThroughTheTransactionalProxy() {
+        when(refreshTokenRepository.deleteAllByExpiresAtBefore(any(Instant.class))).thenReturn(Mono.just(2));
+        ReactiveTransactionManager transactionManager = mock(ReactiveTransactionManager.class);
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        ProxyFactory proxyFactory = new ProxyFactory(refreshTokenService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(
+            new TransactionAttributeSourceAdvisor(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()))
+        );
+
+        // the scheduler only has the reactive transaction manager, which cannot apply to its void method
+        ((RefreshTokenService) proxyFactory.getProxy()).removeExpiredTokens();
+
+        verify(refreshTokenRepository).deleteAllByExpiresAtBefore(any(Instant.class));
+    }
+
+    private static User createUser(boolean activated, String authorityName) {
+        Authority authority = new Authority();
+        authority.setName(authorityName);
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setActivated(activated);
+        user.setAuthorities(Set.of(authority));
+        return user;
+    }
+
+    private Authentication createAuthentication() {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER));
+        return new UsernamePasswordAuthenticationToken(LOGIN, null, authorities);
+    }
+}
@@ -0,0 +1,167 @@
+package com.invygo.digital.service;
+
+import static com.invygo.digital.domain.ScheduleTestSamples.schedule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleHoursSummary;
+import com.invygo.digital.domain.enumeration.SummaryPeriod;
+import com.invygo.digital.repository.ScheduleHoursSummaryRepository;
+import com.invygo.digital.repository.ScheduleRepository;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttributeSourceAdvisor;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ScheduleHoursSummaryServiceTest {
+
+    // a Wednesday, whose ISO week starts on Monday 2022-05-30 and whose month starts on 2022-06-01
+    private static final ZonedDateTime WORK_DATE = ZonedDateTime.of(2022, 6, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+    private static final LocalDate WEEK_START = LocalDate.of(2022, 5, 30);
+    private static final LocalDate MONTH_START = LocalDate.of(2022, 6, 1);
+
+    private ScheduleHoursSummaryRepository scheduleHoursSummaryRepository;
+    private ScheduleRepository scheduleRepository;
+
+    private ScheduleHoursSummaryService scheduleHoursSummaryService;
+
+    @BeforeEach
+    public void setup() {
+        scheduleHoursSummaryRepository = mock(ScheduleHoursSummaryRepository.class);
+        scheduleRepository = mock(ScheduleRepository.class);
+        scheduleHoursSummaryService =
+            new ScheduleHoursSummaryService(
+                scheduleHoursSummaryRepository,
+                scheduleRepository,
+                mock(TransactionalOperator.class),
+                new ApplicationProperties()
+            );
+        when(scheduleHoursSummaryRepository.addHours(anyLong(), anyString(), any(), anyLong())).thenReturn(Mono.just(1));
+    }
+
+    @Test
+    void testPeriodsStartOnMondayAndOnTheFirstDayOfTheMonth() {
+        assertThat(SummaryPeriod.WEEK.startOf(LocalDate.of(2022, 6, 5))).isEqualTo(WEEK_START);
+        assertThat(SummaryPeriod.WEEK.startOf(WEEK_START)).isEqualTo(WEEK_START);
+        assertThat(SummaryPeriod.MONTH.startOf(LocalDate.of(2022, 6, 30))).isEqualTo(MONTH_START);
+        assertThat(SummaryPeriod.fromValue("week")).isEqualTo(SummaryPeriod.WEEK);
+    }
+
+    @Test
+    void testReplaceMovesTheHoursBetweenThePeriods() {
+        Schedule previous = schedule(10L, WORK_DATE, 8L);
+        Schedule current = schedule(10L, WORK_DATE.plusWeeks(1), 6L);
+
+        scheduleHoursSummaryService.replace(previous, current).block();
+
+        verify(scheduleHoursSummaryRepository).addHours(10L, "WEEK", WEEK_START, -8L);
+        verify(scheduleHoursSummaryRepository).addHours(10L, "WEEK", WEEK_START.plusWeeks(1), 6L);
+        verify(scheduleHoursSummaryRepository).addHours(10L, "MONTH", MONTH_START, -2L);
+    }
+
+    @Test
+    void testReplaceWithTheSameHoursWritesNothing() {
+        scheduleHoursSummaryService.replace(schedule(10L, WORK_DATE, 8L), schedule(10L, WORK_DATE.plusHours(1), 8L)).block();
+
+        verify(scheduleHoursSummaryRepository, never()).addHours(anyLong(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void testTheFirstScheduleOfAPeriodInsertsItsSummary() {
+        when(scheduleHoursSummaryRepository.addHours(anyLong(), anyString(), any(), anyLong())).thenReturn(Mono.just(0));
+        when(scheduleHoursSummaryRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        scheduleHoursSummaryService.replace(null, schedule(10L, WORK_DATE, 8L)).block();
+
+        ArgumentCaptor<ScheduleHoursSummary> summaries = ArgumentCaptor.forClass(ScheduleHoursSummary.class);
+        verify(scheduleHoursSummaryRepository, times(2)).save(summaries.capture());
+        assertThat(summaries.getAllValues())
+            .extracting(ScheduleHoursSummary::getPeriod, ScheduleHoursSummary::getPeriodStart, ScheduleHoursSummary::getHours)
+            .containsExactlyInAnyOrder(tuple(SummaryPeriod.WEEK, WEEK_START, 8L), tuple(SummaryPeriod.MONTH, MONTH_START, 8L));
+    }
+
+    @Test
+    void testRebuildSumsTheSchedulesPerUserAndPeriod() {
+        when(scheduleRepository.findAll())
+            .thenReturn(
+                Flux.just(
+                    schedule(10L, WORK_DATE, 8L),
+                    schedule(10L, WORK_DATE.plusDays(1), 4L),
+                    schedule(20L, WORK_DATE.plusWeeks(5), 6L)
+                )
+            );
+        when(scheduleHoursSummaryRepository.deleteAll()).thenReturn(Mono.empty());
+        when(scheduleHoursSummaryRepository.upsertAll(any()))
+            .thenAnswer(invocation -> Mono.just(invocation.<List<?>>getArgument(0).size()));
+
+        assertThat(scheduleHoursSummaryService.rebuild().block()).isEqualTo(4);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScheduleHoursSummary>> summaries = ArgumentCaptor.forClass(List.class);
+        verify(scheduleHoursSummaryRepository).upsertAll(summaries.capture());
+        assertThat(summaries.getValue())
+            .extracting(ScheduleHoursSummary::getUserId, ScheduleHoursSummary::getPeriod, ScheduleHoursSummary::getHours)
+            .containsExactly(
+                tuple(10L, SummaryPeriod.WEEK, 12L),
+                tuple(10L, SummaryPeriod.MONTH, 12L),
+                tuple(20L, SummaryPeriod.WEEK, 6L),
+                tuple(20L, SummaryPeriod.MONTH, 6L)
+            );
+    }
+
+    @Test
+    void testTheBackfillRunsThroughTheTransactionalProxy() {
+        when(scheduleHoursSummaryRepository.count()).thenReturn(Mono.just(1L));
+        when(scheduleRepository.count()).thenReturn(Mono.just(1L));
+        ProxyFactory proxyFactory = new ProxyFactory(scheduleHoursSummaryService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(
+            new TransactionAttributeSourceAdvisor(
+                new TransactionInterceptor(mock(ReactiveTransactionManager.class), new AnnotationTransactionAttributeSource())
+            )
+        );
+
+        // the listener only has the reactive transaction manager, which cannot apply to its void method
+        ((ScheduleHoursSummaryService) proxyFactory.getProxy()).onApplicationReady();
+
+        verify(scheduleHoursSummaryRepository).count();
+    }
+
+    @Test
+    void testFindAllSkipsThePeriodsWithoutHours() {
+        when(scheduleHoursSummaryRepository.findAllByUserIdAndPeriodBetween(10L, "WEEK", WEEK_START, MONTH_START.plusDays(7)))
+            .thenReturn(Flux.just(summary(WEEK_START, 0L), summary(WEEK_START.plusWeeks(1), 8L)));
+
+        List<ScheduleHoursSummary> summaries = scheduleHoursSummaryService
+            .findAll(SummaryPeriod.WEEK, MONTH_START, MONTH_START.plusDays(7), 10L)
+            .collectList()
+            .block();
+
+        assertThat(summaries).extracting(ScheduleHoursSummary::getPeriodStart).containsExactly(WEEK_START.plusWeeks(1));
+    }
+
+    private static ScheduleHoursSummary summary(LocalDate periodStart, Long hours) {
+        return new ScheduleHoursSummary().userId(10L).period(SummaryPeriod.WEEK).periodStart(periodStart).hours(hours);
+    }
+}
@@ -0,0 +1,74 @@
+package com.invygo.digital.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Roles;
+import com.invygo.digital.service.dto.EntitiesByIds;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class ByIdsReaderTest {
+
+    private static final List<Long> EXISTING_IDS = List.of(1L, 2L, 3L, 4L, 5L);
+
+    private ByIdsReader byIdsReader;
+
+    private List<List<Long>> chunks;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getByIds().setChunkSize(2);
+        byIdsReader = new ByIdsReader(applicationProperties);
+        chunks = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void testEntitiesAreInTheOrderOfTheIds() {
+        EntitiesByIds<Roles> read = read(List.of(4L, 1L, 5L, 2L, 3L));
+
+        assertThat(read.getEntities()).extracting(Roles::getId).containsExactly(4L, 1L, 5L, 2L, 3L);
+        assertThat(read.getMissingIds()).isEmpty();
+    }
+
+    @Test
+    void testIdsAreSplitIntoChunksReadOnce() {
+        read(List.of(3L, 1L, 3L, 2L, 1L, 4L, 5L));
+
+        assertThat(chunks).containsExactlyInAnyOrder(List.of(3L, 1L), List.of(2L, 4L), List.of(5L));
+    }
+
+    @Test
+    void testMissingIdsAreReported() {
+        EntitiesByIds<Roles> read = read(List.of(9L, 2L, 7L, 9L));
+
+        assertThat(read.getEntities()).extracting(Roles::getId).containsExactly(2L);
+        assertThat(read.getMissingIds()).containsExactly(9L, 7L);
+    }
+
+    @Test
+    void testNoIdsReadNothing() {
+        EntitiesByIds<Roles> read = read(Collections.emptyList());
+
+        assertThat(read.getEntities()).isEmpty();
+        assertThat(read.getMissingIds()).isEmpty();
+        assertThat(chunks).isEmpty();
+    }
+
+    private EntitiesByIds<Roles> read(List<Long> ids) {
+        return byIdsReader.read(ids, this::findByIds, Roles::getId).block();
+    }
+
+    private Flux<Roles> findByIds(List<Long> ids) {
+        chunks.add(List.copyOf(ids));
+        // the database returns the rows of an IN-list in any order
+        List<Long> found = ids.stream().filter(EXISTING_IDS::contains).sorted().collect(Collectors.toList());
+        return Flux.fromIterable(found).map(id -> new Roles().id(id));
+    }
+}
@@ -0,0 +1,101 @@
+package com.invygo.digital.service.impl;
+
+import static com.invygo.digital.domain.ScheduleTestSamples.schedule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.repository.ScheduleRepository;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+class OnDutyIndexTest {
+
+    private static final ZonedDateTime MIDNIGHT = ZonedDateTime.of(2022, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private ScheduleRepository scheduleRepository;
+
+    private OnDutyIndex onDutyIndex;
+
+    @BeforeEach
+    public void setup() {
+        scheduleRepository = mock(ScheduleRepository.class);
+        onDutyIndex = new OnDutyIndex(scheduleRepository);
+    }
+
+    @Test
+    void testUsersOnDutyAtAnInstant() {
+        load(schedule(10L, MIDNIGHT.plusHours(9), 8L), schedule(20L, MIDNIGHT.plusHours(13), 8L));
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(8)).block()).isEmpty();
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(9)).block()).containsExactly(10L);
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(14)).block()).containsExactly(10L, 20L);
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(17)).block()).containsExactly(20L);
+    }
+
+    @Test
+    void testShiftsOverMidnightAreFoundOnBothDays() {
+        load(schedule(10L, MIDNIGHT.plusHours(20), 8L));
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(21)).block()).containsExactly(10L);
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(27)).block()).containsExactly(10L);
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(28)).block()).isEmpty();
+    }
+
+    @Test
+    void testUsersOnDutyWithinAWindowAreDistinct() {
+        load(schedule(10L, MIDNIGHT.plusHours(1), 2L), schedule(10L, MIDNIGHT.plusHours(5), 2L), schedule(20L, MIDNIGHT.plusDays(3), 8L));
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT, MIDNIGHT.plusDays(1)).block()).containsExactly(10L);
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT, MIDNIGHT.plusDays(4)).block()).containsExactly(10L, 20L);
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(3), MIDNIGHT.plusHours(5)).block()).isEmpty();
+    }
+
+    @Test
+    void testWritesMoveAndRemoveTheShifts() {
+        Schedule night = schedule(10L, MIDNIGHT.plusHours(20), 8L);
+        load(night);
+
+        onDutyIndex.replace(night, schedule(10L, MIDNIGHT.plusHours(20), 2L)).block();
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(25)).block()).isEmpty();
+
+        onDutyIndex.putAll(List.of(schedule(10L, MIDNIGHT.plusHours(20), 8L), schedule(20L, MIDNIGHT.plusHours(22), 8L))).block();
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(25)).block()).containsExactly(10L, 20L);
+
+        onDutyIndex.removeAll(List.of(10L), MIDNIGHT, MIDNIGHT.plusDays(1)).block();
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(25)).block()).containsExactly(20L);
+
+        onDutyIndex.replace(schedule(20L, MIDNIGHT.plusHours(22), 8L), null).block();
+
+        assertThat(onDutyIndex.findUserIdsOnDuty(MIDNIGHT, MIDNIGHT.plusDays(2)).block()).isEmpty();
+    }
+
+    @Test
+    void testWritesDuringTheLoadAreApplied() {
+        Sinks.Many<Schedule> schedules = Sinks.many().replay().all();
+        when(scheduleRepository.findAll()).thenReturn(schedules.asFlux());
+
+        CompletableFuture<long[]> onDuty = onDutyIndex.findUserIdsOnDuty(MIDNIGHT.plusHours(10)).toFuture();
+        schedules.tryEmitNext(schedule(10L, MIDNIGHT.plusHours(9), 8L));
+        onDutyIndex.replace(schedule(10L, MIDNIGHT.plusHours(9), 8L), null).block();
+        onDutyIndex.replace(null, schedule(20L, MIDNIGHT.plusHours(9), 8L)).block();
+        schedules.tryEmitComplete();
+
+        assertThat(onDuty.join()).containsExactly(20L);
+    }
+
+    private void load(Schedule... schedules) {
+        when(scheduleRepository.findAll()).thenReturn(Flux.just(schedules));
+        onDutyIndex.reload().block();
+    }
+}
@@ -0,0 +1,140 @@
+package com.invygo.digital.service.impl;
+
+import static com.invygo.digital.domain.ScheduleTestSamples.schedule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.management.CacheMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ScheduleCacheTest {
+
+    private static final ZonedDateTime FROM = ZonedDateTime.of(2022, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime TO = FROM.plusDays(7);
+
+    private MeterRegistry meterRegistry;
+
+    private ScheduleCache scheduleCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduleCache = new ScheduleCache(new ApplicationProperties(), new CacheMetersService(meterRegistry));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testConcurrentReadsShareASingleLoad() {
+        Sinks.One<Schedule> pending = Sinks.one();
+
+        CompletableFuture<Schedule> first = scheduleCache.findById(1L, () -> load(pending.asMono())).toFuture();
+        CompletableFuture<Schedule> second = scheduleCache.findById(1L, () -> load(pending.asMono())).toFuture();
+        pending.tryEmitValue(schedule(1L, 10L, FROM, 8L));
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.join().getHours()).isEqualTo(8L);
+        assertThat(second.join().getHours()).isEqualTo(8L);
+        assertThat(first.join()).isNotSameAs(second.join());
+    }
+
+    @Test
+    void testReadsAreServedFromTheCacheUntilEvicted() {
+        scheduleCache.findById(1L, () -> load(Mono.just(schedule(1L, 10L, FROM, 8L)))).block();
+        scheduleCache.findByUserIdAndWorkDateBetween(10L, FROM, TO, null, 20, () -> loadAll(schedule(1L, 10L, FROM, 8L))).blockLast();
+        scheduleCache.findById(1L, () -> load(Mono.just(schedule(1L, 10L, FROM, 8L)))).block();
+        scheduleCache.findByUserIdAndWorkDateBetween(10L, FROM, TO, null, 20, () -> loadAll(schedule(1L, 10L, FROM, 8L))).blockLast();
+
+        assertThat(loads).hasValue(2);
+
+        scheduleCache.evict(null, Set.of(10L)).block();
+        scheduleCache.findById(1L, () -> load(Mono.just(schedule(1L, 10L, FROM, 8L)))).block();
+        List<Schedule> schedules = scheduleCache
+            .findByUserIdAndWorkDateBetween(
+                10L,
+                FROM,
+                TO,
+                null,
+                20,
+                () -> loadAll(schedule(1L, 10L, FROM, 8L), schedule(2L, 10L, FROM, 8L))
+            )
+            .collectList()
+            .block();
+
+        assertThat(loads).hasValue(4);
+        assertThat(schedules).hasSize(2);
+    }
+
+    @Test
+    void testEvictionOfAnotherUserKeepsTheEntries() {
+        scheduleCache.findByUserIdAndWorkDateBetween(10L, FROM, TO, null, 20, () -> loadAll(schedule(1L, 10L, FROM, 8L))).blockLast();
+
+        scheduleCache.evict(2L, Set.of(20L)).block();
+        scheduleCache.findByUserIdAndWorkDateBetween(10L, FROM, TO, null, 20, () -> loadAll(schedule(1L, 10L, FROM, 8L))).blockLast();
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testALoadWhichStartedBeforeAnEvictionIsNotServedAfterIt() {
+        Sinks.One<Schedule> pending = Sinks.one();
+        CompletableFuture<Schedule> first = scheduleCache
+            .findById(1L, () -> load(loads.get() == 0 ? pending.asMono() : Mono.just(schedule(1L, 10L, FROM, 6L))))
+            .toFuture();
+
+        scheduleCache.evict(null, Set.of(10L)).block();
+        pending.tryEmitValue(schedule(1L, 10L, FROM, 8L));
+        Schedule second = scheduleCache.findById(1L, () -> load(Mono.just(schedule(1L, 10L, FROM, 4L)))).block();
+
+        assertThat(first.join().getHours()).isEqualTo(6L);
+        assertThat(second.getHours()).isEqualTo(6L);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testMissingSchedulesAreNotCached() {
+        assertThat(scheduleCache.findById(1L, () -> load(Mono.empty())).block()).isNull();
+        assertThat(scheduleCache.findById(1L, () -> load(Mono.empty())).block()).isNull();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testStatsAreExported() {
+        scheduleCache.findById(1L, () -> load(Mono.just(schedule(1L, 10L, FROM, 8L)))).block();
+        scheduleCache.findById(1L, () -> load(Mono.just(schedule(1L, 10L, FROM, 8L)))).block();
+
+        assertThat(cacheGets(ScheduleCache.BY_ID_CACHE_NAME, "hit")).isEqualTo(1);
+        assertThat(cacheGets(ScheduleCache.BY_ID_CACHE_NAME, "miss")).isEqualTo(1);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", ScheduleCache.BY_USER_RANGE_CACHE_NAME).functionCounter())
+            .isNotNull();
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+    }
+
+    private Mono<Schedule> load(Mono<Schedule> schedule) {
+        loads.incrementAndGet();
+        return schedule;
+    }
+
+    private Flux<Schedule> loadAll(Schedule... schedules) {
+        loads.incrementAndGet();
+        return Flux.just(schedules);
+    }
+}
@@ -0,0 +1,145 @@
+package com.invygo.digital.service.impl;
+
+import static com.invygo.digital.domain.ScheduleTestSamples.schedule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.service.ScheduleConflictException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ScheduleConflictCheckerTest {
+
+    // a Monday, the first day of its ISO week
+    private static final ZonedDateTime MIDNIGHT = ZonedDateTime.of(2022, 5, 30, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private ScheduleRepository scheduleRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    public void setup() {
+        scheduleRepository = mock(ScheduleRepository.class);
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void testOverlappingShiftsConflict() {
+        existing(schedule(1L, 10L, MIDNIGHT.plusHours(9), 8L));
+
+        List<List<String>> conflicts = checker()
+            .findConflicts(List.of(schedule(null, 10L, MIDNIGHT.plusHours(16), 4L), schedule(null, 20L, MIDNIGHT.plusHours(16), 4L)), false)
+            .block();
+
+        assertThat(conflicts.get(0)).containsExactly("workDate: overlaps the shift of the user starting at 2022-05-30T09:00");
+        assertThat(conflicts.get(1)).isEmpty();
+    }
+
+    @Test
+    void testShiftsExceedingTheDailyOrWeeklyHoursConflict() {
+        applicationProperties.getScheduleCapacity().setMaxHoursPerDay(10);
+        applicationProperties.getScheduleCapacity().setMaxHoursPerWeek(40);
+        existing(
+            schedule(1L, 10L, MIDNIGHT.plusHours(8), 8L),
+            schedule(2L, 10L, MIDNIGHT.plusDays(1).plusHours(8), 8L),
+            schedule(3L, 10L, MIDNIGHT.plusDays(2).plusHours(8), 8L),
+            schedule(4L, 10L, MIDNIGHT.plusDays(3).plusHours(8), 8L)
+        );
+
+        List<List<String>> conflicts = checker()
+            .findConflicts(List.of(schedule(null, 10L, MIDNIGHT.plusHours(18), 4L), schedule(null, 10L, MIDNIGHT.plusDays(4), 10L)), false)
+            .block();
+
+        assertThat(conflicts.get(0)).containsExactly("hours: exceeds the 10 hours of the user on 2022-05-30");
+        assertThat(conflicts.get(1)).containsExactly("hours: exceeds the 40 hours of the user in the week of 2022-05-30");
+    }
+
+    @Test
+    void testUpdatedAndReplacedShiftsDoNotConflictWithThemselves() {
+        existing(schedule(1L, 10L, MIDNIGHT.plusHours(9), 8L), schedule(2L, 20L, MIDNIGHT.plusHours(9), 8L));
+
+        assertThat(checker().findConflicts(List.of(schedule(1L, 10L, MIDNIGHT.plusHours(10), 8L)), false).block().get(0)).isEmpty();
+        assertThat(checker().findConflicts(List.of(schedule(null, 20L, MIDNIGHT.plusHours(9), 6L)), true).block().get(0)).isEmpty();
+        assertThat(checker().findConflicts(List.of(schedule(null, 20L, MIDNIGHT.plusHours(9), 6L)), false).block().get(0)).hasSize(1);
+    }
+
+    @Test
+    void testSchedulesWrittenTogetherAreCheckedAgainstEachOther() {
+        existing();
+
+        List<List<String>> conflicts = checker()
+            .findConflicts(
+                List.of(
+                    schedule(null, 10L, MIDNIGHT.plusHours(9), 8L),
+                    schedule(null, 10L, MIDNIGHT.plusHours(12), 8L),
+                    schedule(null, 10L, MIDNIGHT.plusHours(17), 0L),
+                    schedule(null, 10L, MIDNIGHT.plusHours(17), 4L)
+                ),
+                false
+            )
+            .block();
+
+        assertThat(conflicts.get(0)).isEmpty();
+        assertThat(conflicts.get(1)).containsExactly("workDate: overlaps the shift of the user starting at 2022-05-30T09:00");
+        assertThat(conflicts.get(2)).containsExactly("hours: must be between 1 and 24");
+        assertThat(conflicts.get(3)).isEmpty();
+    }
+
+    @Test
+    void testConflictingWritesAreRejected() {
+        existing(schedule(1L, 10L, MIDNIGHT.plusHours(9), 8L));
+        AtomicBoolean written = new AtomicBoolean();
+
+        Mono<Boolean> write = Mono.fromSupplier(() -> written.getAndSet(true));
+
+        assertThatThrownBy(() -> checker().checking(schedule(null, 10L, MIDNIGHT.plusHours(10), 8L), write).block())
+            .isInstanceOf(ScheduleConflictException.class)
+            .satisfies(e -> assertThat(((ScheduleConflictException) e).getConflicts()).hasSize(1));
+        assertThat(written).isFalse();
+    }
+
+    @Test
+    void testWritesOfTheSameUserAreCheckedOneAfterTheOther() {
+        existing();
+        ScheduleConflictChecker checker = checker();
+        Sinks.One<String> firstWrite = Sinks.one();
+        AtomicBoolean secondWritten = new AtomicBoolean();
+
+        CompletableFuture<String> first = checker.checking(schedule(null, 10L, MIDNIGHT, 8L), firstWrite.asMono()).toFuture();
+        CompletableFuture<Boolean> second = checker
+            .checking(schedule(null, 10L, MIDNIGHT.plusDays(1), 8L), Mono.fromSupplier(() -> secondWritten.getAndSet(true)))
+            .toFuture();
+        CompletableFuture<String> otherUser = checker.checking(schedule(null, 20L, MIDNIGHT, 8L), Mono.just("other")).toFuture();
+
+        assertThat(otherUser.join()).isEqualTo("other");
+        assertThat(secondWritten).isFalse();
+
+        firstWrite.tryEmitValue("first");
+
+        assertThat(first.join()).isEqualTo("first");
+        assertThat(second.join()).isFalse();
+        assertThat(secondWritten).isTrue();
+    }
+
+    private ScheduleConflictChecker checker() {
+        return new ScheduleConflictChecker(scheduleRepository, applicationProperties);
+    }
+
+    private void existing(Schedule... schedules) {
+        when(scheduleRepository.findByUserIdInAndWorkDateBetween(any(), any(), any())).thenReturn(Flux.just(schedules));
+    }
+}
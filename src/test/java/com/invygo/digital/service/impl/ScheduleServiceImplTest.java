@@ -0,0 +1,117 @@
+package com.invygo.digital.service.impl;
+
+import static com.invygo.digital.domain.ScheduleTestSamples.schedule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.config.ApplicationProperties;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.management.SingleFlightMetersService;
+import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.service.ScheduleHoursSummaryService;
+import com.invygo.digital.service.ShiftTemplateService;
+import com.invygo.digital.service.dto.ScheduleGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+
+class ScheduleServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2022, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2022, 6, 4);
+
+    private ScheduleRepository scheduleRepository;
+
+    private ScheduleCache scheduleCache;
+
+    private ShiftTemplateService shiftTemplateService;
+
+    private ScheduleServiceImpl scheduleService;
+
+    @BeforeEach
+    public void setup() {
+        scheduleRepository = mock(ScheduleRepository.class);
+        scheduleCache = mock(ScheduleCache.class);
+        shiftTemplateService = mock(ShiftTemplateService.class);
+        scheduleService =
+            new ScheduleServiceImpl(
+                scheduleRepository,
+                mock(Validator.class),
+                mock(TransactionalOperator.class),
+                new ApplicationProperties(),
+                scheduleCache,
+                new SingleFlight(new SingleFlightMetersService(new SimpleMeterRegistry())),
+                new ByIdsReader(new ApplicationProperties()),
+                mock(ScheduleHoursSummaryService.class),
+                mock(OnDutyIndex.class),
+                mock(ScheduleConflictChecker.class),
+                shiftTemplateService
+            );
+    }
+
+    @Test
+    void testGridSumsTheHoursPerUserAndDay() {
+        ZonedDateTime midnight = FROM.atStartOfDay(ZoneOffset.UTC);
+        when(scheduleRepository.findByUserIdInAndWorkDateBetween(any(), eq(midnight), eq(TO.atStartOfDay(ZoneOffset.UTC))))
+            .thenReturn(
+                Flux.just(
+                    schedule(20L, midnight.plusHours(8), 4L),
+                    schedule(20L, midnight.plusHours(14), 4L),
+                    schedule(10L, midnight.plusDays(2).plusHours(23), 6L)
+                )
+            );
+
+        ScheduleGrid grid = scheduleService.findGrid(List.of(20L, 10L, 30L, 20L), FROM, TO).block();
+
+        assertThat(grid.getUserIds()).containsExactly(20L, 10L, 30L);
+        assertThat(grid.getFrom()).isEqualTo(FROM);
+        assertThat(grid.getTo()).isEqualTo(TO);
+        assertThat(grid.getHours()).isDeepEqualTo(new long[][] { { 8L, 0L, 0L }, { 0L, 0L, 6L }, { 0L, 0L, 0L } });
+    }
+
+    @Test
+    void testGridWithoutUsersReadsNothing() {
+        ScheduleGrid grid = scheduleService.findGrid(List.of(), FROM, TO).block();
+
+        assertThat(grid.getUserIds()).isEmpty();
+        assertThat(grid.getHours()).isEmpty();
+        verifyNoInteractions(scheduleRepository);
+    }
+
+    @Test
+    void testRangeReadsMergeTheOccurrencesOfTheTemplates() {
+        ZonedDateTime midnight = FROM.atStartOfDay(ZoneOffset.UTC);
+        ZonedDateTime to = TO.atStartOfDay(ZoneOffset.UTC);
+        when(scheduleCache.findByUserIdAndWorkDateBetween(eq(10L), eq(midnight), eq(to), eq(null), anyInt(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Flux<Schedule>>>getArgument(5).get());
+        when(scheduleRepository.findByUserIdAndWorkDateBetween(10L, midnight, to, null, 3))
+            .thenReturn(Flux.just(schedule(10L, midnight.plusHours(8), 6L).id(1L), schedule(10L, midnight.plusDays(2), 6L).id(2L)));
+        when(shiftTemplateService.findOccurrences(10L, midnight, to))
+            .thenReturn(
+                Flux.just(
+                    schedule(10L, midnight.plusHours(8), 8L),
+                    schedule(10L, midnight.plusDays(1).plusHours(8), 8L),
+                    schedule(10L, midnight.plusDays(2).plusHours(8), 8L)
+                )
+            );
+
+        List<Schedule> schedules = scheduleService.findByUserIdAndWorkDateBetween(10L, midnight, to, null, 3).collectList().block();
+
+        // the stored schedule hides the occurrence at its work date
+        assertThat(schedules).extracting(Schedule::getId).containsExactly(1L, null, 2L);
+        assertThat(schedules).extracting(Schedule::getHours).containsExactly(6L, 8L, 6L);
+    }
+}
@@ -0,0 +1,80 @@
+package com.invygo.digital.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ShiftTemplate;
+import com.invygo.digital.repository.ShiftTemplateRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class ShiftTemplateServiceImplTest {
+
+    // a Wednesday
+    private static final LocalDate START = LocalDate.of(2022, 6, 1);
+    private static final ZonedDateTime MIDNIGHT = START.atStartOfDay(ZoneOffset.UTC);
+
+    private ShiftTemplateRepository shiftTemplateRepository;
+
+    private ShiftTemplateServiceImpl shiftTemplateService;
+
+    @BeforeEach
+    public void setup() {
+        shiftTemplateRepository = mock(ShiftTemplateRepository.class);
+        shiftTemplateService = new ShiftTemplateServiceImpl(shiftTemplateRepository);
+    }
+
+    @Test
+    void testExpandReturnsTheOccurrencesWithinTheRange() {
+        ShiftTemplate weekdays = template(8, "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+
+        List<Schedule> occurrences = shiftTemplateService
+            .expand(weekdays, MIDNIGHT.plusHours(9), MIDNIGHT.plusDays(6).plusHours(8))
+            .collectList()
+            .block();
+
+        // the occurrence of the first day starts before the range, the one of the last day at its end
+        assertThat(occurrences)
+            .extracting(Schedule::getWorkDate)
+            .containsExactly(MIDNIGHT.plusDays(1).plusHours(8), MIDNIGHT.plusDays(2).plusHours(8), MIDNIGHT.plusDays(5).plusHours(8));
+        assertThat(occurrences).allMatch(occurrence -> occurrence.getId() == null && occurrence.getUserId() == 10L);
+    }
+
+    @Test
+    void testExpandingATemplateWithoutEndIsLazy() {
+        ShiftTemplate daily = template(8, "FREQ=DAILY");
+
+        List<Schedule> occurrences = shiftTemplateService.expand(daily, MIDNIGHT, MIDNIGHT.plusYears(1000)).take(3).collectList().block();
+
+        assertThat(occurrences).hasSize(3);
+    }
+
+    @Test
+    void testOccurrencesOfTheTemplatesOfAUserAreMergedAfterTheMaterializedOnes() {
+        when(shiftTemplateRepository.findAllByUserId(10L))
+            .thenReturn(
+                Flux.just(
+                    template(8, "FREQ=DAILY").materializedUntil(START.plusDays(2)),
+                    template(20, "FREQ=WEEKLY;BYDAY=WE,TH").hours(4L)
+                )
+            );
+
+        List<Schedule> occurrences = shiftTemplateService.findOccurrences(10L, MIDNIGHT, MIDNIGHT.plusDays(3)).collectList().block();
+
+        assertThat(occurrences)
+            .extracting(Schedule::getWorkDate)
+            .containsExactly(MIDNIGHT.plusHours(20), MIDNIGHT.plusDays(1).plusHours(20), MIDNIGHT.plusDays(2).plusHours(8));
+    }
+
+    private static ShiftTemplate template(int hour, String recurrence) {
+        return new ShiftTemplate().userId(10L).startDate(START).startTime(LocalTime.of(hour, 0)).hours(8L).recurrence(recurrence);
+    }
+}
@@ -0,0 +1,167 @@
+package com.invygo.digital.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.management.SingleFlightMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+class SingleFlightTest {
+
+    private static final String SINGLE_FLIGHT_METER_EXPECTED_NAME = "service.single-flight.calls";
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight singleFlight;
+
+    private AtomicInteger reads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(new SingleFlightMetersService(meterRegistry));
+        reads = new AtomicInteger();
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneExecution() {
+        Sinks.One<String> pending = Sinks.one();
+
+        CompletableFuture<String> first = singleFlight.mono("Test.findOne", List.of(1L), () -> read(pending.asMono())).toFuture();
+        CompletableFuture<String> second = singleFlight.mono("Test.findOne", List.of(1L), () -> read(pending.asMono())).toFuture();
+        pending.tryEmitValue("one");
+
+        assertThat(first.join()).isEqualTo("one");
+        assertThat(second.join()).isEqualTo("one");
+        assertThat(reads).hasValue(1);
+        assertThat(calls("Test.findOne", "executed")).isEqualTo(1);
+        assertThat(calls("Test.findOne", "coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentParametersAreNotCoalesced() {
+        Sinks.One<String> pending = Sinks.one();
+
+        singleFlight.mono("Test.findOne", List.of(1L), () -> read(pending.asMono())).toFuture();
+        singleFlight.mono("Test.findOne", List.of(2L), () -> read(pending.asMono())).toFuture();
+        singleFlight.mono("Test.findOther", List.of(1L), () -> read(pending.asMono())).toFuture();
+
+        assertThat(reads).hasValue(3);
+    }
+
+    @Test
+    void testCompletedReadsAreExecutedAgain() {
+        assertThat(singleFlight.mono("Test.findOne", List.of(1L), () -> read(Mono.just("one"))).block()).isEqualTo("one");
+        assertThat(singleFlight.mono("Test.findOne", List.of(1L), () -> read(Mono.just("two"))).block()).isEqualTo("two");
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void testFailedReadsAreExecutedAgain() {
+        Mono<String> failed = singleFlight.mono("Test.findOne", List.of(1L), () -> read(Mono.error(new IllegalStateException())));
+
+        assertThatThrownBy(failed::block).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.mono("Test.findOne", List.of(1L), () -> read(Mono.just("one"))).block()).isEqualTo("one");
+    }
+
+    @Test
+    void testCallersJoiningAFluxGetAllItsRows() {
+        Sinks.Many<String> rows = Sinks.many().replay().all();
+
+        CompletableFuture<List<String>> first = singleFlight
+            .flux("Test.findAll", List.of(0), () -> Flux.defer(() -> read(rows.asFlux())), UnaryOperator.identity())
+            .collectList()
+            .toFuture();
+        rows.tryEmitNext("one");
+        CompletableFuture<List<String>> second = singleFlight
+            .flux("Test.findAll", List.of(0), () -> Flux.defer(() -> read(rows.asFlux())), UnaryOperator.identity())
+            .collectList()
+            .toFuture();
+        rows.tryEmitNext("two");
+        rows.tryEmitComplete();
+
+        assertThat(first.join()).containsExactly("one", "two");
+        assertThat(second.join()).containsExactly("one", "two");
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void testCallersWhichJoinedGetTheirOwnCopyOfTheEntities() {
+        Sinks.One<Schedule> pending = Sinks.one();
+        Schedule read = new Schedule().id(1L).userId(2L).hours(8L);
+
+        // the caller which started the read modifies its entity before the others are given theirs
+        CompletableFuture<Schedule> first = singleFlight
+            .mono("Test.findOne", List.of(1L), () -> read(pending.asMono()), ScheduleCache::copy)
+            .doOnNext(schedule -> schedule.setHours(4L))
+            .toFuture();
+        CompletableFuture<Schedule> second = singleFlight
+            .mono("Test.findOne", List.of(1L), () -> read(pending.asMono()), ScheduleCache::copy)
+            .toFuture();
+        CompletableFuture<Schedule> third = singleFlight
+            .mono("Test.findOne", List.of(1L), () -> read(pending.asMono()), ScheduleCache::copy)
+            .toFuture();
+        pending.tryEmitValue(read);
+
+        assertThat(first.join()).isSameAs(read);
+        assertThat(second.join()).isNotSameAs(read).isNotSameAs(third.join());
+        assertThat(second.join().getHours()).isEqualTo(8L);
+        assertThat(third.join().getHours()).isEqualTo(8L);
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void testEntitiesAreNotCopiedWhenNoCallerJoined() {
+        Schedule read = new Schedule().id(1L).userId(2L).hours(8L);
+        AtomicInteger copies = new AtomicInteger();
+
+        Schedule schedule = singleFlight
+            .mono(
+                "Test.findOne",
+                List.of(1L),
+                () -> read(Mono.just(read)),
+                value -> {
+                    copies.incrementAndGet();
+                    return ScheduleCache.copy(value);
+                }
+            )
+            .block();
+
+        assertThat(schedule).isSameAs(read);
+        assertThat(copies).hasValue(0);
+    }
+
+    @Test
+    void testSharedReadRunsWithoutTheContextOfItsCaller() {
+        // the reactive transaction of a caller is kept in its context, the shared read must not run in it
+        Boolean sawTransaction = singleFlight
+            .mono("Test.findOne", List.of(1L), () -> Mono.deferContextual(context -> Mono.just(context.hasKey("transaction"))))
+            .contextWrite(Context.of("transaction", "first caller"))
+            .block();
+
+        assertThat(sawTransaction).isFalse();
+    }
+
+    private <T, P extends Publisher<T>> P read(P publisher) {
+        reads.incrementAndGet();
+        return publisher;
+    }
+
+    private double calls(String query, String result) {
+        return meterRegistry.get(SINGLE_FLIGHT_METER_EXPECTED_NAME).tag("query", query).tag("result", result).counter().count();
+    }
+}
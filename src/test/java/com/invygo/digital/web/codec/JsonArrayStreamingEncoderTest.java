@@ -0,0 +1,145 @@
+package com.invygo.digital.web.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invygo.digital.config.JacksonConfiguration;
+import com.invygo.digital.domain.Roles;
+import com.invygo.digital.domain.Users;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class JsonArrayStreamingEncoderTest {
+
+    private JsonArrayStreamingEncoder encoder;
+
+    @BeforeEach
+    public void setup() {
+        encoder = new JsonArrayStreamingEncoder(new ObjectMapper());
+    }
+
+    @Test
+    void testEncodeWritesOneBufferPerElement() {
+        Flux<Roles> roles = Flux.just(new Roles().id(1L).roleName("admin"), new Roles().id(2L).roleName("user"));
+
+        List<String> chunks = encode(roles, MediaType.APPLICATION_JSON);
+
+        assertThat(chunks).containsExactly("[{\"id\":1,\"roleName\":\"admin\"}", ",{\"id\":2,\"roleName\":\"user\"}", "]");
+    }
+
+    @Test
+    void testEncodeEmptyFlux() {
+        List<String> chunks = encode(Flux.empty(), MediaType.APPLICATION_JSON);
+
+        assertThat(String.join("", chunks)).isEqualTo("[]");
+    }
+
+    @Test
+    void testEncodeStreamingMediaTypeIsUnchanged() {
+        Flux<Roles> roles = Flux.just(new Roles().id(1L).roleName("admin"));
+
+        List<String> chunks = encode(roles, MediaType.APPLICATION_NDJSON);
+
+        assertThat(String.join("", chunks)).isEqualTo("{\"id\":1,\"roleName\":\"admin\"}\n");
+    }
+
+    @Test
+    void testFieldsNarrowTheFilteredEntities() {
+        JsonArrayStreamingEncoder fieldsEncoder = new JsonArrayStreamingEncoder(fieldsFilterMapper());
+        Map<String, Object> hints = fieldsHints(fieldsEncoder, "/api/users?fields=email,surname");
+        Users users = new Users().id(1L).email("john@invygo.com").name("John").surname("Doe").password("hash");
+
+        List<String> array = encode(fieldsEncoder, Flux.just(users), Users.class, MediaType.APPLICATION_JSON, hints);
+        List<String> stream = encode(fieldsEncoder, Flux.just(users), Users.class, MediaType.APPLICATION_NDJSON, hints);
+        List<String> single = encode(fieldsEncoder, Mono.just(users), Users.class, MediaType.APPLICATION_JSON, hints);
+
+        assertThat(String.join("", array)).isEqualTo("[{\"id\":1,\"email\":\"john@invygo.com\",\"surname\":\"Doe\"}]");
+        assertThat(String.join("", stream)).isEqualTo("{\"id\":1,\"email\":\"john@invygo.com\",\"surname\":\"Doe\"}\n");
+        assertThat(String.join("", single)).isEqualTo("{\"id\":1,\"email\":\"john@invygo.com\",\"surname\":\"Doe\"}");
+    }
+
+    @Test
+    void testWithoutFieldsTheFilteredEntitiesAreWhole() {
+        JsonArrayStreamingEncoder fieldsEncoder = new JsonArrayStreamingEncoder(fieldsFilterMapper());
+        Map<String, Object> hints = fieldsHints(fieldsEncoder, "/api/roles");
+
+        Flux<Roles> roles = Flux.just(new Roles().id(1L).roleName("admin"));
+
+        List<String> chunks = encode(fieldsEncoder, roles, Roles.class, MediaType.APPLICATION_JSON, hints);
+
+        assertThat(String.join("", chunks)).isEqualTo("[{\"id\":1,\"roleName\":\"admin\"}]");
+    }
+
+    @Test
+    void testThePasswordIsNeverWrittenButStillRead() throws Exception {
+        JsonArrayStreamingEncoder fieldsEncoder = new JsonArrayStreamingEncoder(fieldsFilterMapper());
+        Map<String, Object> hints = fieldsHints(fieldsEncoder, "/api/users");
+        Users users = new Users().id(1L).email("john@invygo.com").name("John").surname("Doe").password("hash");
+
+        List<String> chunks = encode(fieldsEncoder, Flux.just(users), Users.class, MediaType.APPLICATION_JSON, hints);
+
+        assertThat(String.join("", chunks))
+            .isEqualTo("[{\"id\":1,\"email\":\"john@invygo.com\",\"name\":\"John\",\"surname\":\"Doe\"}]");
+        assertThat(fieldsFilterMapper().readValue("{\"password\":\"hash\"}", Users.class).getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    void testParseFieldsSkipsTheBlankOnes() {
+        assertThat(JsonArrayStreamingEncoder.parseFields(" email,,name , ")).containsExactly("email", "name");
+    }
+
+    private static ObjectMapper fieldsFilterMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfiguration().fieldsFilterCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    private static Map<String, Object> fieldsHints(JsonArrayStreamingEncoder encoder, String uri) {
+        ResolvableType type = ResolvableType.forClass(Users.class);
+        return encoder.getEncodeHints(
+            type,
+            type,
+            MediaType.APPLICATION_JSON,
+            MockServerHttpRequest.get(uri).build(),
+            new MockServerHttpResponse()
+        );
+    }
+
+    private List<String> encode(Flux<?> input, MediaType mediaType) {
+        return encode(encoder, input, Roles.class, mediaType, null);
+    }
+
+    private static List<String> encode(
+        JsonArrayStreamingEncoder encoder,
+        Publisher<?> input,
+        Class<?> elementClass,
+        MediaType mediaType,
+        Map<String, Object> hints
+    ) {
+        return Flux
+            .from(encoder.encode(input, DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(elementClass), mediaType, hints))
+            .map(JsonArrayStreamingEncoderTest::toString)
+            .collectList()
+            .block();
+    }
+
+    private static String toString(DataBuffer buffer) {
+        String value = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return value;
+    }
+}
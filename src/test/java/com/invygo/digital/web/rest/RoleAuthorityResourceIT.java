@@ -8,6 +8,7 @@ import com.invygo.digital.IntegrationTest;
 import com.invygo.digital.domain.RoleAuthority;
 import com.invygo.digital.repository.EntityManager;
 import com.invygo.digital.repository.RoleAuthorityRepository;
+import com.invygo.digital.security.AuthoritiesConstants;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -29,7 +30,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
  */
 @IntegrationTest
 @AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class RoleAuthorityResourceIT {
 
     private static final Long DEFAULT_USER_ID = 1L;
@@ -8,6 +8,7 @@ import com.invygo.digital.IntegrationTest;
 import com.invygo.digital.domain.Roles;
 import com.invygo.digital.repository.EntityManager;
 import com.invygo.digital.repository.RolesRepository;
+import com.invygo.digital.security.AuthoritiesConstants;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -29,7 +30,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
  */
 @IntegrationTest
 @AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class RolesResourceIT {
 
     private static final String DEFAULT_ROLE_NAME = "AAAAAAAAAA";
@@ -226,6 +227,36 @@ class RolesResourceIT {
             .value(is(DEFAULT_ROLE_NAME));
     }
 
+    @Test
+    @WithMockUser
+    void getRolesByIdsWithoutThePermissionToManageThem() throws Exception {
+        // Initialize the database
+        rolesRepository.save(roles).block();
+
+        // Posting ids only reads the roles, which any authenticated user may do
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/by-ids")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(roles.getId()))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.entities.[0].roleName")
+            .isEqualTo(DEFAULT_ROLE_NAME);
+
+        // The other posts still require the permission to manage the roles
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(createUpdatedEntity(em)))
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
+
     @Test
     void getNonExistingRoles() {
         // Get the roles
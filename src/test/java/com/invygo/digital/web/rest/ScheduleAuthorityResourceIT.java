@@ -8,6 +8,7 @@ import com.invygo.digital.IntegrationTest;
 import com.invygo.digital.domain.ScheduleAuthority;
 import com.invygo.digital.repository.EntityManager;
 import com.invygo.digital.repository.ScheduleAuthorityRepository;
+import com.invygo.digital.security.AuthoritiesConstants;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -29,12 +30,15 @@ import org.springframework.test.web.reactive.server.WebTestClient;
  */
 @IntegrationTest
 @AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class ScheduleAuthorityResourceIT {
 
     private static final String DEFAULT_NAME = "AAAAAAAAAA";
     private static final String UPDATED_NAME = "BBBBBBBBBB";
 
+    private static final Long DEFAULT_ROLE_ID = 1L;
+    private static final Long UPDATED_ROLE_ID = 2L;
+
     private static final String ENTITY_API_URL = "/api/schedule-authorities";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -59,7 +63,7 @@ class ScheduleAuthorityResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static ScheduleAuthority createEntity(EntityManager em) {
-        ScheduleAuthority scheduleAuthority = new ScheduleAuthority().name(DEFAULT_NAME);
+        ScheduleAuthority scheduleAuthority = new ScheduleAuthority().name(DEFAULT_NAME).roleId(DEFAULT_ROLE_ID);
         return scheduleAuthority;
     }
 
@@ -70,7 +74,7 @@ class ScheduleAuthorityResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static ScheduleAuthority createUpdatedEntity(EntityManager em) {
-        ScheduleAuthority scheduleAuthority = new ScheduleAuthority().name(UPDATED_NAME);
+        ScheduleAuthority scheduleAuthority = new ScheduleAuthority().name(UPDATED_NAME).roleId(UPDATED_ROLE_ID);
         return scheduleAuthority;
     }
 
@@ -111,6 +115,7 @@ class ScheduleAuthorityResourceIT {
         assertThat(scheduleAuthorityList).hasSize(databaseSizeBeforeCreate + 1);
         ScheduleAuthority testScheduleAuthority = scheduleAuthorityList.get(scheduleAuthorityList.size() - 1);
         assertThat(testScheduleAuthority.getName()).isEqualTo(DEFAULT_NAME);
+        assertThat(testScheduleAuthority.getRoleId()).isEqualTo(DEFAULT_ROLE_ID);
     }
 
     @Test
@@ -247,7 +252,7 @@ class ScheduleAuthorityResourceIT {
 
         // Update the scheduleAuthority
         ScheduleAuthority updatedScheduleAuthority = scheduleAuthorityRepository.findById(scheduleAuthority.getId()).block();
-        updatedScheduleAuthority.name(UPDATED_NAME);
+        updatedScheduleAuthority.name(UPDATED_NAME).roleId(UPDATED_ROLE_ID);
 
         webTestClient
             .put()
@@ -263,6 +268,7 @@ class ScheduleAuthorityResourceIT {
         assertThat(scheduleAuthorityList).hasSize(databaseSizeBeforeUpdate);
         ScheduleAuthority testScheduleAuthority = scheduleAuthorityList.get(scheduleAuthorityList.size() - 1);
         assertThat(testScheduleAuthority.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testScheduleAuthority.getRoleId()).isEqualTo(UPDATED_ROLE_ID);
     }
 
     @Test
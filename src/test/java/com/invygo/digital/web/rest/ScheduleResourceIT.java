@@ -4,11 +4,15 @@ import static com.invygo.digital.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 
 import com.invygo.digital.IntegrationTest;
 import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ScheduleUser;
 import com.invygo.digital.repository.EntityManager;
 import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.repository.ScheduleUserRepository;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -16,6 +20,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +60,9 @@ class ScheduleResourceIT {
     @Autowired
     private ScheduleRepository scheduleRepository;
 
+    @Autowired
+    private ScheduleUserRepository scheduleUserRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -126,6 +134,83 @@ class ScheduleResourceIT {
         assertThat(testSchedule.getHours()).isEqualTo(DEFAULT_HOURS);
     }
 
+    @Test
+    void createSchedulesInBulk() throws Exception {
+        int databaseSizeBeforeCreate = scheduleRepository.findAll().collectList().block().size();
+        Schedule invalidSchedule = new Schedule().userId(DEFAULT_USER_ID).workDate(DEFAULT_WORK_DATE);
+        String body =
+            new String(TestUtil.convertObjectToJsonBytes(schedule)) +
+            "\n" +
+            new String(TestUtil.convertObjectToJsonBytes(invalidSchedule)) +
+            "\n" +
+            new String(TestUtil.convertObjectToJsonBytes(createUpdatedEntity(em))) +
+            "\n";
+
+        // Create the Schedules from newline delimited JSON
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(3)
+            .jsonPath("$[0].index")
+            .isEqualTo(0)
+            .jsonPath("$[0].status")
+            .isEqualTo("CREATED")
+            .jsonPath("$[1].status")
+            .isEqualTo("INVALID")
+            .jsonPath("$[1].errors[0]")
+            .isEqualTo("hours: must not be null")
+            .jsonPath("$[2].index")
+            .isEqualTo(2)
+            .jsonPath("$[2].status")
+            .isEqualTo("CREATED");
+
+        // Validate the Schedules in the database
+        List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
+        assertThat(scheduleList).hasSize(databaseSizeBeforeCreate + 2);
+        Schedule testSchedule = scheduleList.get(scheduleList.size() - 1);
+        assertThat(testSchedule.getUserId()).isEqualTo(UPDATED_USER_ID);
+        assertThat(testSchedule.getWorkDate()).isEqualTo(UPDATED_WORK_DATE);
+        assertThat(testSchedule.getHours()).isEqualTo(UPDATED_HOURS);
+    }
+
+    @Test
+    void upsertSchedulesInBulk() throws Exception {
+        // Initialize the database
+        scheduleRepository.save(schedule).block();
+
+        int databaseSizeBeforeUpsert = scheduleRepository.findAll().collectList().block().size();
+        Schedule existingSchedule = createEntity(em).hours(UPDATED_HOURS);
+        Schedule newSchedule = createEntity(em).workDate(UPDATED_WORK_DATE);
+
+        // Upsert the Schedules from a JSON array
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(existingSchedule, newSchedule)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].status")
+            .value(is(List.of("UPSERTED", "UPSERTED")));
+
+        // Validate the existing Schedule was updated and the new one created
+        List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
+        assertThat(scheduleList).hasSize(databaseSizeBeforeUpsert + 1);
+        Schedule testSchedule = scheduleRepository.findById(schedule.getId()).block();
+        assertThat(testSchedule.getHours()).isEqualTo(UPDATED_HOURS);
+    }
+
     @Test
     void createScheduleWithExistingId() throws Exception {
         // Create the Schedule with an existing ID
@@ -190,6 +275,19 @@ class ScheduleResourceIT {
         assertThat(scheduleList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    void getUsersOnDutyWithinAWindowOfMoreThanAYearIsRejected() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/on-duty?from={from}&to={to}", "2022-01-01T00:00:00Z", "2023-01-03T00:00:00Z")
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.rangeinvalid");
+    }
+
     @Test
     void checkHoursIsRequired() throws Exception {
         int databaseSizeBeforeTest = scheduleRepository.findAll().collectList().block().size();
@@ -265,6 +363,289 @@ class ScheduleResourceIT {
             .value(hasItem(DEFAULT_HOURS.intValue()));
     }
 
+    @Test
+    void getAllExpandedSchedules() {
+        // Initialize the database
+        ScheduleUser scheduleUser = scheduleUserRepository.save(ScheduleUserResourceIT.createEntity(em)).block();
+        scheduleRepository.save(schedule.userId(scheduleUser.getId())).block();
+        Schedule withoutUser = scheduleRepository.save(createEntity(em).userId(scheduleUser.getId() + 1)).block();
+
+        // Get the schedules with their users, the one without user is still returned
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/expanded?sort=id,asc&userId.in=" + scheduleUser.getId() + "," + withoutUser.getUserId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].schedule.id")
+            .isEqualTo(schedule.getId().intValue())
+            .jsonPath("$.[0].schedule.hours")
+            .isEqualTo(DEFAULT_HOURS.intValue())
+            .jsonPath("$.[0].user.id")
+            .isEqualTo(scheduleUser.getId().intValue())
+            .jsonPath("$.[0].user.login")
+            .isEqualTo(scheduleUser.getLogin())
+            .jsonPath("$.[0].user.firstname")
+            .isEqualTo(scheduleUser.getFirstname())
+            .jsonPath("$.[0].user.lastname")
+            .isEqualTo(scheduleUser.getLastname())
+            .jsonPath("$.[0].user.password")
+            .doesNotExist()
+            .jsonPath("$.[0].user.email")
+            .doesNotExist()
+            .jsonPath("$.[1].schedule.id")
+            .isEqualTo(withoutUser.getId().intValue())
+            .jsonPath("$.[1].user")
+            .value(nullValue());
+
+        ScheduleUserResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void getAllSchedulesPaged() {
+        // Initialize the database
+        scheduleRepository.save(schedule).block();
+        scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE.plusDays(1))).block();
+
+        // Get the first page of the scheduleList
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=1&sort=id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "2")
+            .expectHeader()
+            .exists("Link")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(schedule.getId().intValue());
+    }
+
+    @Test
+    void getAllSchedulesByCriteria() {
+        // Initialize the database with a schedule which the filters tell apart from the default one
+        scheduleRepository.save(schedule).block();
+        scheduleRepository.save(createUpdatedEntity(em)).block();
+
+        defaultScheduleShouldBeFound("id.equals=" + schedule.getId());
+        defaultScheduleShouldNotBeFound("id.notEquals=" + schedule.getId() + "&userId.equals=" + DEFAULT_USER_ID);
+
+        defaultScheduleShouldBeFound("userId.equals=" + DEFAULT_USER_ID);
+        defaultScheduleShouldBeFound("userId.in=" + DEFAULT_USER_ID + "," + (UPDATED_USER_ID + 1));
+        defaultScheduleShouldBeFound("userId.notIn=" + UPDATED_USER_ID);
+        defaultScheduleShouldNotBeFound("userId.equals=" + (UPDATED_USER_ID + 1));
+        defaultScheduleShouldNotBeFound("userId.specified=false");
+
+        defaultScheduleShouldBeFound("workDate.lessThanOrEqual=" + DEFAULT_WORK_DATE.toInstant());
+        defaultScheduleShouldNotBeFound("workDate.lessThan=" + DEFAULT_WORK_DATE.toInstant());
+
+        defaultScheduleShouldBeFound("hours.lessThan=" + UPDATED_HOURS);
+        defaultScheduleShouldNotBeFound("hours.greaterThan=" + UPDATED_HOURS);
+    }
+
+    @Test
+    void getAllSchedulesCountsTheMatchingSchedules() {
+        // Initialize the database with two schedules of the user on a page of one, and one of another user
+        scheduleRepository.save(schedule).block();
+        scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE.plusDays(1))).block();
+        scheduleRepository.save(createUpdatedEntity(em)).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=1&sort=id,asc&userId.equals=" + DEFAULT_USER_ID)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "2")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(schedule.getId().intValue());
+    }
+
+    @Test
+    void getAllSchedulesSortedByAnUnknownProperty() {
+        // Initialize the database
+        scheduleRepository.save(schedule).block();
+
+        // Only the filtered properties are rendered into the ORDER BY clause
+        for (String sort : List.of("unknown,asc", "user_id,asc", "id;drop,desc")) {
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?page=0&size=20&sort={sort}", sort)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.message")
+                .isEqualTo("error.sortinvalid");
+        }
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=workDate,desc&sort=hours,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk();
+    }
+
+    /**
+     * Executes the search on a page of schedules, and checks that the default schedule is the only one returned and counted.
+     */
+    private void defaultScheduleShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(is(List.of(schedule.getId().intValue())))
+            .jsonPath("$.[0].userId")
+            .isEqualTo(DEFAULT_USER_ID.intValue())
+            .jsonPath("$.[0].hours")
+            .isEqualTo(DEFAULT_HOURS.intValue());
+    }
+
+    /**
+     * Executes the search on a page of schedules, and checks that the default schedule is not returned.
+     */
+    private void defaultScheduleShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(not(hasItem(schedule.getId().intValue())));
+    }
+
+    @Test
+    void getAllSchedulesNarrowedToFields() {
+        // Initialize the database
+        scheduleRepository.save(schedule).block();
+
+        // Only the columns of the fields are selected
+        Schedule narrowed = scheduleRepository.findById(schedule.getId(), Set.of("hours")).block();
+        assertThat(narrowed.getId()).isEqualTo(schedule.getId());
+        assertThat(narrowed.getHours()).isEqualTo(DEFAULT_HOURS);
+        assertThat(narrowed.getUserId()).isNull();
+        assertThat(narrowed.getWorkDate()).isNull();
+
+        // Only the fields and the id are written
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=id,desc&fields=hours,workDate")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].id")
+            .isEqualTo(schedule.getId().intValue())
+            .jsonPath("$.[0].hours")
+            .isEqualTo(DEFAULT_HOURS.intValue())
+            .jsonPath("$.[0].workDate")
+            .value(is(sameInstant(DEFAULT_WORK_DATE)))
+            .jsonPath("$.[0].userId")
+            .doesNotExist();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=unknown")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.fieldinvalid");
+    }
+
+    @Test
+    void getSchedulesByUserIdAndWorkDateBetween() {
+        // Initialize the database with three shifts of the user and one of another user
+        Schedule first = scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE)).block();
+        Schedule second = scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE.plusDays(1))).block();
+        scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE.plusDays(7))).block();
+        scheduleRepository.save(createEntity(em).userId(UPDATED_USER_ID).workDate(DEFAULT_WORK_DATE)).block();
+
+        String rangeUrl = ENTITY_API_URL + "?userId={userId}&from={from}&to={to}&size=1";
+        String from = DEFAULT_WORK_DATE.toInstant().toString();
+        String to = DEFAULT_WORK_DATE.plusDays(7).toInstant().toString();
+
+        // Get the first page of the range
+        String cursor = webTestClient
+            .get()
+            .uri(rangeUrl, DEFAULT_USER_ID, from, to)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists("Link")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(first.getId().intValue())
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        // Get the second and last page of the range
+        webTestClient
+            .get()
+            .uri(rangeUrl + "&cursor={cursor}", DEFAULT_USER_ID, from, to, cursor)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Next-Cursor")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(second.getId().intValue());
+    }
+
+    @Test
+    void getSchedulesByUserIdAndWorkDateBetweenWithInvalidCursor() {
+        webTestClient
+            .get()
+            .uri(
+                ENTITY_API_URL + "?userId={userId}&from={from}&to={to}&cursor=invalid",
+                DEFAULT_USER_ID,
+                DEFAULT_WORK_DATE.toInstant().toString(),
+                DEFAULT_WORK_DATE.plusDays(7).toInstant().toString()
+            )
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getSchedule() {
         // Initialize the database
@@ -423,6 +804,42 @@ class ScheduleResourceIT {
         assertThat(testSchedule.getHours()).isEqualTo(DEFAULT_HOURS);
     }
 
+    @Test
+    void partialUpdateScheduleWithPatchAndReturnMinimal() throws Exception {
+        // Initialize the database
+        scheduleRepository.save(schedule).block();
+
+        int databaseSizeBeforeUpdate = scheduleRepository.findAll().collectList().block().size();
+
+        // Update the schedule using partial update, without reading it back
+        Schedule partialUpdatedSchedule = new Schedule();
+        partialUpdatedSchedule.setId(schedule.getId());
+
+        partialUpdatedSchedule.hours(UPDATED_HOURS);
+
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, partialUpdatedSchedule.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .header("Prefer", "return=minimal")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(partialUpdatedSchedule))
+            .exchange()
+            .expectStatus()
+            .isNoContent()
+            .expectHeader()
+            .valueEquals("Preference-Applied", "return=minimal")
+            .expectBody()
+            .isEmpty();
+
+        // Validate the Schedule in the database
+        List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
+        assertThat(scheduleList).hasSize(databaseSizeBeforeUpdate);
+        Schedule testSchedule = scheduleList.get(scheduleList.size() - 1);
+        assertThat(testSchedule.getUserId()).isEqualTo(DEFAULT_USER_ID);
+        assertThat(testSchedule.getWorkDate()).isEqualTo(DEFAULT_WORK_DATE);
+        assertThat(testSchedule.getHours()).isEqualTo(UPDATED_HOURS);
+    }
+
     @Test
     void fullUpdateScheduleWithPatch() throws Exception {
         // Initialize the database
@@ -534,4 +951,32 @@ class ScheduleResourceIT {
         List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
         assertThat(scheduleList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void deleteSchedulesByUserIdAndWorkDateBetween() {
+        // Initialize the database with two shifts of the user in the range, one after it, and one of another user
+        scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE)).block();
+        scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE.plusDays(1))).block();
+        Schedule kept = scheduleRepository.save(createEntity(em).workDate(DEFAULT_WORK_DATE.plusDays(7))).block();
+        Schedule otherUser = scheduleRepository.save(createEntity(em).userId(UPDATED_USER_ID).workDate(DEFAULT_WORK_DATE)).block();
+
+        // Delete the schedules of the range
+        webTestClient
+            .delete()
+            .uri(
+                ENTITY_API_URL + "?userId={userId}&from={from}&to={to}",
+                DEFAULT_USER_ID,
+                DEFAULT_WORK_DATE.toInstant().toString(),
+                DEFAULT_WORK_DATE.plusDays(7).toInstant().toString()
+            )
+            .exchange()
+            .expectStatus()
+            .isNoContent()
+            .expectHeader()
+            .valueEquals("X-Deleted-Count", "2");
+
+        // Validate only the schedules of the range were deleted
+        List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
+        assertThat(scheduleList).extracting(Schedule::getId).containsExactlyInAnyOrder(kept.getId(), otherUser.getId());
+    }
 }
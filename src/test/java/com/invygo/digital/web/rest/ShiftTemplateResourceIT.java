@@ -0,0 +1,241 @@
+package com.invygo.digital.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.invygo.digital.IntegrationTest;
+import com.invygo.digital.domain.Schedule;
+import com.invygo.digital.domain.ShiftTemplate;
+import com.invygo.digital.repository.EntityManager;
+import com.invygo.digital.repository.ScheduleRepository;
+import com.invygo.digital.repository.ShiftTemplateRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link ShiftTemplateResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class ShiftTemplateResourceIT {
+
+    private static final Long DEFAULT_USER_ID = 1L;
+
+    private static final LocalDate DEFAULT_START_DATE = LocalDate.of(2022, 6, 6);
+
+    private static final LocalTime DEFAULT_START_TIME = LocalTime.of(8, 0);
+
+    private static final Long DEFAULT_HOURS = 8L;
+
+    private static final String DEFAULT_RECURRENCE = "FREQ=DAILY";
+
+    private static final String ENTITY_API_URL = "/api/shift-templates";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_MATERIALIZE = ENTITY_API_URL_ID + "/materialize?until={until}";
+
+    @Autowired
+    private ShiftTemplateRepository shiftTemplateRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private ShiftTemplate shiftTemplate;
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static ShiftTemplate createEntity(EntityManager em) {
+        ShiftTemplate shiftTemplate = new ShiftTemplate()
+            .userId(DEFAULT_USER_ID)
+            .startDate(DEFAULT_START_DATE)
+            .startTime(DEFAULT_START_TIME)
+            .hours(DEFAULT_HOURS)
+            .recurrence(DEFAULT_RECURRENCE);
+        return shiftTemplate;
+    }
+
+    public static void deleteEntities(EntityManager em) {
+        try {
+            em.deleteAll(ShiftTemplate.class).block();
+            em.deleteAll(Schedule.class).block();
+        } catch (Exception e) {
+            // It can fail, if other entities are still referring this - it will be removed later.
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities(em);
+    }
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities(em);
+        shiftTemplate = createEntity(em);
+    }
+
+    @Test
+    void createShiftTemplate() throws Exception {
+        int databaseSizeBeforeCreate = shiftTemplateRepository.findAll().collectList().block().size();
+        // Create the ShiftTemplate, whose occurrences are never materialized yet
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(shiftTemplate.materializedUntil(DEFAULT_START_DATE.plusDays(7))))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        // Validate the ShiftTemplate in the database
+        List<ShiftTemplate> shiftTemplateList = shiftTemplateRepository.findAll().collectList().block();
+        assertThat(shiftTemplateList).hasSize(databaseSizeBeforeCreate + 1);
+        ShiftTemplate testShiftTemplate = shiftTemplateList.get(shiftTemplateList.size() - 1);
+        assertThat(testShiftTemplate.getUserId()).isEqualTo(DEFAULT_USER_ID);
+        assertThat(testShiftTemplate.getStartDate()).isEqualTo(DEFAULT_START_DATE);
+        assertThat(testShiftTemplate.getStartTime()).isEqualTo(DEFAULT_START_TIME);
+        assertThat(testShiftTemplate.getHours()).isEqualTo(DEFAULT_HOURS);
+        assertThat(testShiftTemplate.getRecurrence()).isEqualTo(DEFAULT_RECURRENCE);
+        assertThat(testShiftTemplate.getMaterializedUntil()).isNull();
+    }
+
+    @Test
+    void createShiftTemplateWithAnUnsupportedRecurrence() throws Exception {
+        int databaseSizeBeforeCreate = shiftTemplateRepository.findAll().collectList().block().size();
+        shiftTemplate.setRecurrence("FREQ=MONTHLY");
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(shiftTemplate))
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.recurrenceinvalid");
+
+        List<ShiftTemplate> shiftTemplateList = shiftTemplateRepository.findAll().collectList().block();
+        assertThat(shiftTemplateList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void getShiftTemplate() {
+        // Initialize the database
+        shiftTemplateRepository.save(shiftTemplate).block();
+
+        // Get the shiftTemplate
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, shiftTemplate.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(shiftTemplate.getId().intValue()))
+            .jsonPath("$.userId")
+            .value(is(DEFAULT_USER_ID.intValue()))
+            .jsonPath("$.recurrence")
+            .value(is(DEFAULT_RECURRENCE));
+    }
+
+    @Test
+    void getNonExistingShiftTemplate() {
+        // Get the shiftTemplate
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void materializeShiftTemplate() {
+        // Initialize the database
+        shiftTemplateRepository.save(shiftTemplate).block();
+        int databaseSizeBeforeMaterialize = scheduleRepository.findAll().collectList().block().size();
+
+        // Materialize the occurrences of the first three days
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_MATERIALIZE, shiftTemplate.getId(), DEFAULT_START_DATE.plusDays(3))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].status")
+            .value(is(List.of("CREATED", "CREATED", "CREATED")));
+
+        // Validate the Schedules and the end of the materialization in the database
+        List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
+        assertThat(scheduleList).hasSize(databaseSizeBeforeMaterialize + 3);
+        assertThat(scheduleList).allSatisfy(schedule -> assertThat(schedule.getHours()).isEqualTo(DEFAULT_HOURS));
+        ShiftTemplate testShiftTemplate = shiftTemplateRepository.findById(shiftTemplate.getId()).block();
+        assertThat(testShiftTemplate.getMaterializedUntil()).isEqualTo(DEFAULT_START_DATE.plusDays(3));
+    }
+
+    @Test
+    void materializeShiftTemplateTooFarAhead() {
+        // Initialize the database
+        shiftTemplateRepository.save(shiftTemplate.materializedUntil(DEFAULT_START_DATE.plusDays(30))).block();
+        int databaseSizeBeforeMaterialize = scheduleRepository.findAll().collectList().block().size();
+
+        // The days are counted from the end of the last materialization
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_MATERIALIZE, shiftTemplate.getId(), DEFAULT_START_DATE.plusDays(30 + 367))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.untilinvalid");
+
+        List<Schedule> scheduleList = scheduleRepository.findAll().collectList().block();
+        assertThat(scheduleList).hasSize(databaseSizeBeforeMaterialize);
+        ShiftTemplate testShiftTemplate = shiftTemplateRepository.findById(shiftTemplate.getId()).block();
+        assertThat(testShiftTemplate.getMaterializedUntil()).isEqualTo(DEFAULT_START_DATE.plusDays(30));
+    }
+
+    @Test
+    void materializeNonExistingShiftTemplate() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_MATERIALIZE, Long.MAX_VALUE, DEFAULT_START_DATE.plusDays(3))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.idnotfound");
+    }
+}
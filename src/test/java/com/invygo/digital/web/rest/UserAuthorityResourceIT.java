@@ -1,6 +1,8 @@
 package com.invygo.digital.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
@@ -8,6 +10,7 @@ import com.invygo.digital.IntegrationTest;
 import com.invygo.digital.domain.UserAuthority;
 import com.invygo.digital.repository.EntityManager;
 import com.invygo.digital.repository.UserAuthorityRepository;
+import com.invygo.digital.security.AuthoritiesConstants;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -29,7 +32,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
  */
 @IntegrationTest
 @AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class UserAuthorityResourceIT {
 
     private static final Long DEFAULT_USER_ID = 1L;
@@ -476,6 +479,59 @@ class UserAuthorityResourceIT {
         assertThat(userAuthorityList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void updateRolesOfUser() throws Exception {
+        // Initialize the database with a role of the user which is kept, one which is revoked, and a role of another user
+        UserAuthority kept = userAuthorityRepository.save(createEntity(em)).block();
+        userAuthorityRepository.save(createEntity(em).roleId(UPDATED_ROLE_ID)).block();
+        userAuthorityRepository.save(createUpdatedEntity(em)).block();
+        Long grantedRoleId = UPDATED_ROLE_ID + 1;
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL + "/users/{userId}", DEFAULT_USER_ID)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(DEFAULT_ROLE_ID, grantedRoleId))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].roleId")
+            .value(containsInAnyOrder(DEFAULT_ROLE_ID.intValue(), grantedRoleId.intValue()));
+
+        // The kept role is left as it was, and the roles of the other user are untouched
+        List<UserAuthority> userAuthorityList = userAuthorityRepository.findAll().collectList().block();
+        assertThat(userAuthorityList)
+            .extracting(UserAuthority::getUserId, UserAuthority::getRoleId)
+            .containsExactlyInAnyOrder(
+                tuple(DEFAULT_USER_ID, DEFAULT_ROLE_ID),
+                tuple(DEFAULT_USER_ID, grantedRoleId),
+                tuple(UPDATED_USER_ID, UPDATED_ROLE_ID)
+            );
+        assertThat(userAuthorityRepository.findById(kept.getId()).block()).isNotNull();
+    }
+
+    @Test
+    void updateRolesOfUserWithNullRoleId() throws Exception {
+        // Initialize the database
+        userAuthorityRepository.save(userAuthority).block();
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL + "/users/{userId}", DEFAULT_USER_ID)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("[" + UPDATED_ROLE_ID + ",null]")
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.idnull");
+
+        List<UserAuthority> userAuthorityList = userAuthorityRepository.findAll().collectList().block();
+        assertThat(userAuthorityList).extracting(UserAuthority::getRoleId).containsExactly(DEFAULT_ROLE_ID);
+    }
+
     @Test
     void deleteUserAuthority() {
         // Initialize the database
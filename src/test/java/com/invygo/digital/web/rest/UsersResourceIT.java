@@ -3,15 +3,20 @@ package com.invygo.digital.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 import com.invygo.digital.IntegrationTest;
 import com.invygo.digital.domain.Users;
 import com.invygo.digital.repository.EntityManager;
 import com.invygo.digital.repository.UsersRepository;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,8 +26,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 
 /**
  * Integration tests for the {@link UsersResource} REST controller.
@@ -59,6 +66,9 @@ class UsersResourceIT {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private DatabaseClient databaseClient;
+
     private Users users;
 
     /**
@@ -122,7 +132,7 @@ class UsersResourceIT {
         assertThat(testUsers.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testUsers.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testUsers.getSurname()).isEqualTo(DEFAULT_SURNAME);
-        assertThat(testUsers.getPassword()).isEqualTo(DEFAULT_PASSWORD);
+        assertThat(storedPassword(testUsers.getId())).isEqualTo(DEFAULT_PASSWORD);
     }
 
     @Test
@@ -257,7 +267,7 @@ class UsersResourceIT {
         assertThat(testUsers.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testUsers.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testUsers.getSurname()).isEqualTo(DEFAULT_SURNAME);
-        assertThat(testUsers.getPassword()).isEqualTo(DEFAULT_PASSWORD);
+        assertThat(testUsers.getPassword()).isNull();
     }
 
     @Test
@@ -285,7 +295,196 @@ class UsersResourceIT {
             .jsonPath("$.[*].surname")
             .value(hasItem(DEFAULT_SURNAME))
             .jsonPath("$.[*].password")
-            .value(hasItem(DEFAULT_PASSWORD));
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllUsersByCriteria() {
+        // Initialize the database with users which the filters tell apart from the default one
+        usersRepository.save(users).block();
+        usersRepository.save(createUpdatedEntity(em)).block();
+
+        defaultUsersShouldBeFound("id.equals=" + users.getId());
+        defaultUsersShouldNotBeFound("id.notEquals=" + users.getId() + "&email.equals=" + DEFAULT_EMAIL);
+
+        defaultUsersShouldBeFound("email.equals=" + DEFAULT_EMAIL);
+        defaultUsersShouldBeFound("email.in=" + DEFAULT_EMAIL + ",CCCCCCCCCC");
+        defaultUsersShouldBeFound("email.doesNotContain=" + UPDATED_EMAIL.substring(0, 3));
+        defaultUsersShouldNotBeFound("email.equals=" + UPDATED_EMAIL);
+        defaultUsersShouldNotBeFound("email.specified=false");
+
+        defaultUsersShouldBeFound("name.contains=" + DEFAULT_NAME.substring(0, 3));
+        defaultUsersShouldNotBeFound("name.notEquals=" + DEFAULT_NAME + "&surname.equals=" + DEFAULT_SURNAME);
+
+        defaultUsersShouldBeFound("surname.notIn=" + UPDATED_SURNAME);
+        defaultUsersShouldNotBeFound("surname.contains=" + UPDATED_SURNAME);
+    }
+
+    @Test
+    void getAllUsersCountsTheMatchingUsers() {
+        // Initialize the database with two users of the same name on a page of one, and a user of another name
+        usersRepository.save(users).block();
+        usersRepository.save(createEntity(em).email(UPDATED_EMAIL)).block();
+        usersRepository.save(createUpdatedEntity(em)).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=1&sort=id,asc&name.equals=" + DEFAULT_NAME)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "2")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(users.getId().intValue());
+    }
+
+    @Test
+    void getAllUsersSortedByAnUnknownProperty() {
+        // Initialize the database
+        usersRepository.save(users).block();
+
+        // The password is not sortable, so that its hash cannot be probed through the order of the users
+        for (String sort : List.of("password,asc", "unknown,asc", "email;drop,desc")) {
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?page=0&size=20&sort={sort}", sort)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.message")
+                .isEqualTo("error.sortinvalid");
+        }
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=surname,desc&sort=email,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk();
+    }
+
+    /**
+     * Executes the search on a page of users, and checks that the default user is the only one returned and counted.
+     */
+    private void defaultUsersShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(is(List.of(users.getId().intValue())))
+            .jsonPath("$.[0].email")
+            .isEqualTo(DEFAULT_EMAIL)
+            .jsonPath("$.[0].name")
+            .isEqualTo(DEFAULT_NAME);
+    }
+
+    /**
+     * Executes the search on a page of users, and checks that the default user is not returned.
+     */
+    private void defaultUsersShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(not(hasItem(users.getId().intValue())));
+    }
+
+    @Test
+    void getAllUsersNarrowedToFields() {
+        // Initialize the database
+        usersRepository.save(users).block();
+
+        // Only the columns of the fields are selected
+        Users narrowed = usersRepository.findById(users.getId(), Set.of("email")).block();
+        assertThat(narrowed.getId()).isEqualTo(users.getId());
+        assertThat(narrowed.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(narrowed.getName()).isNull();
+        assertThat(narrowed.getSurname()).isNull();
+        assertThat(narrowed.getPassword()).isNull();
+
+        // Only the fields and the id are written, both in a page and in a stream
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=20&sort=id,desc&fields=email")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].id")
+            .isEqualTo(users.getId().intValue())
+            .jsonPath("$.[0].email")
+            .isEqualTo(DEFAULT_EMAIL)
+            .jsonPath("$.[0].name")
+            .doesNotExist()
+            .jsonPath("$.[0].surname")
+            .doesNotExist()
+            .jsonPath("$.[0].password")
+            .doesNotExist();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=name,surname")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .value(body -> assertThat(body).contains("\"name\":\"" + DEFAULT_NAME + "\"").doesNotContain("email", "password"));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "?fields=surname", users.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .isEqualTo(users.getId().intValue())
+            .jsonPath("$.surname")
+            .isEqualTo(DEFAULT_SURNAME)
+            .jsonPath("$.email")
+            .doesNotExist()
+            .jsonPath("$.password")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllUsersNarrowedToAnUnknownField() {
+        // The password is not a field, so that a narrowed read never selects it
+        for (String fields : List.of("password", "unknown", "email,password", "email;drop")) {
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?fields={fields}", fields)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.message")
+                .isEqualTo("error.fieldinvalid");
+        }
     }
 
     @Test
@@ -313,7 +512,142 @@ class UsersResourceIT {
             .jsonPath("$.surname")
             .value(is(DEFAULT_SURNAME))
             .jsonPath("$.password")
-            .value(is(DEFAULT_PASSWORD));
+            .doesNotExist();
+    }
+
+    @Test
+    void getUsersByIds() {
+        // Initialize the database
+        Users first = usersRepository.save(users).block();
+        Users second = usersRepository.save(createUpdatedEntity(em)).block();
+        long missingId = second.getId() + 1;
+        String ids = second.getId() + "," + first.getId() + "," + missingId + "," + second.getId() + "," + missingId;
+
+        // The users are in the order of the ids, each once, and the ids of no user are reported once
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids={ids}", ids)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.entities.[*].id")
+            .value(is(List.of(second.getId().intValue(), first.getId().intValue())))
+            .jsonPath("$.entities.[0].email")
+            .isEqualTo(UPDATED_EMAIL)
+            .jsonPath("$.entities.[*].password")
+            .doesNotExist()
+            .jsonPath("$.missingIds")
+            .value(is(List.of((int) missingId)));
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/by-ids?fields=name")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(first.getId(), missingId))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.entities.[0].id")
+            .isEqualTo(first.getId().intValue())
+            .jsonPath("$.entities.[0].name")
+            .isEqualTo(DEFAULT_NAME)
+            .jsonPath("$.entities.[0].email")
+            .doesNotExist()
+            .jsonPath("$.missingIds")
+            .value(is(List.of((int) missingId)));
+    }
+
+    @Test
+    void getUsersByIdsAroundTheChunkSize() {
+        // Initialize the database with one more user than the 100 ids of a chunk
+        List<Long> ids = Flux
+            .range(0, 101)
+            .concatMap(i -> usersRepository.save(createEntity(em)))
+            .map(Users::getId)
+            .collectList()
+            .block();
+        Collections.reverse(ids);
+
+        for (int size : List.of(100, 101)) {
+            List<Integer> expectedIds = ids.subList(0, size).stream().map(Long::intValue).collect(Collectors.toList());
+            webTestClient
+                .post()
+                .uri(ENTITY_API_URL + "/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ids.subList(0, size))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.entities.[*].id")
+                .value(is(expectedIds))
+                .jsonPath("$.missingIds")
+                .isEmpty();
+        }
+    }
+
+    @Test
+    void getUsersByTooManyIds() {
+        List<Long> maxIds = LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList());
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/by-ids")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(maxIds)
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        List<Long> tooManyIds = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/by-ids")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(tooManyIds)
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.toomanyids");
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids={ids}", tooManyIds.stream().map(String::valueOf).collect(Collectors.joining(",")))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/by-ids")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("[1,null]")
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.idnull");
+    }
+
+    @Test
+    @WithUnauthenticatedMockUser
+    void getUsersByIdsWithoutAuthentication() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/by-ids")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(1L))
+            .exchange()
+            .expectStatus()
+            .isUnauthorized();
     }
 
     @Test
@@ -355,7 +689,7 @@ class UsersResourceIT {
         assertThat(testUsers.getEmail()).isEqualTo(UPDATED_EMAIL);
         assertThat(testUsers.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testUsers.getSurname()).isEqualTo(UPDATED_SURNAME);
-        assertThat(testUsers.getPassword()).isEqualTo(UPDATED_PASSWORD);
+        assertThat(storedPassword(testUsers.getId())).isEqualTo(UPDATED_PASSWORD);
     }
 
     @Test
@@ -447,7 +781,7 @@ class UsersResourceIT {
         assertThat(testUsers.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testUsers.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testUsers.getSurname()).isEqualTo(DEFAULT_SURNAME);
-        assertThat(testUsers.getPassword()).isEqualTo(UPDATED_PASSWORD);
+        assertThat(storedPassword(testUsers.getId())).isEqualTo(UPDATED_PASSWORD);
     }
 
     @Test
@@ -479,7 +813,7 @@ class UsersResourceIT {
         assertThat(testUsers.getEmail()).isEqualTo(UPDATED_EMAIL);
         assertThat(testUsers.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testUsers.getSurname()).isEqualTo(UPDATED_SURNAME);
-        assertThat(testUsers.getPassword()).isEqualTo(UPDATED_PASSWORD);
+        assertThat(storedPassword(testUsers.getId())).isEqualTo(UPDATED_PASSWORD);
     }
 
     @Test
@@ -562,4 +896,14 @@ class UsersResourceIT {
         List<Users> usersList = usersRepository.findAll().collectList().block();
         assertThat(usersList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    private String storedPassword(Long id) {
+        // the reads never select the password
+        return databaseClient
+            .sql("SELECT password FROM users WHERE id = :id")
+            .bind("id", id)
+            .map(row -> row.get("password", String.class))
+            .one()
+            .block();
+    }
 }